@@ -9,6 +9,9 @@ import java.util.Optional;
 
 /**
  * AirbyteProtocol message migration interface.
+ * <p>
+ * Migrations may reuse parts of the given message in the migrated one, e.g. the data of a record,
+ * and modify them in place. Callers must not use the given message after migrating it.
  *
  * @param <V0> The Old AirbyteMessage type
  * @param <V1> The New AirbyteMessage type
@@ -4,39 +4,48 @@
 
 package io.airbyte.commons.protocol.migrations.v1;
 
-import static io.airbyte.protocol.models.JsonSchemaReferenceTypes.REF_KEY;
-
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.TextNode;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.commons.protocol.migrations.AirbyteMessageMigration;
-import io.airbyte.commons.protocol.migrations.util.RecordMigrations;
-import io.airbyte.commons.protocol.migrations.util.RecordMigrations.MigratedNode;
 import io.airbyte.commons.version.AirbyteProtocolVersion;
 import io.airbyte.commons.version.Version;
 import io.airbyte.protocol.models.AirbyteMessage;
 import io.airbyte.protocol.models.AirbyteMessage.Type;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
 import io.airbyte.protocol.models.AirbyteStream;
+import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
 import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
 import io.airbyte.protocol.models.ConfiguredAirbyteStream;
-import io.airbyte.protocol.models.JsonSchemaReferenceTypes;
 import io.airbyte.validation.json.JsonSchemaValidator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * V1 Migration.
+ * <p>
+ * Records are migrated in place: the data of the returned record is the data of the given record,
+ * which must not be used anymore.
  */
 // Disable V1 Migration, uncomment to re-enable
 // @Singleton
 public class AirbyteMessageMigrationV1 implements AirbyteMessageMigration<io.airbyte.protocol.models.v0.AirbyteMessage, AirbyteMessage> {
 
   private final JsonSchemaValidator validator;
+  // keyed by identity, a sync passes the same catalog instance along with every message
+  private final LoadingCache<ConfiguredAirbyteCatalog, Map<AirbyteStreamNameNamespacePair, NumberPathPlan>> catalogToDowngradePlans =
+      CacheBuilder.newBuilder().weakKeys().build(CacheLoader.from(AirbyteMessageMigrationV1::compileDowngradePlans));
 
   public AirbyteMessageMigrationV1() {
     this(new JsonSchemaValidator());
@@ -50,6 +59,21 @@ public class AirbyteMessageMigrationV1 implements AirbyteMessageMigration<io.air
   @Override
   public io.airbyte.protocol.models.v0.AirbyteMessage downgrade(final AirbyteMessage oldMessage,
                                                                 final Optional<ConfiguredAirbyteCatalog> configuredAirbyteCatalog) {
+    if (oldMessage.getType() == Type.RECORD && oldMessage.getRecord() != null) {
+      final io.airbyte.protocol.models.v0.AirbyteMessage newMessage = downgradeRecordMessage(oldMessage);
+      if (configuredAirbyteCatalog.isPresent()) {
+        final io.airbyte.protocol.models.v0.AirbyteRecordMessage record = newMessage.getRecord();
+        final NumberPathPlan plan = catalogToDowngradePlans.getUnchecked(configuredAirbyteCatalog.get())
+            .get(new AirbyteStreamNameNamespacePair(record.getStream(), record.getNamespace()));
+        // If this record doesn't belong to any configured stream, then there's no point downgrading it
+        // So only do the downgrade if we can find its stream and it has numbers to downgrade
+        if (plan != null && record.getData() != null) {
+          record.setData(plan.downgrade(record.getData(), validator));
+        }
+      }
+      return newMessage;
+    }
+
     final io.airbyte.protocol.models.v0.AirbyteMessage newMessage = Jsons.object(
         Jsons.jsonNode(oldMessage),
         io.airbyte.protocol.models.v0.AirbyteMessage.class);
@@ -58,23 +82,6 @@ public class AirbyteMessageMigrationV1 implements AirbyteMessageMigration<io.air
         final JsonNode schema = stream.getJsonSchema();
         SchemaMigrationV1.downgradeSchema(schema);
       }
-    } else if (oldMessage.getType() == Type.RECORD && oldMessage.getRecord() != null) {
-      if (configuredAirbyteCatalog.isPresent()) {
-        final ConfiguredAirbyteCatalog catalog = configuredAirbyteCatalog.get();
-        final io.airbyte.protocol.models.v0.AirbyteRecordMessage record = newMessage.getRecord();
-        final Optional<ConfiguredAirbyteStream> maybeStream = catalog.getStreams().stream()
-            .filter(stream -> Objects.equals(stream.getStream().getName(), record.getStream())
-                && Objects.equals(stream.getStream().getNamespace(), record.getNamespace()))
-            .findFirst();
-        // If this record doesn't belong to any configured stream, then there's no point downgrading it
-        // So only do the downgrade if we can find its stream
-        if (maybeStream.isPresent()) {
-          final JsonNode schema = maybeStream.get().getStream().getJsonSchema();
-          final JsonNode oldData = record.getData();
-          final MigratedNode downgradedNode = downgradeRecord(oldData, schema);
-          record.setData(downgradedNode.node());
-        }
-      }
     }
     return newMessage;
   }
@@ -82,7 +89,15 @@ public class AirbyteMessageMigrationV1 implements AirbyteMessageMigration<io.air
   @Override
   public AirbyteMessage upgrade(final io.airbyte.protocol.models.v0.AirbyteMessage oldMessage,
                                 final Optional<ConfiguredAirbyteCatalog> configuredAirbyteCatalog) {
-    // We're not introducing any changes to the structure of the record/catalog
+    if (oldMessage.getType() == io.airbyte.protocol.models.v0.AirbyteMessage.Type.RECORD && oldMessage.getRecord() != null) {
+      final AirbyteMessage newMessage = upgradeRecordMessage(oldMessage);
+      if (newMessage.getRecord().getData() != null) {
+        newMessage.getRecord().setData(upgradeRecord(newMessage.getRecord().getData()));
+      }
+      return newMessage;
+    }
+
+    // We're not introducing any changes to the structure of the catalog
     // so just clone a new message object, which we can edit in-place
     final AirbyteMessage newMessage = Jsons.object(
         Jsons.jsonNode(oldMessage),
@@ -92,82 +107,103 @@ public class AirbyteMessageMigrationV1 implements AirbyteMessageMigration<io.air
         final JsonNode schema = stream.getJsonSchema();
         SchemaMigrationV1.upgradeSchema(schema);
       }
-    } else if (oldMessage.getType() == io.airbyte.protocol.models.v0.AirbyteMessage.Type.RECORD && oldMessage.getRecord() != null) {
-      final JsonNode oldData = newMessage.getRecord().getData();
-      final JsonNode newData = upgradeRecord(oldData);
-      newMessage.getRecord().setData(newData);
     }
     return newMessage;
   }
 
   /**
-   * Returns a copy of oldData, with numeric values converted to strings. String and boolean values
-   * are returned as-is for convenience, i.e. this is not a true deep copy.
+   * Index the downgrade plans of the streams of a catalog. Streams without numbers to downgrade are
+   * left out. If the catalog has duplicate streams, the first one is used.
+   */
+  private static Map<AirbyteStreamNameNamespacePair, NumberPathPlan> compileDowngradePlans(final ConfiguredAirbyteCatalog catalog) {
+    final Map<AirbyteStreamNameNamespacePair, NumberPathPlan> plans = new HashMap<>();
+    final Set<AirbyteStreamNameNamespacePair> seenStreams = new HashSet<>();
+    for (final ConfiguredAirbyteStream stream : catalog.getStreams()) {
+      final AirbyteStreamNameNamespacePair pair = new AirbyteStreamNameNamespacePair(stream.getStream().getName(), stream.getStream().getNamespace());
+      if (seenStreams.add(pair)) {
+        final JsonNode schema = stream.getStream().getJsonSchema();
+        final NumberPathPlan plan = schema == null ? null : NumberPathPlan.compile(schema);
+        if (plan != null) {
+          plans.put(pair, plan);
+        }
+      }
+    }
+    return plans;
+  }
+
+  /**
+   * Records have the same structure in both versions, so their fields are copied over without going
+   * through a full JSON tree copy of the message.
+   */
+  private static io.airbyte.protocol.models.v0.AirbyteMessage downgradeRecordMessage(final AirbyteMessage oldMessage) {
+    final AirbyteRecordMessage oldRecord = oldMessage.getRecord();
+    final io.airbyte.protocol.models.v0.AirbyteRecordMessage newRecord = new io.airbyte.protocol.models.v0.AirbyteRecordMessage()
+        .withStream(oldRecord.getStream())
+        .withNamespace(oldRecord.getNamespace())
+        .withEmittedAt(oldRecord.getEmittedAt())
+        .withData(oldRecord.getData());
+    oldRecord.getAdditionalProperties().forEach(newRecord::setAdditionalProperty);
+    final io.airbyte.protocol.models.v0.AirbyteMessage newMessage = new io.airbyte.protocol.models.v0.AirbyteMessage()
+        .withType(io.airbyte.protocol.models.v0.AirbyteMessage.Type.RECORD)
+        .withRecord(newRecord);
+    oldMessage.getAdditionalProperties().forEach(newMessage::setAdditionalProperty);
+    return newMessage;
+  }
+
+  private static AirbyteMessage upgradeRecordMessage(final io.airbyte.protocol.models.v0.AirbyteMessage oldMessage) {
+    final io.airbyte.protocol.models.v0.AirbyteRecordMessage oldRecord = oldMessage.getRecord();
+    final AirbyteRecordMessage newRecord = new AirbyteRecordMessage()
+        .withStream(oldRecord.getStream())
+        .withNamespace(oldRecord.getNamespace())
+        .withEmittedAt(oldRecord.getEmittedAt())
+        .withData(oldRecord.getData());
+    oldRecord.getAdditionalProperties().forEach(newRecord::setAdditionalProperty);
+    final AirbyteMessage newMessage = new AirbyteMessage()
+        .withType(Type.RECORD)
+        .withRecord(newRecord);
+    oldMessage.getAdditionalProperties().forEach(newMessage::setAdditionalProperty);
+    return newMessage;
+  }
+
+  /**
+   * Converts the numeric values of data to strings. Objects and arrays are modified in place and
+   * returned as-is, only the converted values are new nodes.
    */
-  private static JsonNode upgradeRecord(final JsonNode oldData) {
-    if (oldData.isNumber()) {
+  private static JsonNode upgradeRecord(final JsonNode data) {
+    if (data.isNumber()) {
       // Base case: convert numbers to strings
-      return Jsons.convertValue(oldData.asText(), TextNode.class);
-    } else if (oldData.isObject()) {
+      return TextNode.valueOf(data.asText());
+    } else if (data.isObject()) {
       // Recurse into each field of the object
-      final ObjectNode newData = (ObjectNode) Jsons.emptyObject();
-
-      final Iterator<Entry<String, JsonNode>> fieldsIterator = oldData.fields();
+      final ObjectNode object = (ObjectNode) data;
+      final Iterator<Entry<String, JsonNode>> fieldsIterator = object.fields();
       while (fieldsIterator.hasNext()) {
         final Entry<String, JsonNode> next = fieldsIterator.next();
-        final String key = next.getKey();
         final JsonNode value = next.getValue();
-
         final JsonNode newValue = upgradeRecord(value);
-        newData.set(key, newValue);
+        if (newValue != value) {
+          // replacing the value of an existing field is not a structural change, iteration can go on
+          object.set(next.getKey(), newValue);
+        }
       }
-
-      return newData;
-    } else if (oldData.isArray()) {
+      return object;
+    } else if (data.isArray()) {
       // Recurse into each element of the array
-      final ArrayNode newData = Jsons.arrayNode();
-      for (final JsonNode element : oldData) {
-        newData.add(upgradeRecord(element));
+      final ArrayNode array = (ArrayNode) data;
+      for (int i = 0; i < array.size(); i++) {
+        final JsonNode element = array.get(i);
+        final JsonNode newElement = upgradeRecord(element);
+        if (newElement != element) {
+          array.set(i, newElement);
+        }
       }
-      return newData;
+      return array;
     } else {
       // Base case: this is a string or boolean, so we don't need to modify it
-      return oldData;
+      return data;
     }
   }
 
-  /**
-   * We need the schema to recognize which fields are integers, since it would be wrong to just assume
-   * any numerical string should be parsed out.
-   *
-   * Works on a best-effort basis. If the schema doesn't match the data, we'll do our best to
-   * downgrade anything that we can definitively say is a number. Should _not_ throw an exception if
-   * bad things happen (e.g. we try to parse a non-numerical string as a number).
-   */
-  private MigratedNode downgradeRecord(final JsonNode data, final JsonNode schema) {
-    return RecordMigrations.mutateDataNode(
-        validator,
-        s -> {
-          if (s.hasNonNull(REF_KEY)) {
-            final String type = s.get(REF_KEY).asText();
-            return JsonSchemaReferenceTypes.INTEGER_REFERENCE.equals(type)
-                || JsonSchemaReferenceTypes.NUMBER_REFERENCE.equals(type);
-          } else {
-            return false;
-          }
-        },
-        (s, d) -> {
-          if (d.asText().matches("-?\\d+(\\.\\d+)?")) {
-            // If this string is a numeric literal, convert it to a numeric node.
-            return new MigratedNode(Jsons.deserialize(d.asText()), true);
-          } else {
-            // Otherwise, just leave the node unchanged.
-            return new MigratedNode(d, false);
-          }
-        },
-        data, schema);
-  }
-
   @Override
   public Version getPreviousVersion() {
     return AirbyteProtocolVersion.V0;
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.protocol.migrations.v1;
+
+import static io.airbyte.protocol.models.JsonSchemaReferenceTypes.ARRAY_TYPE;
+import static io.airbyte.protocol.models.JsonSchemaReferenceTypes.ITEMS_KEY;
+import static io.airbyte.protocol.models.JsonSchemaReferenceTypes.OBJECT_TYPE;
+import static io.airbyte.protocol.models.JsonSchemaReferenceTypes.ONEOF_KEY;
+import static io.airbyte.protocol.models.JsonSchemaReferenceTypes.PROPERTIES_KEY;
+import static io.airbyte.protocol.models.JsonSchemaReferenceTypes.REF_KEY;
+import static io.airbyte.protocol.models.JsonSchemaReferenceTypes.TYPE_KEY;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.commons.protocol.migrations.util.RecordMigrations;
+import io.airbyte.commons.protocol.migrations.util.RecordMigrations.MigratedNode;
+import io.airbyte.protocol.models.JsonSchemaReferenceTypes;
+import io.airbyte.validation.json.JsonSchemaValidator;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.regex.Pattern;
+
+/**
+ * The paths of a stream's schema that can hold an integer or number, compiled once per stream so
+ * that downgrading a record only walks those paths instead of the whole record and schema.
+ * <p>
+ * Downgrading produces the same data as
+ * {@link RecordMigrations#mutateDataNode(JsonSchemaValidator, java.util.function.Function, RecordMigrations.Transformer, JsonNode, JsonNode)}
+ * with the V1 number matcher, but it modifies the record in place. oneOf schemas need the data to
+ * pick the matching option, so they are not compiled further and are delegated to RecordMigrations.
+ */
+class NumberPathPlan {
+
+  private static final Pattern NUMERIC_LITERAL = Pattern.compile("-?\\d+(\\.\\d+)?");
+
+  private final JsonNode oneOfSchema;
+  private final boolean isNumber;
+  private final Map<String, NumberPathPlan> properties;
+  private final NumberPathPlan items;
+  private final List<NumberPathPlan> tupleItems;
+
+  private NumberPathPlan(final JsonNode oneOfSchema,
+                         final boolean isNumber,
+                         final Map<String, NumberPathPlan> properties,
+                         final NumberPathPlan items,
+                         final List<NumberPathPlan> tupleItems) {
+    this.oneOfSchema = oneOfSchema;
+    this.isNumber = isNumber;
+    this.properties = properties;
+    this.items = items;
+    this.tupleItems = tupleItems;
+  }
+
+  /**
+   * Compile the plan of a schema.
+   *
+   * @return the plan, or null if no data matching the schema can contain numbers to downgrade.
+   */
+  static NumberPathPlan compile(final JsonNode schema) {
+    if (!schema.hasNonNull(REF_KEY) && !schema.hasNonNull(TYPE_KEY) && schema.hasNonNull(ONEOF_KEY)) {
+      for (final JsonNode option : schema.get(ONEOF_KEY)) {
+        if (compile(option) != null) {
+          return new NumberPathPlan(schema, false, Collections.emptyMap(), null, Collections.emptyList());
+        }
+      }
+      return null;
+    }
+
+    if (isNumberSchema(schema)) {
+      return new NumberPathPlan(null, true, Collections.emptyMap(), null, Collections.emptyList());
+    }
+
+    final Map<String, NumberPathPlan> properties = new HashMap<>();
+    final JsonNode propertiesNode = schema.get(PROPERTIES_KEY);
+    if (isSchemaOfType(schema, OBJECT_TYPE, PROPERTIES_KEY) && propertiesNode != null) {
+      final Iterator<Entry<String, JsonNode>> fields = propertiesNode.fields();
+      while (fields.hasNext()) {
+        final Entry<String, JsonNode> field = fields.next();
+        final NumberPathPlan plan = field.getValue().isNull() ? null : compile(field.getValue());
+        if (plan != null) {
+          properties.put(field.getKey(), plan);
+        }
+      }
+    }
+
+    NumberPathPlan items = null;
+    final List<NumberPathPlan> tupleItems = new ArrayList<>();
+    final JsonNode itemsNode = schema.get(ITEMS_KEY);
+    if (isSchemaOfType(schema, ARRAY_TYPE, ITEMS_KEY) && itemsNode != null) {
+      if (itemsNode.isArray()) {
+        boolean hasNumbers = false;
+        for (final JsonNode itemSchema : itemsNode) {
+          final NumberPathPlan plan = compile(itemSchema);
+          tupleItems.add(plan);
+          hasNumbers |= plan != null;
+        }
+        if (!hasNumbers) {
+          tupleItems.clear();
+        }
+      } else {
+        items = compile(itemsNode);
+      }
+    }
+
+    if (properties.isEmpty() && items == null && tupleItems.isEmpty()) {
+      return null;
+    }
+    return new NumberPathPlan(null, false, properties, items, tupleItems);
+  }
+
+  /**
+   * Convert the numeric strings of the data back to numbers.
+   *
+   * @return the downgraded data. Objects and arrays are modified in place and returned as-is, only
+   *         the nodes that get replaced are new.
+   */
+  JsonNode downgrade(final JsonNode data, final JsonSchemaValidator validator) {
+    if (oneOfSchema != null) {
+      return RecordMigrations.mutateDataNode(validator, NumberPathPlan::isNumberSchema, NumberPathPlan::downgradeNumber, data, oneOfSchema).node();
+    }
+    if (isNumber) {
+      return downgradeNumber(null, data).node();
+    }
+
+    if (data.isObject()) {
+      final ObjectNode object = (ObjectNode) data;
+      for (final Entry<String, NumberPathPlan> property : properties.entrySet()) {
+        final JsonNode value = object.get(property.getKey());
+        if (value != null) {
+          final JsonNode downgraded = property.getValue().downgrade(value, validator);
+          if (downgraded != value) {
+            object.set(property.getKey(), downgraded);
+          }
+        }
+      }
+    } else if (data.isArray()) {
+      final ArrayNode array = (ArrayNode) data;
+      final int size = items != null ? array.size() : Math.min(array.size(), tupleItems.size());
+      for (int i = 0; i < size; i++) {
+        final NumberPathPlan plan = items != null ? items : tupleItems.get(i);
+        if (plan != null) {
+          final JsonNode element = array.get(i);
+          final JsonNode downgraded = plan.downgrade(element, validator);
+          if (downgraded != element) {
+            array.set(i, downgraded);
+          }
+        }
+      }
+    }
+    return data;
+  }
+
+  private static boolean isNumberSchema(final JsonNode schema) {
+    if (schema.hasNonNull(REF_KEY)) {
+      final String type = schema.get(REF_KEY).asText();
+      return JsonSchemaReferenceTypes.INTEGER_REFERENCE.equals(type)
+          || JsonSchemaReferenceTypes.NUMBER_REFERENCE.equals(type);
+    } else {
+      return false;
+    }
+  }
+
+  private static MigratedNode downgradeNumber(final JsonNode schema, final JsonNode data) {
+    final String text = data.asText();
+    if (NUMERIC_LITERAL.matcher(text).matches()) {
+      // If this string is a numeric literal, convert it to a numeric node.
+      return new MigratedNode(Jsons.deserialize(text), true);
+    } else {
+      // Otherwise, just leave the node unchanged.
+      return new MigratedNode(data, false);
+    }
+  }
+
+  /**
+   * Same rules as RecordMigrations to decide whether a schema describes objects or arrays: a $ref is
+   * never one of them, otherwise the type must include it, or, if the schema has no type, it must
+   * have properties or items.
+   */
+  private static boolean isSchemaOfType(final JsonNode schema, final String type, final String impliedByKey) {
+    if (schema.hasNonNull(REF_KEY)) {
+      return false;
+    } else if (schema.hasNonNull(TYPE_KEY)) {
+      final JsonNode typeNode = schema.get(TYPE_KEY);
+      if (typeNode.isArray()) {
+        for (final JsonNode typeItem : typeNode) {
+          if (type.equals(typeItem.asText())) {
+            return true;
+          }
+        }
+        return false;
+      }
+      return type.equals(typeNode.asText());
+    } else {
+      return schema.hasNonNull(impliedByKey);
+    }
+  }
+
+}
@@ -5,9 +5,15 @@
 package io.airbyte.commons.protocol.migrations.v1;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.airbyte.commons.json.Jsons;
+import io.airbyte.commons.protocol.migrations.util.RecordMigrations;
+import io.airbyte.commons.protocol.migrations.util.RecordMigrations.MigratedNode;
 import io.airbyte.commons.resources.MoreResources;
 import io.airbyte.protocol.models.AirbyteCatalog;
 import io.airbyte.protocol.models.AirbyteMessage;
@@ -19,8 +25,11 @@ import io.airbyte.protocol.models.ConfiguredAirbyteStream;
 import io.airbyte.validation.json.JsonSchemaValidator;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Random;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -1186,6 +1195,11 @@ class AirbyteMessageMigrationV1Test {
 
     private static final String STREAM_NAME = "foo_stream";
     private static final String NAMESPACE_NAME = "foo_namespace";
+    private static final String INTEGER_REF = "WellKnownTypes.json#/definitions/Integer";
+    private static final String NUMBER_REF = "WellKnownTypes.json#/definitions/Number";
+    private static final String STRING_REF = "WellKnownTypes.json#/definitions/String";
+    private static final String BOOLEAN_REF = "WellKnownTypes.json#/definitions/Boolean";
+    private static final int RANDOM_RECORD_COUNT = 2_000;
 
     @Test
     void testBasicDowngrade() {
@@ -1615,6 +1629,177 @@ class AirbyteMessageMigrationV1Test {
           """);
     }
 
+    @Test
+    void testDowngradeUsesTheRecordStream() {
+      final JsonNode intSchema = Jsons.deserialize(
+          """
+          {
+            "type": "object",
+            "properties": {
+              "id": {"$ref": "WellKnownTypes.json#/definitions/Integer"}
+            }
+          }
+          """);
+      final JsonNode stringSchema = Jsons.deserialize(
+          """
+          {
+            "type": "object",
+            "properties": {
+              "id": {"$ref": "WellKnownTypes.json#/definitions/String"}
+            }
+          }
+          """);
+      final ConfiguredAirbyteCatalog catalog = new ConfiguredAirbyteCatalog()
+          .withStreams(List.of(
+              new ConfiguredAirbyteStream().withStream(new io.airbyte.protocol.models.AirbyteStream()
+                  .withName("string_stream")
+                  .withNamespace(NAMESPACE_NAME)
+                  .withJsonSchema(stringSchema)),
+              new ConfiguredAirbyteStream().withStream(new io.airbyte.protocol.models.AirbyteStream()
+                  .withName(STREAM_NAME)
+                  .withNamespace(NAMESPACE_NAME)
+                  .withJsonSchema(intSchema))));
+
+      // the same catalog is passed along with every record of a sync
+      for (int i = 0; i < 2; i++) {
+        final io.airbyte.protocol.models.v0.AirbyteMessage intRecord = migration.downgrade(
+            createRecordMessage(Jsons.deserialize("{\"id\": \"42\"}")), Optional.of(catalog));
+        assertEquals(Jsons.deserialize("{\"id\": 42}"), intRecord.getRecord().getData());
+        assertEquals(STREAM_NAME, intRecord.getRecord().getStream());
+        assertEquals(NAMESPACE_NAME, intRecord.getRecord().getNamespace());
+
+        final AirbyteMessage stringMessage = new AirbyteMessage().withType(AirbyteMessage.Type.RECORD)
+            .withRecord(new AirbyteRecordMessage().withStream("string_stream").withNamespace(NAMESPACE_NAME)
+                .withData(Jsons.deserialize("{\"id\": \"42\"}")));
+        assertEquals(Jsons.deserialize("{\"id\": \"42\"}"), migration.downgrade(stringMessage, Optional.of(catalog)).getRecord().getData());
+
+        final AirbyteMessage unknownStreamMessage = new AirbyteMessage().withType(AirbyteMessage.Type.RECORD)
+            .withRecord(new AirbyteRecordMessage().withStream(STREAM_NAME).withNamespace("other_namespace")
+                .withData(Jsons.deserialize("{\"id\": \"42\"}")));
+        assertEquals(Jsons.deserialize("{\"id\": \"42\"}"),
+            migration.downgrade(unknownStreamMessage, Optional.of(catalog)).getRecord().getData());
+      }
+    }
+
+    /**
+     * Downgrades random records of random schemas, and compares the result with the downgrade of the
+     * whole record against the whole schema by RecordMigrations, which the number path plans replace.
+     */
+    @Test
+    void testDowngradeMatchesRecordMigrations() {
+      final Random random = new Random(42);
+      for (int i = 0; i < RANDOM_RECORD_COUNT; i++) {
+        final JsonNode schema = randomSchema(random, 3);
+        final JsonNode data = randomData(random, schema, 3);
+        final ConfiguredAirbyteCatalog catalog = createConfiguredAirbyteCatalog(Jsons.serialize(schema));
+
+        final JsonNode expected = RecordMigrations.mutateDataNode(
+            validator,
+            s -> s.hasNonNull("$ref") && (INTEGER_REF.equals(s.get("$ref").asText()) || NUMBER_REF.equals(s.get("$ref").asText())),
+            (s, d) -> d.asText().matches("-?\\d+(\\.\\d+)?") ? new MigratedNode(Jsons.deserialize(d.asText()), true) : new MigratedNode(d, false),
+            Jsons.clone(data), schema).node();
+        final JsonNode actual = migration.downgrade(createRecordMessage(Jsons.clone(data)), Optional.of(catalog)).getRecord().getData();
+
+        assertEquals(expected, actual, "schema: " + schema + ", data: " + data);
+      }
+    }
+
+    @Test
+    void testDowngradeReusesTheDataOfTheMessage() {
+      final ConfiguredAirbyteCatalog catalog = createConfiguredAirbyteCatalog(
+          """
+          {"type": "object", "properties": {"id": {"$ref": "WellKnownTypes.json#/definitions/Integer"}}}
+          """);
+      final AirbyteMessage message = createRecordMessage(Jsons.deserialize("{\"id\": \"42\"}"));
+
+      final io.airbyte.protocol.models.v0.AirbyteMessage downgradedMessage = migration.downgrade(message, Optional.of(catalog));
+
+      // records are migrated in place, callers must not use the given message after migrating it
+      assertSame(message.getRecord().getData(), downgradedMessage.getRecord().getData());
+      assertEquals(Jsons.deserialize("{\"id\": 42}"), message.getRecord().getData());
+    }
+
+    private JsonNode randomSchema(final Random random, final int depth) {
+      switch (random.nextInt(depth > 0 ? 9 : 4)) {
+        case 0:
+          return Jsons.jsonNode(Map.of("$ref", INTEGER_REF));
+        case 1:
+          return Jsons.jsonNode(Map.of("$ref", NUMBER_REF));
+        case 2:
+          return Jsons.jsonNode(Map.of("$ref", STRING_REF));
+        case 3:
+          return Jsons.jsonNode(Map.of("$ref", BOOLEAN_REF));
+        case 4:
+          return Jsons.jsonNode(Map.of("type", random.nextBoolean() ? "object" : List.of("null", "object"),
+              "properties", randomProperties(random, depth - 1)));
+        case 5:
+          // no type, objects are implied by the properties
+          return Jsons.jsonNode(Map.of("properties", randomProperties(random, depth - 1)));
+        case 6:
+          return Jsons.jsonNode(Map.of("type", "array", "items", randomSchema(random, depth - 1)));
+        case 7:
+          return Jsons.jsonNode(Map.of("type", "array", "items", List.of(randomSchema(random, depth - 1), randomSchema(random, depth - 1))));
+        default:
+          return Jsons.jsonNode(Map.of("oneOf", List.of(randomSchema(random, depth - 1), randomSchema(random, depth - 1))));
+      }
+    }
+
+    private Map<String, JsonNode> randomProperties(final Random random, final int depth) {
+      final Map<String, JsonNode> properties = new HashMap<>();
+      final int count = random.nextInt(4);
+      for (int i = 0; i < count; i++) {
+        properties.put("field_" + i, randomSchema(random, depth));
+      }
+      return properties;
+    }
+
+    /**
+     * Data that mostly matches the schema, with numeric strings where numbers are expected, and
+     * sometimes values that don't match it.
+     */
+    private JsonNode randomData(final Random random, final JsonNode schema, final int depth) {
+      if (depth < 0 || random.nextInt(8) == 0) {
+        return randomLeaf(random);
+      }
+      if (schema.has("$ref")) {
+        final String ref = schema.get("$ref").asText();
+        if (INTEGER_REF.equals(ref) || NUMBER_REF.equals(ref)) {
+          final String[] numbers = {"42", "-7", "3.14", "1e5", "12abc", ""};
+          return random.nextInt(5) == 0 ? Jsons.jsonNode(42) : Jsons.jsonNode(numbers[random.nextInt(numbers.length)]);
+        }
+        return STRING_REF.equals(ref) ? Jsons.jsonNode(random.nextBoolean() ? "42" : "text") : Jsons.jsonNode(random.nextBoolean());
+      }
+      if (schema.has("oneOf")) {
+        return randomData(random, schema.get("oneOf").get(random.nextInt(schema.get("oneOf").size())), depth);
+      }
+      if (schema.has("properties")) {
+        final ObjectNode object = (ObjectNode) Jsons.emptyObject();
+        schema.get("properties").fields().forEachRemaining(property -> {
+          if (random.nextInt(4) > 0) {
+            object.set(property.getKey(), randomData(random, property.getValue(), depth - 1));
+          }
+        });
+        if (random.nextBoolean()) {
+          object.set("unknown_field", randomLeaf(random));
+        }
+        return object;
+      }
+      final ArrayNode array = Jsons.arrayNode();
+      final JsonNode items = schema.get("items");
+      final int size = random.nextInt(4);
+      for (int i = 0; i < size; i++) {
+        final JsonNode itemSchema = items.isArray() ? (i < items.size() ? items.get(i) : null) : items;
+        array.add(itemSchema == null ? randomLeaf(random) : randomData(random, itemSchema, depth - 1));
+      }
+      return array;
+    }
+
+    private JsonNode randomLeaf(final Random random) {
+      final JsonNode[] leaves = {Jsons.jsonNode("1"), Jsons.jsonNode("text"), Jsons.jsonNode(1), Jsons.jsonNode(true),
+        NullNode.getInstance(), Jsons.emptyObject(), Jsons.arrayNode()};
+      return leaves[random.nextInt(leaves.length)];
+    }
+
     private ConfiguredAirbyteCatalog createConfiguredAirbyteCatalog(final String schema) {
       return new ConfiguredAirbyteCatalog()
           .withStreams(List.of(new ConfiguredAirbyteStream().withStream(new io.airbyte.protocol.models.AirbyteStream()
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.server.scheduler;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.commons.version.Version;
+import io.airbyte.config.DestinationConnection;
+import io.airbyte.config.JobConfig.ConfigType;
+import io.airbyte.config.SourceConnection;
+import io.airbyte.config.StandardCheckConnectionOutput;
+import io.airbyte.config.persistence.ConfigRepository;
+import io.airbyte.metrics.lib.MetricAttribute;
+import io.airbyte.metrics.lib.MetricClient;
+import io.airbyte.metrics.lib.MetricTags;
+import io.airbyte.metrics.lib.OssMetricsRegistry;
+import io.airbyte.protocol.models.ConnectorSpecification;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Caches the specs of connector images in front of another {@link SynchronousSchedulerClient}, so
+ * that a get spec job runs at most once per image. Specs don't change for a given image, so the
+ * cache is never invalidated. Specs are looked up:
+ * <ol>
+ * <li>in memory, for the most recently used images;</li>
+ * <li>in the definitions of the image stored in the config database, which hold the spec the image
+ * had when the definition was written;</li>
+ * <li>by running a get spec job.</li>
+ * </ol>
+ * Concurrent requests for the spec of the same image wait for a single lookup. Failed jobs are not
+ * cached.
+ * <p>
+ * Images are identified by their name as given, either with a tag or a digest. Images without a tag
+ * and images with a tag that is commonly moved to newer builds are not cached. Neither are the images
+ * of custom connectors, which users may rebuild under the same tag.
+ * <p>
+ * Specs found in a cache are returned with the mock metadata of a successful job, without logs, as
+ * for the specs read from definitions: callers only read the spec of a get spec response.
+ */
+public class SpecCachingSynchronousSchedulerClient implements SynchronousSchedulerClient {
+
+  private static final long MAX_CACHED_SPECS = 1000;
+  @VisibleForTesting
+  static final String MEMORY_TIER = "memory";
+  @VisibleForTesting
+  static final String DATABASE_TIER = "database";
+
+  private static final Set<String> MUTABLE_TAGS = Set.of("latest", "dev");
+
+  private final SynchronousSchedulerClient delegate;
+  private final ConfigRepository configRepository;
+  private final MetricClient metricClient;
+  // image name -> spec
+  private final Cache<String, ConnectorSpecification> specs;
+
+  public SpecCachingSynchronousSchedulerClient(final SynchronousSchedulerClient delegate,
+                                               final ConfigRepository configRepository,
+                                               final MetricClient metricClient) {
+    this.delegate = delegate;
+    this.configRepository = configRepository;
+    this.metricClient = metricClient;
+    this.specs = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_SPECS).build();
+  }
+
+  @Override
+  public SynchronousResponse<StandardCheckConnectionOutput> createSourceCheckConnectionJob(final SourceConnection source,
+                                                                                           final String dockerImage,
+                                                                                           final Version protocolVersion,
+                                                                                           final boolean isCustomConnector)
+      throws IOException {
+    return delegate.createSourceCheckConnectionJob(source, dockerImage, protocolVersion, isCustomConnector);
+  }
+
+  @Override
+  public SynchronousResponse<StandardCheckConnectionOutput> createDestinationCheckConnectionJob(final DestinationConnection destination,
+                                                                                                final String dockerImage,
+                                                                                                final Version protocolVersion,
+                                                                                                final boolean isCustomConnector)
+      throws IOException {
+    return delegate.createDestinationCheckConnectionJob(destination, dockerImage, protocolVersion, isCustomConnector);
+  }
+
+  @Override
+  public SynchronousResponse<UUID> createDiscoverSchemaJob(final SourceConnection source,
+                                                           final String dockerImage,
+                                                           final String connectorVersion,
+                                                           final Version protocolVersion,
+                                                           final boolean isCustomConnector)
+      throws IOException {
+    return delegate.createDiscoverSchemaJob(source, dockerImage, connectorVersion, protocolVersion, isCustomConnector);
+  }
+
+  @Override
+  public SynchronousResponse<ConnectorSpecification> createGetSpecJob(final String dockerImage, final boolean isCustomConnector) throws IOException {
+    if (isCustomConnector || !isCacheable(dockerImage)) {
+      return delegate.createGetSpecJob(dockerImage, isCustomConnector);
+    }
+
+    // only set if this request looked the spec up, rather than finding it in memory or waiting for
+    // another request to look it up
+    final AtomicReference<String> lookupTier = new AtomicReference<>();
+    final AtomicReference<SynchronousResponse<ConnectorSpecification>> jobResponse = new AtomicReference<>();
+    final ConnectorSpecification spec;
+    try {
+      spec = specs.get(dockerImage, () -> {
+        final Optional<ConnectorSpecification> persistedSpec = getPersistedSpec(dockerImage);
+        if (persistedSpec.isPresent()) {
+          lookupTier.set(DATABASE_TIER);
+          return persistedSpec.get();
+        }
+        final SynchronousResponse<ConnectorSpecification> response = delegate.createGetSpecJob(dockerImage, isCustomConnector);
+        jobResponse.set(response);
+        if (!response.isSuccess() || response.getOutput() == null) {
+          throw new FailedSpecJobException(response);
+        }
+        // the caller gets the spec of the response, the cache keeps its own copy
+        return Jsons.clone(response.getOutput());
+      });
+    } catch (final ExecutionException | UncheckedExecutionException e) {
+      // requests that waited for the failed job get its response as well
+      if (e.getCause() instanceof FailedSpecJobException failedJob) {
+        metricClient.count(OssMetricsRegistry.CONNECTOR_SPEC_CACHE_MISS, 1);
+        return failedJob.response;
+      }
+      Throwables.throwIfInstanceOf(e.getCause(), IOException.class);
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new RuntimeException(e.getCause());
+    }
+
+    if (jobResponse.get() != null) {
+      metricClient.count(OssMetricsRegistry.CONNECTOR_SPEC_CACHE_MISS, 1);
+      return jobResponse.get();
+    }
+    metricClient.count(OssMetricsRegistry.CONNECTOR_SPEC_CACHE_HIT, 1,
+        new MetricAttribute(MetricTags.CACHE_TIER, lookupTier.get() != null ? lookupTier.get() : MEMORY_TIER));
+    // callers may modify the spec they get
+    return new SynchronousResponse<>(Jsons.clone(spec), SynchronousJobMetadata.mock(ConfigType.GET_SPEC));
+  }
+
+  private Optional<ConnectorSpecification> getPersistedSpec(final String dockerImage) throws IOException {
+    // definitions are stored with a tag, never with a digest
+    if (dockerImage.contains("@")) {
+      return Optional.empty();
+    }
+    final int tagSeparator = dockerImage.lastIndexOf(':');
+    return configRepository.getActorDefinitionSpecForImage(dockerImage.substring(0, tagSeparator), dockerImage.substring(tagSeparator + 1));
+  }
+
+  @VisibleForTesting
+  static boolean isCacheable(final String dockerImage) {
+    if (dockerImage.contains("@")) {
+      return true;
+    }
+    final int tagSeparator = dockerImage.lastIndexOf(':');
+    // a colon before the last slash separates the port of the registry, not a tag
+    return tagSeparator > dockerImage.lastIndexOf('/') && !MUTABLE_TAGS.contains(dockerImage.substring(tagSeparator + 1));
+  }
+
+  /**
+   * Carries the response of a failed get spec job out of the cache loader, so that it isn't cached.
+   */
+  private static final class FailedSpecJobException extends Exception {
+
+    private final transient SynchronousResponse<ConnectorSpecification> response;
+
+    private FailedSpecJobException(final SynchronousResponse<ConnectorSpecification> response) {
+      super("Get spec job failed");
+      this.response = response;
+    }
+
+  }
+
+}
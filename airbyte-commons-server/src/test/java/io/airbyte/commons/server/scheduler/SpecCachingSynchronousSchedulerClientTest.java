@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.server.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.config.JobConfig.ConfigType;
+import io.airbyte.config.persistence.ConfigRepository;
+import io.airbyte.metrics.lib.MetricAttribute;
+import io.airbyte.metrics.lib.MetricClient;
+import io.airbyte.metrics.lib.MetricTags;
+import io.airbyte.metrics.lib.OssMetricsRegistry;
+import io.airbyte.protocol.models.ConnectorSpecification;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SpecCachingSynchronousSchedulerClientTest {
+
+  private static final String DOCKER_REPOSITORY = "airbyte/source-foo";
+  private static final String DOCKER_IMAGE_TAG = "1.2.3";
+  private static final String DOCKER_IMAGE = DOCKER_REPOSITORY + ":" + DOCKER_IMAGE_TAG;
+  private static final ConnectorSpecification SPEC = new ConnectorSpecification()
+      .withConnectionSpecification(Jsons.jsonNode(Map.of("foo", "bar")));
+
+  private SynchronousSchedulerClient delegate;
+  private ConfigRepository configRepository;
+  private MetricClient metricClient;
+  private SpecCachingSynchronousSchedulerClient client;
+
+  @BeforeEach
+  void setup() throws IOException {
+    delegate = mock(SynchronousSchedulerClient.class);
+    configRepository = mock(ConfigRepository.class);
+    metricClient = mock(MetricClient.class);
+    client = new SpecCachingSynchronousSchedulerClient(delegate, configRepository, metricClient);
+
+    when(configRepository.getActorDefinitionSpecForImage(anyString(), anyString())).thenReturn(Optional.empty());
+  }
+
+  @Test
+  void testSpecJobRunsOncePerImage() throws IOException {
+    final SynchronousResponse<ConnectorSpecification> jobResponse = successfulResponse();
+    when(delegate.createGetSpecJob(DOCKER_IMAGE, false)).thenReturn(jobResponse);
+
+    assertSame(jobResponse, client.createGetSpecJob(DOCKER_IMAGE, false));
+    final SynchronousResponse<ConnectorSpecification> cachedResponse = client.createGetSpecJob(DOCKER_IMAGE, false);
+
+    assertTrue(cachedResponse.isSuccess());
+    assertEquals(SPEC, cachedResponse.getOutput());
+    assertNotSame(jobResponse.getOutput(), cachedResponse.getOutput());
+    assertEquals(ConfigType.GET_SPEC, cachedResponse.getMetadata().getConfigType());
+    assertTrue(cachedResponse.getMetadata().isSucceeded());
+    assertNull(cachedResponse.getMetadata().getLogPath());
+    verify(delegate, times(1)).createGetSpecJob(DOCKER_IMAGE, false);
+    verify(configRepository).getActorDefinitionSpecForImage(DOCKER_REPOSITORY, DOCKER_IMAGE_TAG);
+    verify(metricClient).count(OssMetricsRegistry.CONNECTOR_SPEC_CACHE_MISS, 1);
+    verify(metricClient).count(OssMetricsRegistry.CONNECTOR_SPEC_CACHE_HIT, 1,
+        new MetricAttribute(MetricTags.CACHE_TIER, SpecCachingSynchronousSchedulerClient.MEMORY_TIER));
+  }
+
+  @Test
+  void testSpecOfAnExistingDefinitionIsReused() throws IOException {
+    when(configRepository.getActorDefinitionSpecForImage(DOCKER_REPOSITORY, DOCKER_IMAGE_TAG)).thenReturn(Optional.of(SPEC));
+
+    final SynchronousResponse<ConnectorSpecification> response = client.createGetSpecJob(DOCKER_IMAGE, false);
+
+    assertTrue(response.isSuccess());
+    assertEquals(SPEC, response.getOutput());
+    verifyNoInteractions(delegate);
+    verify(metricClient).count(OssMetricsRegistry.CONNECTOR_SPEC_CACHE_HIT, 1,
+        new MetricAttribute(MetricTags.CACHE_TIER, SpecCachingSynchronousSchedulerClient.DATABASE_TIER));
+  }
+
+  @Test
+  void testFailedJobsAreNotCached() throws IOException {
+    final SynchronousResponse<ConnectorSpecification> failedResponse = SynchronousResponse.error(failedMetadata());
+    final SynchronousResponse<ConnectorSpecification> jobResponse = successfulResponse();
+    when(delegate.createGetSpecJob(DOCKER_IMAGE, false)).thenReturn(failedResponse, jobResponse);
+
+    assertSame(failedResponse, client.createGetSpecJob(DOCKER_IMAGE, false));
+    assertSame(jobResponse, client.createGetSpecJob(DOCKER_IMAGE, false));
+    verify(delegate, times(2)).createGetSpecJob(DOCKER_IMAGE, false);
+  }
+
+  @Test
+  void testExceptionsAreRethrown() throws IOException {
+    when(delegate.createGetSpecJob(DOCKER_IMAGE, false)).thenThrow(new IOException("boom"));
+
+    final IOException exception = assertThrows(IOException.class, () -> client.createGetSpecJob(DOCKER_IMAGE, false));
+    assertEquals("boom", exception.getMessage());
+  }
+
+  @Test
+  void testConcurrentRequestsShareOneJob() throws Exception {
+    final CountDownLatch jobStarted = new CountDownLatch(1);
+    final CountDownLatch releaseJob = new CountDownLatch(1);
+    when(delegate.createGetSpecJob(DOCKER_IMAGE, false)).thenAnswer(invocation -> {
+      jobStarted.countDown();
+      releaseJob.await(10, TimeUnit.SECONDS);
+      return successfulResponse();
+    });
+
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      final Future<SynchronousResponse<ConnectorSpecification>> first = executor.submit(() -> client.createGetSpecJob(DOCKER_IMAGE, false));
+      assertTrue(jobStarted.await(10, TimeUnit.SECONDS));
+      final Future<SynchronousResponse<ConnectorSpecification>> second = executor.submit(() -> client.createGetSpecJob(DOCKER_IMAGE, false));
+      releaseJob.countDown();
+
+      assertEquals(SPEC, first.get(10, TimeUnit.SECONDS).getOutput());
+      assertEquals(SPEC, second.get(10, TimeUnit.SECONDS).getOutput());
+    } finally {
+      executor.shutdownNow();
+    }
+    verify(delegate, times(1)).createGetSpecJob(DOCKER_IMAGE, false);
+  }
+
+  @Test
+  void testMutableImagesAreNotCached() throws IOException {
+    final String latestImage = DOCKER_REPOSITORY + ":latest";
+    when(delegate.createGetSpecJob(anyString(), anyBoolean())).thenReturn(successfulResponse());
+
+    client.createGetSpecJob(latestImage, false);
+    client.createGetSpecJob(latestImage, false);
+
+    verify(delegate, times(2)).createGetSpecJob(latestImage, false);
+    verifyNoInteractions(configRepository, metricClient);
+  }
+
+  @Test
+  void testCustomConnectorsAreNotCached() throws IOException {
+    when(configRepository.getActorDefinitionSpecForImage(DOCKER_REPOSITORY, DOCKER_IMAGE_TAG)).thenReturn(Optional.of(SPEC));
+    final SynchronousResponse<ConnectorSpecification> jobResponse = successfulResponse();
+    when(delegate.createGetSpecJob(DOCKER_IMAGE, true)).thenReturn(jobResponse);
+
+    assertSame(jobResponse, client.createGetSpecJob(DOCKER_IMAGE, true));
+    assertSame(jobResponse, client.createGetSpecJob(DOCKER_IMAGE, true));
+
+    verify(delegate, times(2)).createGetSpecJob(DOCKER_IMAGE, true);
+    verifyNoInteractions(configRepository, metricClient);
+  }
+
+  @Test
+  void testCustomConnectorsDoNotReadTheCacheOfOtherRequests() throws IOException {
+    when(delegate.createGetSpecJob(DOCKER_IMAGE, false)).thenReturn(successfulResponse());
+    final SynchronousResponse<ConnectorSpecification> customJobResponse = successfulResponse();
+    when(delegate.createGetSpecJob(DOCKER_IMAGE, true)).thenReturn(customJobResponse);
+
+    client.createGetSpecJob(DOCKER_IMAGE, false);
+
+    assertSame(customJobResponse, client.createGetSpecJob(DOCKER_IMAGE, true));
+    verify(delegate).createGetSpecJob(DOCKER_IMAGE, true);
+  }
+
+  @Test
+  void testIsCacheable() {
+    assertTrue(SpecCachingSynchronousSchedulerClient.isCacheable(DOCKER_IMAGE));
+    assertTrue(SpecCachingSynchronousSchedulerClient.isCacheable("localhost:5000/source-foo:1.2.3"));
+    assertTrue(SpecCachingSynchronousSchedulerClient.isCacheable(DOCKER_REPOSITORY + "@sha256:abcdef"));
+    assertFalse(SpecCachingSynchronousSchedulerClient.isCacheable(DOCKER_REPOSITORY));
+    assertFalse(SpecCachingSynchronousSchedulerClient.isCacheable("localhost:5000/source-foo"));
+    assertFalse(SpecCachingSynchronousSchedulerClient.isCacheable(DOCKER_REPOSITORY + ":dev"));
+    assertFalse(SpecCachingSynchronousSchedulerClient.isCacheable(DOCKER_REPOSITORY + ":latest"));
+  }
+
+  private static SynchronousResponse<ConnectorSpecification> successfulResponse() {
+    return SynchronousResponse.success(Jsons.clone(SPEC), SynchronousJobMetadata.mock(ConfigType.GET_SPEC));
+  }
+
+  private static SynchronousJobMetadata failedMetadata() {
+    final SynchronousJobMetadata metadata = SynchronousJobMetadata.mock(ConfigType.GET_SPEC);
+    return new SynchronousJobMetadata(metadata.getId(), ConfigType.GET_SPEC, null, metadata.getCreatedAt(), metadata.getEndedAt(), false, false,
+        null, null);
+  }
+
+}
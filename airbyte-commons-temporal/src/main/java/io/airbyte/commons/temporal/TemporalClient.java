@@ -7,6 +7,8 @@ package io.airbyte.commons.temporal;
 import static io.airbyte.commons.temporal.scheduling.ConnectionManagerWorkflow.NON_RUNNING_JOB_ID;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.protobuf.ByteString;
 import io.airbyte.commons.temporal.exception.DeletedWorkflowException;
 import io.airbyte.commons.temporal.exception.UnreachableWorkflowException;
@@ -30,11 +32,17 @@ import io.airbyte.config.persistence.StreamResetPersistence;
 import io.airbyte.featureflag.CommitStatesAsap;
 import io.airbyte.featureflag.FeatureFlagClient;
 import io.airbyte.featureflag.Workspace;
+import io.airbyte.metrics.lib.MetricAttribute;
+import io.airbyte.metrics.lib.MetricClient;
+import io.airbyte.metrics.lib.MetricClientFactory;
+import io.airbyte.metrics.lib.MetricTags;
+import io.airbyte.metrics.lib.OssMetricsRegistry;
 import io.airbyte.persistence.job.models.IntegrationLauncherConfig;
 import io.airbyte.persistence.job.models.JobRunConfig;
 import io.airbyte.protocol.models.StreamDescriptor;
-import io.temporal.api.common.v1.WorkflowType;
 import io.temporal.api.enums.v1.WorkflowExecutionStatus;
+import io.temporal.api.filter.v1.StatusFilter;
+import io.temporal.api.filter.v1.WorkflowTypeFilter;
 import io.temporal.api.workflowservice.v1.ListClosedWorkflowExecutionsRequest;
 import io.temporal.api.workflowservice.v1.ListClosedWorkflowExecutionsResponse;
 import io.temporal.api.workflowservice.v1.ListOpenWorkflowExecutionsRequest;
@@ -52,8 +60,12 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import lombok.Builder;
@@ -76,6 +88,18 @@ public class TemporalClient {
    */
   private static final int DELAY_BETWEEN_QUERY_MS = 10;
 
+  /**
+   * Connection manager workflows are started by a bounded pool of threads, since each start waits
+   * for the workflow to be reachable, and at a bounded rate, so that starting the workflows of many
+   * connections, e.g. on startup, doesn't overload Temporal.
+   */
+  private static final int WORKFLOW_START_CONCURRENCY = 10;
+  private static final double MAX_WORKFLOW_STARTS_PER_SECOND = 50;
+  private static final int VISIBILITY_PAGE_SIZE = 1000;
+  private static final String CONNECTION_MANAGER_WORKFLOW_TYPE = ConnectionManagerWorkflow.class.getSimpleName();
+  private static final String MIGRATE_OPERATION = "migrate";
+  private static final String RESTART_OPERATION = "restart";
+
   private final Path workspaceRoot;
   private final WorkflowClient client;
   private final WorkflowServiceStubs service;
@@ -103,7 +127,7 @@ public class TemporalClient {
     this.featureFlagClient = featureFlagClient;
   }
 
-  private final Set<String> workflowNames = new HashSet<>();
+  private volatile Set<String> workflowNames = Set.of();
 
   /**
    * Restart workflows stuck in a certain status.
@@ -115,37 +139,45 @@ public class TemporalClient {
 
     final Set<UUID> nonRunningWorkflow = filterOutRunningWorkspaceId(workflowExecutionInfos);
 
-    nonRunningWorkflow.forEach(connectionId -> {
+    forEachConnectionConcurrently(nonRunningWorkflow, RESTART_OPERATION, connectionId -> {
       connectionManagerUtils.safeTerminateWorkflow(client, connectionId, "Terminating workflow in "
           + "unreachable state before starting a new workflow for this connection");
       connectionManagerUtils.startConnectionManagerNoSignal(client, connectionId);
     });
   }
 
+  /**
+   * Get the connections whose connection manager workflow closed with a status.
+   * <p>
+   * Only the workflows closed with the status are listed. Their type is checked here, since the
+   * visibility store can only filter on one of them.
+   *
+   * @param executionStatus execution status
+   * @return connection ids
+   */
   Set<UUID> fetchClosedWorkflowsByStatus(final WorkflowExecutionStatus executionStatus) {
     ByteString token;
     ListClosedWorkflowExecutionsRequest workflowExecutionsRequest =
         ListClosedWorkflowExecutionsRequest.newBuilder()
             .setNamespace(client.getOptions().getNamespace())
+            .setStatusFilter(StatusFilter.newBuilder().setStatus(executionStatus))
+            .setMaximumPageSize(VISIBILITY_PAGE_SIZE)
             .build();
 
     final Set<UUID> workflowExecutionInfos = new HashSet<>();
     do {
-      final ListClosedWorkflowExecutionsResponse listOpenWorkflowExecutionsRequest =
+      final ListClosedWorkflowExecutionsResponse listClosedWorkflowExecutionsResponse =
           service.blockingStub().listClosedWorkflowExecutions(workflowExecutionsRequest);
-      final WorkflowType connectionManagerWorkflowType = WorkflowType.newBuilder().setName(ConnectionManagerWorkflow.class.getSimpleName()).build();
-      workflowExecutionInfos.addAll(listOpenWorkflowExecutionsRequest.getExecutionsList().stream()
-          .filter(workflowExecutionInfo -> workflowExecutionInfo.getType() == connectionManagerWorkflowType
-              || workflowExecutionInfo.getStatus() == executionStatus)
+      workflowExecutionInfos.addAll(listClosedWorkflowExecutionsResponse.getExecutionsList().stream()
+          .filter(workflowExecutionInfo -> CONNECTION_MANAGER_WORKFLOW_TYPE.equals(workflowExecutionInfo.getType().getName())
+              && workflowExecutionInfo.getStatus() == executionStatus)
           .flatMap((workflowExecutionInfo -> extractConnectionIdFromWorkflowId(workflowExecutionInfo.getExecution().getWorkflowId()).stream()))
           .collect(Collectors.toSet()));
-      token = listOpenWorkflowExecutionsRequest.getNextPageToken();
+      token = listClosedWorkflowExecutionsResponse.getNextPageToken();
 
-      workflowExecutionsRequest =
-          ListClosedWorkflowExecutionsRequest.newBuilder()
-              .setNamespace(client.getOptions().getNamespace())
-              .setNextPageToken(token)
-              .build();
+      workflowExecutionsRequest = workflowExecutionsRequest.toBuilder()
+          .setNextPageToken(token)
+          .build();
 
     } while (token != null && token.size() > 0);
 
@@ -162,30 +194,36 @@ public class TemporalClient {
     return workflowIds.stream().filter(workflowId -> !runningWorkflowByUUID.contains(workflowId)).collect(Collectors.toSet());
   }
 
+  /**
+   * Refresh the cache of the running connection manager workflows.
+   */
   @VisibleForTesting
   void refreshRunningWorkflow() {
-    workflowNames.clear();
+    final Set<String> runningWorkflowNames = new HashSet<>();
     ByteString token;
     ListOpenWorkflowExecutionsRequest openWorkflowExecutionsRequest =
         ListOpenWorkflowExecutionsRequest.newBuilder()
             .setNamespace(client.getOptions().getNamespace())
+            .setTypeFilter(WorkflowTypeFilter.newBuilder().setName(CONNECTION_MANAGER_WORKFLOW_TYPE))
+            .setMaximumPageSize(VISIBILITY_PAGE_SIZE)
             .build();
     do {
-      final ListOpenWorkflowExecutionsResponse listOpenWorkflowExecutionsRequest =
+      final ListOpenWorkflowExecutionsResponse listOpenWorkflowExecutionsResponse =
           service.blockingStub().listOpenWorkflowExecutions(openWorkflowExecutionsRequest);
-      final Set<String> workflowExecutionInfos = listOpenWorkflowExecutionsRequest.getExecutionsList().stream()
+      final Set<String> workflowExecutionInfos = listOpenWorkflowExecutionsResponse.getExecutionsList().stream()
+          .filter(workflowExecutionInfo -> CONNECTION_MANAGER_WORKFLOW_TYPE.equals(workflowExecutionInfo.getType().getName()))
           .map((workflowExecutionInfo -> workflowExecutionInfo.getExecution().getWorkflowId()))
           .collect(Collectors.toSet());
-      workflowNames.addAll(workflowExecutionInfos);
-      token = listOpenWorkflowExecutionsRequest.getNextPageToken();
+      runningWorkflowNames.addAll(workflowExecutionInfos);
+      token = listOpenWorkflowExecutionsResponse.getNextPageToken();
 
-      openWorkflowExecutionsRequest =
-          ListOpenWorkflowExecutionsRequest.newBuilder()
-              .setNamespace(client.getOptions().getNamespace())
-              .setNextPageToken(token)
-              .build();
+      openWorkflowExecutionsRequest = openWorkflowExecutionsRequest.toBuilder()
+          .setNextPageToken(token)
+          .build();
 
     } while (token != null && token.size() > 0);
+
+    workflowNames = runningWorkflowNames;
   }
 
   Optional<UUID> extractConnectionIdFromWorkflowId(final String workflowId) {
@@ -508,18 +546,20 @@ public class TemporalClient {
     globalMigrationWatch.start();
     refreshRunningWorkflow();
 
-    connectionIds.forEach((connectionId) -> {
+    final Set<UUID> connectionIdsToMigrate = connectionIds.stream()
+        .filter(connectionId -> !isInRunningWorkflowCache(connectionManagerUtils.getConnectionManagerName(connectionId)))
+        .collect(Collectors.toSet());
+
+    forEachConnectionConcurrently(connectionIdsToMigrate, MIGRATE_OPERATION, (connectionId) -> {
       final StopWatch singleSyncMigrationWatch = new StopWatch();
       singleSyncMigrationWatch.start();
-      if (!isInRunningWorkflowCache(connectionManagerUtils.getConnectionManagerName(connectionId))) {
-        log.info("Migrating: " + connectionId);
-        try {
-          submitConnectionUpdaterAsync(connectionId);
-        } catch (final Exception e) {
-          log.error("New workflow submission failed, retrying", e);
-          refreshRunningWorkflow();
-          submitConnectionUpdaterAsync(connectionId);
-        }
+      log.info("Migrating: " + connectionId);
+      try {
+        submitConnectionUpdaterAsync(connectionId);
+      } catch (final Exception e) {
+        log.error("New workflow submission failed, retrying", e);
+        refreshRunningWorkflow();
+        submitConnectionUpdaterAsync(connectionId);
       }
       singleSyncMigrationWatch.stop();
       log.info("Sync migration took: " + singleSyncMigrationWatch.formatTime());
@@ -529,6 +569,51 @@ public class TemporalClient {
     log.info("The migration to the new scheduler took: " + globalMigrationWatch.formatTime());
   }
 
+  /**
+   * Run an operation on the connection manager workflow of each connection, on a bounded pool of
+   * threads and at a bounded rate, and wait for all of them to be done. The failure of the operation
+   * for a connection is logged, and doesn't prevent the operation from running for the others.
+   *
+   * @param connectionIds connection ids
+   * @param operation name of the operation, for logs and metrics
+   * @param action operation
+   */
+  private void forEachConnectionConcurrently(final Set<UUID> connectionIds, final String operation, final Consumer<UUID> action) {
+    if (connectionIds.isEmpty()) {
+      return;
+    }
+    final MetricClient metricClient = MetricClientFactory.getMetricClient();
+    final MetricAttribute operationAttribute = new MetricAttribute(MetricTags.WORKFLOW_OPERATION, operation);
+    final RateLimiter rateLimiter = RateLimiter.create(MAX_WORKFLOW_STARTS_PER_SECOND);
+    final AtomicInteger pending = new AtomicInteger(connectionIds.size());
+    final ExecutorService executor = Executors.newFixedThreadPool(Math.min(WORKFLOW_START_CONCURRENCY, connectionIds.size()),
+        new ThreadFactoryBuilder().setDaemon(true).setNameFormat("connection-manager-" + operation + "-%d").build());
+    log.info("Running {} for {} connection manager workflows", operation, connectionIds.size());
+    metricClient.gauge(OssMetricsRegistry.CONNECTION_MANAGER_WORKFLOWS_PENDING_START, pending.get(), operationAttribute);
+    try {
+      final CompletableFuture<?>[] operations = connectionIds.stream()
+          .map(connectionId -> CompletableFuture.runAsync(() -> {
+            rateLimiter.acquire();
+            try {
+              action.accept(connectionId);
+              metricClient.count(OssMetricsRegistry.CONNECTION_MANAGER_WORKFLOWS_STARTED, 1, operationAttribute);
+            } catch (final Exception e) {
+              log.error("Failed to {} the connection manager workflow of connection {}", operation, connectionId, e);
+              metricClient.count(OssMetricsRegistry.CONNECTION_MANAGER_WORKFLOWS_FAILED_TO_START, 1, operationAttribute);
+            }
+            final int remaining = pending.decrementAndGet();
+            metricClient.gauge(OssMetricsRegistry.CONNECTION_MANAGER_WORKFLOWS_PENDING_START, remaining, operationAttribute);
+            if (remaining % 100 == 0) {
+              log.info("{} connection manager workflows left to {}", remaining, operation);
+            }
+          }, executor))
+          .toArray(CompletableFuture[]::new);
+      CompletableFuture.allOf(operations).join();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   @VisibleForTesting
   <T> TemporalResponse<T> execute(final JobRunConfig jobRunConfig, final Supplier<T> executor) {
     final Path jobRoot = TemporalUtils.getJobRoot(workspaceRoot, jobRunConfig);
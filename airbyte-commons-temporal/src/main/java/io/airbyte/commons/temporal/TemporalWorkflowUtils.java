@@ -11,9 +11,13 @@ import io.temporal.client.WorkflowClient;
 import io.temporal.client.WorkflowClientOptions;
 import io.temporal.client.WorkflowOptions;
 import io.temporal.common.RetryOptions;
+import io.temporal.common.converter.CodecDataConverter;
+import io.temporal.common.converter.DefaultDataConverter;
+import io.temporal.payload.codec.PayloadCodec;
 import io.temporal.serviceclient.WorkflowServiceStubs;
 import io.temporal.serviceclient.WorkflowServiceStubsOptions;
 import java.time.Duration;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -145,11 +149,28 @@ public class TemporalWorkflowUtils {
    * @return workflow client
    */
   public static WorkflowClient createWorkflowClient(final WorkflowServiceStubs workflowServiceStubs, final String namespace) {
-    return WorkflowClient.newInstance(
-        workflowServiceStubs,
-        WorkflowClientOptions.newBuilder()
-            .setNamespace(namespace)
-            .build());
+    return createWorkflowClient(workflowServiceStubs, namespace, List.of());
+  }
+
+  /**
+   * Create temporal workflow client that encodes payloads with the given codecs. Workers created from
+   * the client use the same codecs.
+   *
+   * @param workflowServiceStubs workflow service client
+   * @param namespace temporal namespace
+   * @param payloadCodecs codecs applied to payloads, the last one is applied first when encoding and
+   *        last when decoding
+   * @return workflow client
+   */
+  public static WorkflowClient createWorkflowClient(final WorkflowServiceStubs workflowServiceStubs,
+                                                    final String namespace,
+                                                    final List<PayloadCodec> payloadCodecs) {
+    final WorkflowClientOptions.Builder options = WorkflowClientOptions.newBuilder()
+        .setNamespace(namespace);
+    if (!payloadCodecs.isEmpty()) {
+      options.setDataConverter(new CodecDataConverter(DefaultDataConverter.newDefaultInstance(), payloadCodecs));
+    }
+    return WorkflowClient.newInstance(workflowServiceStubs, options.build());
   }
 
 }
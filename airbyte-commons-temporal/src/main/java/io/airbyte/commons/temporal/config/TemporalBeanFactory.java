@@ -6,13 +6,18 @@ package io.airbyte.commons.temporal.config;
 
 import io.airbyte.commons.temporal.TemporalUtils;
 import io.airbyte.commons.temporal.TemporalWorkflowUtils;
+import io.airbyte.commons.temporal.payload.CompressingPayloadCodec;
 import io.micronaut.context.annotation.Factory;
 import io.micronaut.context.annotation.Value;
 import io.temporal.client.WorkflowClient;
+import io.temporal.payload.codec.PayloadCodec;
 import io.temporal.serviceclient.WorkflowServiceStubs;
 import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Micronaut bean factory for Temporal-related singletons.
@@ -25,11 +30,24 @@ public class TemporalBeanFactory {
     return temporalUtils.createTemporalService();
   }
 
+  /**
+   * When compression is enabled, payloads above the compression threshold are gzipped. When it is
+   * not, payloads compressed while it was enabled are still decompressed, so that it can be turned
+   * off at any time. Applications that define an {@code offloadingPayloadCodec} also move the largest
+   * payloads out of the workflow history, after compressing them.
+   */
   @Singleton
   public WorkflowClient workflowClient(
                                        final TemporalUtils temporalUtils,
-                                       final WorkflowServiceStubs temporalService) {
-    return TemporalWorkflowUtils.createWorkflowClient(temporalService, temporalUtils.getNamespace());
+                                       final WorkflowServiceStubs temporalService,
+                                       @Named("offloadingPayloadCodec") final Optional<PayloadCodec> offloadingPayloadCodec,
+                                       @Value("${temporal.payload.compression.enabled:false}") final boolean compressionEnabled,
+                                       @Value("${temporal.payload.compression.threshold:65536}") final int compressionThresholdBytes) {
+    final List<PayloadCodec> payloadCodecs = new ArrayList<>();
+    // the last codec is applied first when encoding
+    offloadingPayloadCodec.ifPresent(payloadCodecs::add);
+    payloadCodecs.add(compressionEnabled ? new CompressingPayloadCodec(compressionThresholdBytes) : CompressingPayloadCodec.decodeOnly());
+    return TemporalWorkflowUtils.createWorkflowClient(temporalService, temporalUtils.getNamespace(), payloadCodecs);
   }
 
   @Singleton
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.temporal.payload;
+
+import com.google.protobuf.ByteString;
+import io.temporal.api.common.v1.Payload;
+import io.temporal.common.converter.DataConverterException;
+import io.temporal.payload.codec.PayloadCodec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzips the Temporal payloads larger than a threshold, e.g. the inputs of syncs which hold their
+ * whole catalog, so that they stay under the payload size limit of Temporal and take less space in
+ * the history of workflows.
+ * <p>
+ * The whole payload is compressed, metadata included, and replaced by a payload that only holds the
+ * {@link #ENCODING} and the compressed bytes. Payloads that are not compressed, e.g. written before
+ * this codec was used, are decoded as is, so the codec can be enabled and the threshold changed at
+ * any time.
+ */
+public class CompressingPayloadCodec implements PayloadCodec {
+
+  static final String METADATA_ENCODING_KEY = "encoding";
+  static final ByteString ENCODING = ByteString.copyFromUtf8("binary/airbyte-gzip");
+
+  private final int thresholdBytes;
+
+  /**
+   * Create the codec.
+   *
+   * @param thresholdBytes size in bytes of the largest payload that isn't compressed
+   */
+  public CompressingPayloadCodec(final int thresholdBytes) {
+    this.thresholdBytes = thresholdBytes;
+  }
+
+  /**
+   * Create a codec that compresses no payload, but still decompresses the payloads compressed by a
+   * codec that does.
+   */
+  public static CompressingPayloadCodec decodeOnly() {
+    return new CompressingPayloadCodec(Integer.MAX_VALUE);
+  }
+
+  @Override
+  public List<Payload> encode(final List<Payload> payloads) {
+    return payloads.stream().map(this::encode).toList();
+  }
+
+  @Override
+  public List<Payload> decode(final List<Payload> payloads) {
+    return payloads.stream().map(CompressingPayloadCodec::decode).toList();
+  }
+
+  private Payload encode(final Payload payload) {
+    if (payload.getSerializedSize() <= thresholdBytes) {
+      return payload;
+    }
+    final ByteString.Output compressed = ByteString.newOutput(payload.getSerializedSize() / 4);
+    try (final OutputStream gzip = new GZIPOutputStream(compressed)) {
+      payload.writeTo(gzip);
+    } catch (final IOException e) {
+      throw new DataConverterException("Failed to compress payload", e);
+    }
+    if (compressed.size() >= payload.getSerializedSize()) {
+      // already compressed data, e.g. binary payloads
+      return payload;
+    }
+    return Payload.newBuilder()
+        .putMetadata(METADATA_ENCODING_KEY, ENCODING)
+        .setData(compressed.toByteString())
+        .build();
+  }
+
+  private static Payload decode(final Payload payload) {
+    if (!ENCODING.equals(payload.getMetadataOrDefault(METADATA_ENCODING_KEY, null))) {
+      return payload;
+    }
+    try (final InputStream gzip = new GZIPInputStream(payload.getData().newInput())) {
+      return Payload.parseFrom(gzip);
+    } catch (final IOException e) {
+      throw new DataConverterException("Failed to decompress payload", e);
+    }
+  }
+
+}
@@ -78,6 +78,7 @@ public class OrchestratorConstants {
           EnvVariableFeatureFlags.FIELD_SELECTION_WORKSPACES,
           EnvVariableFeatureFlags.STRICT_COMPARISON_NORMALIZATION_WORKSPACES,
           EnvVariableFeatureFlags.STRICT_COMPARISON_NORMALIZATION_TAG,
+          EnvVariableFeatureFlags.BACKGROUND_VALIDATION_SAMPLE_RATE,
           FEATURE_FLAG_CLIENT,
           FEATURE_FLAG_PATH,
           EnvConfigs.LAUNCHDARKLY_KEY,
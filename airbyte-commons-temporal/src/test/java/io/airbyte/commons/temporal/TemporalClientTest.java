@@ -15,6 +15,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -31,6 +32,11 @@ import io.airbyte.commons.temporal.scheduling.DiscoverCatalogWorkflow;
 import io.airbyte.commons.temporal.scheduling.SpecWorkflow;
 import io.airbyte.commons.temporal.scheduling.SyncWorkflow;
 import io.airbyte.commons.temporal.scheduling.state.WorkflowState;
+import io.airbyte.commons.temporal.stubs.ConnectionManagerWorkflowStub;
+import io.airbyte.commons.temporal.stubs.ConnectionManagerWorkflowStub.ConnectionManagerWorkflowStubImpl;
+import io.airbyte.commons.temporal.stubs.ConnectionManagerWorkflowStub.OtherWorkflowStub;
+import io.airbyte.commons.temporal.stubs.ConnectionManagerWorkflowStub.OtherWorkflowStubImpl;
+import io.airbyte.commons.temporal.stubs.ConnectionManagerWorkflowStub.Outcome;
 import io.airbyte.config.AttemptSyncConfig;
 import io.airbyte.config.ConnectorJobOutput;
 import io.airbyte.config.FailureReason;
@@ -56,17 +62,22 @@ import io.temporal.api.workflowservice.v1.WorkflowServiceGrpc.WorkflowServiceBlo
 import io.temporal.client.BatchRequest;
 import io.temporal.client.WorkflowClient;
 import io.temporal.client.WorkflowClientOptions;
+import io.temporal.client.WorkflowFailedException;
 import io.temporal.client.WorkflowOptions;
 import io.temporal.client.WorkflowStub;
 import io.temporal.serviceclient.WorkflowServiceStubs;
+import io.temporal.testing.TestWorkflowEnvironment;
+import io.temporal.worker.Worker;
 import io.temporal.workflow.Functions.Proc;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -176,6 +187,142 @@ public class TemporalClientTest {
 
   }
 
+  @Nested
+  @DisplayName("Test the visibility queries and the concurrent workflow operations against a Temporal test environment")
+  class VisibilityQueries {
+
+    private static final String TASK_QUEUE = "visibility-queries";
+    private static final int CONNECTION_COUNT = 25;
+
+    private TestWorkflowEnvironment testEnv;
+    private WorkflowClient testClient;
+    private ConnectionManagerUtils mConnectionManagerUtils;
+
+    @BeforeEach
+    void init() {
+      testEnv = TestWorkflowEnvironment.newInstance();
+      final Worker worker = testEnv.newWorker(TASK_QUEUE);
+      worker.registerWorkflowImplementationTypes(ConnectionManagerWorkflowStubImpl.class, OtherWorkflowStubImpl.class);
+      testEnv.start();
+      testClient = testEnv.getWorkflowClient();
+
+      mConnectionManagerUtils = mock(ConnectionManagerUtils.class);
+      when(mConnectionManagerUtils.getConnectionManagerName(any())).thenCallRealMethod();
+      temporalClient = spy(
+          new TemporalClient(workspaceRoot, testClient, testEnv.getWorkflowServiceStubs(), streamResetPersistence, mConnectionManagerUtils,
+              notificationUtils, streamResetRecordsHelper, featureFlagClient));
+    }
+
+    @AfterEach
+    void tearDown() {
+      testEnv.close();
+    }
+
+    @Test
+    void testClosedWorkflowsAreFetchedByStatusAndType() {
+      final UUID failedId = UUID.randomUUID();
+      final UUID completedId = UUID.randomUUID();
+      final UUID runningId = UUID.randomUUID();
+      final UUID otherTypeId = UUID.randomUUID();
+      runConnectionManagerWorkflow(failedId, Outcome.FAIL);
+      runConnectionManagerWorkflow(completedId, Outcome.COMPLETE);
+      runConnectionManagerWorkflow(runningId, Outcome.KEEP_RUNNING);
+      runOtherWorkflow(otherTypeId, Outcome.FAIL);
+
+      assertEquals(Set.of(failedId), temporalClient.fetchClosedWorkflowsByStatus(WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_FAILED));
+      assertEquals(Set.of(completedId), temporalClient.fetchClosedWorkflowsByStatus(WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_COMPLETED));
+    }
+
+    @Test
+    void testOnlyRunningConnectionManagerWorkflowsAreCached() {
+      final UUID failedId = UUID.randomUUID();
+      final UUID runningId = UUID.randomUUID();
+      final UUID otherTypeId = UUID.randomUUID();
+      runConnectionManagerWorkflow(failedId, Outcome.FAIL);
+      runConnectionManagerWorkflow(runningId, Outcome.KEEP_RUNNING);
+      runOtherWorkflow(otherTypeId, Outcome.KEEP_RUNNING);
+
+      temporalClient.refreshRunningWorkflow();
+
+      assertTrue(temporalClient.isInRunningWorkflowCache(mConnectionManagerUtils.getConnectionManagerName(runningId)));
+      assertFalse(temporalClient.isInRunningWorkflowCache(mConnectionManagerUtils.getConnectionManagerName(failedId)));
+      assertFalse(temporalClient.isInRunningWorkflowCache(mConnectionManagerUtils.getConnectionManagerName(otherTypeId)));
+    }
+
+    @Test
+    void testRestartFailedWorkflows() {
+      final Set<UUID> failedIds = new HashSet<>();
+      for (int i = 0; i < CONNECTION_COUNT; i++) {
+        final UUID connectionId = UUID.randomUUID();
+        runConnectionManagerWorkflow(connectionId, Outcome.FAIL);
+        failedIds.add(connectionId);
+      }
+      // a workflow which failed, and is already running again
+      final UUID restartedId = UUID.randomUUID();
+      runConnectionManagerWorkflow(restartedId, Outcome.FAIL);
+      runConnectionManagerWorkflow(restartedId, Outcome.KEEP_RUNNING);
+
+      temporalClient.restartClosedWorkflowByStatus(WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_FAILED);
+
+      failedIds.forEach(connectionId -> {
+        verify(mConnectionManagerUtils).safeTerminateWorkflow(eq(testClient), eq(connectionId), anyString());
+        verify(mConnectionManagerUtils).startConnectionManagerNoSignal(testClient, connectionId);
+      });
+      verify(mConnectionManagerUtils, never()).startConnectionManagerNoSignal(testClient, restartedId);
+    }
+
+    @Test
+    void testMigrateNonRunningWorkflows() {
+      final Set<UUID> nonMigratedIds = new HashSet<>();
+      for (int i = 0; i < CONNECTION_COUNT; i++) {
+        nonMigratedIds.add(UUID.randomUUID());
+      }
+      final UUID migratedId = UUID.randomUUID();
+      final UUID failingId = UUID.randomUUID();
+      runConnectionManagerWorkflow(migratedId, Outcome.KEEP_RUNNING);
+      doReturn(mock(ConnectionManagerWorkflow.class)).when(temporalClient).submitConnectionUpdaterAsync(any());
+      Mockito.doThrow(new IllegalStateException("Force workflow submission failure")).when(temporalClient).submitConnectionUpdaterAsync(failingId);
+
+      temporalClient.migrateSyncIfNeeded(Sets.union(Sets.union(nonMigratedIds, Set.of(migratedId)), Set.of(failingId)));
+
+      nonMigratedIds.forEach(connectionId -> verify(temporalClient).submitConnectionUpdaterAsync(connectionId));
+      // the failing submission is retried once, without preventing the others
+      verify(temporalClient, times(2)).submitConnectionUpdaterAsync(failingId);
+      verify(temporalClient, never()).submitConnectionUpdaterAsync(migratedId);
+    }
+
+    private void runConnectionManagerWorkflow(final UUID connectionId, final Outcome outcome) {
+      final ConnectionManagerWorkflowStub workflow = testClient.newWorkflowStub(ConnectionManagerWorkflowStub.class, workflowOptions(connectionId));
+      WorkflowClient.start(workflow::run, outcome);
+      awaitOutcome(WorkflowStub.fromTyped(workflow), outcome);
+    }
+
+    private void runOtherWorkflow(final UUID connectionId, final Outcome outcome) {
+      final OtherWorkflowStub workflow = testClient.newWorkflowStub(OtherWorkflowStub.class, workflowOptions(connectionId));
+      WorkflowClient.start(workflow::run, outcome);
+      awaitOutcome(WorkflowStub.fromTyped(workflow), outcome);
+    }
+
+    private WorkflowOptions workflowOptions(final UUID connectionId) {
+      return WorkflowOptions.newBuilder()
+          .setTaskQueue(TASK_QUEUE)
+          .setWorkflowId(mConnectionManagerUtils.getConnectionManagerName(connectionId))
+          .build();
+    }
+
+    private void awaitOutcome(final WorkflowStub workflowStub, final Outcome outcome) {
+      if (outcome == Outcome.KEEP_RUNNING) {
+        return;
+      }
+      try {
+        workflowStub.getResult(Void.class);
+      } catch (final WorkflowFailedException e) {
+        assertEquals(Outcome.FAIL, outcome);
+      }
+    }
+
+  }
+
   @Nested
   @DisplayName("Test execute method.")
   class ExecuteJob {
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.temporal.payload;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.airbyte.commons.temporal.TemporalUtils;
+import io.temporal.activity.ActivityInterface;
+import io.temporal.activity.ActivityMethod;
+import io.temporal.activity.ActivityOptions;
+import io.temporal.api.common.v1.Payload;
+import io.temporal.api.common.v1.WorkflowExecution;
+import io.temporal.api.history.v1.HistoryEvent;
+import io.temporal.api.workflowservice.v1.GetWorkflowExecutionHistoryRequest;
+import io.temporal.client.WorkflowClient;
+import io.temporal.client.WorkflowClientOptions;
+import io.temporal.client.WorkflowOptions;
+import io.temporal.client.WorkflowStub;
+import io.temporal.common.converter.CodecDataConverter;
+import io.temporal.common.converter.DefaultDataConverter;
+import io.temporal.testing.TestEnvironmentOptions;
+import io.temporal.testing.TestWorkflowEnvironment;
+import io.temporal.worker.Worker;
+import io.temporal.workflow.Workflow;
+import io.temporal.workflow.WorkflowInterface;
+import io.temporal.workflow.WorkflowMethod;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class CompressingPayloadCodecTest {
+
+  private static final String TASK_QUEUE = "default";
+  private static final int THRESHOLD_BYTES = 1024;
+  private static final String SMALL_INPUT = "small";
+  private static final String LARGE_INPUT = "large ".repeat(10_000);
+
+  private final CompressingPayloadCodec codec = new CompressingPayloadCodec(THRESHOLD_BYTES);
+
+  @Test
+  void testOnlyLargePayloadsAreCompressed() {
+    final Payload small = DefaultDataConverter.STANDARD_INSTANCE.toPayload(SMALL_INPUT).orElseThrow();
+    final Payload large = DefaultDataConverter.STANDARD_INSTANCE.toPayload(LARGE_INPUT).orElseThrow();
+
+    final List<Payload> encoded = codec.encode(List.of(small, large));
+
+    assertEquals(small, encoded.get(0));
+    assertEquals(CompressingPayloadCodec.ENCODING, encoded.get(1).getMetadataOrThrow(CompressingPayloadCodec.METADATA_ENCODING_KEY));
+    assertTrue(encoded.get(1).getSerializedSize() < THRESHOLD_BYTES);
+    assertEquals(List.of(small, large), codec.decode(encoded));
+  }
+
+  @Test
+  void testUncompressedPayloadsAreDecodedAsIs() {
+    final Payload large = DefaultDataConverter.STANDARD_INSTANCE.toPayload(LARGE_INPUT).orElseThrow();
+
+    assertEquals(List.of(large), new CompressingPayloadCodec(Integer.MAX_VALUE).decode(codec.encode(List.of(large))));
+    assertEquals(List.of(large), codec.decode(List.of(large)));
+  }
+
+  @Test
+  void testDecodeOnlyCodecDecompressesButDoesNotCompress() {
+    final Payload large = DefaultDataConverter.STANDARD_INSTANCE.toPayload(LARGE_INPUT).orElseThrow();
+    final CompressingPayloadCodec decodeOnlyCodec = CompressingPayloadCodec.decodeOnly();
+
+    assertEquals(List.of(large), decodeOnlyCodec.encode(List.of(large)));
+    assertEquals(List.of(large), decodeOnlyCodec.decode(codec.encode(List.of(large))));
+  }
+
+  @Test
+  void testWorkflowPayloadsAreCompressed() {
+    final TestWorkflowEnvironment testEnv = TestWorkflowEnvironment.newInstance(TestEnvironmentOptions.newBuilder()
+        .setWorkflowClientOptions(WorkflowClientOptions.newBuilder()
+            .setDataConverter(new CodecDataConverter(DefaultDataConverter.newDefaultInstance(), List.of(codec)))
+            .build())
+        .build());
+    try {
+      final Worker worker = testEnv.newWorker(TASK_QUEUE);
+      worker.registerWorkflowImplementationTypes(EchoWorkflow.WorkflowImpl.class);
+      worker.registerActivitiesImplementations(new EchoWorkflow.EchoActivityImpl());
+      testEnv.start();
+
+      final WorkflowClient client = testEnv.getWorkflowClient();
+      final EchoWorkflow workflow = client.newWorkflowStub(EchoWorkflow.class, WorkflowOptions.newBuilder().setTaskQueue(TASK_QUEUE).build());
+      final WorkflowExecution execution = WorkflowClient.start(workflow::run, LARGE_INPUT);
+
+      assertEquals(LARGE_INPUT, WorkflowStub.fromTyped(workflow).getResult(String.class));
+
+      final List<HistoryEvent> history = testEnv.getWorkflowService().blockingStub()
+          .getWorkflowExecutionHistory(GetWorkflowExecutionHistoryRequest.newBuilder()
+              .setNamespace(testEnv.getNamespace())
+              .setExecution(execution)
+              .build())
+          .getHistory()
+          .getEventsList();
+      final List<Payload> historyPayloads = history.stream()
+          .flatMap(event -> {
+            if (event.hasWorkflowExecutionStartedEventAttributes()) {
+              return event.getWorkflowExecutionStartedEventAttributes().getInput().getPayloadsList().stream();
+            } else if (event.hasActivityTaskScheduledEventAttributes()) {
+              return event.getActivityTaskScheduledEventAttributes().getInput().getPayloadsList().stream();
+            } else if (event.hasActivityTaskCompletedEventAttributes()) {
+              return event.getActivityTaskCompletedEventAttributes().getResult().getPayloadsList().stream();
+            } else if (event.hasWorkflowExecutionCompletedEventAttributes()) {
+              return event.getWorkflowExecutionCompletedEventAttributes().getResult().getPayloadsList().stream();
+            }
+            return Stream.empty();
+          })
+          .toList();
+
+      assertEquals(4, historyPayloads.size());
+      for (final Payload payload : historyPayloads) {
+        assertEquals(CompressingPayloadCodec.ENCODING, payload.getMetadataOrThrow(CompressingPayloadCodec.METADATA_ENCODING_KEY));
+        assertTrue(payload.getSerializedSize() < THRESHOLD_BYTES);
+      }
+    } finally {
+      testEnv.close();
+    }
+  }
+
+  @WorkflowInterface
+  public interface EchoWorkflow {
+
+    @WorkflowMethod
+    String run(String input);
+
+    class WorkflowImpl implements EchoWorkflow {
+
+      private final EchoActivity activity = Workflow.newActivityStub(EchoActivity.class, ActivityOptions.newBuilder()
+          .setStartToCloseTimeout(Duration.ofMinutes(1))
+          .setRetryOptions(TemporalUtils.NO_RETRY)
+          .build());
+
+      @Override
+      public String run(final String input) {
+        return activity.echo(input);
+      }
+
+    }
+
+    @ActivityInterface
+    interface EchoActivity {
+
+      @ActivityMethod
+      String echo(String input);
+
+    }
+
+    class EchoActivityImpl implements EchoActivity {
+
+      @Override
+      public String echo(final String input) {
+        return input;
+      }
+
+    }
+
+  }
+
+}
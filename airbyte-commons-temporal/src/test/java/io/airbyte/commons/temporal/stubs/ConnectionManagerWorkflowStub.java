@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.temporal.stubs;
+
+import io.temporal.failure.ApplicationFailure;
+import io.temporal.workflow.Workflow;
+import io.temporal.workflow.WorkflowInterface;
+import io.temporal.workflow.WorkflowMethod;
+
+/**
+ * Workflow registered with the type of the connection manager workflow, which ends with a given
+ * outcome. Used to populate the visibility store of a test environment.
+ */
+@WorkflowInterface
+public interface ConnectionManagerWorkflowStub {
+
+  @WorkflowMethod(name = "ConnectionManagerWorkflow")
+  void run(Outcome outcome);
+
+  /**
+   * How a stub workflow ends.
+   */
+  enum Outcome {
+    COMPLETE,
+    FAIL,
+    KEEP_RUNNING
+  }
+
+  /**
+   * Workflow of another type, which ends the same way.
+   */
+  @WorkflowInterface
+  interface OtherWorkflowStub {
+
+    @WorkflowMethod
+    void run(Outcome outcome);
+
+  }
+
+  class ConnectionManagerWorkflowStubImpl implements ConnectionManagerWorkflowStub {
+
+    @Override
+    public void run(final Outcome outcome) {
+      end(outcome);
+    }
+
+  }
+
+  class OtherWorkflowStubImpl implements OtherWorkflowStub {
+
+    @Override
+    public void run(final Outcome outcome) {
+      end(outcome);
+    }
+
+  }
+
+  private static void end(final Outcome outcome) {
+    switch (outcome) {
+      case FAIL -> throw ApplicationFailure.newNonRetryableFailure("stub failure", "StubFailure");
+      case KEEP_RUNNING -> Workflow.await(() -> false);
+      default -> {}
+    }
+  }
+
+}
@@ -6,6 +6,7 @@ package io.airbyte.workers;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.cache.CacheStats;
 import io.airbyte.featureflag.FeatureFlagClient;
 import io.airbyte.featureflag.PerfBackgroundJsonValidation;
 import io.airbyte.featureflag.Workspace;
@@ -15,6 +16,7 @@ import io.airbyte.validation.json.JsonSchemaValidator;
 import io.airbyte.validation.json.JsonValidationException;
 import io.airbyte.workers.exception.RecordSchemaValidationException;
 import java.lang.invoke.MethodHandles;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -31,16 +33,30 @@ public class RecordSchemaValidator {
 
   private static final Logger log = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
-  private final FeatureFlagClient featureFlagClient;
-  private final UUID workspaceId;
   private static final JsonSchemaValidator validator = new JsonSchemaValidator();
   private final Map<AirbyteStreamNameNamespacePair, JsonNode> streams;
+  // names the validators of the streams are registered under, computed once rather than for every
+  // record
+  private final Map<AirbyteStreamNameNamespacePair, String> streamToSchemaName = new HashMap<>();
+  private final CacheStats initialSchemaCacheStats;
+  private final boolean backgroundValidationEnabled;
+  private final int backgroundValidationSampleRate;
 
   public RecordSchemaValidator(final FeatureFlagClient featureFlagClient,
                                final UUID workspaceId,
                                final Map<AirbyteStreamNameNamespacePair, JsonNode> streamNamesToSchemas) {
-    this.featureFlagClient = featureFlagClient;
-    this.workspaceId = workspaceId;
+    this(featureFlagClient, workspaceId, streamNamesToSchemas, 1);
+  }
+
+  public RecordSchemaValidator(final FeatureFlagClient featureFlagClient,
+                               final UUID workspaceId,
+                               final Map<AirbyteStreamNameNamespacePair, JsonNode> streamNamesToSchemas,
+                               final int backgroundValidationSampleRate) {
+    // the flag is evaluated once per sync rather than for every record
+    this.backgroundValidationEnabled = workspaceId != null
+        && featureFlagClient.enabled(PerfBackgroundJsonValidation.INSTANCE, new Workspace(workspaceId));
+    log.info("Background record schema validation {} for workspace {}", backgroundValidationEnabled ? "enabled" : "disabled", workspaceId);
+    this.backgroundValidationSampleRate = Math.max(backgroundValidationSampleRate, 1);
     // streams is Map of a stream source namespace + name mapped to the stream schema
     // for easy access when we check each record's schema
     this.streams = streamNamesToSchemas;
@@ -50,9 +66,36 @@ public class RecordSchemaValidator {
       // Rather than allowing connectors to use any version, we enforce validation using V7
       final var schema = streams.get(stream);
       ((ObjectNode) schema).put("$schema", "http://json-schema.org/draft-07/schema#");
-      validator.initializeSchemaValidator(stream.toString(), schema);
+      final String schemaName = stream.toString();
+      streamToSchemaName.put(stream, schemaName);
+      validator.initializeSchemaValidator(schemaName, schema);
     }
+    this.initialSchemaCacheStats = validator.getSchemaCacheStats();
+  }
+
+  /**
+   * Whether records should be validated in the background rather than on the replication path. See
+   * {@link #getBackgroundValidationSampleRate()}.
+   */
+  public boolean isBackgroundValidationEnabled() {
+    return backgroundValidationEnabled;
+  }
 
+  /**
+   * When validating in the background, only one out of every sample rate records of each stream is
+   * validated.
+   */
+  public int getBackgroundValidationSampleRate() {
+    return backgroundValidationSampleRate;
+  }
+
+  /**
+   * Activity of the validator's compiled schema cache since this RecordSchemaValidator was created.
+   * The validator is shared, so this also includes lookups made by other syncs running in the same
+   * process.
+   */
+  public CacheStats getSchemaCacheStats() {
+    return validator.getSchemaCacheStats().minus(initialSchemaCacheStats);
   }
 
   /**
@@ -70,18 +113,9 @@ public class RecordSchemaValidator {
     final JsonNode messageData = message.getData();
     final JsonNode matchingSchema = streams.get(messageStream);
 
-    if (workspaceId != null) {
-      if (featureFlagClient.enabled(PerfBackgroundJsonValidation.INSTANCE, new Workspace(workspaceId))) {
-        log.debug("feature flag enabled for workspace {}", workspaceId);
-      } else {
-        log.debug("feature flag disabled for workspace {}", workspaceId);
-      }
-    } else {
-      log.debug("workspace id is null");
-    }
-
     try {
-      validator.ensureInitializedSchema(messageStream.toString(), messageData);
+      final String schemaName = streamToSchemaName.get(messageStream);
+      validator.ensureInitializedSchema(schemaName != null ? schemaName : messageStream.toString(), messageData);
     } catch (final JsonValidationException e) {
       final List<String[]> invalidRecordDataAndType = validator.getValidationMessageArgs(matchingSchema, messageData);
       final List<String> invalidFields = validator.getValidationMessagePaths(matchingSchema, messageData);
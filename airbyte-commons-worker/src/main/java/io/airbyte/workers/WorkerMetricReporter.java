@@ -4,6 +4,7 @@
 
 package io.airbyte.workers;
 
+import com.google.common.cache.CacheStats;
 import io.airbyte.metrics.lib.MetricAttribute;
 import io.airbyte.metrics.lib.MetricClient;
 import io.airbyte.metrics.lib.OssMetricsRegistry;
@@ -30,9 +31,36 @@ public class WorkerMetricReporter {
         new MetricAttribute("docker_version", dockerVersion), new MetricAttribute("stream", stream.toString()));
   }
 
+  public void trackSchemaValidationDropped(final long droppedCount) {
+    metricClient.count(OssMetricsRegistry.RECORD_SCHEMA_VALIDATION_DROPPED, droppedCount, new MetricAttribute("docker_repo", dockerRepo),
+        new MetricAttribute("docker_version", dockerVersion));
+  }
+
   public void trackStateMetricTrackerError() {
     metricClient.count(OssMetricsRegistry.STATE_METRIC_TRACKER_ERROR, 1, new MetricAttribute("docker_repo", dockerRepo),
         new MetricAttribute("docker_version", dockerVersion));
   }
 
+  public void trackSchemaCacheStats(final CacheStats stats) {
+    trackSchemaCacheResult("hit", stats.hitCount());
+    trackSchemaCacheResult("miss", stats.missCount());
+    trackSchemaCacheResult("eviction", stats.evictionCount());
+  }
+
+  private void trackSchemaCacheResult(final String result, final long count) {
+    metricClient.count(OssMetricsRegistry.JSON_SCHEMA_VALIDATOR_CACHE, count, new MetricAttribute("docker_repo", dockerRepo),
+        new MetricAttribute("docker_version", dockerVersion), new MetricAttribute("result", result));
+  }
+
+  public void trackReplicationQueueDepth(final String stage, final int depth) {
+    metricClient.distribution(OssMetricsRegistry.REPLICATION_PIPELINE_QUEUE_DEPTH, depth, new MetricAttribute("docker_repo", dockerRepo),
+        new MetricAttribute("docker_version", dockerVersion), new MetricAttribute("stage", stage));
+  }
+
+  public void trackReplicationStageStall(final String stage, final String blockedOn, final long stallTimeMillis) {
+    metricClient.count(OssMetricsRegistry.REPLICATION_PIPELINE_STAGE_STALL_TIME_MILLISECS, stallTimeMillis,
+        new MetricAttribute("docker_repo", dockerRepo), new MetricAttribute("docker_version", dockerVersion), new MetricAttribute("stage", stage),
+        new MetricAttribute("blocked_on", blockedOn));
+  }
+
 }
@@ -13,6 +13,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.annotations.VisibleForTesting;
 import datadog.trace.api.Trace;
 import io.airbyte.commons.converters.ConnectorConfigUpdater;
 import io.airbyte.commons.converters.ThreadedTimeTracker;
@@ -39,10 +40,12 @@ import io.airbyte.workers.WorkerMetricReporter;
 import io.airbyte.workers.WorkerUtils;
 import io.airbyte.workers.exception.RecordSchemaValidationException;
 import io.airbyte.workers.exception.WorkerException;
+import io.airbyte.workers.general.StreamContextRegistry.StreamContext;
 import io.airbyte.workers.helper.FailureHelper;
 import io.airbyte.workers.internal.AirbyteDestination;
 import io.airbyte.workers.internal.AirbyteMapper;
 import io.airbyte.workers.internal.AirbyteSource;
+import io.airbyte.workers.internal.AirbyteMessageWithLine;
 import io.airbyte.workers.internal.book_keeping.MessageTracker;
 import io.airbyte.workers.internal.exception.DestinationException;
 import io.airbyte.workers.internal.exception.SourceException;
@@ -50,7 +53,6 @@ import io.airbyte.workers.internal.sync_persistence.SyncPersistence;
 import io.airbyte.workers.internal.sync_persistence.SyncPersistenceFactory;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -60,11 +62,13 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.commons.io.FileUtils;
@@ -95,6 +99,13 @@ public class DefaultReplicationWorker implements ReplicationWorker {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(DefaultReplicationWorker.class);
 
+  private static final int PIPELINE_QUEUE_CAPACITY = 1000;
+  private static final String PIPELINE_SOURCE_STAGE = "source";
+  private static final String PIPELINE_PROCESSING_STAGE = "processing";
+  private static final String PIPELINE_DESTINATION_STAGE = "destination";
+  private static final int BACKGROUND_VALIDATION_QUEUE_CAPACITY = 1000;
+  private static final int MAX_VALIDATION_ERRORS_PER_STREAM = 10;
+
   private final String jobId;
   private final int attempt;
   private final AirbyteSource source;
@@ -110,6 +121,7 @@ public class DefaultReplicationWorker implements ReplicationWorker {
   private final WorkerMetricReporter metricReporter;
   private final ConnectorConfigUpdater connectorConfigUpdater;
   private final boolean fieldSelectionEnabled;
+  private final boolean pipelinedReplicationEnabled;
 
   public DefaultReplicationWorker(final String jobId,
                                   final int attempt,
@@ -122,6 +134,22 @@ public class DefaultReplicationWorker implements ReplicationWorker {
                                   final WorkerMetricReporter metricReporter,
                                   final ConnectorConfigUpdater connectorConfigUpdater,
                                   final boolean fieldSelectionEnabled) {
+    this(jobId, attempt, source, mapper, destination, messageTracker, syncPersistenceFactory, recordSchemaValidator, metricReporter,
+        connectorConfigUpdater, fieldSelectionEnabled, false);
+  }
+
+  public DefaultReplicationWorker(final String jobId,
+                                  final int attempt,
+                                  final AirbyteSource source,
+                                  final AirbyteMapper mapper,
+                                  final AirbyteDestination destination,
+                                  final MessageTracker messageTracker,
+                                  final SyncPersistenceFactory syncPersistenceFactory,
+                                  final RecordSchemaValidator recordSchemaValidator,
+                                  final WorkerMetricReporter metricReporter,
+                                  final ConnectorConfigUpdater connectorConfigUpdater,
+                                  final boolean fieldSelectionEnabled,
+                                  final boolean pipelinedReplicationEnabled) {
     this.jobId = jobId;
     this.attempt = attempt;
     this.source = source;
@@ -129,11 +157,13 @@ public class DefaultReplicationWorker implements ReplicationWorker {
     this.destination = destination;
     this.messageTracker = messageTracker;
     this.syncPersistenceFactory = syncPersistenceFactory;
-    this.executors = Executors.newFixedThreadPool(2);
+    // the pipelined mode runs the source and destination write stages on two additional threads
+    this.executors = Executors.newFixedThreadPool(pipelinedReplicationEnabled ? 4 : 2);
     this.recordSchemaValidator = recordSchemaValidator;
     this.metricReporter = metricReporter;
     this.connectorConfigUpdater = connectorConfigUpdater;
     this.fieldSelectionEnabled = fieldSelectionEnabled;
+    this.pipelinedReplicationEnabled = pipelinedReplicationEnabled;
 
     this.cancelled = new AtomicBoolean(false);
     this.hasFailed = new AtomicBoolean(false);
@@ -207,6 +237,10 @@ public class DefaultReplicationWorker implements ReplicationWorker {
     // closed first (which is what we want).
     try (syncPersistence; destination; source) {
       destination.start(destinationConfig, jobRoot);
+      if (fieldSelectionEnabled) {
+        // lets the source skip unselected fields while parsing, records are still filtered once read
+        source.setSelectedFields(StreamContextRegistry.getStreamToSelectedFields(sourceConfig.getCatalog()));
+      }
       timeTracker.trackSourceReadStartTime();
       source.start(sourceConfig, jobRoot);
       timeTracker.trackDestinationWriteStartTime();
@@ -228,8 +262,8 @@ public class DefaultReplicationWorker implements ReplicationWorker {
             }
           });
 
-      final CompletableFuture<?> readSrcAndWriteDstThread = CompletableFuture.runAsync(
-          readFromSrcAndWriteToDstRunnable(
+      final Runnable readFromSrcAndWriteToDstRunnable = pipelinedReplicationEnabled
+          ? pipelinedReadFromSrcAndWriteToDstRunnable(
               source,
               destination,
               sourceConfig.getCatalog(),
@@ -242,8 +276,23 @@ public class DefaultReplicationWorker implements ReplicationWorker {
               metricReporter,
               timeTracker,
               sourceConfig.getSourceId(),
-              fieldSelectionEnabled),
-          executors)
+              fieldSelectionEnabled,
+              executors)
+          : readFromSrcAndWriteToDstRunnable(
+              source,
+              destination,
+              sourceConfig.getCatalog(),
+              cancelled,
+              mapper,
+              messageTracker,
+              connectorConfigUpdater,
+              mdc,
+              recordSchemaValidator,
+              metricReporter,
+              timeTracker,
+              sourceConfig.getSourceId(),
+              fieldSelectionEnabled);
+      final CompletableFuture<?> readSrcAndWriteDstThread = CompletableFuture.runAsync(readFromSrcAndWriteToDstRunnable, executors)
           .whenComplete((msg, ex) -> {
             if (ex != null) {
               ApmTraceUtils.addExceptionToTrace(ex);
@@ -356,43 +405,25 @@ public class DefaultReplicationWorker implements ReplicationWorker {
       LOGGER.info("Replication thread started.");
       long recordsRead = 0L;
       final Map<AirbyteStreamNameNamespacePair, ImmutablePair<Set<String>, Integer>> validationErrors = new HashMap<>();
-      final Map<AirbyteStreamNameNamespacePair, List<String>> streamToSelectedFields = new HashMap<>();
-      final Map<AirbyteStreamNameNamespacePair, Set<String>> streamToAllFields = new HashMap<>();
+      final StreamContextRegistry streamContexts = new StreamContextRegistry(catalog, fieldSelectionEnabled);
       final Map<AirbyteStreamNameNamespacePair, Set<String>> unexpectedFields = new HashMap<>();
-      if (fieldSelectionEnabled) {
-        populatedStreamToSelectedFields(catalog, streamToSelectedFields);
-      }
-      populateStreamToAllFields(catalog, streamToAllFields);
+      final RecordSchemaValidationExecutor validationExecutor = createValidationExecutor(recordSchemaValidator);
       try {
         while (!cancelled.get() && !source.isFinished()) {
-          final Optional<AirbyteMessage> messageOptional;
+          final Optional<AirbyteMessageWithLine> messageOptional;
           try {
-            messageOptional = source.attemptRead();
+            messageOptional = source.attemptReadWithLine();
           } catch (final Exception e) {
             throw new SourceException("Source process read attempt failed", e);
           }
 
           if (messageOptional.isPresent()) {
-            final AirbyteMessage airbyteMessage = messageOptional.get();
-            if (fieldSelectionEnabled) {
-              filterSelectedFields(streamToSelectedFields, airbyteMessage);
-            }
-            validateSchema(recordSchemaValidator, streamToAllFields, unexpectedFields, validationErrors, airbyteMessage);
-            final AirbyteMessage message = mapper.mapMessage(airbyteMessage);
-
-            messageTracker.acceptFromSource(message);
-
-            try {
-              if (message.getType() == Type.CONTROL) {
-                acceptSrcControlMessage(sourceId, message.getControl(), connectorConfigUpdater);
-              }
-            } catch (final Exception e) {
-              LOGGER.error("Error updating source configuration", e);
-            }
+            final AirbyteMessageWithLine message = processMessageFromSource(messageOptional.get(), mapper, messageTracker, connectorConfigUpdater,
+                recordSchemaValidator, validationExecutor, sourceId, fieldSelectionEnabled, streamContexts, unexpectedFields, validationErrors);
 
             try {
-              if (message.getType() == Type.RECORD || message.getType() == Type.STATE) {
-                destination.accept(message);
+              if (message.message().getType() == Type.RECORD || message.message().getType() == Type.STATE) {
+                acceptInDestination(destination, message);
               }
             } catch (final Exception e) {
               throw new DestinationException("Destination process message delivery failed", e);
@@ -414,18 +445,8 @@ public class DefaultReplicationWorker implements ReplicationWorker {
         }
         timeHolder.trackSourceReadEndTime();
         LOGGER.info("Total records read: {} ({})", recordsRead, FileUtils.byteCountToDisplaySize(messageTracker.getTotalBytesEmitted()));
-        if (!validationErrors.isEmpty()) {
-          validationErrors.forEach((stream, errorPair) -> {
-            LOGGER.warn("Schema validation errors found for stream {}. Error messages: {}", stream, errorPair.getLeft());
-            metricReporter.trackSchemaValidationError(stream);
-          });
-        }
-        unexpectedFields.forEach((stream, unexpectedFieldNames) -> {
-          if (!unexpectedFieldNames.isEmpty()) {
-            LOGGER.warn("Source {} has unexpected fields [{}] in stream {}", sourceId, String.join(", ", unexpectedFieldNames), stream);
-            // TODO(mfsiega-airbyte): publish this as a metric.
-          }
-        });
+        validationExecutor.close();
+        reportSchemaErrors(metricReporter, recordSchemaValidator, validationExecutor, sourceId, validationErrors, unexpectedFields);
 
         try {
           destination.notifyEndOfInput();
@@ -450,10 +471,277 @@ public class DefaultReplicationWorker implements ReplicationWorker {
             throw new RuntimeException(e);
           }
         }
+      } finally {
+        validationExecutor.cancel();
+      }
+    };
+  }
+
+  private static RecordSchemaValidationExecutor createValidationExecutor(final RecordSchemaValidator recordSchemaValidator) {
+    return recordSchemaValidator.isBackgroundValidationEnabled()
+        ? RecordSchemaValidationExecutor.background(recordSchemaValidator.getBackgroundValidationSampleRate(), BACKGROUND_VALIDATION_QUEUE_CAPACITY)
+        : RecordSchemaValidationExecutor.inline();
+  }
+
+  /**
+   * Applies field selection, schema validation, mapping and tracking to a message read from the
+   * source, and forwards control messages.
+   *
+   * @return the mapped message, to be sent to the destination if it is a record or a state. The line
+   *         the message was read from is kept only if neither field selection nor mapping changed
+   *         the message.
+   */
+  private static AirbyteMessageWithLine processMessageFromSource(final AirbyteMessageWithLine messageWithLine,
+                                                              final AirbyteMapper mapper,
+                                                              final MessageTracker messageTracker,
+                                                              final ConnectorConfigUpdater connectorConfigUpdater,
+                                                              final RecordSchemaValidator recordSchemaValidator,
+                                                              final RecordSchemaValidationExecutor validationExecutor,
+                                                              final UUID sourceId,
+                                                              final boolean fieldSelectionEnabled,
+                                                              final StreamContextRegistry streamContexts,
+                                                              final Map<AirbyteStreamNameNamespacePair, Set<String>> unexpectedFields,
+                                                              final Map<AirbyteStreamNameNamespacePair, ImmutablePair<Set<String>, Integer>> validationErrors) {
+    final AirbyteMessage airbyteMessage = messageWithLine.message();
+    boolean lineIsUnchanged = messageWithLine.hasLine();
+    // the stream is resolved before mapping, the mapper renames the record's stream
+    final StreamContext streamContext = airbyteMessage.getRecord() != null ? streamContexts.resolve(airbyteMessage.getRecord()) : null;
+    if (fieldSelectionEnabled && streamContext != null && filterSelectedFields(streamContext, airbyteMessage.getRecord())) {
+      lineIsUnchanged = false;
+    }
+    if (streamContext != null) {
+      validateSchema(recordSchemaValidator, validationExecutor, streamContext, unexpectedFields, validationErrors, airbyteMessage.getRecord());
+    }
+    final AirbyteMessage message = mapper.mapMessage(airbyteMessage);
+    final AirbyteStreamNameNamespacePair mappedStream =
+        streamContext != null && message.getRecord() != null ? streamContext.getMappedStream(message.getRecord()) : null;
+    if (lineIsUnchanged) {
+      // mappers change records in place, so the record is compared to the stream it was resolved to
+      lineIsUnchanged = message == airbyteMessage && (streamContext == null || streamContext.getStream().equals(mappedStream));
+    }
+
+    messageTracker.acceptFromSource(message, mappedStream);
+
+    try {
+      if (message.getType() == Type.CONTROL) {
+        acceptSrcControlMessage(sourceId, message.getControl(), connectorConfigUpdater);
+      }
+    } catch (final Exception e) {
+      LOGGER.error("Error updating source configuration", e);
+    }
+    return lineIsUnchanged ? messageWithLine : AirbyteMessageWithLine.withoutLine(message);
+  }
+
+  private static void acceptInDestination(final AirbyteDestination destination, final AirbyteMessageWithLine message) throws Exception {
+    if (message.hasLine()) {
+      destination.accept(message.message(), message.line());
+    } else {
+      destination.accept(message.message());
+    }
+  }
+
+  private static void reportSchemaErrors(final WorkerMetricReporter metricReporter,
+                                         final RecordSchemaValidator recordSchemaValidator,
+                                         final RecordSchemaValidationExecutor validationExecutor,
+                                         final UUID sourceId,
+                                         final Map<AirbyteStreamNameNamespacePair, ImmutablePair<Set<String>, Integer>> validationErrors,
+                                         final Map<AirbyteStreamNameNamespacePair, Set<String>> unexpectedFields) {
+    if (!validationErrors.isEmpty()) {
+      validationErrors.forEach((stream, errorPair) -> {
+        LOGGER.warn("Schema validation errors found for stream {}. Error messages: {}", stream, errorPair.getLeft());
+        metricReporter.trackSchemaValidationError(stream);
+      });
+    }
+    unexpectedFields.forEach((stream, unexpectedFieldNames) -> {
+      if (!unexpectedFieldNames.isEmpty()) {
+        LOGGER.warn("Source {} has unexpected fields [{}] in stream {}", sourceId, String.join(", ", unexpectedFieldNames), stream);
+        // TODO(mfsiega-airbyte): publish this as a metric.
+      }
+    });
+    metricReporter.trackSchemaCacheStats(recordSchemaValidator.getSchemaCacheStats());
+    if (validationExecutor.isBackground()) {
+      LOGGER.info("Records validated in the background, sample rate: {}, dropped because the validation queue was full: {}",
+          recordSchemaValidator.getBackgroundValidationSampleRate(), validationExecutor.getDroppedCount());
+      metricReporter.trackSchemaValidationDropped(validationExecutor.getDroppedCount());
+    }
+  }
+
+  /**
+   * Pipelined version of {@link #readFromSrcAndWriteToDstRunnable}, which splits the work into three
+   * stages that run on their own thread and are connected by bounded queues:
+   * <ol>
+   * <li>source: read and parse messages from the source</li>
+   * <li>processing: field selection, schema validation, mapping and tracking. This stage runs on the
+   * thread of the returned runnable.</li>
+   * <li>destination: serialize and write messages to the destination</li>
+   * </ol>
+   * Each stage is single threaded and queues are FIFO, so messages reach the destination in the
+   * order the source emitted them, which preserves the ordering of records within a stream and of
+   * state messages relative to records.
+   * <p>
+   * If a stage fails, the other stages are stopped and the first failure is rethrown.
+   */
+  @SuppressWarnings("PMD.AvoidInstanceofChecksInCatchClause")
+  private static Runnable pipelinedReadFromSrcAndWriteToDstRunnable(final AirbyteSource source,
+                                                                    final AirbyteDestination destination,
+                                                                    final ConfiguredAirbyteCatalog catalog,
+                                                                    final AtomicBoolean cancelled,
+                                                                    final AirbyteMapper mapper,
+                                                                    final MessageTracker messageTracker,
+                                                                    final ConnectorConfigUpdater connectorConfigUpdater,
+                                                                    final Map<String, String> mdc,
+                                                                    final RecordSchemaValidator recordSchemaValidator,
+                                                                    final WorkerMetricReporter metricReporter,
+                                                                    final ThreadedTimeTracker timeHolder,
+                                                                    final UUID sourceId,
+                                                                    final boolean fieldSelectionEnabled,
+                                                                    final ExecutorService executors) {
+    return () -> {
+      MDC.setContextMap(mdc);
+      LOGGER.info("Pipelined replication thread started.");
+      final AtomicReference<Exception> stageFailure = new AtomicReference<>();
+      final BooleanSupplier isAborted = () -> cancelled.get() || stageFailure.get() != null;
+      final ReplicationStageQueue<AirbyteMessageWithLine> sourceQueue =
+          new ReplicationStageQueue<>(PIPELINE_PROCESSING_STAGE, PIPELINE_QUEUE_CAPACITY, isAborted);
+      final ReplicationStageQueue<AirbyteMessageWithLine> destinationQueue =
+          new ReplicationStageQueue<>(PIPELINE_DESTINATION_STAGE, PIPELINE_QUEUE_CAPACITY, isAborted);
+
+      final CompletableFuture<Void> sourceStage = CompletableFuture.runAsync(() -> runPipelineStage(mdc, stageFailure, () -> {
+        try {
+          while (!isAborted.getAsBoolean() && !source.isFinished()) {
+            final Optional<AirbyteMessageWithLine> messageOptional;
+            try {
+              messageOptional = source.attemptReadWithLine();
+            } catch (final Exception e) {
+              throw new SourceException("Source process read attempt failed", e);
+            }
+
+            if (messageOptional.isPresent()) {
+              if (!sourceQueue.put(messageOptional.get())) {
+                return;
+              }
+            } else {
+              LOGGER.info("Source has no more messages, closing connection.");
+              try {
+                source.close();
+              } catch (final Exception e) {
+                throw new SourceException("Source didn't exit properly - check the logs!", e);
+              }
+            }
+          }
+        } finally {
+          metricReporter.trackReplicationStageStall(PIPELINE_SOURCE_STAGE, "output", sourceQueue.getProducerStallMillis());
+        }
+        if (isAborted.getAsBoolean()) {
+          return;
+        }
+        timeHolder.trackSourceReadEndTime();
+        // the queue is only closed on success, otherwise the next stages stop once the failure is recorded
+        sourceQueue.close();
+        if (source.getExitValue() != 0) {
+          throw new SourceException("Source process exited with non-zero exit code " + source.getExitValue());
+        }
+      }), executors);
+
+      final CompletableFuture<Void> destinationStage = CompletableFuture.runAsync(() -> runPipelineStage(mdc, stageFailure, () -> {
+        try {
+          AirbyteMessageWithLine message;
+          while ((message = destinationQueue.take()) != null) {
+            try {
+              acceptInDestination(destination, message);
+            } catch (final Exception e) {
+              throw new DestinationException("Destination process message delivery failed", e);
+            }
+          }
+        } finally {
+          metricReporter.trackReplicationStageStall(PIPELINE_DESTINATION_STAGE, "input", destinationQueue.getConsumerStallMillis());
+        }
+        if (isAborted.getAsBoolean()) {
+          return;
+        }
+        try {
+          destination.notifyEndOfInput();
+        } catch (final Exception e) {
+          throw new DestinationException("Destination process end of stream notification failed", e);
+        }
+      }), executors);
+
+      runPipelineStage(mdc, stageFailure, () -> {
+        long recordsRead = 0L;
+        final Map<AirbyteStreamNameNamespacePair, ImmutablePair<Set<String>, Integer>> validationErrors = new HashMap<>();
+        final StreamContextRegistry streamContexts = new StreamContextRegistry(catalog, fieldSelectionEnabled);
+        final Map<AirbyteStreamNameNamespacePair, Set<String>> unexpectedFields = new HashMap<>();
+        final RecordSchemaValidationExecutor validationExecutor = createValidationExecutor(recordSchemaValidator);
+        try {
+          AirbyteMessageWithLine messageWithLine;
+          while ((messageWithLine = sourceQueue.take()) != null) {
+            final AirbyteMessageWithLine message = processMessageFromSource(messageWithLine, mapper, messageTracker, connectorConfigUpdater,
+                recordSchemaValidator, validationExecutor, sourceId, fieldSelectionEnabled, streamContexts, unexpectedFields, validationErrors);
+
+            final Type type = message.message().getType();
+            if ((type == Type.RECORD || type == Type.STATE) && !destinationQueue.put(message)) {
+              break;
+            }
+
+            recordsRead += 1;
+
+            if (recordsRead % 1000 == 0) {
+              LOGGER.info("Records read: {} ({})", recordsRead, FileUtils.byteCountToDisplaySize(messageTracker.getTotalBytesEmitted()));
+              metricReporter.trackReplicationQueueDepth(sourceQueue.getName(), sourceQueue.size());
+              metricReporter.trackReplicationQueueDepth(destinationQueue.getName(), destinationQueue.size());
+            }
+          }
+          if (isAborted.getAsBoolean()) {
+            return;
+          }
+          destinationQueue.close();
+          LOGGER.info("Total records read: {} ({})", recordsRead, FileUtils.byteCountToDisplaySize(messageTracker.getTotalBytesEmitted()));
+          validationExecutor.close();
+          reportSchemaErrors(metricReporter, recordSchemaValidator, validationExecutor, sourceId, validationErrors, unexpectedFields);
+        } finally {
+          validationExecutor.cancel();
+          metricReporter.trackReplicationStageStall(PIPELINE_PROCESSING_STAGE, "input", sourceQueue.getConsumerStallMillis());
+          metricReporter.trackReplicationStageStall(PIPELINE_PROCESSING_STAGE, "output", destinationQueue.getProducerStallMillis());
+        }
+      });
+
+      try {
+        CompletableFuture.allOf(sourceStage, destinationStage).get();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        stageFailure.compareAndSet(null, e);
+      } catch (final ExecutionException e) {
+        stageFailure.compareAndSet(null, e);
+      }
+
+      final Exception e = stageFailure.get();
+      if (e != null && !cancelled.get()) {
+        // same as the single threaded version: only surface failures if the worker was not cancelled.
+        if (e instanceof SourceException || e instanceof DestinationException) {
+          // Surface Source and Destination exceptions directly so that they can be classified properly by the
+          // worker
+          throw (RuntimeException) e;
+        } else {
+          throw new RuntimeException(e);
+        }
       }
     };
   }
 
+  private static void runPipelineStage(final Map<String, String> mdc,
+                                       final AtomicReference<Exception> stageFailure,
+                                       final Runnable stage) {
+    MDC.setContextMap(mdc);
+    try {
+      stage.run();
+    } catch (final Exception e) {
+      // only the first failure is kept, failures of the other stages are consequences of aborting
+      if (!stageFailure.compareAndSet(null, e)) {
+        LOGGER.debug("Replication stage failed after the pipeline was aborted", e);
+      }
+    }
+  }
+
   private static void acceptSrcControlMessage(final UUID sourceId,
                                               final AirbyteControlMessage controlMessage,
                                               final ConnectorConfigUpdater connectorConfigUpdater) {
@@ -623,38 +911,71 @@ public class DefaultReplicationWorker implements ReplicationWorker {
     return failures;
   }
 
+  /**
+   * Validates a record against its stream's schema and aggregates the results into unexpectedFields
+   * and validationErrors. When validating in the background, both maps are only updated by the
+   * validation thread and must not be read until the validation executor is closed. Records that are
+   * not going to be validated, because the stream already has enough errors or the validation queue
+   * is full, are not sampled and therefore never copied.
+   */
   private static void validateSchema(final RecordSchemaValidator recordSchemaValidator,
-                                     final Map<AirbyteStreamNameNamespacePair, Set<String>> streamToAllFields,
+                                     final RecordSchemaValidationExecutor validationExecutor,
+                                     final StreamContext streamContext,
                                      final Map<AirbyteStreamNameNamespacePair, Set<String>> unexpectedFields,
                                      final Map<AirbyteStreamNameNamespacePair, ImmutablePair<Set<String>, Integer>> validationErrors,
-                                     final AirbyteMessage message) {
-    if (message.getRecord() == null) {
+                                     final AirbyteRecordMessage sourceRecord) {
+    final AirbyteStreamNameNamespacePair messageStream = streamContext.getStream();
+    if (!validationExecutor.shouldSample(messageStream)) {
       return;
     }
-
-    final AirbyteRecordMessage record = message.getRecord();
-    final AirbyteStreamNameNamespacePair messageStream = AirbyteStreamNameNamespacePair.fromRecordMessage(record);
-    // avoid noise by validating only if the stream has less than 10 records with validation errors
-    final boolean streamHasLessThenTenErrs =
-        validationErrors.get(messageStream) == null || validationErrors.get(messageStream).getRight() < 10;
-    if (streamHasLessThenTenErrs) {
-      try {
-        recordSchemaValidator.validateSchema(record, messageStream);
-        final Set<String> unexpectedFieldNames = unexpectedFields.getOrDefault(messageStream, new HashSet<>());
-        populateUnexpectedFieldNames(record, streamToAllFields.get(messageStream), unexpectedFieldNames);
-        unexpectedFields.put(messageStream, unexpectedFieldNames);
-      } catch (final RecordSchemaValidationException e) {
-        final ImmutablePair<Set<String>, Integer> exceptionWithCount = validationErrors.get(messageStream);
-        if (exceptionWithCount == null) {
-          validationErrors.put(messageStream, new ImmutablePair<>(e.errorMessages, 1));
-        } else {
-          final Integer currentCount = exceptionWithCount.getRight();
-          final Set<String> currentErrorMessages = exceptionWithCount.getLeft();
-          final Set<String> updatedErrorMessages = Stream.concat(currentErrorMessages.stream(), e.errorMessages.stream()).collect(Collectors.toSet());
-          validationErrors.put(messageStream, new ImmutablePair<>(updatedErrorMessages, currentCount + 1));
+    final AirbyteRecordMessage record = validationExecutor.isBackground() ? copyForValidation(sourceRecord) : sourceRecord;
+
+    validationExecutor.submit(() -> {
+      // avoid noise by validating only if the stream has less than 10 records with validation errors,
+      // records sampled before the stream reached the limit can still be waiting in the queue
+      final boolean streamHasLessThenTenErrs =
+          validationErrors.get(messageStream) == null || validationErrors.get(messageStream).getRight() < MAX_VALIDATION_ERRORS_PER_STREAM;
+      if (streamHasLessThenTenErrs) {
+        try {
+          recordSchemaValidator.validateSchema(record, messageStream);
+          final Set<String> unexpectedFieldNames = unexpectedFields.getOrDefault(messageStream, new HashSet<>());
+          populateUnexpectedFieldNames(record, streamContext.getAllFields(), unexpectedFieldNames);
+          unexpectedFields.put(messageStream, unexpectedFieldNames);
+        } catch (final RecordSchemaValidationException e) {
+          final ImmutablePair<Set<String>, Integer> exceptionWithCount = validationErrors.get(messageStream);
+          final int errorCount;
+          if (exceptionWithCount == null) {
+            errorCount = 1;
+            validationErrors.put(messageStream, new ImmutablePair<>(e.errorMessages, errorCount));
+          } else {
+            errorCount = exceptionWithCount.getRight() + 1;
+            final Set<String> currentErrorMessages = exceptionWithCount.getLeft();
+            final Set<String> updatedErrorMessages =
+                Stream.concat(currentErrorMessages.stream(), e.errorMessages.stream()).collect(Collectors.toSet());
+            validationErrors.put(messageStream, new ImmutablePair<>(updatedErrorMessages, errorCount));
+          }
+          if (errorCount >= MAX_VALIDATION_ERRORS_PER_STREAM) {
+            validationExecutor.stopSampling(messageStream);
+          }
         }
       }
-    }
+    });
+  }
+
+  /**
+   * Copy of a record for validation in the background. The record handed to the destination keeps
+   * changing after it is sampled: the mapper rewrites its stream name and namespace, and the
+   * destination writer can migrate its data in place to an older protocol version. The data is deep
+   * copied so that the validation thread never reads a tree that the replication threads modify. Only
+   * sampled records are copied.
+   */
+  @VisibleForTesting
+  static AirbyteRecordMessage copyForValidation(final AirbyteRecordMessage record) {
+    return new AirbyteRecordMessage()
+        .withStream(record.getStream())
+        .withNamespace(record.getNamespace())
+        .withEmittedAt(record.getEmittedAt())
+        .withData(record.getData() == null ? null : record.getData().deepCopy());
   }
 
   private static void populateUnexpectedFieldNames(final AirbyteRecordMessage record,
@@ -675,62 +996,16 @@ public class DefaultReplicationWorker implements ReplicationWorker {
   }
 
   /**
-   * Generates a map from stream -> the explicit list of fields included for that stream, according to
-   * the configured catalog. Since the configured catalog only includes the selected fields, this lets
-   * us filter records to only the fields explicitly requested.
-   *
-   * @param catalog catalog
-   * @param streamToSelectedFields map of stream descriptor to list of selected fields
-   */
-  private static void populatedStreamToSelectedFields(final ConfiguredAirbyteCatalog catalog,
-                                                      final Map<AirbyteStreamNameNamespacePair, List<String>> streamToSelectedFields) {
-    for (final var s : catalog.getStreams()) {
-      final List<String> selectedFields = new ArrayList<>();
-      final JsonNode propertiesNode = s.getStream().getJsonSchema().findPath("properties");
-      if (propertiesNode.isObject()) {
-        propertiesNode.fieldNames().forEachRemaining((fieldName) -> selectedFields.add(fieldName));
-      } else {
-        throw new RuntimeException("No properties node in stream schema");
-      }
-      streamToSelectedFields.put(AirbyteStreamNameNamespacePair.fromConfiguredAirbyteSteam(s), selectedFields);
-    }
-  }
-
-  /**
-   * Populates a map for stream -> all the top-level fields in the catalog. Used to identify any
-   * unexpected top-level fields in the records.
+   * Removes the fields that are not selected from a record.
    *
-   * @param catalog catalog
-   * @param streamToAllFields map of stream descriptor to set of all of its fields
+   * @return true if any field was removed.
    */
-  private static void populateStreamToAllFields(final ConfiguredAirbyteCatalog catalog,
-                                                final Map<AirbyteStreamNameNamespacePair, Set<String>> streamToAllFields) {
-    for (final var s : catalog.getStreams()) {
-      final Set<String> fields = new HashSet<>();
-      final JsonNode propertiesNode = s.getStream().getJsonSchema().findPath("properties");
-      if (propertiesNode.isObject()) {
-        propertiesNode.fieldNames().forEachRemaining((fieldName) -> fields.add(fieldName));
-      } else {
-        throw new RuntimeException("No properties node in stream schema");
-      }
-      streamToAllFields.put(AirbyteStreamNameNamespacePair.fromConfiguredAirbyteSteam(s), fields);
-    }
-  }
-
-  private static void filterSelectedFields(final Map<AirbyteStreamNameNamespacePair, List<String>> streamToSelectedFields,
-                                           final AirbyteMessage airbyteMessage) {
-    final AirbyteRecordMessage record = airbyteMessage.getRecord();
-
-    if (record == null) {
-      // This isn't a record message, so we don't need to do any filtering.
-      return;
-    }
-
-    final AirbyteStreamNameNamespacePair messageStream = AirbyteStreamNameNamespacePair.fromRecordMessage(record);
-    final List<String> selectedFields = streamToSelectedFields.getOrDefault(messageStream, Collections.emptyList());
+  private static boolean filterSelectedFields(final StreamContext streamContext, final AirbyteRecordMessage record) {
     final JsonNode data = record.getData();
     if (data.isObject()) {
-      ((ObjectNode) data).retain(selectedFields);
+      final int fieldCount = data.size();
+      ((ObjectNode) data).retain(streamContext.getSelectedFields());
+      return data.size() != fieldCount;
     } else {
       throw new RuntimeException(String.format("Unexpected data in record: %s", data.toString()));
     }
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.general;
+
+import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decides where and how often record schema validation runs during a replication.
+ * <p>
+ * Inline validation runs every record on the calling thread. Background validation runs a sample of
+ * the records of each stream on a single dedicated thread, so that validation is off the source to
+ * destination path. Because there is a single thread, the state the validations aggregate into does
+ * not need to be thread safe, but it must only be read after {@link #close()} returned. If the
+ * validation queue is full, records are dropped rather than slowing down the replication.
+ * <p>
+ * Records are only sampled if they are going to be validated: a record is not sampled if the queue
+ * is full or if validation was stopped for its stream, so that callers can skip preparing it.
+ * <p>
+ * {@link #shouldSample(AirbyteStreamNameNamespacePair)} and {@link #submit(Runnable)} must be
+ * called from a single thread.
+ */
+class RecordSchemaValidationExecutor {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(RecordSchemaValidationExecutor.class);
+  private static final long CLOSE_TIMEOUT_MINUTES = 5;
+
+  private final int sampleRate;
+  private final ThreadPoolExecutor executor;
+  private final AtomicLong droppedCount;
+  private final Map<AirbyteStreamNameNamespacePair, Long> streamToRecordCount = new HashMap<>();
+  // written by the validation thread, read by the thread sampling the records
+  private final Set<AirbyteStreamNameNamespacePair> stoppedStreams = ConcurrentHashMap.newKeySet();
+
+  private RecordSchemaValidationExecutor(final int sampleRate, final ThreadPoolExecutor executor, final AtomicLong droppedCount) {
+    this.sampleRate = Math.max(sampleRate, 1);
+    this.executor = executor;
+    this.droppedCount = droppedCount;
+  }
+
+  static RecordSchemaValidationExecutor inline() {
+    return new RecordSchemaValidationExecutor(1, null, new AtomicLong());
+  }
+
+  /**
+   * @param sampleRate validate one out of every sampleRate records of each stream, starting with the
+   *        first one
+   * @param queueCapacity maximum number of validations waiting to run before records are dropped
+   */
+  static RecordSchemaValidationExecutor background(final int sampleRate, final int queueCapacity) {
+    final AtomicLong droppedCount = new AtomicLong();
+    final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+        runnable -> {
+          final Thread thread = new Thread(runnable, "record-schema-validation");
+          thread.setDaemon(true);
+          return thread;
+        },
+        (runnable, pool) -> droppedCount.incrementAndGet());
+    return new RecordSchemaValidationExecutor(sampleRate, executor, droppedCount);
+  }
+
+  boolean isBackground() {
+    return executor != null;
+  }
+
+  /**
+   * Whether the next record of the stream should be validated. A sampled record that would not fit in
+   * the validation queue is counted as dropped and is not sampled.
+   */
+  boolean shouldSample(final AirbyteStreamNameNamespacePair stream) {
+    if (stoppedStreams.contains(stream)) {
+      return false;
+    }
+    if (sampleRate != 1) {
+      final long count = streamToRecordCount.merge(stream, 1L, Long::sum);
+      if ((count - 1) % sampleRate != 0) {
+        return false;
+      }
+    }
+    // only the sampling thread adds to the queue, so a record that fits now still fits on submit
+    if (executor != null && executor.getQueue().remainingCapacity() == 0) {
+      droppedCount.incrementAndGet();
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Stops sampling the records of a stream, e.g. once enough of them failed validation. May be
+   * called from the validation thread.
+   */
+  void stopSampling(final AirbyteStreamNameNamespacePair stream) {
+    stoppedStreams.add(stream);
+  }
+
+  /**
+   * Run a validation, in the background if enabled. Validations submitted in the background while the
+   * queue is full are dropped.
+   */
+  void submit(final Runnable validation) {
+    if (executor == null) {
+      validation.run();
+    } else {
+      executor.execute(() -> {
+        try {
+          validation.run();
+        } catch (final Exception e) {
+          LOGGER.warn("Background record schema validation failed", e);
+        }
+      });
+    }
+  }
+
+  /**
+   * Number of sampled records not validated because the queue was full.
+   */
+  long getDroppedCount() {
+    return droppedCount.get();
+  }
+
+  /**
+   * Waits for the queued validations to complete.
+   */
+  void close() {
+    if (executor == null) {
+      return;
+    }
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(CLOSE_TIMEOUT_MINUTES, TimeUnit.MINUTES)) {
+        LOGGER.warn("Background record schema validation did not complete in time, validation results may be incomplete.");
+        executor.shutdownNow();
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Discards the queued validations, for when the replication failed and their results are not
+   * needed. Does nothing if the executor was already closed.
+   */
+  void cancel() {
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.general;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Bounded FIFO hand-off between two stages of a pipelined replication. There must be a single
+ * producer and a single consumer thread so that messages are consumed in the order they were
+ * produced.
+ * <p>
+ * Both sides wait in short intervals so that they can give up as soon as the pipeline is aborted
+ * (cancellation or failure of another stage) instead of blocking forever on a stage that is gone.
+ * Time spent waiting is accumulated so that it can be reported as stall time: a producer stalls
+ * when the queue is full (the next stage is the bottleneck), a consumer stalls when it is empty
+ * (the previous stage is the bottleneck).
+ *
+ * @param <T> type of the messages passed between stages
+ */
+class ReplicationStageQueue<T> {
+
+  private static final long POLL_INTERVAL_MILLIS = 100;
+
+  private final String name;
+  private final BlockingQueue<T> queue;
+  private final BooleanSupplier isAborted;
+  private volatile boolean closed = false;
+
+  private long producerStallNanos = 0;
+  private long consumerStallNanos = 0;
+
+  ReplicationStageQueue(final String name, final int capacity, final BooleanSupplier isAborted) {
+    this.name = name;
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.isAborted = isAborted;
+  }
+
+  String getName() {
+    return name;
+  }
+
+  /**
+   * Hand a message over to the next stage, waiting for space if needed.
+   *
+   * @return false if the pipeline was aborted before the message could be queued.
+   */
+  boolean put(final T message) {
+    if (queue.offer(message)) {
+      return true;
+    }
+    final long start = System.nanoTime();
+    try {
+      while (!isAborted.getAsBoolean()) {
+        if (queue.offer(message, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+          return true;
+        }
+      }
+      return false;
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    } finally {
+      producerStallNanos += System.nanoTime() - start;
+    }
+  }
+
+  /**
+   * Take the next message from the previous stage, waiting for one if needed.
+   *
+   * @return the next message, or null once the queue is closed and drained or the pipeline was
+   *         aborted.
+   */
+  T take() {
+    final T next = queue.poll();
+    if (next != null) {
+      return next;
+    }
+    final long start = System.nanoTime();
+    try {
+      while (!isAborted.getAsBoolean()) {
+        // read the flag before polling so that a message queued right before closing is not missed
+        final boolean wasClosed = closed;
+        final T message = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        if (message != null) {
+          return message;
+        }
+        if (wasClosed) {
+          return null;
+        }
+      }
+      return null;
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    } finally {
+      consumerStallNanos += System.nanoTime() - start;
+    }
+  }
+
+  /**
+   * Signal that the producer will not send any more messages.
+   */
+  void close() {
+    closed = true;
+  }
+
+  int size() {
+    return queue.size();
+  }
+
+  /**
+   * Only safe to call from the producer thread.
+   */
+  long getProducerStallMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(producerStallNanos);
+  }
+
+  /**
+   * Only safe to call from the consumer thread.
+   */
+  long getConsumerStallMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(consumerStallNanos);
+  }
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.general;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
+import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
+import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import io.airbyte.protocol.models.ConfiguredAirbyteStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Resolves the stream of each record of a replication to a {@link StreamContext}, which holds what
+ * the replication needs to know about the stream. The stream descriptor, its fields and the stream
+ * it is mapped to are computed once per stream instead of once per record, and resolving the stream
+ * of a record does not allocate once the stream is known.
+ * <p>
+ * Streams that are not in the catalog are registered the first time one of their records is seen,
+ * with no selected fields.
+ * <p>
+ * This class is not thread safe, streams must be resolved from a single thread.
+ */
+class StreamContextRegistry {
+
+  /**
+   * What the replication knows about a stream emitted by the source.
+   */
+  static final class StreamContext {
+
+    private final AirbyteStreamNameNamespacePair stream;
+    private final Set<String> selectedFields;
+    private final Set<String> allFields;
+    private AirbyteStreamNameNamespacePair mappedStream;
+
+    private StreamContext(final AirbyteStreamNameNamespacePair stream, final Set<String> selectedFields, final Set<String> allFields) {
+      this.stream = stream;
+      this.selectedFields = selectedFields;
+      this.allFields = allFields;
+    }
+
+    /**
+     * The stream as emitted by the source.
+     */
+    AirbyteStreamNameNamespacePair getStream() {
+      return stream;
+    }
+
+    /**
+     * The fields selected for the stream, empty if field selection is disabled or the stream is not in
+     * the catalog. This is a set so that filtering a record does not scan the selected fields for each
+     * of its fields.
+     */
+    Set<String> getSelectedFields() {
+      return selectedFields;
+    }
+
+    /**
+     * The top level fields of the stream in the catalog, or null if the stream is not in the catalog.
+     */
+    Set<String> getAllFields() {
+      return allFields;
+    }
+
+    /**
+     * The stream a record of this stream was mapped to. The descriptor is reused as long as the mapper
+     * maps the records of the stream to the same name and namespace, which is the case for every
+     * mapper the replication uses.
+     *
+     * @param mappedRecord a record of this stream, after mapping
+     */
+    AirbyteStreamNameNamespacePair getMappedStream(final AirbyteRecordMessage mappedRecord) {
+      if (mappedStream == null
+          || !Objects.equals(mappedStream.getName(), mappedRecord.getStream())
+          || !Objects.equals(mappedStream.getNamespace(), mappedRecord.getNamespace())) {
+        mappedStream = new AirbyteStreamNameNamespacePair(mappedRecord.getStream(), mappedRecord.getNamespace());
+      }
+      return mappedStream;
+    }
+
+  }
+
+  // namespace -> stream name -> context, two levels so that records are resolved without building a
+  // descriptor. The namespace may be null.
+  private final Map<String, Map<String, StreamContext>> namespaceToStreamContexts = new HashMap<>();
+
+  StreamContextRegistry(final ConfiguredAirbyteCatalog catalog, final boolean fieldSelectionEnabled) {
+    for (final ConfiguredAirbyteStream configuredStream : catalog.getStreams()) {
+      // the configured catalog only includes the selected fields, so they are all the fields of the
+      // stream
+      final Set<String> fields = new HashSet<>(getFieldNames(configuredStream));
+      register(new StreamContext(AirbyteStreamNameNamespacePair.fromConfiguredAirbyteSteam(configuredStream),
+          fieldSelectionEnabled ? fields : Collections.emptySet(),
+          fields));
+    }
+  }
+
+  /**
+   * Resolves the stream of a record. Must be called before the record is mapped.
+   */
+  StreamContext resolve(final AirbyteRecordMessage record) {
+    final Map<String, StreamContext> streamContexts = namespaceToStreamContexts.get(record.getNamespace());
+    final StreamContext context = streamContexts != null ? streamContexts.get(record.getStream()) : null;
+    if (context != null) {
+      return context;
+    }
+    return register(new StreamContext(AirbyteStreamNameNamespacePair.fromRecordMessage(record), Collections.emptySet(), null));
+  }
+
+  private StreamContext register(final StreamContext context) {
+    namespaceToStreamContexts.computeIfAbsent(context.getStream().getNamespace(), namespace -> new HashMap<>())
+        .put(context.getStream().getName(), context);
+    return context;
+  }
+
+  /**
+   * Generates a map from stream -> the explicit list of fields included for that stream, according to
+   * the configured catalog. Since the configured catalog only includes the selected fields, this lets
+   * us filter records to only the fields explicitly requested.
+   *
+   * @param catalog catalog
+   * @return map of stream descriptor to list of selected fields
+   */
+  static Map<AirbyteStreamNameNamespacePair, List<String>> getStreamToSelectedFields(final ConfiguredAirbyteCatalog catalog) {
+    final Map<AirbyteStreamNameNamespacePair, List<String>> streamToSelectedFields = new HashMap<>();
+    for (final ConfiguredAirbyteStream configuredStream : catalog.getStreams()) {
+      streamToSelectedFields.put(AirbyteStreamNameNamespacePair.fromConfiguredAirbyteSteam(configuredStream), getFieldNames(configuredStream));
+    }
+    return streamToSelectedFields;
+  }
+
+  private static List<String> getFieldNames(final ConfiguredAirbyteStream configuredStream) {
+    final List<String> fields = new ArrayList<>();
+    final JsonNode propertiesNode = configuredStream.getStream().getJsonSchema().findPath("properties");
+    if (propertiesNode.isObject()) {
+      propertiesNode.fieldNames().forEachRemaining(fields::add);
+    } else {
+      throw new RuntimeException("No properties node in stream schema");
+    }
+    return fields;
+  }
+
+}
@@ -29,13 +29,27 @@ public interface AirbyteDestination extends AutoCloseable {
 
   /**
    * Accepts an AirbyteMessage and writes it to STDIN of the Destination. Blocks if STDIN's buffer is
-   * full.
+   * full. The message may be migrated in place to the protocol version of the Destination, so it must
+   * not be used after it is accepted.
    *
    * @param message message to send to destination.
    * @throws Exception - throws if there is any failure in writing to Destination.
    */
   void accept(AirbyteMessage message) throws Exception;
 
+  /**
+   * Accepts an AirbyteMessage that has not been changed since it was read from the given line.
+   * Destinations that can, write the line as is instead of serializing the message again. Blocks if
+   * STDIN's buffer is full.
+   *
+   * @param message message to send to destination.
+   * @param line UTF-8 line the message was parsed from, without the line separator.
+   * @throws Exception - throws if there is any failure in writing to Destination.
+   */
+  default void accept(final AirbyteMessage message, final byte[] line) throws Exception {
+    accept(message);
+  }
+
   /**
    * This method is a flush to make sure all data that should be written to the Destination is
    * written. Any messages that have already been accepted
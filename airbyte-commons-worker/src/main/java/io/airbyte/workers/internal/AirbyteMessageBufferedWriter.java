@@ -14,6 +14,18 @@ public interface AirbyteMessageBufferedWriter {
 
   void write(AirbyteMessage message) throws IOException;
 
+  /**
+   * Write a message that has not been changed since it was read from the given line. Writers that
+   * can send the line as is skip serializing the message, the others serialize the message.
+   *
+   * @param message message to write
+   * @param line UTF-8 line the message was parsed from, without the line separator
+   * @throws IOException exception while writing
+   */
+  default void write(final AirbyteMessage message, final byte[] line) throws IOException {
+    write(message);
+  }
+
   void flush() throws IOException;
 
   void close() throws IOException;
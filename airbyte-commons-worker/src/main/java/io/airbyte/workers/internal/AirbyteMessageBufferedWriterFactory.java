@@ -4,7 +4,10 @@
 
 package io.airbyte.workers.internal;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Factory for creating airbyte message writers. Base class that the versioned writers build upon.
@@ -13,4 +16,12 @@ public interface AirbyteMessageBufferedWriterFactory {
 
   AirbyteMessageBufferedWriter createWriter(BufferedWriter bufferedWriter);
 
+  /**
+   * Create a writer that writes UTF-8 encoded messages directly to a byte stream, which allows
+   * writing the lines messages were read from as is. Defaults to a character based writer.
+   */
+  default AirbyteMessageBufferedWriter createOutputStreamWriter(final BufferedOutputStream outputStream) {
+    return createWriter(new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)));
+  }
+
 }
@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import io.airbyte.protocol.models.AirbyteMessage;
+
+/**
+ * An AirbyteMessage along with the serialized line it was read from.
+ *
+ * @param message the deserialized message
+ * @param line the UTF-8 line the message was parsed from, without the line separator. It is only
+ *        kept when the line can be forwarded in place of the message as long as the message is not
+ *        changed, otherwise null.
+ */
+public record AirbyteMessageWithLine(AirbyteMessage message, byte[] line) {
+
+  public static AirbyteMessageWithLine withoutLine(final AirbyteMessage message) {
+    return new AirbyteMessageWithLine(message, null);
+  }
+
+  public boolean hasLine() {
+    return line != null;
+  }
+
+}
@@ -6,7 +6,10 @@ package io.airbyte.workers.internal;
 
 import io.airbyte.config.WorkerSourceConfig;
 import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -25,6 +28,15 @@ public interface AirbyteSource extends AutoCloseable {
    */
   void start(WorkerSourceConfig sourceConfig, Path jobRoot) throws Exception;
 
+  /**
+   * Hints the Source about the top level record fields that are selected for each stream, so that
+   * unselected fields can be skipped when reading records. Records may still contain unselected
+   * fields. Must be called before {@link #start(WorkerSourceConfig, Path)}.
+   *
+   * @param streamToSelectedFields selected fields of each stream.
+   */
+  default void setSelectedFields(final Map<AirbyteStreamNameNamespacePair, List<String>> streamToSelectedFields) {}
+
   /**
    * Means no more data will be emitted by the Source. This may be because all data has already been
    * emitted or because the Source container has exited.
@@ -50,6 +62,18 @@ public interface AirbyteSource extends AutoCloseable {
    */
   Optional<AirbyteMessage> attemptRead();
 
+  /**
+   * Attempts to read an AirbyteMessage from the Source along with the line it was read from. Same
+   * semantics as {@link #attemptRead()}; sources that do not read from a connector process never keep
+   * the line.
+   *
+   * @return returns a AirbyteMessageWithLine is the Source emits one. Otherwise, empty. This method
+   *         BLOCKS on waiting for the Source to emit data to STDOUT.
+   */
+  default Optional<AirbyteMessageWithLine> attemptReadWithLine() {
+    return attemptRead().map(AirbyteMessageWithLine::withoutLine);
+  }
+
   /**
    * Attempts to shut down the Source's container. Waits for a graceful shutdown, capped by a timeout.
    *
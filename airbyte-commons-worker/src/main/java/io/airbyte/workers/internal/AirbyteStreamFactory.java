@@ -4,8 +4,13 @@
 
 package io.airbyte.workers.internal;
 
+import io.airbyte.commons.io.IOs;
 import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
 import java.io.BufferedReader;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 /**
@@ -15,4 +20,27 @@ public interface AirbyteStreamFactory {
 
   Stream<AirbyteMessage> create(BufferedReader bufferedReader);
 
+  /**
+   * Create an AirbyteStream from the raw output of a process.
+   */
+  default Stream<AirbyteMessage> create(final InputStream inputStream) {
+    return createWithLines(inputStream).map(AirbyteMessageWithLine::message);
+  }
+
+  /**
+   * Create an AirbyteStream from the raw output of a process, keeping the line each message was read
+   * from when it can be forwarded as is. Implementations that are able to keep lines should override
+   * this; by default the InputStream is decoded as UTF-8 text and no line is kept.
+   */
+  default Stream<AirbyteMessageWithLine> createWithLines(final InputStream inputStream) {
+    return create(IOs.newBufferedReader(inputStream)).map(AirbyteMessageWithLine::withoutLine);
+  }
+
+  /**
+   * Hint the factory about the top level record fields that are selected for each stream, so that
+   * the other fields do not need to be deserialized. This is only a hint: records may still contain
+   * unselected fields, which callers must filter out. Ignored by default.
+   */
+  default void setSelectedFields(final Map<AirbyteStreamNameNamespacePair, List<String>> streamToSelectedFields) {}
+
 }
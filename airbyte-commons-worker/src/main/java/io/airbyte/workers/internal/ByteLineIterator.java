@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Splits an InputStream into lines without decoding them into characters. Lines are returned as
+ * UTF-8 byte arrays stripped of their line terminator ('\n', '\r' or "\r\n"), which mirrors the
+ * behaviour of {@link java.io.BufferedReader#lines()}.
+ *
+ * <p>
+ * Each returned array is exclusively owned by the caller and its length is the exact byte size of
+ * the line, so consumers can account for message sizes without re-encoding anything.
+ */
+class ByteLineIterator implements Iterator<byte[]> {
+
+  private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+  private static final byte LF = '\n';
+  private static final byte CR = '\r';
+
+  private final InputStream inputStream;
+  private final byte[] buffer;
+  private int position = 0;
+  private int limit = 0;
+  private boolean endOfStream = false;
+  private boolean skipLeadingLf = false;
+
+  // accumulates the current line when it spans more than one buffer fill
+  private byte[] overflow = new byte[0];
+  private int overflowLength = 0;
+
+  private byte[] nextLine;
+
+  ByteLineIterator(final InputStream inputStream) {
+    this(inputStream, DEFAULT_BUFFER_SIZE);
+  }
+
+  ByteLineIterator(final InputStream inputStream, final int bufferSize) {
+    this.inputStream = inputStream;
+    this.buffer = new byte[bufferSize];
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (nextLine != null) {
+      return true;
+    }
+    try {
+      nextLine = readLine();
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return nextLine != null;
+  }
+
+  @Override
+  public byte[] next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    final byte[] line = nextLine;
+    nextLine = null;
+    return line;
+  }
+
+  private byte[] readLine() throws IOException {
+    if (overflow.length > buffer.length) {
+      // do not hold on to the memory of an unusually large previous line
+      overflow = new byte[0];
+    }
+    overflowLength = 0;
+    boolean readAnything = false;
+    while (true) {
+      if (position >= limit && !fill()) {
+        // end of stream, flush whatever is left as the last line
+        return readAnything ? Arrays.copyOf(overflow, overflowLength) : null;
+      }
+
+      if (skipLeadingLf) {
+        skipLeadingLf = false;
+        if (buffer[position] == LF) {
+          position++;
+          continue;
+        }
+      }
+
+      final int start = position;
+      while (position < limit) {
+        final byte b = buffer[position];
+        if (b == LF || b == CR) {
+          final byte[] line = concat(start, position);
+          position++;
+          skipLeadingLf = b == CR;
+          return line;
+        }
+        position++;
+      }
+      appendToOverflow(start, limit);
+      readAnything = true;
+    }
+  }
+
+  private boolean fill() throws IOException {
+    if (endOfStream) {
+      return false;
+    }
+    final int read = inputStream.read(buffer, 0, buffer.length);
+    if (read < 0) {
+      endOfStream = true;
+      return false;
+    }
+    position = 0;
+    limit = read;
+    return true;
+  }
+
+  private byte[] concat(final int start, final int end) {
+    final int length = end - start;
+    final byte[] line = new byte[overflowLength + length];
+    System.arraycopy(overflow, 0, line, 0, overflowLength);
+    System.arraycopy(buffer, start, line, overflowLength, length);
+    return line;
+  }
+
+  private void appendToOverflow(final int start, final int end) {
+    final int length = end - start;
+    if (overflowLength + length > overflow.length) {
+      overflow = Arrays.copyOf(overflow, Math.max(overflow.length * 2, overflowLength + length));
+    }
+    System.arraycopy(buffer, start, overflow, overflowLength, length);
+    overflowLength += length;
+  }
+
+}
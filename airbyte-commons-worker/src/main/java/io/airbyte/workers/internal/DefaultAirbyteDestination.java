@@ -9,7 +9,6 @@ import static io.airbyte.metrics.lib.ApmTraceConstants.WORKER_OPERATION_NAME;
 import com.google.common.base.Charsets;
 import com.google.common.base.Preconditions;
 import datadog.trace.api.Trace;
-import io.airbyte.commons.io.IOs;
 import io.airbyte.commons.io.LineGobbler;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.commons.logging.LoggingHelper.Color;
@@ -24,6 +23,7 @@ import io.airbyte.workers.WorkerConstants;
 import io.airbyte.workers.WorkerUtils;
 import io.airbyte.workers.exception.WorkerException;
 import io.airbyte.workers.process.IntegrationLauncher;
+import java.io.BufferedOutputStream;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
@@ -57,6 +57,7 @@ public class DefaultAirbyteDestination implements AirbyteDestination {
   private final ProtocolSerializer protocolSerializer;
 
   private final AtomicBoolean inputHasEnded = new AtomicBoolean(false);
+  private boolean linePassthrough = false;
 
   private Process destinationProcess = null;
   private AirbyteMessageBufferedWriter writer = null;
@@ -94,10 +95,12 @@ public class DefaultAirbyteDestination implements AirbyteDestination {
     // stdout logs are logged elsewhere since stdout also contains data
     LineGobbler.gobble(destinationProcess.getErrorStream(), LOGGER::error, "airbyte-destination", CONTAINER_LOG_MDC_BUILDER);
 
-    writer = messageWriterFactory.createWriter(new BufferedWriter(new OutputStreamWriter(destinationProcess.getOutputStream(), Charsets.UTF_8)));
+    writer = linePassthrough
+        ? messageWriterFactory.createOutputStreamWriter(new BufferedOutputStream(destinationProcess.getOutputStream()))
+        : messageWriterFactory.createWriter(new BufferedWriter(new OutputStreamWriter(destinationProcess.getOutputStream(), Charsets.UTF_8)));
 
     final List<Type> acceptedMessageTypes = List.of(Type.STATE, Type.TRACE, Type.CONTROL);
-    messageIterator = streamFactory.create(IOs.newBufferedReader(destinationProcess.getInputStream()))
+    messageIterator = streamFactory.create(destinationProcess.getInputStream())
         .filter(message -> acceptedMessageTypes.contains(message.getType()))
         .iterator();
   }
@@ -110,6 +113,23 @@ public class DefaultAirbyteDestination implements AirbyteDestination {
     writer.write(message);
   }
 
+  @Trace(operationName = WORKER_OPERATION_NAME)
+  @Override
+  public void accept(final AirbyteMessage message, final byte[] line) throws IOException {
+    Preconditions.checkState(destinationProcess != null && !inputHasEnded.get());
+
+    writer.write(message, line);
+  }
+
+  /**
+   * Write messages to the destination's STDIN as bytes, so that the lines of unchanged messages are
+   * forwarded as is rather than serialized again. Must be set before the destination is started.
+   */
+  public DefaultAirbyteDestination withLinePassthrough(final boolean linePassthrough) {
+    this.linePassthrough = linePassthrough;
+    return this;
+  }
+
   @Trace(operationName = WORKER_OPERATION_NAME)
   @Override
   public void notifyEndOfInput() throws IOException {
@@ -4,6 +4,7 @@
 
 package io.airbyte.workers.internal;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedWriter;
 
 /**
@@ -16,4 +17,9 @@ public class DefaultAirbyteMessageBufferedWriterFactory implements AirbyteMessag
     return new DefaultAirbyteMessageBufferedWriter(writer);
   }
 
+  @Override
+  public AirbyteMessageBufferedWriter createOutputStreamWriter(final BufferedOutputStream outputStream) {
+    return new DefaultAirbyteMessageOutputStreamWriter(outputStream);
+  }
+
 }
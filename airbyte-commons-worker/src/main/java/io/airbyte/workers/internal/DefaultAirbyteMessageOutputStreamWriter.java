@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.protocol.models.AirbyteMessage;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+
+/**
+ * Writer that writes airbyte messages as UTF-8 encoded JSON lines directly to a byte stream. Lines
+ * of unchanged messages are written as is, other messages are serialized straight to the stream
+ * without building an intermediate String.
+ */
+public class DefaultAirbyteMessageOutputStreamWriter implements AirbyteMessageBufferedWriter {
+
+  protected static final int NEW_LINE = '\n';
+
+  protected final BufferedOutputStream outputStream;
+
+  public DefaultAirbyteMessageOutputStreamWriter(final BufferedOutputStream outputStream) {
+    this.outputStream = outputStream;
+  }
+
+  @Override
+  public void write(final AirbyteMessage message) throws IOException {
+    Jsons.serialize(message, outputStream);
+    outputStream.write(NEW_LINE);
+  }
+
+  @Override
+  public void write(final AirbyteMessage message, final byte[] line) throws IOException {
+    outputStream.write(line);
+    outputStream.write(NEW_LINE);
+  }
+
+  @Override
+  public void flush() throws IOException {
+    outputStream.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    outputStream.close();
+  }
+
+}
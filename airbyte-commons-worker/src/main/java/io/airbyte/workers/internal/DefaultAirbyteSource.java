@@ -10,7 +10,6 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import datadog.trace.api.Trace;
 import io.airbyte.commons.features.FeatureFlags;
-import io.airbyte.commons.io.IOs;
 import io.airbyte.commons.io.LineGobbler;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.commons.logging.LoggingHelper.Color;
@@ -21,6 +20,7 @@ import io.airbyte.commons.protocol.ProtocolSerializer;
 import io.airbyte.config.WorkerSourceConfig;
 import io.airbyte.protocol.models.AirbyteMessage;
 import io.airbyte.protocol.models.AirbyteMessage.Type;
+import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
 import io.airbyte.workers.WorkerConstants;
 import io.airbyte.workers.WorkerUtils;
 import io.airbyte.workers.exception.WorkerException;
@@ -30,6 +30,7 @@ import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -60,7 +61,7 @@ public class DefaultAirbyteSource implements AirbyteSource {
   private final HeartbeatMonitor heartbeatMonitor;
 
   private Process sourceProcess = null;
-  private Iterator<AirbyteMessage> messageIterator = null;
+  private Iterator<AirbyteMessageWithLine> messageIterator = null;
   private Integer exitValue = null;
   private final boolean featureFlagLogConnectorMsgs;
 
@@ -107,12 +108,19 @@ public class DefaultAirbyteSource implements AirbyteSource {
     logInitialStateAsJSON(sourceConfig);
 
     final List<Type> acceptedMessageTypes = List.of(Type.RECORD, Type.STATE, Type.TRACE, Type.CONTROL);
-    messageIterator = streamFactory.create(IOs.newBufferedReader(sourceProcess.getInputStream()))
+    messageIterator = streamFactory.createWithLines(sourceProcess.getInputStream())
         .peek(message -> heartbeatMonitor.beat())
-        .filter(message -> acceptedMessageTypes.contains(message.getType()))
+        .filter(message -> acceptedMessageTypes.contains(message.message().getType()))
         .iterator();
   }
 
+  @Override
+  public void setSelectedFields(final Map<AirbyteStreamNameNamespacePair, List<String>> streamToSelectedFields) {
+    Preconditions.checkState(sourceProcess == null);
+
+    streamFactory.setSelectedFields(streamToSelectedFields);
+  }
+
   @Trace(operationName = WORKER_OPERATION_NAME)
   @Override
   public boolean isFinished() {
@@ -141,6 +149,12 @@ public class DefaultAirbyteSource implements AirbyteSource {
   @Trace(operationName = WORKER_OPERATION_NAME)
   @Override
   public Optional<AirbyteMessage> attemptRead() {
+    return attemptReadWithLine().map(AirbyteMessageWithLine::message);
+  }
+
+  @Trace(operationName = WORKER_OPERATION_NAME)
+  @Override
+  public Optional<AirbyteMessageWithLine> attemptReadWithLine() {
     Preconditions.checkState(sourceProcess != null);
 
     return Optional.ofNullable(messageIterator.hasNext() ? messageIterator.next() : null);
@@ -9,19 +9,30 @@ import static io.airbyte.metrics.lib.ApmTraceConstants.WORKER_OPERATION_NAME;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.annotations.VisibleForTesting;
 import datadog.trace.api.Trace;
+import io.airbyte.commons.io.IOs;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.commons.logging.MdcScope;
+import io.airbyte.metrics.lib.LocalHistogram;
+import io.airbyte.metrics.lib.MetricClient;
 import io.airbyte.metrics.lib.MetricClientFactory;
 import io.airbyte.metrics.lib.OssMetricsRegistry;
 import io.airbyte.protocol.models.AirbyteLogMessage;
 import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
+import io.airbyte.workers.internal.SelectedFieldsProjection.ProjectedJson;
 import java.io.BufferedReader;
+import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.nio.charset.StandardCharsets;
 import java.text.CharacterIterator;
 import java.text.StringCharacterIterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.joda.time.DateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,12 +52,21 @@ public class DefaultAirbyteStreamFactory implements AirbyteStreamFactory {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(DefaultAirbyteStreamFactory.class);
   private static final double MAX_SIZE_RATIO = 0.8;
+  // when pre-aggregated, line lengths are counted in memory and reported in batches, rather than
+  // calling the metric client for every line
+  @VisibleForTesting
+  static final long LINE_LENGTHS_FLUSH_EVERY = 1_000;
 
   private final MdcScope.Builder containerLogMdcBuilder;
   private final AirbyteProtocolPredicate protocolValidator;
   protected final Logger logger;
   private final long maxMemory;
   private final Optional<Class<? extends RuntimeException>> exceptionClass;
+  private boolean byteLevelParsing = false;
+  private boolean linePassthrough = false;
+  private boolean preAggregatedLineLengths = false;
+  private MetricClient metricClient = null;
+  private SelectedFieldsProjection selectedFieldsProjection = null;
 
   public DefaultAirbyteStreamFactory() {
     this(MdcScope.DEFAULT_BUILDER);
@@ -88,32 +108,148 @@ public class DefaultAirbyteStreamFactory implements AirbyteStreamFactory {
   @Trace(operationName = WORKER_OPERATION_NAME)
   @Override
   public Stream<AirbyteMessage> create(final BufferedReader bufferedReader) {
-    final var metricClient = MetricClientFactory.getMetricClient();
-    return bufferedReader
-        .lines()
-        .peek(str -> metricClient.distribution(OssMetricsRegistry.JSON_STRING_LENGTH, str.getBytes(StandardCharsets.UTF_8).length))
-        .peek(str -> {
-          if (exceptionClass.isPresent()) {
-            final long messageSize = str.getBytes(StandardCharsets.UTF_8).length;
-            if (messageSize > maxMemory * MAX_SIZE_RATIO) {
-              try {
-                final String errorMessage = String.format(
-                    "Airbyte has received a message at %s UTC which is larger than %s (size: %s). "
-                        + "The sync has been failed to prevent running out of memory.",
-                    DateTime.now(),
-                    humanReadableByteCountSI(maxMemory),
-                    humanReadableByteCountSI(messageSize));
-                throw exceptionClass.get().getConstructor(String.class).newInstance(errorMessage);
-              } catch (final InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
-                throw new RuntimeException(e);
-              }
+    return readLines(bufferedReader).map(AirbyteMessageWithLine::message);
+  }
+
+  /**
+   * Create the AirbyteMessage stream from the raw process output.
+   *
+   * If byte level parsing is enabled, lines are split and parsed directly from the UTF-8 bytes of the
+   * InputStream: no intermediate String is created for lines that are valid JSON, and a line that
+   * holds nothing but its message can be kept to be forwarded in its place. Otherwise, this falls back to decoding the InputStream
+   * into characters.
+   */
+  @Trace(operationName = WORKER_OPERATION_NAME)
+  @Override
+  public Stream<AirbyteMessageWithLine> createWithLines(final InputStream inputStream) {
+    return byteLevelParsing ? readBytes(inputStream) : readLines(IOs.newBufferedReader(inputStream));
+  }
+
+  protected final Stream<AirbyteMessageWithLine> readLines(final BufferedReader bufferedReader) {
+    final LineLengths lineLengths = newLineLengths();
+    return lineLengths.flushOnEnd(bufferedReader.lines())
+        .flatMap(str -> {
+          final long messageSize = str.getBytes(StandardCharsets.UTF_8).length;
+          lineLengths.record(messageSize);
+          checkMessageSize(messageSize);
+          if (selectedFieldsProjection != null) {
+            final Optional<ProjectedJson> projectedJson = selectedFieldsProjection.tryDeserialize(str);
+            if (projectedJson.isPresent()) {
+              return toMessages(Stream.of(projectedJson.get().json()), null);
             }
           }
-        })
-        .flatMap(this::parseJson)
+          return toMessages(parseJson(str), null);
+        });
+  }
+
+  protected final Stream<AirbyteMessageWithLine> readBytes(final InputStream inputStream) {
+    final LineLengths lineLengths = newLineLengths();
+    final var lines = Spliterators.spliteratorUnknownSize(new ByteLineIterator(inputStream), Spliterator.ORDERED | Spliterator.NONNULL);
+    return lineLengths.flushOnEnd(StreamSupport.stream(lines, false))
+        .flatMap(line -> {
+          lineLengths.record(line.length);
+          checkMessageSize(line.length);
+          if (selectedFieldsProjection != null) {
+            final Optional<ProjectedJson> projectedJson = selectedFieldsProjection.tryDeserialize(line);
+            if (projectedJson.isPresent()) {
+              final boolean forwardLine = linePassthrough && canForwardLines() && projectedJson.get().matchesLine();
+              return toMessages(Stream.of(projectedJson.get().json()), forwardLine ? line : null);
+            }
+          } else if (linePassthrough && canForwardLines()) {
+            // only a line that holds nothing but the message can be forwarded in its place
+            final Optional<JsonNode> exactJson = Jsons.tryDeserializeExact(line);
+            if (exactJson.isPresent()) {
+              return toMessages(exactJson.stream(), line);
+            }
+          }
+          return toMessages(parseJson(line), null);
+        });
+  }
+
+  private LineLengths newLineLengths() {
+    final MetricClient client = metricClient != null ? metricClient : MetricClientFactory.getMetricClient();
+    return new LineLengths(client, preAggregatedLineLengths
+        ? new LocalHistogram(client, OssMetricsRegistry.JSON_STRING_LENGTH_BUCKET_COUNT, LINE_LENGTHS_FLUSH_EVERY)
+        : null);
+  }
+
+  private Stream<AirbyteMessageWithLine> toMessages(final Stream<JsonNode> json, final byte[] line) {
+    return json
         .filter(this::validate)
         .flatMap(this::toAirbyteMessage)
-        .filter(this::filterLog);
+        .filter(this::filterLog)
+        .map(message -> new AirbyteMessageWithLine(message, line));
+  }
+
+  /**
+   * Enable reading messages directly from the bytes of the InputStream when using
+   * {@link #createWithLines(InputStream)}.
+   */
+  public DefaultAirbyteStreamFactory withByteLevelParsing(final boolean byteLevelParsing) {
+    this.byteLevelParsing = byteLevelParsing;
+    return this;
+  }
+
+  protected boolean isByteLevelParsing() {
+    return byteLevelParsing;
+  }
+
+  /**
+   * Keep the line each message was read from alongside the message, so that it can be written as is
+   * to the destination if nothing changes the message. Lines are only available when reading bytes,
+   * see {@link #withByteLevelParsing(boolean)}.
+   */
+  public DefaultAirbyteStreamFactory withLinePassthrough(final boolean linePassthrough) {
+    this.linePassthrough = linePassthrough;
+    return this;
+  }
+
+  /**
+   * Report line lengths as counts per bucket of lengths, pre-aggregated in memory, instead of
+   * reporting the length of every line as a distribution. See {@link LocalHistogram}.
+   */
+  public DefaultAirbyteStreamFactory withPreAggregatedLineLengths(final boolean preAggregatedLineLengths) {
+    this.preAggregatedLineLengths = preAggregatedLineLengths;
+    return this;
+  }
+
+  @VisibleForTesting
+  DefaultAirbyteStreamFactory withMetricClient(final MetricClient metricClient) {
+    this.metricClient = metricClient;
+    return this;
+  }
+
+  /**
+   * Skip the top level record fields that are not selected while deserializing messages, see
+   * {@link SelectedFieldsProjection}. Lines that are not valid JSON are handled as usual.
+   */
+  @Override
+  public void setSelectedFields(final Map<AirbyteStreamNameNamespacePair, List<String>> streamToSelectedFields) {
+    this.selectedFieldsProjection = new SelectedFieldsProjection(streamToSelectedFields);
+  }
+
+  /**
+   * Whether the lines read by this factory hold messages exactly as they are emitted by the stream,
+   * i.e. messages are not converted after being parsed.
+   */
+  protected boolean canForwardLines() {
+    return true;
+  }
+
+  private void checkMessageSize(final long messageSize) {
+    if (exceptionClass.isPresent() && messageSize > maxMemory * MAX_SIZE_RATIO) {
+      try {
+        final String errorMessage = String.format(
+            "Airbyte has received a message at %s UTC which is larger than %s (size: %s). "
+                + "The sync has been failed to prevent running out of memory.",
+            DateTime.now(),
+            humanReadableByteCountSI(maxMemory),
+            humanReadableByteCountSI(messageSize));
+        throw exceptionClass.get().getConstructor(String.class).newInstance(errorMessage);
+      } catch (final InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+        throw new RuntimeException(e);
+      }
+    }
   }
 
   protected Stream<JsonNode> parseJson(final String line) {
@@ -129,6 +265,17 @@ public class DefaultAirbyteStreamFactory implements AirbyteStreamFactory {
     return jsonLine.stream();
   }
 
+  protected Stream<JsonNode> parseJson(final byte[] line) {
+    final Optional<JsonNode> jsonLine = Jsons.tryDeserialize(line);
+    if (jsonLine.isEmpty()) {
+      // only lines that are not valid json are decoded, see parseJson(String)
+      try (final var mdcScope = containerLogMdcBuilder.build()) {
+        logger.info(new String(line, StandardCharsets.UTF_8));
+      }
+    }
+    return jsonLine.stream();
+  }
+
   protected boolean validate(final JsonNode json) {
     final boolean res = protocolValidator.test(json);
     if (!res) {
@@ -184,4 +331,45 @@ public class DefaultAirbyteStreamFactory implements AirbyteStreamFactory {
     return String.format("%.1f %cB", bytes / 1000.0, ci.current());
   }
 
+  /**
+   * Reports the length of each line read, either as a distribution, or pre-aggregated in a
+   * {@link LocalHistogram}.
+   */
+  private static final class LineLengths {
+
+    private final MetricClient metricClient;
+    // null when line lengths are not pre-aggregated
+    private final LocalHistogram histogram;
+
+    private LineLengths(final MetricClient metricClient, final LocalHistogram histogram) {
+      this.metricClient = metricClient;
+      this.histogram = histogram;
+    }
+
+    private void record(final long length) {
+      if (histogram != null) {
+        histogram.record(length);
+      } else {
+        metricClient.distribution(OssMetricsRegistry.JSON_STRING_LENGTH, length);
+      }
+    }
+
+    /**
+     * Report the pre-aggregated lengths that are left once all the lines are read. Consumers don't
+     * close the streams they read, so this appends an empty tail that flushes the histogram when it is
+     * reached. Closing the stream flushes it too, for a stream that isn't read to the end.
+     */
+    private <T> Stream<T> flushOnEnd(final Stream<T> lines) {
+      if (histogram == null) {
+        return lines;
+      }
+      final Stream<T> flushingTail = Stream.of(histogram).flatMap(h -> {
+        h.flush();
+        return Stream.<T>empty();
+      });
+      return Stream.concat(lines, flushingTail).onClose(histogram::flush);
+    }
+
+  }
+
 }
@@ -10,6 +10,9 @@ import io.airbyte.protocol.models.AirbyteMessage;
 import io.airbyte.protocol.models.AirbyteMessage.Type;
 import io.airbyte.protocol.models.AirbyteStream;
 import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 import org.apache.logging.log4j.util.Strings;
 import org.slf4j.Logger;
@@ -24,10 +27,16 @@ import org.slf4j.LoggerFactory;
 public class NamespacingMapper implements AirbyteMapper {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(NamespacingMapper.class);
+  private static final Pattern SOURCE_NAMESPACE_PATTERN = Pattern.compile(Pattern.quote("${SOURCE_NAMESPACE}"));
 
   private final NamespaceDefinitionType namespaceDefinition;
   private final String namespaceFormat;
   private final String streamPrefix;
+  // records of a stream all map to the same namespace and name, so they are computed once per source
+  // namespace and stream name rather than for every record. A null namespace is formatted like a
+  // blank one, so it is cached under the empty string.
+  private final Map<String, Optional<String>> sourceToFormattedNamespace = new ConcurrentHashMap<>();
+  private final Map<String, String> sourceToPrefixedStreamName = new ConcurrentHashMap<>();
 
   public NamespacingMapper(final NamespaceDefinitionType namespaceDefinition, final String namespaceFormat, final String streamPrefix) {
     this.namespaceDefinition = namespaceDefinition;
@@ -66,20 +75,32 @@ public class NamespacingMapper implements AirbyteMapper {
         if (namespaceDefinition.equals(NamespaceDefinitionType.DESTINATION)) {
           message.getRecord().withNamespace(null);
         } else if (namespaceDefinition.equals(NamespaceDefinitionType.CUSTOMFORMAT)) {
-          message.getRecord().withNamespace(formatNamespace(message.getRecord().getNamespace(), namespaceFormat));
+          message.getRecord().withNamespace(formatRecordNamespace(message.getRecord().getNamespace()));
         }
       }
-      message.getRecord().setStream(transformStreamName(message.getRecord().getStream(), streamPrefix));
+      message.getRecord().setStream(transformRecordStreamName(message.getRecord().getStream()));
       return message;
     }
     return message;
   }
 
+  private String formatRecordNamespace(final String sourceNamespace) {
+    return sourceToFormattedNamespace
+        .computeIfAbsent(sourceNamespace != null ? sourceNamespace : "", namespace -> Optional.ofNullable(formatNamespace(namespace, namespaceFormat)))
+        .orElse(null);
+  }
+
+  private String transformRecordStreamName(final String streamName) {
+    if (streamName == null) {
+      return transformStreamName(null, streamPrefix);
+    }
+    return sourceToPrefixedStreamName.computeIfAbsent(streamName, name -> transformStreamName(name, streamPrefix));
+  }
+
   private static String formatNamespace(final String sourceNamespace, final String namespaceFormat) {
     String result = "";
     if (Strings.isNotBlank(namespaceFormat)) {
-      final String regex = Pattern.quote("${SOURCE_NAMESPACE}");
-      result = namespaceFormat.replaceAll(regex, Strings.isNotBlank(sourceNamespace) ? sourceNamespace : "");
+      result = SOURCE_NAMESPACE_PATTERN.matcher(namespaceFormat).replaceAll(Strings.isNotBlank(sourceNamespace) ? sourceNamespace : "");
     }
     if (Strings.isBlank(result)) {
       result = null;
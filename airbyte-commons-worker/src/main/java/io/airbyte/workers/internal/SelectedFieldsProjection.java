@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.airbyte.commons.jackson.MoreMappers;
+import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Deserializes airbyte messages while skipping the top level fields of record data that are not
+ * selected for their stream. Unselected fields are skipped at the token level, so they are never
+ * materialized in the JSON tree.
+ * <p>
+ * The stream name of a record must be read before its data to know which fields are selected, and
+ * the namespace may only come after the data. Because of that, the fields selected for a stream name
+ * in any namespace are kept, and records of streams that are not known at the time their data is
+ * read are deserialized in full. Callers must still filter records to the fields selected for their
+ * stream and namespace.
+ */
+public class SelectedFieldsProjection {
+
+  private static final ObjectMapper OBJECT_MAPPER = MoreMappers.initMapper();
+  private static final String RECORD_FIELD = "record";
+  private static final String STREAM_FIELD = "stream";
+  private static final String DATA_FIELD = "data";
+
+  /**
+   * A message deserialized by this projection.
+   *
+   * @param json the deserialized message
+   * @param matchesLine whether the JSON holds everything the line held, i.e. no field was skipped and
+   *        nothing follows the JSON value on the line
+   */
+  public record ProjectedJson(JsonNode json, boolean matchesLine) {}
+
+  private final Map<String, Set<String>> streamNameToSelectedFields = new HashMap<>();
+
+  public SelectedFieldsProjection(final Map<AirbyteStreamNameNamespacePair, List<String>> streamToSelectedFields) {
+    streamToSelectedFields.forEach((stream, selectedFields) -> streamNameToSelectedFields
+        .computeIfAbsent(stream.getName(), name -> new HashSet<>())
+        .addAll(selectedFields));
+  }
+
+  /**
+   * Deserialize a UTF-8 encoded line, see {@link io.airbyte.commons.json.Jsons#tryDeserialize(byte[])}.
+   *
+   * @return the projected message, or empty if the line is not valid JSON.
+   */
+  public Optional<ProjectedJson> tryDeserialize(final byte[] line) {
+    try (final JsonParser parser = OBJECT_MAPPER.getFactory().createParser(line)) {
+      return Optional.of(read(parser));
+    } catch (final Throwable e) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Deserialize a line, see {@link io.airbyte.commons.json.Jsons#tryDeserialize(String)}.
+   *
+   * @return the projected message, or empty if the line is not valid JSON.
+   */
+  public Optional<ProjectedJson> tryDeserialize(final String line) {
+    try (final JsonParser parser = OBJECT_MAPPER.getFactory().createParser(line)) {
+      return Optional.of(read(parser));
+    } catch (final Throwable e) {
+      return Optional.empty();
+    }
+  }
+
+  private ProjectedJson read(final JsonParser parser) throws IOException {
+    final JsonToken token = parser.nextToken();
+    if (token == null) {
+      throw new IOException("No content to deserialize");
+    }
+    final JsonNode json;
+    boolean skippedFields = false;
+    if (token == JsonToken.START_OBJECT) {
+      final ObjectNode message = OBJECT_MAPPER.createObjectNode();
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        final String fieldName = parser.currentName();
+        if (parser.nextToken() == JsonToken.START_OBJECT && RECORD_FIELD.equals(fieldName)) {
+          final ObjectNode record = OBJECT_MAPPER.createObjectNode();
+          skippedFields = readRecord(parser, record);
+          message.set(fieldName, record);
+        } else {
+          message.set(fieldName, OBJECT_MAPPER.readTree(parser));
+        }
+      }
+      json = message;
+    } else {
+      json = OBJECT_MAPPER.readTree(parser);
+    }
+    return new ProjectedJson(json, !skippedFields && hasNoTrailingContent(parser));
+  }
+
+  /**
+   * Reads the fields of a record into the given node.
+   *
+   * @return true if any field of the record data was skipped.
+   */
+  private boolean readRecord(final JsonParser parser, final ObjectNode record) throws IOException {
+    boolean skippedFields = false;
+    Set<String> selectedFields = null;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      final String fieldName = parser.currentName();
+      final JsonToken token = parser.nextToken();
+      if (token == JsonToken.VALUE_STRING && STREAM_FIELD.equals(fieldName)) {
+        selectedFields = streamNameToSelectedFields.get(parser.getText());
+        record.set(fieldName, OBJECT_MAPPER.readTree(parser));
+      } else if (token == JsonToken.START_OBJECT && selectedFields != null && DATA_FIELD.equals(fieldName)) {
+        final ObjectNode data = OBJECT_MAPPER.createObjectNode();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          final String dataFieldName = parser.currentName();
+          parser.nextToken();
+          if (selectedFields.contains(dataFieldName)) {
+            data.set(dataFieldName, OBJECT_MAPPER.readTree(parser));
+          } else {
+            parser.skipChildren();
+            skippedFields = true;
+          }
+        }
+        record.set(fieldName, data);
+      } else {
+        record.set(fieldName, OBJECT_MAPPER.readTree(parser));
+      }
+    }
+    return skippedFields;
+  }
+
+  private static boolean hasNoTrailingContent(final JsonParser parser) throws IOException {
+    try {
+      return parser.nextToken() == null;
+    } catch (final JsonProcessingException e) {
+      // content after the first JSON value is ignored, like when the whole line is deserialized
+      return false;
+    }
+  }
+
+}
@@ -33,6 +33,10 @@ public class VersionedAirbyteMessageBufferedWriter<T> extends DefaultAirbyteMess
     this.configuredAirbyteCatalog = configuredAirbyteCatalog;
   }
 
+  /**
+   * Write a message, downgraded to the protocol version of the writer. Records are downgraded in
+   * place, see {@link io.airbyte.commons.protocol.migrations.AirbyteMessageMigration}.
+   */
   @Override
   public void write(final AirbyteMessage message) throws IOException {
     final T downgradedMessage = migrator.downgrade(message, configuredAirbyteCatalog);
@@ -8,6 +8,7 @@ import io.airbyte.commons.protocol.AirbyteMessageSerDeProvider;
 import io.airbyte.commons.protocol.AirbyteProtocolVersionedMigratorFactory;
 import io.airbyte.commons.version.Version;
 import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import java.io.BufferedOutputStream;
 import java.io.BufferedWriter;
 import java.util.Optional;
 import org.slf4j.Logger;
@@ -37,11 +38,7 @@ public class VersionedAirbyteMessageBufferedWriterFactory implements AirbyteMess
 
   @Override
   public AirbyteMessageBufferedWriter createWriter(BufferedWriter bufferedWriter) {
-    final boolean needMigration = !protocolVersion.getMajorVersion().equals(migratorFactory.getMostRecentVersion().getMajorVersion());
-    LOGGER.info(
-        "Writing messages to protocol version {}{}",
-        protocolVersion.serialize(),
-        needMigration ? ", messages will be downgraded from protocol version " + migratorFactory.getMostRecentVersion().serialize() : "");
+    logProtocolVersion();
     return new VersionedAirbyteMessageBufferedWriter<>(
         bufferedWriter,
         serDeProvider.getSerializer(protocolVersion).orElseThrow(),
@@ -49,4 +46,26 @@ public class VersionedAirbyteMessageBufferedWriterFactory implements AirbyteMess
         configuredAirbyteCatalog);
   }
 
+  @Override
+  public AirbyteMessageBufferedWriter createOutputStreamWriter(final BufferedOutputStream outputStream) {
+    logProtocolVersion();
+    return new VersionedAirbyteMessageOutputStreamWriter<>(
+        outputStream,
+        serDeProvider.getSerializer(protocolVersion).orElseThrow(),
+        migratorFactory.getAirbyteMessageMigrator(protocolVersion),
+        configuredAirbyteCatalog,
+        needMigration());
+  }
+
+  private boolean needMigration() {
+    return !protocolVersion.getMajorVersion().equals(migratorFactory.getMostRecentVersion().getMajorVersion());
+  }
+
+  private void logProtocolVersion() {
+    LOGGER.info(
+        "Writing messages to protocol version {}{}",
+        protocolVersion.serialize(),
+        needMigration() ? ", messages will be downgraded from protocol version " + migratorFactory.getMostRecentVersion().serialize() : "");
+  }
+
 }
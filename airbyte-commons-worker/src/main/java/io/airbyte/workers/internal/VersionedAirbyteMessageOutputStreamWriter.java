@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import io.airbyte.commons.protocol.AirbyteMessageVersionedMigrator;
+import io.airbyte.commons.protocol.serde.AirbyteMessageSerializer;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Write protocol objects in a specified version directly to a byte stream. Lines of unchanged
+ * messages are only written as is when no migration is needed, i.e. when the source and the
+ * destination speak the same protocol version.
+ *
+ * @param <T> type of protocol object.
+ */
+public class VersionedAirbyteMessageOutputStreamWriter<T> extends DefaultAirbyteMessageOutputStreamWriter {
+
+  private final AirbyteMessageSerializer<T> serializer;
+  private final AirbyteMessageVersionedMigrator<T> migrator;
+  private final Optional<ConfiguredAirbyteCatalog> configuredAirbyteCatalog;
+  private final boolean needMigration;
+
+  public VersionedAirbyteMessageOutputStreamWriter(final BufferedOutputStream outputStream,
+                                                   final AirbyteMessageSerializer<T> serializer,
+                                                   final AirbyteMessageVersionedMigrator<T> migrator,
+                                                   final Optional<ConfiguredAirbyteCatalog> configuredAirbyteCatalog,
+                                                   final boolean needMigration) {
+    super(outputStream);
+    this.serializer = serializer;
+    this.migrator = migrator;
+    this.configuredAirbyteCatalog = configuredAirbyteCatalog;
+    this.needMigration = needMigration;
+  }
+
+  /**
+   * Write a message, downgraded to the protocol version of the writer. Records are downgraded in
+   * place, see {@link io.airbyte.commons.protocol.migrations.AirbyteMessageMigration}.
+   */
+  @Override
+  public void write(final AirbyteMessage message) throws IOException {
+    final T downgradedMessage = migrator.downgrade(message, configuredAirbyteCatalog);
+    serializer.serialize(downgradedMessage, outputStream);
+    outputStream.write(NEW_LINE);
+  }
+
+  @Override
+  public void write(final AirbyteMessage message, final byte[] line) throws IOException {
+    if (needMigration) {
+      write(message);
+    } else {
+      super.write(message, line);
+    }
+  }
+
+}
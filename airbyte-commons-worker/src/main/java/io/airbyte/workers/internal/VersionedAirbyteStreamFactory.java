@@ -9,6 +9,7 @@ import static io.airbyte.metrics.lib.ApmTraceConstants.WORKER_OPERATION_NAME;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.base.Preconditions;
 import datadog.trace.api.Trace;
+import io.airbyte.commons.io.IOs;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.commons.logging.MdcScope;
 import io.airbyte.commons.protocol.AirbyteMessageSerDeProvider;
@@ -20,6 +21,7 @@ import io.airbyte.protocol.models.AirbyteMessage;
 import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Optional;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -86,6 +88,30 @@ public class VersionedAirbyteStreamFactory<T> extends DefaultAirbyteStreamFactor
   @Trace(operationName = WORKER_OPERATION_NAME)
   @Override
   public Stream<AirbyteMessage> create(final BufferedReader bufferedReader) {
+    prepareForStream(bufferedReader);
+    return super.create(bufferedReader);
+  }
+
+  /**
+   * Create the AirbyteMessage stream from the raw process output.
+   *
+   * Version detection needs to look ahead in the stream, in which case we fall back to the
+   * BufferedReader based implementation.
+   */
+  @Trace(operationName = WORKER_OPERATION_NAME)
+  @Override
+  public Stream<AirbyteMessageWithLine> createWithLines(final InputStream inputStream) {
+    if (shouldDetectVersion || !isByteLevelParsing()) {
+      final BufferedReader bufferedReader = IOs.newBufferedReader(inputStream);
+      prepareForStream(bufferedReader);
+      return readLines(bufferedReader);
+    }
+
+    logProtocolVersion();
+    return readBytes(inputStream);
+  }
+
+  private void prepareForStream(final BufferedReader bufferedReader) {
     if (shouldDetectVersion) {
       final Optional<Version> versionMaybe;
       try {
@@ -103,12 +129,27 @@ public class VersionedAirbyteStreamFactory<T> extends DefaultAirbyteStreamFactor
       }
     }
 
-    final boolean needMigration = !protocolVersion.getMajorVersion().equals(migratorFactory.getMostRecentVersion().getMajorVersion());
+    logProtocolVersion();
+  }
+
+  private void logProtocolVersion() {
+    final boolean needMigration = needMigration();
     logger.info(
         "Reading messages from protocol version {}{}",
         protocolVersion.serialize(),
         needMigration ? ", messages will be upgraded to protocol version " + migratorFactory.getMostRecentVersion().serialize() : "");
-    return super.create(bufferedReader);
+  }
+
+  private boolean needMigration() {
+    return !protocolVersion.getMajorVersion().equals(migratorFactory.getMostRecentVersion().getMajorVersion());
+  }
+
+  /**
+   * Lines can only be forwarded when messages are not upgraded to another protocol version.
+   */
+  @Override
+  protected boolean canForwardLines() {
+    return !needMigration();
   }
 
   /**
@@ -9,8 +9,6 @@ import static io.airbyte.metrics.lib.ApmTraceConstants.WORKER_OPERATION_NAME;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Charsets;
 import com.google.common.base.Preconditions;
-import com.google.common.collect.BiMap;
-import com.google.common.collect.HashBiMap;
 import com.google.common.hash.HashFunction;
 import com.google.common.hash.Hashing;
 import datadog.trace.api.Trace;
@@ -31,13 +29,13 @@ import io.airbyte.workers.helper.FailureHelper;
 import io.airbyte.workers.internal.book_keeping.StateMetricsTracker.StateMetricsTrackerNoStateMatchException;
 import io.airbyte.workers.internal.state_aggregator.DefaultStateAggregator;
 import io.airbyte.workers.internal.state_aggregator.StateAggregator;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
@@ -53,13 +51,18 @@ import lombok.extern.slf4j.Slf4j;
 public class AirbyteMessageTracker implements MessageTracker {
 
   private static final long STATE_DELTA_TRACKER_MEMORY_LIMIT_BYTES = 10L * 1024L * 1024L; // 10 MiB, ~5% of default cloud worker memory
-  private static final long STATE_METRICS_TRACKER_MESSAGE_LIMIT = 873813L; // 12 bytes per message tracked, maximum of 10MiB of memory
+  // 12 bytes per message tracked, at most 24 with array growth, maximum of 30MiB of memory. This is what the previous limit of
+  // 873813 messages took when each message was tracked as a separate byte array.
+  private static final long STATE_METRICS_TRACKER_MESSAGE_LIMIT = 1310720L;
 
   private final AtomicReference<State> sourceOutputState;
-  private final AtomicReference<State> destinationOutputState;
-  private final Map<Short, Long> streamToRunningCount;
+  private final RunningRecordCounts streamToRunningCount;
   private final HashFunction hashFunction;
-  private final BiMap<AirbyteStreamNameNamespacePair, Short> nameNamespacePairToIndex;
+  /**
+   * Only written by the source thread, also read by the destination thread to match committed states
+   * to their stream.
+   */
+  private final Map<AirbyteStreamNameNamespacePair, Short> nameNamespacePairToIndex;
   private final Map<AirbyteStreamNameNamespacePair, StreamStats> nameNamespacePairToStreamStats;
   private final StateDeltaTracker stateDeltaTracker;
   private final StateMetricsTracker stateMetricsTracker;
@@ -76,6 +79,14 @@ public class AirbyteMessageTracker implements MessageTracker {
 
   private short nextStreamIndex;
 
+  /**
+   * The aggregated destination state is only computed when it is read, rather than on every state the
+   * destination commits, because aggregating stream states serializes every stream's state. Guarded
+   * by the lock on stateAggregator.
+   */
+  private State destinationOutputState;
+  private boolean destinationOutputStateOutdated;
+
   /**
    * If the StateDeltaTracker throws an exception, this flag is set to true and committed counts are
    * not returned.
@@ -105,9 +116,10 @@ public class AirbyteMessageTracker implements MessageTracker {
                                   final StateMetricsTracker stateMetricsTracker,
                                   final FeatureFlags featureFlags) {
     this.sourceOutputState = new AtomicReference<>();
-    this.destinationOutputState = new AtomicReference<>();
-    this.streamToRunningCount = new HashMap<>();
-    this.nameNamespacePairToIndex = HashBiMap.create();
+    this.destinationOutputState = null;
+    this.destinationOutputStateOutdated = false;
+    this.streamToRunningCount = new RunningRecordCounts();
+    this.nameNamespacePairToIndex = new ConcurrentHashMap<>();
     this.hashFunction = Hashing.murmur3_32_fixed();
     this.nameNamespacePairToStreamStats = new HashMap<>();
     this.stateDeltaTracker = stateDeltaTracker;
@@ -125,11 +137,17 @@ public class AirbyteMessageTracker implements MessageTracker {
   @Trace(operationName = WORKER_OPERATION_NAME)
   @Override
   public void acceptFromSource(final AirbyteMessage message) {
+    acceptFromSource(message, null);
+  }
+
+  @Trace(operationName = WORKER_OPERATION_NAME)
+  @Override
+  public void acceptFromSource(final AirbyteMessage message, final AirbyteStreamNameNamespacePair recordStream) {
     logMessageAsJSON("source", message);
 
     switch (message.getType()) {
       case TRACE -> handleEmittedTrace(message.getTrace(), ConnectorType.SOURCE);
-      case RECORD -> handleSourceEmittedRecord(message.getRecord());
+      case RECORD -> handleSourceEmittedRecord(message.getRecord(), recordStream);
       case STATE -> handleSourceEmittedState(message.getState());
       case CONTROL -> handleEmittedOrchestratorMessage(message.getControl(), ConnectorType.SOURCE);
       default -> log.warn("Invalid message type for message: {}", message);
@@ -151,24 +169,24 @@ public class AirbyteMessageTracker implements MessageTracker {
 
   /**
    * When a source emits a record, increment the running record count, the total record count, and the
-   * total byte count for the record's stream.
+   * total byte count for the record's stream. The byte count is the size of the record data only, so
+   * it does not depend on how the source formatted the line or on the message envelope. The stream
+   * of the record is only resolved from the record when the caller did not provide it.
    */
-  private void handleSourceEmittedRecord(final AirbyteRecordMessage recordMessage) {
-    if (stateMetricsTracker.getFirstRecordReceivedAt() == null) {
-      stateMetricsTracker.setFirstRecordReceivedAt(LocalDateTime.now());
+  private void handleSourceEmittedRecord(final AirbyteRecordMessage recordMessage, final AirbyteStreamNameNamespacePair recordStream) {
+    if (!stateMetricsTracker.hasFirstRecordReceivedAt()) {
+      stateMetricsTracker.setFirstRecordReceivedAt(System.currentTimeMillis());
     }
 
-    final var nameNamespace = AirbyteStreamNameNamespacePair.fromRecordMessage(recordMessage);
+    final var nameNamespace = recordStream != null ? recordStream : AirbyteStreamNameNamespacePair.fromRecordMessage(recordMessage);
     final short streamIndex = getStreamIndex(nameNamespace);
 
-    final long currentRunningCount = streamToRunningCount.getOrDefault(streamIndex, 0L);
-    streamToRunningCount.put(streamIndex, currentRunningCount + 1);
+    streamToRunningCount.increment(streamIndex);
 
     final var currStats = nameNamespacePairToStreamStats.getOrDefault(nameNamespace, new StreamStats());
     currStats.emittedRecords++;
 
-    final int estimatedNumBytes = Jsons.getEstimatedByteSize(recordMessage.getData());
-    currStats.emittedBytes += estimatedNumBytes;
+    currStats.emittedBytes += Jsons.getEstimatedByteSize(recordMessage.getData());
 
     nameNamespacePairToStreamStats.put(nameNamespace, currStats);
   }
@@ -180,7 +198,7 @@ public class AirbyteMessageTracker implements MessageTracker {
    * correctly.
    */
   private void handleSourceEmittedState(final AirbyteStateMessage stateMessage) {
-    final LocalDateTime timeEmittedStateMessage = LocalDateTime.now();
+    final long timeEmittedStateMessage = System.currentTimeMillis();
     stateMetricsTracker.incrementTotalSourceEmittedStateMessages();
     stateMetricsTracker.updateMaxAndMeanSecondsToReceiveStateMessage(timeEmittedStateMessage);
     stateMetricsTracker.setLastStateMessageReceivedAt(timeEmittedStateMessage);
@@ -189,10 +207,14 @@ public class AirbyteMessageTracker implements MessageTracker {
 
     try {
       if (!unreliableCommittedCounts) {
-        stateDeltaTracker.addState(stateHash, streamToRunningCount);
+        stateDeltaTracker.addState(stateHash, streamToRunningCount.getStreamIndices(), streamToRunningCount.getRecordCounts(),
+            streamToRunningCount.getStreamCount());
       }
       if (!unreliableStateTimingMetrics) {
-        stateMetricsTracker.addState(stateMessage, stateHash, timeEmittedStateMessage);
+        final short streamIndex = AirbyteStateType.STREAM == stateMessage.getType()
+            ? getStreamIndex(getStateNameNamespacePair(stateMessage))
+            : StateMetricsTracker.NO_STREAM_INDEX;
+        stateMetricsTracker.addState(stateMessage, streamIndex, stateHash, timeEmittedStateMessage);
       }
     } catch (final StateDeltaTracker.StateDeltaTrackerException e) {
       log.warn("The message tracker encountered an issue that prevents committed record counts from being reliably computed.");
@@ -212,10 +234,12 @@ public class AirbyteMessageTracker implements MessageTracker {
    * committed in the {@link StateDeltaTracker}. Also record this state as the last committed state.
    */
   private void handleDestinationEmittedState(final AirbyteStateMessage stateMessage) {
-    final LocalDateTime timeCommitted = LocalDateTime.now();
+    final long timeCommitted = System.currentTimeMillis();
     stateMetricsTracker.incrementTotalDestinationEmittedStateMessages();
-    stateAggregator.ingest(stateMessage);
-    destinationOutputState.set(stateAggregator.getAggregated());
+    synchronized (stateAggregator) {
+      stateAggregator.ingest(stateMessage);
+      destinationOutputStateOutdated = true;
+    }
     final int stateHash = getStateHashCode(stateMessage);
 
     try {
@@ -231,7 +255,11 @@ public class AirbyteMessageTracker implements MessageTracker {
 
     try {
       if (!unreliableStateTimingMetrics) {
-        stateMetricsTracker.updateStates(stateMessage, stateHash, timeCommitted);
+        final Short streamIndex = AirbyteStateType.STREAM == stateMessage.getType()
+            ? nameNamespacePairToIndex.get(getStateNameNamespacePair(stateMessage))
+            : null;
+        stateMetricsTracker.updateStates(stateMessage, streamIndex != null ? streamIndex : StateMetricsTracker.NO_STREAM_INDEX, stateHash,
+            timeCommitted);
       }
     } catch (final StateMetricsTrackerNoStateMatchException e) {
       log.warn("The state message tracker was unable to match the destination state message to a corresponding source state message.");
@@ -319,12 +347,19 @@ public class AirbyteMessageTracker implements MessageTracker {
 
   private short getStreamIndex(final AirbyteStreamNameNamespacePair pair) {
     if (!nameNamespacePairToIndex.containsKey(pair)) {
+      Preconditions.checkState(nextStreamIndex != StateMetricsTracker.NO_STREAM_INDEX,
+          "Cannot track more than %s streams in a sync.", StateMetricsTracker.MAX_STREAM_COUNT);
       nameNamespacePairToIndex.put(pair, nextStreamIndex);
       nextStreamIndex++;
     }
     return nameNamespacePairToIndex.get(pair);
   }
 
+  private static AirbyteStreamNameNamespacePair getStateNameNamespacePair(final AirbyteStateMessage stateMessage) {
+    final var streamDescriptor = stateMessage.getStream().getStreamDescriptor();
+    return new AirbyteStreamNameNamespacePair(streamDescriptor.getName(), streamDescriptor.getNamespace());
+  }
+
   private int getStateHashCode(final AirbyteStateMessage stateMessage) {
     if (AirbyteStateType.GLOBAL == stateMessage.getType()) {
       return hashFunction.hashBytes(Jsons.serialize(stateMessage.getGlobal()).getBytes(Charsets.UTF_8)).hashCode();
@@ -386,7 +421,13 @@ public class AirbyteMessageTracker implements MessageTracker {
 
   @Override
   public Optional<State> getDestinationOutputState() {
-    return Optional.ofNullable(destinationOutputState.get());
+    synchronized (stateAggregator) {
+      if (destinationOutputStateOutdated) {
+        destinationOutputState = stateAggregator.getAggregated();
+        destinationOutputStateOutdated = false;
+      }
+      return Optional.ofNullable(destinationOutputState);
+    }
   }
 
   /**
@@ -400,9 +441,11 @@ public class AirbyteMessageTracker implements MessageTracker {
       return Optional.empty();
     }
     final Map<Short, Long> streamIndexToCommittedRecordCount = stateDeltaTracker.getStreamToCommittedRecords();
+    final Map<Short, AirbyteStreamNameNamespacePair> indexToNameNamespacePair = nameNamespacePairToIndex.entrySet().stream()
+        .collect(Collectors.toMap(Entry::getValue, Entry::getKey));
     return Optional.of(
         streamIndexToCommittedRecordCount.entrySet().stream().collect(
-            Collectors.toMap(entry -> nameNamespacePairToIndex.inverse().get(entry.getKey()), Entry::getValue)));
+            Collectors.toMap(entry -> indexToNameNamespacePair.get(entry.getKey()), Entry::getValue)));
   }
 
   /**
@@ -26,6 +26,17 @@ public interface MessageTracker {
    */
   void acceptFromSource(AirbyteMessage message);
 
+  /**
+   * Accepts an AirbyteMessage emitted from a source along with, for records, the stream the record
+   * belongs to, so that the tracker does not need to build the stream descriptor of every record.
+   *
+   * @param message message to derive metadata from.
+   * @param recordStream stream of the record, or null if unknown or if the message is not a record.
+   */
+  default void acceptFromSource(final AirbyteMessage message, final AirbyteStreamNameNamespacePair recordStream) {
+    acceptFromSource(message);
+  }
+
   /**
    * Accepts an AirbyteMessage emitted from a destination and tracks any metadata about it that is
    * required by the Platform.
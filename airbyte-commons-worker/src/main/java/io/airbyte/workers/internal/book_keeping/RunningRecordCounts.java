@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal.book_keeping;
+
+import java.util.Arrays;
+
+/**
+ * Number of records emitted by each stream since the last state of the source. Counts are kept in
+ * parallel primitive arrays, in the order the streams emitted their first record, so that counting a
+ * record boxes nothing and the counts can be passed as is to
+ * {@link StateDeltaTracker#addState(int, short[], long[], int)}. Not thread safe.
+ */
+final class RunningRecordCounts {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private short[] streamIndices = new short[INITIAL_CAPACITY];
+  private long[] recordCounts = new long[INITIAL_CAPACITY];
+  private int streamCount;
+  // position + 1 of each stream in the arrays above, indexed by the unsigned value of the stream
+  // index, 0 for the streams without records
+  private int[] streamPositions = new int[INITIAL_CAPACITY];
+
+  void increment(final short streamIndex) {
+    final int index = Short.toUnsignedInt(streamIndex);
+    if (index >= streamPositions.length) {
+      streamPositions = Arrays.copyOf(streamPositions, Math.max(index + 1, streamPositions.length * 2));
+    }
+    int position = streamPositions[index] - 1;
+    if (position < 0) {
+      if (streamCount == streamIndices.length) {
+        streamIndices = Arrays.copyOf(streamIndices, streamCount * 2);
+        recordCounts = Arrays.copyOf(recordCounts, streamCount * 2);
+      }
+      position = streamCount++;
+      streamIndices[position] = streamIndex;
+      streamPositions[index] = position + 1;
+    }
+    recordCounts[position]++;
+  }
+
+  short[] getStreamIndices() {
+    return streamIndices;
+  }
+
+  long[] getRecordCounts() {
+    return recordCounts;
+  }
+
+  /**
+   * Number of streams with records, the arrays are only filled up to this count.
+   */
+  int getStreamCount() {
+    return streamCount;
+  }
+
+  void clear() {
+    for (int i = 0; i < streamCount; i++) {
+      streamPositions[Short.toUnsignedInt(streamIndices[i])] = 0;
+      recordCounts[i] = 0;
+    }
+    streamCount = 0;
+  }
+
+}
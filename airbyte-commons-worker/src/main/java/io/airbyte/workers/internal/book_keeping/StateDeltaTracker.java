@@ -9,21 +9,27 @@ import static io.airbyte.metrics.lib.ApmTraceConstants.WORKER_OPERATION_NAME;
 import com.google.common.annotations.VisibleForTesting;
 import datadog.trace.api.Trace;
 import java.nio.ByteBuffer;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * This class tracks "deltas" between states in compact {@code byte[]}s with the following schema:
+ * This class tracks "deltas" between states in a single {@code ByteBuffer} used as a FIFO queue,
+ * where each delta is laid out as follows:
  *
  * <pre>
- *  [(state hash),(stream index),(record count)...] with the last two elements repeating per stream in the delta.
+ *  [(state hash),(stream count),(stream index),(record count)...] with the last two elements repeating per stream in the delta.
  * </pre>
  * <p>
+ * Deltas are appended at the tail of the queue and committed from its head, so committing is
+ * proportional to the number of committed deltas rather than to the number of pending ones. The
+ * buffer grows when it is full and reclaims the space of committed deltas by moving the pending
+ * ones back to its start.
+ * <p>
  * This class also maintains a {@code Set} of {@code committedStateHashes} so that it can accumulate
  * both committed and total record counts per stream.
  * <p>
@@ -35,23 +41,34 @@ import lombok.extern.slf4j.Slf4j;
 public class StateDeltaTracker {
 
   private static final int STATE_HASH_BYTES = Integer.BYTES;
+  private static final int STREAM_COUNT_BYTES = Integer.BYTES;
   private static final int STREAM_INDEX_BYTES = Short.BYTES;
   private static final int RECORD_COUNT_BYTES = Long.BYTES;
   private static final int BYTES_PER_STREAM = STREAM_INDEX_BYTES + RECORD_COUNT_BYTES;
+  private static final int INITIAL_BUFFER_BYTES = 4 * 1024;
 
   private final Set<Integer> committedStateHashes;
-  private final Map<Short, Long> streamToCommittedRecords;
+  // committed record counts indexed by the unsigned value of the stream index
+  private long[] streamToCommittedRecords;
+  private final BitSet committedStreams;
 
   /**
-   * Every time a state is added, a new byte[] containing the state hash and per-stream delta will be
-   * added to this list. Every time a state is committed, state deltas up to the committed state are
-   * removed from the head of the list and aggregated into the committed count map. The source thread
-   * adds while the destination thread removes, so synchronization is necessary to provide
-   * thread-safety.
+   * Every time a state is added, its hash and per-stream delta are written at the tail of this
+   * buffer. Every time a state is committed, state deltas up to the committed state are read from the
+   * head of the buffer and aggregated into the committed counts. The source thread adds while the
+   * destination thread commits, so synchronization is necessary to provide thread-safety.
+   * <p>
+   * The buffer is a heap buffer. It is only accessed from Java, with absolute gets and puts that the
+   * JIT compiles to plain array accesses, so a direct buffer would not be faster. It would also be
+   * allocated outside of the heap, where its memory is neither bounded by the heap size of the
+   * worker nor released as soon as the buffer is replaced by a larger one.
    */
-  @VisibleForTesting
-  protected final List<byte[]> stateDeltas;
+  private ByteBuffer stateDeltas;
+  private int head;
+  private int tail;
 
+  @VisibleForTesting
+  protected int stateDeltaCount;
   @VisibleForTesting
   protected long remainingCapacity;
   @VisibleForTesting
@@ -59,43 +76,54 @@ public class StateDeltaTracker {
 
   public StateDeltaTracker(final long memoryLimitBytes) {
     this.committedStateHashes = new HashSet<>();
-    this.streamToCommittedRecords = new HashMap<>();
-    this.stateDeltas = new ArrayList<>();
+    this.streamToCommittedRecords = new long[0];
+    this.committedStreams = new BitSet();
+    this.stateDeltas = ByteBuffer.allocate((int) Math.min(INITIAL_BUFFER_BYTES, Math.max(memoryLimitBytes, 0)));
+    this.head = 0;
+    this.tail = 0;
+    this.stateDeltaCount = 0;
     this.remainingCapacity = memoryLimitBytes;
     this.capacityExceeded = false;
   }
 
   /**
-   * Converts the given state hash and per-stream record count map into a {@code byte[]} and stores
-   * it.
+   * Writes the given state hash and per-stream record counts at the tail of the delta queue.
    * <p>
    * This method leverages a synchronized block to provide thread safety between the source thread
    * calling addState while the destination thread calls commitStateHash.
    *
+   * @param stateHash hash of the state
+   * @param streamIndices indices of the streams that emitted records since the previous state
+   * @param recordCounts number of records emitted by each of these streams, in the same order
+   * @param streamCount number of streams to read from the arrays
    * @throws StateDeltaTrackerException thrown when the memory footprint of stateDeltas exceeds
    *         available capacity.
    */
   @Trace(operationName = WORKER_OPERATION_NAME)
-  public void addState(final int stateHash, final Map<Short, Long> streamIndexToRecordCount) throws StateDeltaTrackerException {
+  public void addState(final int stateHash, final short[] streamIndices, final long[] recordCounts, final int streamCount)
+      throws StateDeltaTrackerException {
     synchronized (this) {
-      final int size = STATE_HASH_BYTES + (streamIndexToRecordCount.size() * BYTES_PER_STREAM);
+      // the stream count is bookkeeping of the buffer, the memory limit only accounts for the delta
+      final int size = STATE_HASH_BYTES + (streamCount * BYTES_PER_STREAM);
 
       if (capacityExceeded || remainingCapacity < size) {
         capacityExceeded = true;
         throw new StateDeltaTrackerException("Memory capacity is exceeded for StateDeltaTracker.");
       }
 
-      final ByteBuffer delta = ByteBuffer.allocate(size);
-
-      delta.putInt(stateHash);
-
-      for (final Map.Entry<Short, Long> entry : streamIndexToRecordCount.entrySet()) {
-        delta.putShort(entry.getKey());
-        delta.putLong(entry.getValue());
+      ensureWritable(size + STREAM_COUNT_BYTES);
+      stateDeltas.putInt(tail, stateHash);
+      stateDeltas.putInt(tail + STATE_HASH_BYTES, streamCount);
+      int position = tail + STATE_HASH_BYTES + STREAM_COUNT_BYTES;
+      for (int i = 0; i < streamCount; i++) {
+        stateDeltas.putShort(position, streamIndices[i]);
+        stateDeltas.putLong(position + STREAM_INDEX_BYTES, recordCounts[i]);
+        position += BYTES_PER_STREAM;
       }
 
-      stateDeltas.add(delta.array());
-      remainingCapacity -= delta.array().length;
+      tail = position;
+      stateDeltaCount++;
+      remainingCapacity -= size;
     }
   }
 
@@ -122,31 +150,76 @@ public class StateDeltaTracker {
       committedStateHashes.add(stateHash);
       int currStateHash;
       do {
-        if (stateDeltas.isEmpty()) {
+        if (stateDeltaCount == 0) {
           throw new StateDeltaTrackerException(String.format("Delta was not stored for state hash %d", stateHash));
         }
-        // as deltas are removed and aggregated into committed count map, reclaim capacity
-        final ByteBuffer currDelta = ByteBuffer.wrap(stateDeltas.remove(0));
-        remainingCapacity += currDelta.capacity();
-
-        currStateHash = currDelta.getInt();
-
-        final int numStreams = (currDelta.capacity() - STATE_HASH_BYTES) / BYTES_PER_STREAM;
+        currStateHash = stateDeltas.getInt(head);
+        final int numStreams = stateDeltas.getInt(head + STATE_HASH_BYTES);
+        int position = head + STATE_HASH_BYTES + STREAM_COUNT_BYTES;
         for (int i = 0; i < numStreams; i++) {
-          final short streamIndex = currDelta.getShort();
-          final long recordCount = currDelta.getLong();
+          final short streamIndex = stateDeltas.getShort(position);
+          final long recordCount = stateDeltas.getLong(position + STREAM_INDEX_BYTES);
+          position += BYTES_PER_STREAM;
+
+          // aggregate delta into committed counts
+          addCommittedRecords(streamIndex, recordCount);
+        }
 
-          // aggregate delta into committed count map
-          final long committedRecordCount = streamToCommittedRecords.getOrDefault(streamIndex, 0L);
-          streamToCommittedRecords.put(streamIndex, committedRecordCount + recordCount);
+        // as deltas are removed and aggregated into committed counts, reclaim capacity
+        head = position;
+        stateDeltaCount--;
+        remainingCapacity += STATE_HASH_BYTES + (long) numStreams * BYTES_PER_STREAM;
+        if (stateDeltaCount == 0) {
+          head = 0;
+          tail = 0;
         }
       } while (currStateHash != stateHash); // repeat until each delta up to the committed state is aggregated
     }
   }
 
+  private void addCommittedRecords(final short streamIndex, final long recordCount) {
+    final int index = Short.toUnsignedInt(streamIndex);
+    if (index >= streamToCommittedRecords.length) {
+      streamToCommittedRecords = Arrays.copyOf(streamToCommittedRecords, Math.max(index + 1, streamToCommittedRecords.length * 2));
+    }
+    streamToCommittedRecords[index] += recordCount;
+    committedStreams.set(index);
+  }
+
+  /**
+   * Make room for {@code bytes} more bytes at the tail of the queue. Committed deltas at the head are
+   * reclaimed by moving the pending ones to the start of the buffer, which only happens when they
+   * account for at least half of the buffer so that it is amortized over the deltas added since.
+   */
+  private void ensureWritable(final int bytes) {
+    if (tail + bytes <= stateDeltas.capacity()) {
+      return;
+    }
+    final int pendingBytes = tail - head;
+    final ByteBuffer target;
+    if (pendingBytes + bytes <= stateDeltas.capacity() / 2) {
+      target = stateDeltas;
+    } else {
+      target = ByteBuffer.allocate(Math.max(stateDeltas.capacity() * 2, pendingBytes + bytes));
+    }
+    target.put(0, stateDeltas, head, pendingBytes);
+    stateDeltas = target;
+    head = 0;
+    tail = pendingBytes;
+  }
+
+  /**
+   * Committed record counts per stream index. The returned map is a copy.
+   */
   @Trace(operationName = WORKER_OPERATION_NAME)
   public Map<Short, Long> getStreamToCommittedRecords() {
-    return streamToCommittedRecords;
+    synchronized (this) {
+      final Map<Short, Long> committedRecords = new HashMap<>();
+      for (int index = committedStreams.nextSetBit(0); index >= 0; index = committedStreams.nextSetBit(index + 1)) {
+        committedRecords.put((short) index, streamToCommittedRecords[index]);
+      }
+      return committedRecords;
+    }
   }
 
   /**
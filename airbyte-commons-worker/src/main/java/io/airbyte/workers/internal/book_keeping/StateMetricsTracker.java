@@ -6,126 +6,137 @@ package io.airbyte.workers.internal.book_keeping;
 
 import io.airbyte.protocol.models.AirbyteStateMessage;
 import io.airbyte.protocol.models.AirbyteStateMessage.AirbyteStateType;
-import io.airbyte.protocol.models.StreamDescriptor;
-import java.nio.ByteBuffer;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
-import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.List;
-import java.util.Map;
+import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Tracks metrics on state message. Tracking state messages emitted from the source and committed to
  * the destination.
+ * <p>
+ * States are added from the source thread and committed from the destination thread. Emitted states
+ * are tracked as [state hash, epoch millis] pairs in primitive arrays, one queue per stream index
+ * for STREAM states and a single queue for GLOBAL and LEGACY states. Each queue has its own lock,
+ * so emitting and committing states do not contend on a tracker-wide monitor. Each metric only has
+ * a single writer thread, source or destination, so metrics are volatile rather than locked.
  */
 public class StateMetricsTracker {
 
-  private static final int STATE_HASH_SIZE = Integer.BYTES;
-  private static final int EPOCH_TIME_SIZE = Long.BYTES;
-  private static final int BYTE_ARRAY_SIZE = STATE_HASH_SIZE + EPOCH_TIME_SIZE;
-
-  private final List<byte[]> stateHashesAndTimestamps;
-  private final Map<String, List<byte[]>> streamStateHashesAndTimestamps;
-  private LocalDateTime firstRecordReceivedAt;
-  private LocalDateTime lastStateMessageReceivedAt;
-  private Long maxSecondsToReceiveSourceStateMessage;
-  private Long meanSecondsToReceiveSourceStateMessage;
-  private Long maxSecondsBetweenStateMessageEmittedandCommitted;
-  private Long meanSecondsBetweenStateMessageEmittedandCommitted;
+  /**
+   * Stream index to use for states that do not belong to a stream, or when the stream of a committed
+   * state has no index because the source never emitted it. Stream indices are read as unsigned, so
+   * this is the last of the 65536 indices a short can hold and cannot be assigned to a stream.
+   */
+  public static final short NO_STREAM_INDEX = -1;
+  /**
+   * Number of streams that can be given an index, all the indices but {@link #NO_STREAM_INDEX}.
+   */
+  public static final int MAX_STREAM_COUNT = Short.toUnsignedInt(NO_STREAM_INDEX);
+
+  private static final int INITIAL_QUEUE_CAPACITY = 16;
+  private static final long UNSET = -1L;
+
+  private final StateTimestampQueue stateHashesAndTimestamps;
+  /**
+   * Only grown and populated by the source thread. The array is published again after each change so
+   * that the destination thread sees the queues of new streams.
+   */
+  private volatile StateTimestampQueue[] streamStateHashesAndTimestamps;
+  private volatile long firstRecordReceivedAt;
+  private volatile long lastStateMessageReceivedAt;
+  private volatile long maxSecondsToReceiveSourceStateMessage;
+  private volatile long meanSecondsToReceiveSourceStateMessage;
+  private volatile long maxSecondsBetweenStateMessageEmittedandCommitted;
+  private volatile long meanSecondsBetweenStateMessageEmittedandCommitted;
   private final AtomicLong totalSourceEmittedStateMessages;
   private final AtomicLong totalDestinationEmittedStateMessages;
-  private long remainingCapacity;
-  private Boolean capacityExceeded;
+  private final AtomicLong remainingCapacity;
+  private volatile boolean capacityExceeded;
 
   public StateMetricsTracker(final Long messageLimit) {
-    this.stateHashesAndTimestamps = new ArrayList<>();
-    this.streamStateHashesAndTimestamps = new HashMap<>();
-    this.firstRecordReceivedAt = null;
-    this.lastStateMessageReceivedAt = null;
+    this.stateHashesAndTimestamps = new StateTimestampQueue();
+    this.streamStateHashesAndTimestamps = new StateTimestampQueue[0];
+    this.firstRecordReceivedAt = UNSET;
+    this.lastStateMessageReceivedAt = UNSET;
     this.maxSecondsToReceiveSourceStateMessage = 0L;
     this.meanSecondsToReceiveSourceStateMessage = 0L;
     this.maxSecondsBetweenStateMessageEmittedandCommitted = 0L;
     this.meanSecondsBetweenStateMessageEmittedandCommitted = 0L;
     this.totalSourceEmittedStateMessages = new AtomicLong(0L);
     this.totalDestinationEmittedStateMessages = new AtomicLong(0L);
-    this.remainingCapacity = messageLimit;
+    this.remainingCapacity = new AtomicLong(messageLimit);
     this.capacityExceeded = false;
   }
 
   /**
-   * Add state to tracker.
+   * Add state to tracker. Must be called from a single thread.
    *
    * @param stateMessage state message to add.
+   * @param streamIndex index of the stream of a STREAM state, ignored for other states
    * @param stateHash hash of state message
-   * @param timeEmitted time state message was emitted
+   * @param timeEmitted time state message was emitted, in epoch millis
    * @throws StateMetricsTrackerOomException exception if state metrics take up too much memory.
    */
-  public synchronized void addState(final AirbyteStateMessage stateMessage, final int stateHash, final LocalDateTime timeEmitted)
+  public void addState(final AirbyteStateMessage stateMessage, final short streamIndex, final int stateHash, final long timeEmitted)
       throws StateMetricsTrackerOomException {
-    final long epochTime = timeEmitted.toEpochSecond(ZoneOffset.UTC);
-
-    if (capacityExceeded || remainingCapacity < 1) {
+    if (capacityExceeded || remainingCapacity.get() < 1) {
       capacityExceeded = true;
       throw new StateMetricsTrackerOomException("Memory capacity is exceeded for StateMetricsTracker.");
     }
 
     if (AirbyteStateType.STREAM == stateMessage.getType()) {
-      addStateMessageToStreamToStateHashTimestampTracker(stateMessage, stateHash, epochTime);
+      getOrCreateStreamQueue(streamIndex).add(stateHash, timeEmitted);
     } else {
       // do not track state message timestamps per stream for GLOBAL or LEGACY state
-      final byte[] stateTimestampByteArray = populateStateTimestampByteArray(stateHash, epochTime);
-      stateHashesAndTimestamps.add(stateTimestampByteArray);
-      remainingCapacity -= 1;
+      stateHashesAndTimestamps.add(stateHash, timeEmitted);
     }
+    remainingCapacity.decrementAndGet();
   }
 
   /**
-   * Update state stats when state is committed.
+   * Update state stats when state is committed. Must be called from a single thread.
    *
    * @param stateMessage new state message
+   * @param streamIndex index of the stream of a STREAM state, ignored for other states
    * @param stateHash has of state message
-   * @param timeCommitted time the state was committed
+   * @param timeCommitted time the state was committed, in epoch millis
    * @throws StateMetricsTrackerNoStateMatchException thrown if committed state is not in the stats.
    *         This should not happen because if a state is committed that means it was emitted from the
    *         Source and thus should already be stored in the stats as emitted.
    */
-  public synchronized void updateStates(final AirbyteStateMessage stateMessage, final int stateHash, final LocalDateTime timeCommitted)
+  public void updateStates(final AirbyteStateMessage stateMessage, final short streamIndex, final int stateHash, final long timeCommitted)
       throws StateMetricsTrackerNoStateMatchException {
-    final LocalDateTime startingTime;
+    final StateTimestampQueue queue;
     if (AirbyteStateType.STREAM == stateMessage.getType()) {
-      final String streamDescriptorKey = getStreamDescriptorKey(stateMessage.getStream().getStreamDescriptor());
-      final List<byte[]> stateMessagesForStream = streamStateHashesAndTimestamps.get(streamDescriptorKey);
-      startingTime = findStartingTimeStampAndRemoveOlderEntries(stateMessagesForStream, stateHash);
+      final StateTimestampQueue[] streamQueues = streamStateHashesAndTimestamps;
+      final int index = Short.toUnsignedInt(streamIndex);
+      queue = streamIndex != NO_STREAM_INDEX && index < streamQueues.length ? streamQueues[index] : null;
     } else {
-      startingTime = findStartingTimeStampAndRemoveOlderEntries(stateHashesAndTimestamps, stateHash);
+      queue = stateHashesAndTimestamps;
+    }
+    if (queue == null) {
+      throw new StateMetricsTrackerNoStateMatchException("Destination state message cannot be matched to corresponding Source state message.");
     }
+    final long startingTime = queue.removeUpTo(stateHash);
     updateMaxAndMeanSeconds(startingTime, timeCommitted);
   }
 
-  void addStateMessageToStreamToStateHashTimestampTracker(final AirbyteStateMessage stateMessage,
-                                                          final int stateHash,
-                                                          final Long epochTimeEmitted) {
-    final String streamDescriptorKey = getStreamDescriptorKey(stateMessage.getStream().getStreamDescriptor());
-    final byte[] stateHashAndTimestamp = populateStateTimestampByteArray(stateHash, epochTimeEmitted);
-
-    if (streamStateHashesAndTimestamps.get(streamDescriptorKey) == null) {
-      final List stateHashesAndTimestamps = new ArrayList<>();
-      stateHashesAndTimestamps.add(stateHashAndTimestamp);
-      streamStateHashesAndTimestamps.put(streamDescriptorKey, stateHashesAndTimestamps);
-    } else {
-      final List<byte[]> streamDescriptorValue = streamStateHashesAndTimestamps.get(streamDescriptorKey);
-      streamDescriptorValue.add(stateHashAndTimestamp);
+  private StateTimestampQueue getOrCreateStreamQueue(final short streamIndex) {
+    final int index = Short.toUnsignedInt(streamIndex);
+    StateTimestampQueue[] streamQueues = streamStateHashesAndTimestamps;
+    if (index >= streamQueues.length) {
+      streamQueues = Arrays.copyOf(streamQueues, Math.max(index + 1, streamQueues.length * 2));
+    } else if (streamQueues[index] != null) {
+      return streamQueues[index];
     }
-    remainingCapacity -= 1;
+    final StateTimestampQueue queue = new StateTimestampQueue();
+    streamQueues[index] = queue;
+    streamStateHashesAndTimestamps = streamQueues;
+    return queue;
   }
 
   @SuppressWarnings("PMD.AvoidLiteralsInIfCondition")
-  void updateMaxAndMeanSeconds(final LocalDateTime startingTime, final LocalDateTime timeCommitted) {
-    final Long secondsUntilCommit = calculateSecondsBetweenStateEmittedAndCommitted(startingTime, timeCommitted);
+  void updateMaxAndMeanSeconds(final long startingTime, final long timeCommitted) {
+    final long secondsUntilCommit = calculateSecondsBetween(startingTime, timeCommitted);
     if (maxSecondsBetweenStateMessageEmittedandCommitted < secondsUntilCommit) {
       maxSecondsBetweenStateMessageEmittedandCommitted = secondsUntilCommit;
     }
@@ -139,40 +150,8 @@ public class StateMetricsTracker {
     }
   }
 
-  private LocalDateTime findStartingTimeStampAndRemoveOlderEntries(final List<byte[]> stateList, final int stateHash)
-      throws StateMetricsTrackerNoStateMatchException {
-    // iterate through each [state_hash, timestamp] in the list
-    // update the first timestamp to equal min_timestamp
-    // and remove all items from the list as we iterate through
-    // break once we reach the state hash equal to the input(destination) state hash
-    Boolean foundStateHash = false;
-    Long minTime = null;
-    final Iterator<byte[]> iterator = stateList.iterator();
-    while (iterator.hasNext()) {
-      final byte[] stateMessageTime = iterator.next();
-      final ByteBuffer current = ByteBuffer.wrap(stateMessageTime);
-      remainingCapacity += 1;
-      final int currentStateHash = current.getInt();
-      final Long epochTime = current.getLong();
-      if (minTime == null) {
-        minTime = epochTime;
-      }
-      iterator.remove();
-
-      if (stateHash == currentStateHash) {
-        foundStateHash = true;
-        break;
-      }
-    }
-
-    if (!foundStateHash || minTime == null) {
-      throw new StateMetricsTrackerNoStateMatchException("Destination state message cannot be matched to corresponding Source state message.");
-    }
-    return LocalDateTime.ofEpochSecond(minTime, 0, ZoneOffset.UTC);
-  }
-
-  Long calculateSecondsBetweenStateEmittedAndCommitted(final LocalDateTime stateMessageEmittedAt, final LocalDateTime stateMessageCommittedAt) {
-    return stateMessageEmittedAt.until(stateMessageCommittedAt, ChronoUnit.SECONDS);
+  private static long calculateSecondsBetween(final long startEpochMillis, final long endEpochMillis) {
+    return (endEpochMillis - startEpochMillis) / 1000;
   }
 
   protected Long calculateMean(final Long currentMean, final Long totalCount, final Long newDataPoint) {
@@ -181,8 +160,8 @@ public class StateMetricsTracker {
     return (long) result;
   }
 
-  void updateMaxAndMeanSecondsToReceiveStateMessage(final LocalDateTime stateMessageReceivedAt) {
-    final Long secondsSinceLastStateMessage = calculateSecondsSinceLastStateEmitted(stateMessageReceivedAt);
+  void updateMaxAndMeanSecondsToReceiveStateMessage(final long stateMessageReceivedAt) {
+    final long secondsSinceLastStateMessage = calculateSecondsSinceLastStateEmitted(stateMessageReceivedAt);
     if (maxSecondsToReceiveSourceStateMessage < secondsSinceLastStateMessage) {
       maxSecondsToReceiveSourceStateMessage = secondsSinceLastStateMessage;
     }
@@ -196,11 +175,11 @@ public class StateMetricsTracker {
     }
   }
 
-  private Long calculateSecondsSinceLastStateEmitted(final LocalDateTime stateMessageReceivedAt) {
-    if (lastStateMessageReceivedAt != null) {
-      return lastStateMessageReceivedAt.until(stateMessageReceivedAt, ChronoUnit.SECONDS);
-    } else if (firstRecordReceivedAt != null) {
-      return firstRecordReceivedAt.until(stateMessageReceivedAt, ChronoUnit.SECONDS);
+  private long calculateSecondsSinceLastStateEmitted(final long stateMessageReceivedAt) {
+    if (lastStateMessageReceivedAt != UNSET) {
+      return calculateSecondsBetween(lastStateMessageReceivedAt, stateMessageReceivedAt);
+    } else if (firstRecordReceivedAt != UNSET) {
+      return calculateSecondsBetween(firstRecordReceivedAt, stateMessageReceivedAt);
     } else {
       // If we receive a State Message before a Record Message there is no previous timestamp to use for a
       // calculation
@@ -208,15 +187,21 @@ public class StateMetricsTracker {
     }
   }
 
-  public LocalDateTime getFirstRecordReceivedAt() {
-    return firstRecordReceivedAt;
+  public boolean hasFirstRecordReceivedAt() {
+    return firstRecordReceivedAt != UNSET;
   }
 
-  public void setFirstRecordReceivedAt(final LocalDateTime receivedAt) {
+  /**
+   * @param receivedAt time the first record was received, in epoch millis
+   */
+  public void setFirstRecordReceivedAt(final long receivedAt) {
     firstRecordReceivedAt = receivedAt;
   }
 
-  public void setLastStateMessageReceivedAt(final LocalDateTime receivedAt) {
+  /**
+   * @param receivedAt time the last state message was received, in epoch millis
+   */
+  public void setLastStateMessageReceivedAt(final long receivedAt) {
     lastStateMessageReceivedAt = receivedAt;
   }
 
@@ -252,16 +237,70 @@ public class StateMetricsTracker {
     totalDestinationEmittedStateMessages.incrementAndGet();
   }
 
-  private byte[] populateStateTimestampByteArray(final int stateHash, final Long epochTime) {
-    // allocate num of bytes of state hash + num bytes of epoch time long
-    final ByteBuffer delta = ByteBuffer.allocate(BYTE_ARRAY_SIZE);
-    delta.putInt(stateHash);
-    delta.putLong(epochTime);
-    return delta.array();
-  }
+  /**
+   * FIFO of [state hash, emitted at] pairs, stored in two circular primitive arrays that double when
+   * full.
+   */
+  private final class StateTimestampQueue {
+
+    private int[] stateHashes = new int[INITIAL_QUEUE_CAPACITY];
+    private long[] timestamps = new long[INITIAL_QUEUE_CAPACITY];
+    private int head;
+    private int size;
+
+    synchronized void add(final int stateHash, final long timestamp) {
+      if (size == stateHashes.length) {
+        grow();
+      }
+      final int tail = (head + size) % stateHashes.length;
+      stateHashes[tail] = stateHash;
+      timestamps[tail] = timestamp;
+      size++;
+    }
+
+    /**
+     * Remove all the entries up to and including the one of the state hash.
+     *
+     * @return the emitted time of the oldest entry removed
+     * @throws StateMetricsTrackerNoStateMatchException if the state hash is not in the queue, in which
+     *         case the queue is emptied
+     */
+    synchronized long removeUpTo(final int stateHash) throws StateMetricsTrackerNoStateMatchException {
+      final long minTime = timestamps[head];
+      int removed = 0;
+      boolean foundStateHash = false;
+      while (removed < size) {
+        final int currentStateHash = stateHashes[(head + removed) % stateHashes.length];
+        removed++;
+        if (stateHash == currentStateHash) {
+          foundStateHash = true;
+          break;
+        }
+      }
+
+      head = (head + removed) % stateHashes.length;
+      size -= removed;
+      remainingCapacity.addAndGet(removed);
+
+      if (!foundStateHash) {
+        throw new StateMetricsTrackerNoStateMatchException("Destination state message cannot be matched to corresponding Source state message.");
+      }
+      return minTime;
+    }
+
+    private void grow() {
+      final int[] newStateHashes = new int[stateHashes.length * 2];
+      final long[] newTimestamps = new long[timestamps.length * 2];
+      final int firstPart = stateHashes.length - head;
+      System.arraycopy(stateHashes, head, newStateHashes, 0, firstPart);
+      System.arraycopy(stateHashes, 0, newStateHashes, firstPart, head);
+      System.arraycopy(timestamps, head, newTimestamps, 0, firstPart);
+      System.arraycopy(timestamps, 0, newTimestamps, firstPart, head);
+      stateHashes = newStateHashes;
+      timestamps = newTimestamps;
+      head = 0;
+    }
 
-  private String getStreamDescriptorKey(final StreamDescriptor streamDescriptor) {
-    return streamDescriptor.getName() + "-" + streamDescriptor.getNamespace();
   }
 
   /**
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.metrics;
+
+import io.airbyte.commons.io.LineGobbler;
+import io.airbyte.metrics.lib.MetricClient;
+import io.airbyte.metrics.lib.OssMetricsRegistry;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Singleton;
+
+/**
+ * Reports how busy the line gobblers of the process are: how many container streams they are reading
+ * and how many lines per second they read.
+ */
+@Singleton
+public class LineGobblerMetricsReporter {
+
+  private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+  private final MetricClient metricClient;
+  private long lastLineCount;
+  private long lastReportNanos;
+
+  public LineGobblerMetricsReporter(final MetricClient metricClient) {
+    this.metricClient = metricClient;
+    this.lastLineCount = LineGobbler.getGobbledLineCount();
+    this.lastReportNanos = System.nanoTime();
+  }
+
+  @Scheduled(fixedRate = "60s")
+  synchronized void report() {
+    final long lineCount = LineGobbler.getGobbledLineCount();
+    final long now = System.nanoTime();
+    final long elapsedNanos = now - lastReportNanos;
+
+    metricClient.gauge(OssMetricsRegistry.LINE_GOBBLER_ACTIVE_COUNT, LineGobbler.getActiveGobblerCount());
+    if (elapsedNanos > 0) {
+      metricClient.gauge(OssMetricsRegistry.LINE_GOBBLER_LINES_PER_SECOND, (lineCount - lastLineCount) * NANOS_PER_SECOND / elapsedNanos);
+    }
+
+    lastLineCount = lineCount;
+    lastReportNanos = now;
+  }
+
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.process;
+
+/**
+ * Latest status of an async orchestrator pod, written by the pod as a single document so that the
+ * status can be read from the document store in one request.
+ * <p>
+ * The version is incremented on every write, so readers can ignore a document older than the one
+ * they already read.
+ *
+ * @param status status of the pod
+ * @param version version of the document, incremented on every write
+ * @param output output of the pod, only set once it succeeded
+ */
+public record AsyncKubePodStatusDocument(AsyncKubePodStatus status, long version, String output) {
+
+  /**
+   * IMPORTANT: Changing the storage location will orphan already existing kube pods when the new
+   * version is deployed.
+   */
+  public static final String STATUS_DOCUMENT_NAME = "STATUS";
+
+  /**
+   * Get the key of the status document of a pod.
+   *
+   * @param kubePodInfo pod
+   * @return key of the status document in the document store
+   */
+  public static String getDocumentStoreKey(final KubePodInfo kubePodInfo) {
+    return kubePodInfo.namespace() + "/" + kubePodInfo.name() + "/" + STATUS_DOCUMENT_NAME;
+  }
+
+}
@@ -21,6 +21,8 @@ import io.fabric8.kubernetes.api.model.VolumeBuilder;
 import io.fabric8.kubernetes.api.model.VolumeMount;
 import io.fabric8.kubernetes.api.model.VolumeMountBuilder;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
 import io.micronaut.core.util.StringUtils;
 import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
@@ -34,7 +36,10 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import lombok.extern.slf4j.Slf4j;
@@ -50,6 +55,10 @@ import lombok.extern.slf4j.Slf4j;
  * <p>
  * The document store is considered to be the truth when retrieving the status for an async pod
  * process. If the store isn't updated by the underlying pod, it will appear as failed.
+ * <p>
+ * The status is read from a single {@link AsyncKubePodStatusDocument}, and the store is polled less
+ * and less often while the status doesn't change. If the pod is watched, the waiter is woken up as
+ * soon as the pod terminates, so the store can be polled even less often.
  */
 @Slf4j
 public class AsyncOrchestratorPodProcess implements KubePod {
@@ -57,6 +66,11 @@ public class AsyncOrchestratorPodProcess implements KubePod {
   public static final String KUBE_POD_INFO = "KUBE_POD_INFO";
   public static final String NO_OP = "NO_OP";
 
+  static final long MIN_POLL_INTERVAL_MILLIS = 500;
+  static final long MAX_POLL_INTERVAL_MILLIS = 10_000;
+  static final long MAX_WATCHED_POLL_INTERVAL_MILLIS = 60_000;
+  private static final Set<String> TERMINAL_POD_PHASES = Set.of("Succeeded", "Failed");
+
   private final KubePodInfo kubePodInfo;
   private final DocumentStoreClient documentStoreClient;
   private final KubernetesClient kubernetesClient;
@@ -68,6 +82,9 @@ public class AsyncOrchestratorPodProcess implements KubePod {
   private final AtomicReference<Optional<Integer>> cachedExitValue;
   private final Map<String, String> environmentVariables;
   private final Integer serverPort;
+  private final boolean watchPod;
+  private final AtomicReference<AsyncKubePodStatusDocument> lastStatusDocument = new AtomicReference<>();
+  private final CountDownLatch podTerminated = new CountDownLatch(1);
 
   public AsyncOrchestratorPodProcess(
                                      final KubePodInfo kubePodInfo,
@@ -80,6 +97,22 @@ public class AsyncOrchestratorPodProcess implements KubePod {
                                      final String googleApplicationCredentials,
                                      final Map<String, String> environmentVariables,
                                      final Integer serverPort) {
+    this(kubePodInfo, documentStoreClient, kubernetesClient, secretName, secretMountPath, dataPlaneCredsSecretName, dataPlaneCredsSecretMountPath,
+        googleApplicationCredentials, environmentVariables, serverPort, false);
+  }
+
+  public AsyncOrchestratorPodProcess(
+                                     final KubePodInfo kubePodInfo,
+                                     final DocumentStoreClient documentStoreClient,
+                                     final KubernetesClient kubernetesClient,
+                                     final String secretName,
+                                     final String secretMountPath,
+                                     final String dataPlaneCredsSecretName,
+                                     final String dataPlaneCredsSecretMountPath,
+                                     final String googleApplicationCredentials,
+                                     final Map<String, String> environmentVariables,
+                                     final Integer serverPort,
+                                     final boolean watchPod) {
     this.kubePodInfo = kubePodInfo;
     this.documentStoreClient = documentStoreClient;
     this.kubernetesClient = kubernetesClient;
@@ -91,6 +124,7 @@ public class AsyncOrchestratorPodProcess implements KubePod {
     this.cachedExitValue = new AtomicReference<>(Optional.empty());
     this.environmentVariables = environmentVariables;
     this.serverPort = serverPort;
+    this.watchPod = watchPod;
   }
 
   /**
@@ -99,7 +133,11 @@ public class AsyncOrchestratorPodProcess implements KubePod {
    * @return output, if exists.
    */
   public Optional<String> getOutput() {
-    final var possibleOutput = getDocument(AsyncKubePodStatus.SUCCEEDED.name());
+    final var statusDocument = readStatusDocument();
+    final var possibleOutput = statusDocument.isPresent()
+        ? statusDocument.filter(document -> document.status() == AsyncKubePodStatus.SUCCEEDED)
+            .map(document -> Objects.requireNonNullElse(document.output(), ""))
+        : getDocument(AsyncKubePodStatus.SUCCEEDED.name());
 
     if (possibleOutput.isPresent() && possibleOutput.get().isBlank()) {
       return Optional.empty();
@@ -224,20 +262,87 @@ public class AsyncOrchestratorPodProcess implements KubePod {
       return false;
     }
 
-    final long deadline = System.nanoTime() + remainingNanos;
-    do {
-      // The remainingNanos bit is about calculating how much time left for the actual timeout.
-      // Most of the time we should be sleeping for 500ms except when we get to the actual timeout.
-      // We are waiting polling every 500ms for status. The trade-off here is between how often
-      // we poll our status storage (GCS) and how reactive we are to detect that a process is done.
-      Thread.sleep(Math.min(TimeUnit.NANOSECONDS.toMillis(remainingNanos) + 1, 500));
-      if (hasExited()) {
-        return true;
+    final SharedIndexInformer<Pod> podInformer = watchPod ? watchPodTermination() : null;
+    try {
+      final long deadline = System.nanoTime() + remainingNanos;
+      final long maxPollIntervalMillis = watchPod ? MAX_WATCHED_POLL_INTERVAL_MILLIS : MAX_POLL_INTERVAL_MILLIS;
+      long pollIntervalMillis = MIN_POLL_INTERVAL_MILLIS;
+      AsyncKubePodStatus lastStatus = getLastDocStoreStatus();
+      do {
+        // The trade-off here is between how often we poll our status storage (GCS) and how reactive we
+        // are to detect that a process is done. The store is polled every 500ms after a status change,
+        // then less and less often while the status stays the same. The remainingNanos bit is about
+        // calculating how much time left for the actual timeout.
+        podTerminated.await(Math.min(TimeUnit.NANOSECONDS.toMillis(remainingNanos) + 1, pollIntervalMillis), TimeUnit.MILLISECONDS);
+        if (hasExited()) {
+          return true;
+        }
+        final AsyncKubePodStatus status = getLastDocStoreStatus();
+        pollIntervalMillis = getNextPollIntervalMillis(pollIntervalMillis, maxPollIntervalMillis, status != lastStatus);
+        lastStatus = status;
+        remainingNanos = deadline - System.nanoTime();
+      } while (remainingNanos > 0);
+
+      return false;
+    } finally {
+      if (podInformer != null) {
+        podInformer.close();
+      }
+    }
+  }
+
+  /**
+   * Get how long to wait before polling the status storage again.
+   *
+   * @param pollIntervalMillis time waited before the last poll
+   * @param maxPollIntervalMillis longest time to wait
+   * @param statusChanged whether the last poll returned a new status
+   * @return time to wait in milliseconds
+   */
+  static long getNextPollIntervalMillis(final long pollIntervalMillis, final long maxPollIntervalMillis, final boolean statusChanged) {
+    if (statusChanged) {
+      return MIN_POLL_INTERVAL_MILLIS;
+    }
+    return Math.min(pollIntervalMillis * 2, maxPollIntervalMillis);
+  }
+
+  /**
+   * Watches the pod, and wakes up the waiter once it terminated or was deleted so that its final
+   * status is read right away.
+   */
+  private SharedIndexInformer<Pod> watchPodTermination() {
+    final SharedIndexInformer<Pod> podInformer = kubernetesClient.pods()
+        .inNamespace(getInfo().namespace())
+        .withName(getInfo().name())
+        .inform();
+    podInformer.addEventHandler(new ResourceEventHandler<>() {
+
+      @Override
+      public void onAdd(final Pod pod) {
+        onPodUpdate(pod);
+      }
+
+      @Override
+      public void onUpdate(final Pod oldPod, final Pod newPod) {
+        onPodUpdate(newPod);
+      }
+
+      @Override
+      public void onDelete(final Pod pod, final boolean deletedFinalStateUnknown) {
+        log.info("Orchestrator pod {} was deleted", getInfo().name());
+        podTerminated.countDown();
       }
-      remainingNanos = deadline - System.nanoTime();
-    } while (remainingNanos > 0);
 
-    return false;
+    });
+    return podInformer;
+  }
+
+  private void onPodUpdate(final Pod pod) {
+    final boolean terminalPhase = pod.getStatus() != null && TERMINAL_POD_PHASES.contains(pod.getStatus().getPhase());
+    if (terminalPhase || KubePodResourceHelper.isTerminal(pod)) {
+      log.info("Orchestrator pod {} terminated", getInfo().name());
+      podTerminated.countDown();
+    }
   }
 
   @Override
@@ -315,11 +420,35 @@ public class AsyncOrchestratorPodProcess implements KubePod {
   }
 
   /**
+   * Reads the status document, and keeps the latest version read so far, in case a stale version is
+   * read.
+   */
+  private Optional<AsyncKubePodStatusDocument> readStatusDocument() {
+    final Optional<AsyncKubePodStatusDocument> read = documentStoreClient.read(AsyncKubePodStatusDocument.getDocumentStoreKey(getInfo()))
+        .map(document -> Jsons.deserialize(document, AsyncKubePodStatusDocument.class));
+    return Optional.ofNullable(lastStatusDocument.accumulateAndGet(read.orElse(null),
+        (last, current) -> last == null || (current != null && current.version() >= last.version()) ? current : last));
+  }
+
+  private AsyncKubePodStatus getLastDocStoreStatus() {
+    final AsyncKubePodStatusDocument statusDocument = lastStatusDocument.get();
+    return statusDocument != null ? statusDocument.status() : null;
+  }
+
+  /**
+   * Reads the status from the status document. If there is none, e.g. the pod runs a previous
+   * version of the orchestrator, checks the document of each status instead.
+   * <p>
    * Checks terminal states first, then running, then initialized. Defaults to not started.
    * <p>
    * The order matters here!
    */
   public AsyncKubePodStatus getDocStoreStatus() {
+    final Optional<AsyncKubePodStatusDocument> statusDocument = readStatusDocument();
+    if (statusDocument.isPresent()) {
+      return statusDocument.get().status();
+    }
+
     if (checkStatus(AsyncKubePodStatus.FAILED)) {
       return AsyncKubePodStatus.FAILED;
     } else if (checkStatus(AsyncKubePodStatus.SUCCEEDED)) {
@@ -8,7 +8,10 @@ import io.airbyte.commons.io.IOs;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Document store for when all we have is an FS. This should only be used in the docker-compose
@@ -70,4 +73,23 @@ public class DockerComposeDocumentStoreClient implements DocumentStoreClient {
     }
   }
 
+  @Override
+  public int deleteOlderThan(final Instant cutoff) {
+    if (!Files.exists(getRoot())) {
+      return 0;
+    }
+    try (final Stream<Path> paths = Files.walk(getRoot())) {
+      final List<Path> documents = paths.filter(Files::isRegularFile).toList();
+      int deletedCount = 0;
+      for (final Path document : documents) {
+        if (Files.getLastModifiedTime(document).toInstant().isBefore(cutoff) && Files.deleteIfExists(document)) {
+          deletedCount++;
+        }
+      }
+      return deletedCount;
+    } catch (final IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
 }
@@ -4,6 +4,7 @@
 
 package io.airbyte.workers.storage;
 
+import java.time.Instant;
 import java.util.Optional;
 
 /**
@@ -36,4 +37,12 @@ public interface DocumentStoreClient {
    */
   boolean delete(String id);
 
+  /**
+   * Deletes the documents that were last written before a point in time.
+   *
+   * @param cutoff documents last written before this instant are deleted
+   * @return number of deleted documents
+   */
+  int deleteOlderThan(Instant cutoff);
+
 }
@@ -12,6 +12,7 @@ import io.airbyte.config.storage.CloudStorageConfigs.GcsConfig;
 import io.airbyte.config.storage.DefaultGcsClientFactory;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.time.Instant;
 import java.util.Optional;
 
 /**
@@ -72,4 +73,16 @@ public class GcsDocumentStoreClient implements DocumentStoreClient {
     return gcsClient.delete(BlobId.of(bucketName, getKey(id)));
   }
 
+  @Override
+  public int deleteOlderThan(final Instant cutoff) {
+    int deletedCount = 0;
+    for (final Blob blob : gcsClient.list(bucketName, Storage.BlobListOption.prefix(root + "/")).iterateAll()) {
+      final var updateTime = blob.getUpdateTimeOffsetDateTime();
+      if (updateTime != null && updateTime.toInstant().isBefore(cutoff) && gcsClient.delete(blob.getBlobId())) {
+        deletedCount++;
+      }
+    }
+    return deletedCount;
+  }
+
 }
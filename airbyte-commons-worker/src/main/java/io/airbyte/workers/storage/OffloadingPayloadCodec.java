@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.storage;
+
+import com.google.common.hash.Hashing;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.temporal.api.common.v1.Payload;
+import io.temporal.common.converter.DataConverterException;
+import io.temporal.failure.ApplicationFailure;
+import io.temporal.payload.codec.PayloadCodec;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Writes the Temporal payloads larger than a threshold to a {@link DocumentStoreClient}, and only
+ * keeps a reference to the document in the history of workflows.
+ * <p>
+ * Documents are named after the hash of the payload, so a payload passed to several activities,
+ * like the input of a sync, is only stored once. Each encoding rewrites the document, so the last
+ * time it was written is the last time a workflow referenced it. Documents are not deleted by this
+ * codec, the workers delete the ones that were not written for longer than the retention of the
+ * workflow histories with {@link DocumentStoreClient#deleteOlderThan(java.time.Instant)}.
+ * <p>
+ * A payload whose document is missing can never be decoded, so decoding it fails with a non
+ * retryable {@link ApplicationFailure} rather than being retried until it times out.
+ * <p>
+ * Only the processes configured with this codec can decode the offloaded payloads, so the threshold
+ * should be well above the size of the payloads read by other processes, e.g. the results of the
+ * workflows started by the server.
+ */
+public class OffloadingPayloadCodec implements PayloadCodec {
+
+  static final String METADATA_ENCODING_KEY = "encoding";
+  static final ByteString ENCODING = ByteString.copyFromUtf8("binary/airbyte-offloaded");
+  static final String MISSING_PAYLOAD_FAILURE_TYPE = "OffloadedPayloadNotFound";
+
+  private final DocumentStoreClient documentStoreClient;
+  private final int thresholdBytes;
+
+  /**
+   * Create the codec.
+   *
+   * @param documentStoreClient store of the offloaded payloads
+   * @param thresholdBytes size in bytes of the largest payload that is kept in the history
+   */
+  public OffloadingPayloadCodec(final DocumentStoreClient documentStoreClient, final int thresholdBytes) {
+    this.documentStoreClient = documentStoreClient;
+    this.thresholdBytes = thresholdBytes;
+  }
+
+  @Override
+  public List<Payload> encode(final List<Payload> payloads) {
+    return payloads.stream().map(this::encode).toList();
+  }
+
+  @Override
+  public List<Payload> decode(final List<Payload> payloads) {
+    return payloads.stream().map(this::decode).toList();
+  }
+
+  private Payload encode(final Payload payload) {
+    if (payload.getSerializedSize() <= thresholdBytes) {
+      return payload;
+    }
+    final byte[] bytes = payload.toByteArray();
+    final String documentId = Hashing.sha256().hashBytes(bytes).toString();
+    documentStoreClient.write(documentId, Base64.getEncoder().encodeToString(bytes));
+    return Payload.newBuilder()
+        .putMetadata(METADATA_ENCODING_KEY, ENCODING)
+        .setData(ByteString.copyFromUtf8(documentId))
+        .build();
+  }
+
+  private Payload decode(final Payload payload) {
+    if (!ENCODING.equals(payload.getMetadataOrDefault(METADATA_ENCODING_KEY, null))) {
+      return payload;
+    }
+    final String documentId = payload.getData().toStringUtf8();
+    final String document = documentStoreClient.read(documentId)
+        .orElseThrow(
+            () -> ApplicationFailure.newNonRetryableFailure("Offloaded payload " + documentId + " not found", MISSING_PAYLOAD_FAILURE_TYPE));
+    try {
+      return Payload.parseFrom(Base64.getDecoder().decode(document));
+    } catch (final InvalidProtocolBufferException e) {
+      throw new DataConverterException("Failed to parse offloaded payload " + documentId, e);
+    }
+  }
+
+}
@@ -10,17 +10,24 @@ import io.airbyte.config.storage.DefaultS3ClientFactory;
 import io.airbyte.config.storage.MinioS3ClientFactory;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.core.ResponseBytes;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.Delete;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
 import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 
 /**
@@ -109,4 +116,22 @@ public class S3DocumentStoreClient implements DocumentStoreClient {
     return keyExists;
   }
 
+  @Override
+  public int deleteOlderThan(final Instant cutoff) {
+    final ListObjectsV2Request request = ListObjectsV2Request.builder().bucket(bucketName).prefix(root + "/").build();
+    int deletedCount = 0;
+    // a page holds at most 1000 objects, as many as a single delete request accepts
+    for (final ListObjectsV2Response page : s3Client.listObjectsV2Paginator(request)) {
+      final List<ObjectIdentifier> keys = page.contents().stream()
+          .filter(object -> object.lastModified().isBefore(cutoff))
+          .map(object -> ObjectIdentifier.builder().key(object.key()).build())
+          .toList();
+      if (!keys.isEmpty()) {
+        s3Client.deleteObjects(DeleteObjectsRequest.builder().bucket(bucketName).delete(Delete.builder().objects(keys).build()).build());
+        deletedCount += keys.size();
+      }
+    }
+    return deletedCount;
+  }
+
 }
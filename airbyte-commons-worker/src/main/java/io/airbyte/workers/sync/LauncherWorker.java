@@ -163,7 +163,8 @@ public class LauncherWorker<INPUT, OUTPUT> implements Worker<INPUT, OUTPUT> {
             containerOrchestratorConfig.dataPlaneCredsSecretMountPath(),
             containerOrchestratorConfig.googleApplicationCredentials(),
             containerOrchestratorConfig.environmentVariables(),
-            serverPort);
+            serverPort,
+            containerOrchestratorConfig.watchOrchestratorPod());
 
         // Define what to do on cancellation.
         cancellationCallback.set(() -> {
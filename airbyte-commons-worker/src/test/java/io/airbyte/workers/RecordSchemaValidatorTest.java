@@ -4,16 +4,21 @@
 
 package io.airbyte.workers;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.airbyte.config.StandardSync;
 import io.airbyte.config.StandardSyncInput;
+import io.airbyte.featureflag.PerfBackgroundJsonValidation;
 import io.airbyte.featureflag.TestClient;
 import io.airbyte.protocol.models.AirbyteMessage;
 import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
 import io.airbyte.workers.exception.RecordSchemaValidationException;
 import io.airbyte.workers.test_utils.AirbyteMessageUtils;
 import io.airbyte.workers.test_utils.TestConfigHelpers;
+import java.util.Map;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -50,4 +55,21 @@ class RecordSchemaValidatorTest {
         AirbyteStreamNameNamespacePair.fromRecordMessage(INVALID_RECORD.getRecord())));
   }
 
+  @Test
+  void testBackgroundValidationFollowsFeatureFlag() {
+    final var disabled = new RecordSchemaValidator(new TestClient(), syncInput.getWorkspaceId(),
+        WorkerUtils.mapStreamNamesToSchemas(syncInput));
+    assertFalse(disabled.isBackgroundValidationEnabled());
+
+    final var featureFlagClient = new TestClient(Map.of(PerfBackgroundJsonValidation.INSTANCE.getKey(), true));
+    final var enabled = new RecordSchemaValidator(featureFlagClient, syncInput.getWorkspaceId(),
+        WorkerUtils.mapStreamNamesToSchemas(syncInput), 10);
+    assertTrue(enabled.isBackgroundValidationEnabled());
+    assertEquals(10, enabled.getBackgroundValidationSampleRate());
+
+    final var withoutWorkspace = new RecordSchemaValidator(featureFlagClient, null,
+        WorkerUtils.mapStreamNamesToSchemas(syncInput), 10);
+    assertFalse(withoutWorkspace.isBackgroundValidationEnabled());
+  }
+
 }
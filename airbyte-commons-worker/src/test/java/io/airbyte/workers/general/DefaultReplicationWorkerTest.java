@@ -11,6 +11,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -20,6 +21,7 @@ import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.ImmutableMap;
 import io.airbyte.commons.converters.ConnectorConfigUpdater;
 import io.airbyte.commons.io.IOs;
@@ -46,6 +48,7 @@ import io.airbyte.metrics.lib.MetricClient;
 import io.airbyte.metrics.lib.MetricClientFactory;
 import io.airbyte.protocol.models.AirbyteLogMessage.Level;
 import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
 import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
 import io.airbyte.protocol.models.AirbyteTraceMessage;
 import io.airbyte.protocol.models.Config;
@@ -78,6 +81,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -145,6 +149,8 @@ class DefaultReplicationWorkerTest {
     when(source.isFinished()).thenReturn(false, false, false, true);
     when(destination.isFinished()).thenReturn(false, false, false, true);
     when(source.attemptRead()).thenReturn(Optional.of(RECORD_MESSAGE1), Optional.empty(), Optional.of(RECORD_MESSAGE2));
+    when(source.attemptReadWithLine()).thenCallRealMethod();
+    when(recordSchemaValidator.getSchemaCacheStats()).thenReturn(new CacheStats(0, 0, 0, 0, 0, 0));
     when(destination.attemptRead()).thenReturn(Optional.of(STATE_MESSAGE));
     when(mapper.mapCatalog(destinationConfig.getCatalog())).thenReturn(destinationConfig.getCatalog());
     when(mapper.mapMessage(RECORD_MESSAGE1)).thenReturn(RECORD_MESSAGE1);
@@ -310,7 +316,7 @@ class DefaultReplicationWorkerTest {
   void testReplicationRunnableWorkerFailure() throws Exception {
     final String workerErrorMessage = "the worker had a failure";
 
-    doThrow(new RuntimeException(workerErrorMessage)).when(messageTracker).acceptFromSource(Mockito.any());
+    doThrow(new RuntimeException(workerErrorMessage)).when(messageTracker).acceptFromSource(Mockito.any(), Mockito.any());
 
     final ReplicationWorker worker = getDefaultReplicationWorker();
 
@@ -320,6 +326,82 @@ class DefaultReplicationWorkerTest {
         .anyMatch(f -> f.getFailureOrigin().equals(FailureOrigin.REPLICATION) && f.getStacktrace().contains(workerErrorMessage)));
   }
 
+  @Test
+  void testPipelinedReplication() throws Exception {
+    when(source.attemptRead()).thenReturn(Optional.of(RECORD_MESSAGE1), Optional.of(STATE_MESSAGE), Optional.of(RECORD_MESSAGE2));
+    when(mapper.mapMessage(STATE_MESSAGE)).thenReturn(STATE_MESSAGE);
+
+    final ReplicationWorker worker = getPipelinedReplicationWorker();
+
+    final ReplicationOutput output = worker.run(syncInput, jobRoot);
+    assertEquals(ReplicationStatus.COMPLETED, output.getReplicationAttemptSummary().getStatus());
+
+    final InOrder inOrder = Mockito.inOrder(destination);
+    inOrder.verify(destination).start(destinationConfig, jobRoot);
+    inOrder.verify(destination).accept(RECORD_MESSAGE1);
+    inOrder.verify(destination).accept(STATE_MESSAGE);
+    inOrder.verify(destination).accept(RECORD_MESSAGE2);
+    inOrder.verify(destination).notifyEndOfInput();
+    verify(recordSchemaValidator).validateSchema(RECORD_MESSAGE1.getRecord(),
+        AirbyteStreamNameNamespacePair.fromRecordMessage(RECORD_MESSAGE1.getRecord()));
+    verify(recordSchemaValidator).validateSchema(RECORD_MESSAGE2.getRecord(),
+        AirbyteStreamNameNamespacePair.fromRecordMessage(RECORD_MESSAGE2.getRecord()));
+  }
+
+  @Test
+  void testPipelinedReplicationSourceFailure() throws Exception {
+    final String sourceErrorMessage = "the source had a failure";
+
+    when(source.attemptRead()).thenThrow(new RuntimeException(sourceErrorMessage));
+
+    final ReplicationWorker worker = getPipelinedReplicationWorker();
+
+    final ReplicationOutput output = worker.run(syncInput, jobRoot);
+    assertEquals(ReplicationStatus.FAILED, output.getReplicationAttemptSummary().getStatus());
+    assertTrue(output.getFailures().stream()
+        .anyMatch(f -> f.getFailureOrigin().equals(FailureOrigin.SOURCE) && f.getStacktrace().contains(sourceErrorMessage)));
+    verify(destination, never()).notifyEndOfInput();
+  }
+
+  @Test
+  void testPipelinedReplicationDestinationFailure() throws Exception {
+    final String destinationErrorMessage = "the destination had a failure";
+
+    doThrow(new RuntimeException(destinationErrorMessage)).when(destination).accept(Mockito.any());
+
+    final ReplicationWorker worker = getPipelinedReplicationWorker();
+
+    final ReplicationOutput output = worker.run(syncInput, jobRoot);
+    assertEquals(ReplicationStatus.FAILED, output.getReplicationAttemptSummary().getStatus());
+    assertTrue(output.getFailures().stream()
+        .anyMatch(f -> f.getFailureOrigin().equals(FailureOrigin.DESTINATION) && f.getStacktrace().contains(destinationErrorMessage)));
+  }
+
+  @Test
+  void testPipelinedReplicationWorkerFailure() throws Exception {
+    final String workerErrorMessage = "the worker had a failure";
+
+    doThrow(new RuntimeException(workerErrorMessage)).when(messageTracker).acceptFromSource(Mockito.any(), Mockito.any());
+
+    final ReplicationWorker worker = getPipelinedReplicationWorker();
+
+    final ReplicationOutput output = worker.run(syncInput, jobRoot);
+    assertEquals(ReplicationStatus.FAILED, output.getReplicationAttemptSummary().getStatus());
+    assertTrue(output.getFailures().stream()
+        .anyMatch(f -> f.getFailureOrigin().equals(FailureOrigin.REPLICATION) && f.getStacktrace().contains(workerErrorMessage)));
+  }
+
+  @Test
+  void testPipelinedReplicationSourceNonZeroExitValue() throws Exception {
+    when(source.getExitValue()).thenReturn(1);
+
+    final ReplicationWorker worker = getPipelinedReplicationWorker();
+
+    final ReplicationOutput output = worker.run(syncInput, jobRoot);
+    assertEquals(ReplicationStatus.FAILED, output.getReplicationAttemptSummary().getStatus());
+    assertTrue(output.getFailures().stream().anyMatch(f -> f.getFailureOrigin().equals(FailureOrigin.SOURCE)));
+  }
+
   @Test
   void testOnlyStateAndRecordMessagesDeliveredToDestination() throws Exception {
     final AirbyteMessage logMessage = AirbyteMessageUtils.createLogMessage(Level.INFO, "a log message");
@@ -363,6 +445,9 @@ class DefaultReplicationWorkerTest {
     // Despite reading recordWithExtraFields from the source, we write the original RECORD_MESSAGE1 to
     // the destination because the new field has been filtered out.
     verify(destination).accept(RECORD_MESSAGE1);
+    // The selected fields are also handed to the source, so that it can skip the others while parsing.
+    verify(source).setSelectedFields(argThat(streamToSelectedFields -> streamToSelectedFields
+        .get(new AirbyteStreamNameNamespacePair(streamName, streamNamespace)).contains(FIELD_NAME)));
   }
 
   @Test
@@ -657,6 +742,19 @@ class DefaultReplicationWorkerTest {
     assertThrows(WorkerException.class, () -> worker.run(syncInput, jobRoot));
   }
 
+  @Test
+  void testRecordsAreCopiedForBackgroundValidation() {
+    final AirbyteRecordMessage record = Jsons.clone(RECORD_MESSAGE1).getRecord();
+
+    final AirbyteRecordMessage copy = DefaultReplicationWorker.copyForValidation(record);
+    // the destination writer can migrate the data of the record in place after it is sampled
+    ((ObjectNode) record.getData()).put(FIELD_NAME, 1);
+    record.setStream("mapped_" + STREAM_NAME);
+
+    assertEquals(STREAM_NAME, copy.getStream());
+    assertEquals(RECORD_MESSAGE1.getRecord().getData(), copy.getData());
+  }
+
   DefaultReplicationWorker getDefaultReplicationWorker() {
     return getDefaultReplicationWorker(false);
   }
@@ -675,4 +773,20 @@ class DefaultReplicationWorkerTest {
         connectorConfigUpdater, fieldSelectionEnabled);
   }
 
+  DefaultReplicationWorker getPipelinedReplicationWorker() {
+    return new DefaultReplicationWorker(
+        JOB_ID,
+        JOB_ATTEMPT,
+        source,
+        mapper,
+        destination,
+        messageTracker,
+        syncPersistenceFactory,
+        recordSchemaValidator,
+        workerMetricReporter,
+        connectorConfigUpdater,
+        false,
+        true);
+  }
+
 }
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.general;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+class RecordSchemaValidationExecutorTest {
+
+  private static final AirbyteStreamNameNamespacePair STREAM_1 = new AirbyteStreamNameNamespacePair("stream1", null);
+  private static final AirbyteStreamNameNamespacePair STREAM_2 = new AirbyteStreamNameNamespacePair("stream2", null);
+
+  @Test
+  void testInlineValidatesEveryRecordOnTheCallingThread() {
+    final RecordSchemaValidationExecutor executor = RecordSchemaValidationExecutor.inline();
+    final AtomicReference<Thread> validationThread = new AtomicReference<>();
+
+    for (int i = 0; i < 5; i++) {
+      assertTrue(executor.shouldSample(STREAM_1));
+    }
+    executor.submit(() -> validationThread.set(Thread.currentThread()));
+
+    assertFalse(executor.isBackground());
+    assertEquals(Thread.currentThread(), validationThread.get());
+  }
+
+  @Test
+  void testSamplingIsPerStream() {
+    final RecordSchemaValidationExecutor executor = RecordSchemaValidationExecutor.background(3, 10);
+    final List<Boolean> stream1Samples = new ArrayList<>();
+    for (int i = 0; i < 7; i++) {
+      stream1Samples.add(executor.shouldSample(STREAM_1));
+    }
+    executor.close();
+
+    assertEquals(List.of(true, false, false, true, false, false, true), stream1Samples);
+    // the first record of every stream is validated regardless of the other streams
+    assertTrue(executor.shouldSample(STREAM_2));
+  }
+
+  @Test
+  @Timeout(value = 10,
+           unit = TimeUnit.SECONDS)
+  void testBackgroundValidationsCompleteOnClose() {
+    final RecordSchemaValidationExecutor executor = RecordSchemaValidationExecutor.background(1, 100);
+    final AtomicInteger validated = new AtomicInteger();
+    final AtomicReference<Thread> validationThread = new AtomicReference<>();
+
+    for (int i = 0; i < 50; i++) {
+      executor.submit(() -> {
+        validationThread.set(Thread.currentThread());
+        validated.incrementAndGet();
+      });
+    }
+    executor.close();
+
+    assertTrue(executor.isBackground());
+    assertEquals(50, validated.get());
+    assertEquals(0, executor.getDroppedCount());
+    assertNotEquals(Thread.currentThread(), validationThread.get());
+  }
+
+  @Test
+  @Timeout(value = 10,
+           unit = TimeUnit.SECONDS)
+  void testValidationsAreDroppedWhenQueueIsFull() throws InterruptedException {
+    final RecordSchemaValidationExecutor executor = RecordSchemaValidationExecutor.background(1, 1);
+    final CountDownLatch running = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final AtomicInteger validated = new AtomicInteger();
+
+    executor.submit(() -> {
+      running.countDown();
+      try {
+        release.await();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      validated.incrementAndGet();
+    });
+    running.await();
+    // one validation fits in the queue, the others are dropped instead of blocking the caller
+    for (int i = 0; i < 3; i++) {
+      executor.submit(validated::incrementAndGet);
+    }
+    release.countDown();
+    executor.close();
+
+    assertEquals(2, validated.get());
+    assertEquals(2, executor.getDroppedCount());
+  }
+
+  @Test
+  @Timeout(value = 10,
+           unit = TimeUnit.SECONDS)
+  void testRecordsAreNotSampledWhenQueueIsFull() throws InterruptedException {
+    final RecordSchemaValidationExecutor executor = RecordSchemaValidationExecutor.background(1, 1);
+    final CountDownLatch running = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+
+    assertTrue(executor.shouldSample(STREAM_1));
+    executor.submit(() -> {
+      running.countDown();
+      try {
+        release.await();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    running.await();
+    assertTrue(executor.shouldSample(STREAM_1));
+    executor.submit(() -> {});
+
+    // the queue is full, the record is dropped before the caller prepares it for validation
+    assertFalse(executor.shouldSample(STREAM_1));
+    assertEquals(1, executor.getDroppedCount());
+
+    release.countDown();
+    executor.close();
+    assertEquals(1, executor.getDroppedCount());
+  }
+
+  @Test
+  void testStoppedStreamIsNotSampled() {
+    final RecordSchemaValidationExecutor executor = RecordSchemaValidationExecutor.inline();
+
+    executor.stopSampling(STREAM_1);
+
+    assertFalse(executor.shouldSample(STREAM_1));
+    assertTrue(executor.shouldSample(STREAM_2));
+    assertEquals(0, executor.getDroppedCount());
+  }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.general;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+class ReplicationStageQueueTest {
+
+  private static final String STAGE = "stage";
+
+  @Test
+  @Timeout(value = 10,
+           unit = TimeUnit.SECONDS)
+  void testMessagesAreConsumedInOrder() throws Exception {
+    final ReplicationStageQueue<Integer> queue = new ReplicationStageQueue<>(STAGE, 2, () -> false);
+
+    final CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> {
+      for (int i = 0; i < 100; i++) {
+        assertTrue(queue.put(i));
+      }
+      queue.close();
+    });
+
+    final List<Integer> consumed = new ArrayList<>();
+    Integer message;
+    while ((message = queue.take()) != null) {
+      consumed.add(message);
+    }
+    producer.get();
+
+    final List<Integer> expected = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      expected.add(i);
+    }
+    assertEquals(expected, consumed);
+  }
+
+  @Test
+  void testClosedQueueIsDrainedBeforeEnding() {
+    final ReplicationStageQueue<Integer> queue = new ReplicationStageQueue<>(STAGE, 2, () -> false);
+
+    assertTrue(queue.put(1));
+    queue.close();
+
+    assertEquals(1, queue.take());
+    assertNull(queue.take());
+  }
+
+  @Test
+  @Timeout(value = 10,
+           unit = TimeUnit.SECONDS)
+  void testAbortUnblocksProducerAndConsumer() {
+    final AtomicBoolean aborted = new AtomicBoolean(false);
+    final ReplicationStageQueue<Integer> queue = new ReplicationStageQueue<>(STAGE, 1, aborted::get);
+    assertTrue(queue.put(1));
+    aborted.set(true);
+
+    // the queue is full, so the producer gives up instead of waiting for space
+    assertFalse(queue.put(2));
+    assertEquals(1, queue.take());
+    // the queue is empty and not closed, so the consumer gives up instead of waiting for messages
+    assertNull(queue.take());
+  }
+
+}
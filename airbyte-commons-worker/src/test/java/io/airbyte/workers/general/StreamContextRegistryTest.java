@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.general;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.airbyte.protocol.models.AirbyteRecordMessage;
+import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
+import io.airbyte.protocol.models.CatalogHelpers;
+import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import io.airbyte.protocol.models.Field;
+import io.airbyte.protocol.models.JsonSchemaType;
+import io.airbyte.workers.general.StreamContextRegistry.StreamContext;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class StreamContextRegistryTest {
+
+  private static final String STREAM_NAME = "user_preferences";
+  private static final String NAMESPACE = "public";
+  private static final String FIELD_1 = "id";
+  private static final String FIELD_2 = "favorite_color";
+  private static final AirbyteStreamNameNamespacePair STREAM = new AirbyteStreamNameNamespacePair(STREAM_NAME, NAMESPACE);
+
+  private static final ConfiguredAirbyteCatalog CATALOG = CatalogHelpers.createConfiguredAirbyteCatalog(
+      STREAM_NAME,
+      NAMESPACE,
+      Field.of(FIELD_1, JsonSchemaType.NUMBER),
+      Field.of(FIELD_2, JsonSchemaType.STRING));
+
+  @Test
+  void testStreamsOfTheCatalogAreResolvedToTheSameContext() {
+    final StreamContextRegistry registry = new StreamContextRegistry(CATALOG, true);
+
+    final StreamContext context = registry.resolve(record(STREAM_NAME, NAMESPACE));
+
+    assertEquals(STREAM, context.getStream());
+    assertEquals(Set.of(FIELD_1, FIELD_2), context.getSelectedFields());
+    assertEquals(Set.of(FIELD_1, FIELD_2), context.getAllFields());
+    assertSame(context, registry.resolve(record(STREAM_NAME, NAMESPACE)));
+  }
+
+  @Test
+  void testNoFieldsAreSelectedWhenFieldSelectionIsDisabled() {
+    final StreamContextRegistry registry = new StreamContextRegistry(CATALOG, false);
+
+    final StreamContext context = registry.resolve(record(STREAM_NAME, NAMESPACE));
+
+    assertTrue(context.getSelectedFields().isEmpty());
+    assertEquals(Set.of(FIELD_1, FIELD_2), context.getAllFields());
+  }
+
+  @Test
+  void testStreamsMissingFromTheCatalogAreRegisteredOnFirstUse() {
+    final StreamContextRegistry registry = new StreamContextRegistry(CATALOG, true);
+
+    final StreamContext context = registry.resolve(record(STREAM_NAME, null));
+
+    assertEquals(new AirbyteStreamNameNamespacePair(STREAM_NAME, null), context.getStream());
+    assertTrue(context.getSelectedFields().isEmpty());
+    assertNull(context.getAllFields());
+    assertSame(context, registry.resolve(record(STREAM_NAME, null)));
+    assertNotSame(context, registry.resolve(record(STREAM_NAME, NAMESPACE)));
+  }
+
+  @Test
+  void testMappedStreamIsReusedWhileRecordsAreMappedTheSameWay() {
+    final StreamContext context = new StreamContextRegistry(CATALOG, false).resolve(record(STREAM_NAME, NAMESPACE));
+
+    final AirbyteStreamNameNamespacePair mappedStream = context.getMappedStream(record("output_" + STREAM_NAME, null));
+    assertEquals(new AirbyteStreamNameNamespacePair("output_" + STREAM_NAME, null), mappedStream);
+    assertSame(mappedStream, context.getMappedStream(record("output_" + STREAM_NAME, null)));
+    assertEquals(STREAM, context.getMappedStream(record(STREAM_NAME, NAMESPACE)));
+  }
+
+  @Test
+  void testSelectedFieldsOfTheCatalog() {
+    final Map<AirbyteStreamNameNamespacePair, List<String>> streamToSelectedFields = StreamContextRegistry.getStreamToSelectedFields(CATALOG);
+
+    assertEquals(Set.of(STREAM), streamToSelectedFields.keySet());
+    assertEquals(Set.of(FIELD_1, FIELD_2), Set.copyOf(streamToSelectedFields.get(STREAM)));
+  }
+
+  private static AirbyteRecordMessage record(final String stream, final String namespace) {
+    return new AirbyteRecordMessage().withStream(stream).withNamespace(namespace);
+  }
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ByteLineIteratorTest {
+
+  @Test
+  void testSplitsLikeBufferedReader() {
+    assertEquals(List.of(), readLines("", 16));
+    assertEquals(List.of("a"), readLines("a", 16));
+    assertEquals(List.of("a"), readLines("a\n", 16));
+    assertEquals(List.of("a", "", "b"), readLines("a\n\nb", 16));
+    assertEquals(List.of("a", "b", "c"), readLines("a\r\nb\rc\n", 16));
+  }
+
+  @Test
+  void testLinesLongerThanTheBuffer() {
+    final String longLine = "x".repeat(100);
+    assertEquals(List.of(longLine, "y", longLine), readLines(longLine + "\r\ny\n" + longLine, 7));
+  }
+
+  @Test
+  void testCarriageReturnAtBufferBoundary() {
+    assertEquals(List.of("abc", "def"), readLines("abc\r\ndef", 4));
+  }
+
+  @Test
+  void testMultiByteCharacters() {
+    final String line = "{\"data\":\"\u65e5\u672c\u8a9e\"}";
+    final List<byte[]> lines = new ArrayList<>();
+    new ByteLineIterator(new ByteArrayInputStream((line + "\n").getBytes(StandardCharsets.UTF_8)), 5).forEachRemaining(lines::add);
+
+    assertEquals(1, lines.size());
+    assertEquals(line.getBytes(StandardCharsets.UTF_8).length, lines.get(0).length);
+    assertEquals(line, new String(lines.get(0), StandardCharsets.UTF_8));
+  }
+
+  private static List<String> readLines(final String input, final int bufferSize) {
+    final List<String> lines = new ArrayList<>();
+    new ByteLineIterator(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), bufferSize)
+        .forEachRemaining(line -> lines.add(new String(line, StandardCharsets.UTF_8)));
+    return lines;
+  }
+
+}
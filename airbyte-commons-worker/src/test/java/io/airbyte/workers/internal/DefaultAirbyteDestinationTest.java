@@ -162,6 +162,24 @@ class DefaultAirbyteDestinationTest {
     verify(process).exitValue();
   }
 
+  @Test
+  void testLinePassthroughWritesUnchangedLinesAsIs() throws Exception {
+    final AirbyteDestination destination =
+        new DefaultAirbyteDestination(integrationLauncher, streamFactory, messageWriterFactory, protocolSerializer).withLinePassthrough(true);
+    destination.start(DESTINATION_CONFIG, jobRoot);
+
+    final AirbyteMessage forwardedMessage = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "blue");
+    // not how the message would be serialized, to tell the forwarded line apart
+    final String line = Jsons.serialize(forwardedMessage).replace(",", ", ");
+    final AirbyteMessage recordMessage = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "red");
+    destination.accept(forwardedMessage, line.getBytes(StandardCharsets.UTF_8));
+    destination.accept(recordMessage);
+    destination.notifyEndOfInput();
+
+    assertEquals(line + "\n" + Jsons.serialize(recordMessage) + "\n", outputStream.toString(StandardCharsets.UTF_8));
+    verify(outputStream).close();
+  }
+
   @Test
   void testTaggedLogs() throws Exception {
 
@@ -4,20 +4,30 @@
 
 package io.airbyte.workers.internal;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.commons.logging.MdcScope.Builder;
+import io.airbyte.metrics.lib.MetricAttribute;
+import io.airbyte.metrics.lib.MetricClient;
+import io.airbyte.metrics.lib.OssMetricsRegistry;
 import io.airbyte.protocol.models.AirbyteLogMessage;
 import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
 import io.airbyte.workers.test_utils.AirbyteMessageUtils;
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
@@ -25,6 +35,8 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -120,6 +132,150 @@ class DefaultAirbyteStreamFactoryTest {
     assertThrows(RuntimeException.class, () -> messageStream.toList());
   }
 
+  @Test
+  void testValidWithByteLevelParsing() {
+    final AirbyteMessage record1 = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "green");
+    final AirbyteMessage record2 = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "yellow");
+
+    final Stream<AirbyteMessage> messageStream = bytesToMessageStream(Jsons.serialize(record1) + "\r\n" + Jsons.serialize(record2) + "\n");
+
+    assertEquals(List.of(record1, record2), messageStream.collect(Collectors.toList()));
+    verifyNoInteractions(logger);
+  }
+
+  @Test
+  void testLoggingLineWithByteLevelParsing() {
+    final String invalidRecord = "invalid line \u00fc";
+
+    final Stream<AirbyteMessage> messageStream = bytesToMessageStream(invalidRecord);
+
+    assertEquals(Collections.emptyList(), messageStream.collect(Collectors.toList()));
+    verify(logger).info(invalidRecord);
+    verifyNoMoreInteractions(logger);
+  }
+
+  @Test
+  void testFailValidationWithByteLevelParsing() {
+    final String invalidRecord = "{ \"fish\": \"tuna\"}";
+
+    when(protocolPredicate.test(Jsons.deserialize(invalidRecord))).thenReturn(false);
+
+    final Stream<AirbyteMessage> messageStream = bytesToMessageStream(invalidRecord);
+
+    assertEquals(Collections.emptyList(), messageStream.collect(Collectors.toList()));
+    verify(logger).error(anyString(), anyString());
+    verifyNoMoreInteractions(logger);
+  }
+
+  @Test
+  void testFailsSizeWithByteLevelParsing() {
+    final AirbyteMessage record1 = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "green");
+
+    final InputStream inputStream = new ByteArrayInputStream(record1.toString().getBytes(StandardCharsets.UTF_8));
+
+    final Stream<AirbyteMessage> messageStream =
+        new DefaultAirbyteStreamFactory(protocolPredicate, logger, new Builder(), Optional.of(RuntimeException.class), 1L)
+            .withByteLevelParsing(true)
+            .create(inputStream);
+
+    assertThrows(RuntimeException.class, () -> messageStream.toList());
+  }
+
+  @Test
+  void testCreateWithLinesParsesEveryLine() {
+    final AirbyteMessage record1 = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "green \u00fc");
+    final AirbyteMessage record2 = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "yellow");
+    final String line1 = Jsons.serialize(record1);
+    final String line2 = Jsons.serialize(record2);
+    final byte[] input = (line1 + "\r\n" + line2 + "\n").getBytes(StandardCharsets.UTF_8);
+
+    final List<AirbyteMessage> expected = List.of(record1, record2);
+
+    final DefaultAirbyteStreamFactory streamFactory = new DefaultAirbyteStreamFactory(protocolPredicate, logger, new Builder(), Optional.empty());
+    final List<AirbyteMessageWithLine> fromChars = streamFactory.createWithLines(new ByteArrayInputStream(input)).toList();
+    assertEquals(expected, fromChars.stream().map(AirbyteMessageWithLine::message).toList());
+    assertTrue(fromChars.stream().noneMatch(AirbyteMessageWithLine::hasLine));
+
+    final List<AirbyteMessageWithLine> fromBytes = streamFactory.withByteLevelParsing(true).createWithLines(new ByteArrayInputStream(input)).toList();
+    assertEquals(expected, fromBytes.stream().map(AirbyteMessageWithLine::message).toList());
+    assertTrue(fromBytes.stream().noneMatch(AirbyteMessageWithLine::hasLine));
+  }
+
+  @Test
+  void testLineLengthsAreReportedPerLine() {
+    final String line = Jsons.serialize(AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "green"));
+    final byte[] input = (line + "\n" + line + "\n").getBytes(StandardCharsets.UTF_8);
+    final MetricClient metricClient = mock(MetricClient.class);
+
+    new DefaultAirbyteStreamFactory(protocolPredicate, logger, new Builder(), Optional.empty())
+        .withMetricClient(metricClient)
+        .createWithLines(new ByteArrayInputStream(input))
+        .toList();
+
+    verify(metricClient, times(2)).distribution(OssMetricsRegistry.JSON_STRING_LENGTH, line.length());
+    verifyNoMoreInteractions(metricClient);
+  }
+
+  @Test
+  void testPreAggregatedLineLengthsAreReportedWhenTheLinesRunOut() {
+    final String line = Jsons.serialize(AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "green"));
+    final byte[] input = (line + "\n" + line + "\n").getBytes(StandardCharsets.UTF_8);
+
+    for (final boolean byteLevelParsing : List.of(false, true)) {
+      final MetricClient metricClient = mock(MetricClient.class);
+      final List<AirbyteMessageWithLine> messages = new DefaultAirbyteStreamFactory(protocolPredicate, logger, new Builder(), Optional.empty())
+          .withMetricClient(metricClient)
+          .withByteLevelParsing(byteLevelParsing)
+          .withPreAggregatedLineLengths(true)
+          .createWithLines(new ByteArrayInputStream(input))
+          .toList();
+
+      // fewer lines than LINE_LENGTHS_FLUSH_EVERY, and the stream is not closed: the lengths are
+      // reported once it is read to the end
+      assertEquals(2, messages.size());
+      verify(metricClient).count(eq(OssMetricsRegistry.JSON_STRING_LENGTH_BUCKET_COUNT), eq(2L), any(MetricAttribute.class));
+      verifyNoMoreInteractions(metricClient);
+    }
+  }
+
+  @Test
+  void testLinePassthroughOnlyKeepsLinesHoldingASingleMessage() {
+    final AirbyteMessage record1 = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "green");
+    final AirbyteMessage record2 = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "yellow");
+    final String line1 = Jsons.serialize(record1);
+    // trailing characters are ignored when parsing, so this line cannot be forwarded as is
+    final String line2 = Jsons.serialize(record2) + " trailing";
+    final byte[] input = (line1 + "\n" + line2 + "\n").getBytes(StandardCharsets.UTF_8);
+
+    final List<AirbyteMessageWithLine> messages = new DefaultAirbyteStreamFactory(protocolPredicate, logger, new Builder(), Optional.empty())
+        .withByteLevelParsing(true)
+        .withLinePassthrough(true)
+        .createWithLines(new ByteArrayInputStream(input))
+        .toList();
+
+    assertEquals(List.of(record1, record2), messages.stream().map(AirbyteMessageWithLine::message).toList());
+    assertArrayEquals(line1.getBytes(StandardCharsets.UTF_8), messages.get(0).line());
+    assertFalse(messages.get(1).hasLine());
+  }
+
+  @Test
+  void testSelectedFieldsAreProjectedAndProjectedLinesAreNotForwarded() {
+    final AirbyteMessage record = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "green");
+    final AirbyteMessage recordWithExtraField = Jsons.clone(record);
+    ((ObjectNode) recordWithExtraField.getRecord().getData()).put("unselected", "value");
+    final byte[] input = (Jsons.serialize(record) + "\n" + Jsons.serialize(recordWithExtraField) + "\n").getBytes(StandardCharsets.UTF_8);
+
+    final DefaultAirbyteStreamFactory streamFactory = new DefaultAirbyteStreamFactory(protocolPredicate, logger, new Builder(), Optional.empty())
+        .withByteLevelParsing(true)
+        .withLinePassthrough(true);
+    streamFactory.setSelectedFields(Map.of(new AirbyteStreamNameNamespacePair(STREAM_NAME, null), List.of(FIELD_NAME)));
+    final List<AirbyteMessageWithLine> messages = streamFactory.createWithLines(new ByteArrayInputStream(input)).toList();
+
+    assertEquals(List.of(record, record), messages.stream().map(AirbyteMessageWithLine::message).toList());
+    assertTrue(messages.get(0).hasLine());
+    assertFalse(messages.get(1).hasLine());
+  }
+
   @Test
   @Disabled
   void testMissingNewLineBetweenValidRecords() {
@@ -141,4 +297,11 @@ class DefaultAirbyteStreamFactoryTest {
     return new DefaultAirbyteStreamFactory(protocolPredicate, logger, new Builder(), Optional.empty()).create(bufferedReader);
   }
 
+  private Stream<AirbyteMessage> bytesToMessageStream(final String inputString) {
+    final InputStream inputStream = new ByteArrayInputStream(inputString.getBytes(StandardCharsets.UTF_8));
+    return new DefaultAirbyteStreamFactory(protocolPredicate, logger, new Builder(), Optional.empty())
+        .withByteLevelParsing(true)
+        .create(inputStream);
+  }
+
 }
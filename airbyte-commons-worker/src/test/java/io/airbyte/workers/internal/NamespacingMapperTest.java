@@ -211,4 +211,21 @@ class NamespacingMapperTest {
     assertEquals(expectedMessage, actualMessage);
   }
 
+  @Test
+  void testRecordsOfSeveralStreamsAreMappedIndependently() {
+    final NamespacingMapper mapper = new NamespacingMapper(NamespaceDefinitionType.CUSTOMFORMAT, "${SOURCE_NAMESPACE}_suffix", OUTPUT_PREFIX);
+
+    for (int i = 0; i < 2; i++) {
+      final AirbyteMessage otherMessage = AirbyteMessageUtils.createRecordMessage("other_stream", FIELD_NAME, BLUE);
+      otherMessage.getRecord().withNamespace(null);
+      final AirbyteMessage expectedOtherMessage = AirbyteMessageUtils.createRecordMessage(OUTPUT_PREFIX + "other_stream", FIELD_NAME, BLUE);
+      expectedOtherMessage.getRecord().withNamespace("_suffix");
+      assertEquals(expectedOtherMessage, mapper.mapMessage(otherMessage));
+
+      final AirbyteMessage expectedMessage = AirbyteMessageUtils.createRecordMessage(OUTPUT_PREFIX + STREAM_NAME, FIELD_NAME, BLUE);
+      expectedMessage.getRecord().withNamespace(INPUT_NAMESPACE + "_suffix");
+      assertEquals(expectedMessage, mapper.mapMessage(createRecordMessage()));
+    }
+  }
+
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
+import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time it takes to deserialize a record of a 500 column stream of which 5 columns are
+ * selected, either by deserializing the whole record and then removing the unselected fields like
+ * field selection used to, or by skipping the unselected fields with
+ * {@link SelectedFieldsProjection}.
+ * <p>
+ * To use this, simply run the main method and compare the time reported for each benchmark.
+ */
+@SuppressWarnings("MissingJavadocType")
+@State(Scope.Benchmark)
+public class SelectedFieldsProjectionPerformanceTest {
+
+  private static final String STREAM_NAME = "wide_table";
+  private static final String NAMESPACE = "public";
+  private static final int COLUMN_COUNT = 500;
+  private static final int SELECTED_COLUMN_COUNT = 5;
+
+  private byte[] line;
+  private List<String> selectedFields;
+  private SelectedFieldsProjection projection;
+
+  @Setup
+  public void setup() {
+    final Map<String, Object> data = new LinkedHashMap<>();
+    for (int i = 0; i < COLUMN_COUNT; i++) {
+      data.put("column_" + i, i % 2 == 0 ? "value of column " + i : i);
+    }
+    final AirbyteMessage message = new AirbyteMessage()
+        .withType(AirbyteMessage.Type.RECORD)
+        .withRecord(new AirbyteRecordMessage()
+            .withStream(STREAM_NAME)
+            .withNamespace(NAMESPACE)
+            .withData(Jsons.jsonNode(data))
+            .withEmittedAt(1L));
+    line = Jsons.serialize(message).getBytes(StandardCharsets.UTF_8);
+
+    selectedFields = new ArrayList<>();
+    for (int i = 0; i < COLUMN_COUNT; i += COLUMN_COUNT / SELECTED_COLUMN_COUNT) {
+      selectedFields.add("column_" + i);
+    }
+    projection = new SelectedFieldsProjection(Map.of(new AirbyteStreamNameNamespacePair(STREAM_NAME, NAMESPACE), selectedFields));
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Warmup(iterations = 2)
+  @Fork(1)
+  @Measurement(iterations = 5)
+  public JsonNode deserializeThenRetain() {
+    final JsonNode json = Jsons.tryDeserialize(line).orElseThrow();
+    ((ObjectNode) json.get("record").get("data")).retain(selectedFields);
+    return json;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Warmup(iterations = 2)
+  @Fork(1)
+  @Measurement(iterations = 5)
+  public JsonNode deserializeWithProjection() {
+    return projection.tryDeserialize(line).orElseThrow().json();
+  }
+
+  public static void main(final String[] args) throws IOException {
+    // Run this main class to start benchmarking.
+    org.openjdk.jmh.Main.main(args);
+  }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
+import io.airbyte.workers.internal.SelectedFieldsProjection.ProjectedJson;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class SelectedFieldsProjectionTest {
+
+  private static final SelectedFieldsProjection PROJECTION = new SelectedFieldsProjection(Map.of(
+      new AirbyteStreamNameNamespacePair("users", "public"), List.of("id", "name"),
+      new AirbyteStreamNameNamespacePair("users", "staging"), List.of("email")));
+
+  @Test
+  void testUnselectedFieldsAreSkipped() {
+    final String line = """
+                        {"type":"RECORD","record":{"stream":"users","data":{"id":1,"name":"a","email":"b","address":{"city":"c"},"tags":[1,2]},\
+                        "emitted_at":1,"namespace":"public"}}""";
+
+    final ProjectedJson projectedJson = PROJECTION.tryDeserialize(line.getBytes(StandardCharsets.UTF_8)).orElseThrow();
+
+    // fields selected in any namespace are kept, the namespace is only known after the data
+    assertEquals(Jsons.deserialize("""
+                                   {"type":"RECORD","record":{"stream":"users","data":{"id":1,"name":"a","email":"b"},
+                                   "emitted_at":1,"namespace":"public"}}"""), projectedJson.json());
+    assertFalse(projectedJson.matchesLine());
+  }
+
+  @Test
+  void testRecordsAreKeptWhenTheirStreamIsNotKnownBeforeTheirData() {
+    final String dataFirst = """
+                             {"type":"RECORD","record":{"data":{"id":1,"address":"c"},"stream":"users"}}""";
+    final String unknownStream = """
+                                 {"type":"RECORD","record":{"stream":"orders","data":{"id":1,"address":"c"}}}""";
+
+    for (final String line : List.of(dataFirst, unknownStream)) {
+      final ProjectedJson projectedJson = PROJECTION.tryDeserialize(line).orElseThrow();
+      assertEquals(Jsons.deserialize(line), projectedJson.json());
+      assertTrue(projectedJson.matchesLine());
+    }
+  }
+
+  @Test
+  void testInvalidAndTrailingContent() {
+    assertEquals(Optional.empty(), PROJECTION.tryDeserialize("not json"));
+    assertEquals(Optional.empty(), PROJECTION.tryDeserialize("{\"type\":\"RECORD\",\"record\":{\"stream\":\"users\",\"data\":{\"id\":1,"));
+
+    // content after the message is ignored, but the line no longer matches the message
+    final ProjectedJson projectedJson = PROJECTION.tryDeserialize("{\"type\":\"STATE\",\"state\":{}} trailing").orElseThrow();
+    assertEquals(Jsons.deserialize("{\"type\":\"STATE\",\"state\":{}}"), projectedJson.json());
+    assertFalse(projectedJson.matchesLine());
+  }
+
+}
@@ -19,6 +19,7 @@ import io.airbyte.workers.helper.FailureHelper;
 import io.airbyte.workers.internal.book_keeping.StateDeltaTracker.StateDeltaTrackerException;
 import io.airbyte.workers.internal.state_aggregator.StateAggregator;
 import io.airbyte.workers.test_utils.AirbyteMessageUtils;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
@@ -70,6 +71,18 @@ class AirbyteMessageTrackerTest {
     assertEquals(2, messageTracker.getTotalSourceStateMessagesEmitted());
   }
 
+  @Test
+  void testRejectsMoreStreamsThanStreamIndices() {
+    final AirbyteMessage record = AirbyteMessageUtils.createRecordMessage(STREAM_1, 1);
+    for (int i = 0; i < StateMetricsTracker.MAX_STREAM_COUNT; i++) {
+      messageTracker.acceptFromSource(record, new AirbyteStreamNameNamespacePair(STREAM_1 + i, NAMESPACE_1));
+    }
+
+    assertEquals(StateMetricsTracker.MAX_STREAM_COUNT, messageTracker.getTotalRecordsEmitted());
+    assertThrows(IllegalStateException.class,
+        () -> messageTracker.acceptFromSource(record, new AirbyteStreamNameNamespacePair(STREAM_2, NAMESPACE_1)));
+  }
+
   @Test
   void testRetainsLatestSourceAndDestinationState() {
     final int s1Value = 111;
@@ -101,6 +114,22 @@ class AirbyteMessageTrackerTest {
     assertTrue(messageTracker.getDestinationOutputState().isEmpty());
   }
 
+  @Test
+  void testDestinationStateIsOnlyAggregatedWhenRead() {
+    final AirbyteMessage s1 = AirbyteMessageUtils.createStateMessage(1);
+    final AirbyteMessage s2 = AirbyteMessageUtils.createStateMessage(2);
+    final State expectedState = new State().withState(Jsons.jsonNode(2));
+    Mockito.when(mStateAggregator.getAggregated()).thenReturn(expectedState);
+
+    messageTracker.acceptFromDestination(s1);
+    messageTracker.acceptFromDestination(s2);
+    Mockito.verify(mStateAggregator, Mockito.never()).getAggregated();
+
+    assertEquals(expectedState, messageTracker.getDestinationOutputState().get());
+    assertEquals(expectedState, messageTracker.getDestinationOutputState().get());
+    Mockito.verify(mStateAggregator, Mockito.times(1)).getAggregated();
+  }
+
   @Test
   void testEmittedRecordsByStream() {
     final AirbyteMessage r1 = AirbyteMessageUtils.createRecordMessage(STREAM_1, 1);
@@ -147,6 +176,27 @@ class AirbyteMessageTrackerTest {
     assertEquals(expected, messageTracker.getStreamToEmittedBytes());
   }
 
+  @Test
+  void testEmittedBytesByStreamCountsTheUtf8BytesOfTheData() {
+    final AirbyteMessage r1 = AirbyteMessageUtils.createRecordMessage(STREAM_1, "name", "Zo\u00eb \ud83e\udd84");
+    final AirbyteMessage r2 = AirbyteMessageUtils.createRecordMessage(STREAM_2, "name", "\u6771\u4eac");
+    final AirbyteStreamNameNamespacePair stream1 = AirbyteStreamNameNamespacePair.fromRecordMessage(r1.getRecord());
+
+    final long r1Bytes = Jsons.serialize(r1.getRecord().getData()).getBytes(StandardCharsets.UTF_8).length;
+    final long r2Bytes = Jsons.serialize(r2.getRecord().getData()).getBytes(StandardCharsets.UTF_8).length;
+
+    messageTracker.acceptFromSource(r1);
+    messageTracker.acceptFromSource(r1, stream1);
+    messageTracker.acceptFromSource(r2);
+
+    final Map<AirbyteStreamNameNamespacePair, Long> expected = new HashMap<>();
+    expected.put(stream1, r1Bytes * 2);
+    expected.put(AirbyteStreamNameNamespacePair.fromRecordMessage(r2.getRecord()), r2Bytes);
+
+    assertEquals(expected, messageTracker.getStreamToEmittedBytes());
+    assertEquals(r1Bytes * 2 + r2Bytes, messageTracker.getTotalBytesEmitted());
+  }
+
   @Test
   void testGetCommittedRecordsByStream() {
     final AirbyteMessage r1 = AirbyteMessageUtils.createRecordMessage(STREAM_1, 1);
@@ -192,7 +242,8 @@ class AirbyteMessageTrackerTest {
 
   @Test
   void testGetCommittedRecordsByStream_emptyWhenAddStateThrowsException() throws Exception {
-    Mockito.doThrow(new StateDeltaTrackerException(INDUCED_EXCEPTION)).when(mStateDeltaTracker).addState(Mockito.anyInt(), Mockito.anyMap());
+    Mockito.doThrow(new StateDeltaTrackerException(INDUCED_EXCEPTION)).when(mStateDeltaTracker)
+        .addState(Mockito.anyInt(), Mockito.any(short[].class), Mockito.any(long[].class), Mockito.anyInt());
 
     final AirbyteMessage r1 = AirbyteMessageUtils.createRecordMessage(STREAM_1, 1);
     final AirbyteMessage s1 = AirbyteMessageUtils.createStateMessage(1);
@@ -256,7 +307,8 @@ class AirbyteMessageTrackerTest {
 
   @Test
   void testGetTotalRecordsCommitted_emptyWhenAddStateThrowsException() throws Exception {
-    Mockito.doThrow(new StateDeltaTrackerException(INDUCED_EXCEPTION)).when(mStateDeltaTracker).addState(Mockito.anyInt(), Mockito.anyMap());
+    Mockito.doThrow(new StateDeltaTrackerException(INDUCED_EXCEPTION)).when(mStateDeltaTracker)
+        .addState(Mockito.anyInt(), Mockito.any(short[].class), Mockito.any(long[].class), Mockito.anyInt());
 
     final AirbyteMessage r1 = AirbyteMessageUtils.createRecordMessage(STREAM_1, 1);
     final AirbyteMessage s1 = AirbyteMessageUtils.createStateMessage(1);
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal.book_keeping;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class RunningRecordCountsTest {
+
+  private static final short STREAM_1 = 3;
+  private static final short STREAM_2 = 0;
+  // above Short.MAX_VALUE once read as unsigned
+  private static final short STREAM_3 = (short) 40_000;
+
+  @Test
+  void testCountsAreInTheOrderOfTheFirstRecordOfEachStream() {
+    final RunningRecordCounts counts = new RunningRecordCounts();
+    counts.increment(STREAM_1);
+    counts.increment(STREAM_2);
+    counts.increment(STREAM_1);
+    counts.increment(STREAM_3);
+    counts.increment(STREAM_3);
+    counts.increment(STREAM_3);
+
+    assertEquals(3, counts.getStreamCount());
+    assertArrayEquals(new short[] {STREAM_1, STREAM_2, STREAM_3}, Arrays.copyOf(counts.getStreamIndices(), 3));
+    assertArrayEquals(new long[] {2, 1, 3}, Arrays.copyOf(counts.getRecordCounts(), 3));
+  }
+
+  @Test
+  void testClearResetsTheCounts() {
+    final RunningRecordCounts counts = new RunningRecordCounts();
+    counts.increment(STREAM_1);
+    counts.increment(STREAM_2);
+    counts.clear();
+
+    assertEquals(0, counts.getStreamCount());
+
+    counts.increment(STREAM_2);
+    assertEquals(1, counts.getStreamCount());
+    assertEquals(STREAM_2, counts.getStreamIndices()[0]);
+    assertEquals(1, counts.getRecordCounts()[0]);
+  }
+
+  @Test
+  void testManyStreams() {
+    final RunningRecordCounts counts = new RunningRecordCounts();
+    for (short streamIndex = 0; streamIndex < 100; streamIndex++) {
+      counts.increment(streamIndex);
+      counts.increment(streamIndex);
+    }
+
+    assertEquals(100, counts.getStreamCount());
+    for (int i = 0; i < 100; i++) {
+      assertEquals(i, counts.getStreamIndices()[i]);
+      assertEquals(2, counts.getRecordCounts()[i]);
+    }
+  }
+
+}
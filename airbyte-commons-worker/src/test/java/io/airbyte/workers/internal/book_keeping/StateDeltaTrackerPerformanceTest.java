@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal.book_keeping;
+
+import io.airbyte.workers.internal.book_keeping.StateDeltaTracker.StateDeltaTrackerException;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time {@link StateDeltaTracker} takes to track 1M state messages when the destination
+ * commits them with a lag, i.e. when commitLag states are pending at any time. A large lag is where
+ * draining committed deltas used to be quadratic.
+ * <p>
+ * To use this, simply run the main method and look at the time reported for each lag.
+ */
+@SuppressWarnings("MissingJavadocType")
+@State(Scope.Benchmark)
+public class StateDeltaTrackerPerformanceTest {
+
+  private static final int STATE_COUNT = 1_000_000;
+  // same as the limit AirbyteMessageTracker uses
+  private static final long MEMORY_LIMIT_BYTES = 10L * 1024L * 1024L;
+
+  @Param({"1", "1000", "100000"})
+  public int commitLag;
+
+  private static final int STREAM_COUNT = 3;
+
+  private short[] streamIndices;
+  private long[] recordCounts;
+
+  @Setup
+  public void setup() {
+    streamIndices = new short[STREAM_COUNT];
+    recordCounts = new long[STREAM_COUNT];
+    for (short streamIndex = 0; streamIndex < STREAM_COUNT; streamIndex++) {
+      streamIndices[streamIndex] = streamIndex;
+      recordCounts[streamIndex] = 100L;
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  @Warmup(iterations = 2)
+  @Fork(1)
+  @Measurement(iterations = 5)
+  public Map<Short, Long> addAndCommitStates() throws StateDeltaTrackerException {
+    final StateDeltaTracker tracker = new StateDeltaTracker(MEMORY_LIMIT_BYTES);
+    for (int stateHash = 0; stateHash < STATE_COUNT; stateHash++) {
+      tracker.addState(stateHash, streamIndices, recordCounts, STREAM_COUNT);
+      if (stateHash >= commitLag) {
+        tracker.commitStateHash(stateHash - commitLag);
+      }
+    }
+    tracker.commitStateHash(STATE_COUNT - 1);
+    return tracker.getStreamToCommittedRecords();
+  }
+
+  public static void main(final String[] args) throws IOException {
+    // Run this main class to start benchmarking.
+    org.openjdk.jmh.Main.main(args);
+  }
+
+}
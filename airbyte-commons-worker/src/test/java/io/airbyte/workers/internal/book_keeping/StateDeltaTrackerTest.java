@@ -54,14 +54,27 @@ class StateDeltaTrackerTest {
     state3Counts.put(STREAM_INDEX_4, STATE_3_STREAM_4_COUNT);
 
     stateDeltaTracker = new StateDeltaTracker(INITIAL_DELTA_MEMORY_CAPACITY);
-    stateDeltaTracker.addState(STATE_1_HASH, state1Counts);
-    stateDeltaTracker.addState(STATE_2_HASH, state2Counts);
-    stateDeltaTracker.addState(STATE_3_HASH, state3Counts);
+    addState(stateDeltaTracker, STATE_1_HASH, state1Counts);
+    addState(stateDeltaTracker, STATE_2_HASH, state2Counts);
+    addState(stateDeltaTracker, STATE_3_HASH, state3Counts);
+  }
+
+  private static void addState(final StateDeltaTracker tracker, final int stateHash, final Map<Short, Long> streamIndexToRecordCount)
+      throws StateDeltaTrackerException {
+    final short[] streamIndices = new short[streamIndexToRecordCount.size()];
+    final long[] recordCounts = new long[streamIndexToRecordCount.size()];
+    int i = 0;
+    for (final Map.Entry<Short, Long> entry : streamIndexToRecordCount.entrySet()) {
+      streamIndices[i] = entry.getKey();
+      recordCounts[i] = entry.getValue();
+      i++;
+    }
+    tracker.addState(stateHash, streamIndices, recordCounts, i);
   }
 
   @Test
   void testAddState_throwsExceptionWhenCapacityExceeded() {
-    Assertions.assertThrows(StateDeltaTrackerException.class, () -> stateDeltaTracker.addState(4, Collections.singletonMap((short) 444, 44L)));
+    Assertions.assertThrows(StateDeltaTrackerException.class, () -> addState(stateDeltaTracker, 4, Collections.singletonMap((short) 444, 44L)));
     Assertions.assertTrue(stateDeltaTracker.capacityExceeded);
   }
 
@@ -89,13 +102,13 @@ class StateDeltaTrackerTest {
     // before anything is committed, returned map should be empty and deltas should contain three states
     final Map<Short, Long> expected = new HashMap<>();
     Assertions.assertEquals(expected, stateDeltaTracker.getStreamToCommittedRecords());
-    Assertions.assertEquals(3, stateDeltaTracker.stateDeltas.size());
+    Assertions.assertEquals(3, stateDeltaTracker.stateDeltaCount);
 
     stateDeltaTracker.commitStateHash(STATE_1_HASH);
     expected.put(STREAM_INDEX_1, STATE_1_STREAM_1_COUNT);
     expected.put(STREAM_INDEX_2, STATE_1_STREAM_2_COUNT);
     Assertions.assertEquals(expected, stateDeltaTracker.getStreamToCommittedRecords());
-    Assertions.assertEquals(2, stateDeltaTracker.stateDeltas.size());
+    Assertions.assertEquals(2, stateDeltaTracker.stateDeltaCount);
     expected.clear();
 
     stateDeltaTracker.commitStateHash(STATE_2_HASH);
@@ -103,7 +116,7 @@ class StateDeltaTrackerTest {
     expected.put(STREAM_INDEX_2, STATE_1_STREAM_2_COUNT);
     expected.put(STREAM_INDEX_3, STATE_2_STREAM_3_COUNT);
     Assertions.assertEquals(expected, stateDeltaTracker.getStreamToCommittedRecords());
-    Assertions.assertEquals(1, stateDeltaTracker.stateDeltas.size());
+    Assertions.assertEquals(1, stateDeltaTracker.stateDeltaCount);
     expected.clear();
 
     stateDeltaTracker.commitStateHash(STATE_3_HASH);
@@ -115,7 +128,32 @@ class StateDeltaTrackerTest {
 
     // since all states are committed, capacity should be freed and the delta queue should be empty
     Assertions.assertEquals(INITIAL_DELTA_MEMORY_CAPACITY, stateDeltaTracker.remainingCapacity);
-    Assertions.assertEquals(0, stateDeltaTracker.stateDeltas.size());
+    Assertions.assertEquals(0, stateDeltaTracker.stateDeltaCount);
+  }
+
+  @Test
+  void testManyStatesWithLaggingCommits() throws Exception {
+    final StateDeltaTracker tracker = new StateDeltaTracker(1024L * 1024L);
+    final short highStreamIndex = (short) 40_000;
+    // commits lag 100 states behind, so that pending deltas keep moving through the buffer as it grows
+    for (int stateHash = 0; stateHash < 10_000; stateHash++) {
+      final Map<Short, Long> counts = new HashMap<>();
+      counts.put(STREAM_INDEX_1, 1L);
+      counts.put(highStreamIndex, 2L);
+      addState(tracker, stateHash, counts);
+      if (stateHash >= 100) {
+        tracker.commitStateHash(stateHash - 100);
+      }
+    }
+    Assertions.assertEquals(100, tracker.stateDeltaCount);
+    tracker.commitStateHash(9_999);
+
+    Assertions.assertEquals(0, tracker.stateDeltaCount);
+    Assertions.assertEquals(1024L * 1024L, tracker.remainingCapacity);
+    final Map<Short, Long> expected = new HashMap<>();
+    expected.put(STREAM_INDEX_1, 10_000L);
+    expected.put(highStreamIndex, 20_000L);
+    Assertions.assertEquals(expected, tracker.getStreamToCommittedRecords());
   }
 
 }
@@ -13,6 +13,7 @@ import io.airbyte.workers.internal.book_keeping.StateMetricsTracker.StateMetrics
 import io.airbyte.workers.internal.book_keeping.StateMetricsTracker.StateMetricsTrackerOomException;
 import io.airbyte.workers.test_utils.AirbyteMessageUtils;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,6 +23,8 @@ class StateMetricsTrackerTest {
   private StateMetricsTracker stateMetricsTracker;
   private static final String STREAM_1 = "stream1";
   private static final String STREAM_2 = "stream2";
+  private static final short STREAM_1_INDEX = 0;
+  private static final short STREAM_2_INDEX = 1;
   private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
   private static final String SECOND_ZERO = "2022-01-01 12:00:00";
   private static final String SECOND_ONE = "2022-01-01 12:00:01";
@@ -52,25 +55,25 @@ class StateMetricsTrackerTest {
     final AirbyteStateMessage s2s1 = AirbyteMessageUtils.createStreamStateMessage(STREAM_2, 1);
     final AirbyteStateMessage s2s2 = AirbyteMessageUtils.createStreamStateMessage(STREAM_2, 2);
 
-    stateMetricsTracker.addState(s1s1, 0, LocalDateTime.parse(SECOND_ZERO, FORMATTER)); // stream 1 state
-    stateMetricsTracker.addState(s1s2, 1, LocalDateTime.parse(SECOND_ONE, FORMATTER)); // stream 1 state
-    stateMetricsTracker.addState(s2s1, 0, LocalDateTime.parse(SECOND_TWO, FORMATTER)); // stream 2 state
-    stateMetricsTracker.addState(s1s3, 2, LocalDateTime.parse("2022-01-01 12:00:03", FORMATTER)); // stream 1 state
+    stateMetricsTracker.addState(s1s1, STREAM_1_INDEX, 0, toEpochMillis(SECOND_ZERO)); // stream 1 state
+    stateMetricsTracker.addState(s1s2, STREAM_1_INDEX, 1, toEpochMillis(SECOND_ONE)); // stream 1 state
+    stateMetricsTracker.addState(s2s1, STREAM_2_INDEX, 0, toEpochMillis(SECOND_TWO)); // stream 2 state
+    stateMetricsTracker.addState(s1s3, STREAM_1_INDEX, 2, toEpochMillis("2022-01-01 12:00:03")); // stream 1 state
 
     // Committed up to 2nd state message in stream 1 - time to commit is 5 seconds (second 00 to second
     // 05)
     stateMetricsTracker.incrementTotalDestinationEmittedStateMessages();
-    stateMetricsTracker.updateStates(s1s2, 1, LocalDateTime.parse(SECOND_FIVE, FORMATTER));
+    stateMetricsTracker.updateStates(s1s2, STREAM_1_INDEX, 1, toEpochMillis(SECOND_FIVE));
 
     // Committed final state message for stream 1 - time to commit is 7 seconds (second 03 to second 10)
     stateMetricsTracker.incrementTotalDestinationEmittedStateMessages();
-    stateMetricsTracker.updateStates(s1s3, 2, LocalDateTime.parse("2022-01-01 12:00:10", FORMATTER));
+    stateMetricsTracker.updateStates(s1s3, STREAM_1_INDEX, 2, toEpochMillis("2022-01-01 12:00:10"));
 
-    stateMetricsTracker.addState(s2s2, 2, LocalDateTime.parse("2022-01-01 12:00:11", FORMATTER));
+    stateMetricsTracker.addState(s2s2, STREAM_2_INDEX, 2, toEpochMillis("2022-01-01 12:00:11"));
 
     // Commit final state message for stream 2 - time to commit is 12 seconds (second 14 - second 02)
     stateMetricsTracker.incrementTotalDestinationEmittedStateMessages();
-    stateMetricsTracker.updateStates(s2s2, 2, LocalDateTime.parse("2022-01-01 12:00:14", FORMATTER));
+    stateMetricsTracker.updateStates(s2s2, STREAM_2_INDEX, 2, toEpochMillis("2022-01-01 12:00:14"));
 
     // max time across both streams was 12, mean time across all streams was (5 + 7 + 12)/3 == 24/3 == 8
     assertEquals(12L, stateMetricsTracker.getMaxSecondsBetweenStateMessageEmittedAndCommitted());
@@ -85,17 +88,17 @@ class StateMetricsTrackerTest {
     final AirbyteMessage s3 = AirbyteMessageUtils.createGlobalStateMessage(3, STREAM_1);
 
     // 3 global state messages emitted
-    stateMetricsTracker.addState(s1.getState(), 0, LocalDateTime.parse(SECOND_ZERO, FORMATTER));
-    stateMetricsTracker.addState(s2.getState(), 1, LocalDateTime.parse(SECOND_ONE, FORMATTER));
-    stateMetricsTracker.addState(s3.getState(), 2, LocalDateTime.parse(SECOND_TWO, FORMATTER));
+    stateMetricsTracker.addState(s1.getState(), StateMetricsTracker.NO_STREAM_INDEX, 0, toEpochMillis(SECOND_ZERO));
+    stateMetricsTracker.addState(s2.getState(), StateMetricsTracker.NO_STREAM_INDEX, 1, toEpochMillis(SECOND_ONE));
+    stateMetricsTracker.addState(s3.getState(), StateMetricsTracker.NO_STREAM_INDEX, 2, toEpochMillis(SECOND_TWO));
 
     // Committed up to 2nd state message - time to commit is 5 seconds (second 00 to second 05)
     stateMetricsTracker.incrementTotalDestinationEmittedStateMessages();
-    stateMetricsTracker.updateStates(s2.getState(), 1, LocalDateTime.parse(SECOND_FIVE, FORMATTER));
+    stateMetricsTracker.updateStates(s2.getState(), StateMetricsTracker.NO_STREAM_INDEX, 1, toEpochMillis(SECOND_FIVE));
 
     // Committed final state message - time to commit is 7 seconds (second 02 to second 09)
     stateMetricsTracker.incrementTotalDestinationEmittedStateMessages();
-    stateMetricsTracker.updateStates(s3.getState(), 2, LocalDateTime.parse("2022-01-01 12:00:09", FORMATTER));
+    stateMetricsTracker.updateStates(s3.getState(), StateMetricsTracker.NO_STREAM_INDEX, 2, toEpochMillis("2022-01-01 12:00:09"));
 
     assertEquals(7L, stateMetricsTracker.getMaxSecondsBetweenStateMessageEmittedAndCommitted());
     assertEquals(6L, stateMetricsTracker.getMeanSecondsBetweenStateMessageEmittedAndCommitted());
@@ -110,11 +113,11 @@ class StateMetricsTrackerTest {
     final AirbyteMessage s3 = AirbyteMessageUtils.createGlobalStateMessage(3, STREAM_1);
 
     // 3 global state messages emitted
-    stateMetricsTrackerOom.addState(s1.getState(), 0, LocalDateTime.parse(SECOND_ZERO, FORMATTER));
-    stateMetricsTrackerOom.addState(s2.getState(), 1, LocalDateTime.parse(SECOND_ONE, FORMATTER));
+    stateMetricsTrackerOom.addState(s1.getState(), StateMetricsTracker.NO_STREAM_INDEX, 0, toEpochMillis(SECOND_ZERO));
+    stateMetricsTrackerOom.addState(s2.getState(), StateMetricsTracker.NO_STREAM_INDEX, 1, toEpochMillis(SECOND_ONE));
 
     assertThrows(StateMetricsTrackerOomException.class,
-        () -> stateMetricsTrackerOom.addState(s3.getState(), 2, LocalDateTime.parse(SECOND_TWO, FORMATTER)));
+        () -> stateMetricsTrackerOom.addState(s3.getState(), StateMetricsTracker.NO_STREAM_INDEX, 2, toEpochMillis(SECOND_TWO)));
 
   }
 
@@ -127,39 +130,93 @@ class StateMetricsTrackerTest {
     // destination emits state message hash when there are no source state message hashes stored
     stateMetricsTracker.incrementTotalDestinationEmittedStateMessages();
     assertThrows(StateMetricsTrackerNoStateMatchException.class,
-        () -> stateMetricsTracker.updateStates(s1.getState(), 4, LocalDateTime.parse(SECOND_FIVE, FORMATTER)));
+        () -> stateMetricsTracker.updateStates(s1.getState(), StateMetricsTracker.NO_STREAM_INDEX, 4, toEpochMillis(SECOND_FIVE)));
 
-    stateMetricsTracker.addState(s1.getState(), 0, LocalDateTime.parse(SECOND_ZERO, FORMATTER));
-    stateMetricsTracker.addState(s2.getState(), 1, LocalDateTime.parse(SECOND_ONE, FORMATTER));
-    stateMetricsTracker.addState(s3.getState(), 2, LocalDateTime.parse(SECOND_TWO, FORMATTER));
+    stateMetricsTracker.addState(s1.getState(), StateMetricsTracker.NO_STREAM_INDEX, 0, toEpochMillis(SECOND_ZERO));
+    stateMetricsTracker.addState(s2.getState(), StateMetricsTracker.NO_STREAM_INDEX, 1, toEpochMillis(SECOND_ONE));
+    stateMetricsTracker.addState(s3.getState(), StateMetricsTracker.NO_STREAM_INDEX, 2, toEpochMillis(SECOND_TWO));
 
     // destination emits a state message hash that does not correspond to any source state message
     // hashes
     assertThrows(StateMetricsTrackerNoStateMatchException.class,
-        () -> stateMetricsTracker.updateStates(s3.getState(), 4, LocalDateTime.parse(SECOND_FIVE, FORMATTER)));
+        () -> stateMetricsTracker.updateStates(s3.getState(), StateMetricsTracker.NO_STREAM_INDEX, 4, toEpochMillis(SECOND_FIVE)));
   }
 
   @Test
   void testStreamMaxandMeanSecondsBeforeStateMessageEmitted() {
     // first record received at second 0
-    stateMetricsTracker.setFirstRecordReceivedAt(LocalDateTime.parse(SECOND_ZERO, FORMATTER));
+    stateMetricsTracker.setFirstRecordReceivedAt(toEpochMillis(SECOND_ZERO));
 
     // receive state at second 2
     stateMetricsTracker.incrementTotalSourceEmittedStateMessages();
-    stateMetricsTracker.updateMaxAndMeanSecondsToReceiveStateMessage(LocalDateTime.parse(SECOND_TWO, FORMATTER));
-    stateMetricsTracker.setLastStateMessageReceivedAt(LocalDateTime.parse(SECOND_TWO, FORMATTER));
+    stateMetricsTracker.updateMaxAndMeanSecondsToReceiveStateMessage(toEpochMillis(SECOND_TWO));
+    stateMetricsTracker.setLastStateMessageReceivedAt(toEpochMillis(SECOND_TWO));
     // max and mean seconds to receive state message are both 2 seconds
     assertEquals(2L, stateMetricsTracker.getMaxSecondsToReceiveSourceStateMessage());
     assertEquals(2L, stateMetricsTracker.getMeanSecondsToReceiveSourceStateMessage());
 
     // another state message received after 4 more seconds
     stateMetricsTracker.incrementTotalSourceEmittedStateMessages();
-    stateMetricsTracker.updateMaxAndMeanSecondsToReceiveStateMessage(LocalDateTime.parse(SECOND_SIX, FORMATTER));
-    stateMetricsTracker.setLastStateMessageReceivedAt(LocalDateTime.parse(SECOND_SIX, FORMATTER));
+    stateMetricsTracker.updateMaxAndMeanSecondsToReceiveStateMessage(toEpochMillis(SECOND_SIX));
+    stateMetricsTracker.setLastStateMessageReceivedAt(toEpochMillis(SECOND_SIX));
 
     // max and mean seconds to receive state message are both 2 seconds
     assertEquals(4L, stateMetricsTracker.getMaxSecondsToReceiveSourceStateMessage());
     assertEquals(3L, stateMetricsTracker.getMeanSecondsToReceiveSourceStateMessage());
   }
 
+  @Test
+  void testStreamStateNoStateMatchExceptionThrown() throws StateMetricsTrackerOomException {
+    final AirbyteStateMessage s1s1 = AirbyteMessageUtils.createStreamStateMessage(STREAM_1, 1);
+    final AirbyteStateMessage s2s1 = AirbyteMessageUtils.createStreamStateMessage(STREAM_2, 1);
+
+    stateMetricsTracker.addState(s1s1, STREAM_1_INDEX, 0, toEpochMillis(SECOND_ZERO));
+
+    // destination emits a state message for a stream that the source did not emit any state for
+    assertThrows(StateMetricsTrackerNoStateMatchException.class,
+        () -> stateMetricsTracker.updateStates(s2s1, STREAM_2_INDEX, 0, toEpochMillis(SECOND_FIVE)));
+    assertThrows(StateMetricsTrackerNoStateMatchException.class,
+        () -> stateMetricsTracker.updateStates(s2s1, StateMetricsTracker.NO_STREAM_INDEX, 0, toEpochMillis(SECOND_FIVE)));
+  }
+
+  @Test
+  void testCommittedStatesReleaseCapacity() throws StateMetricsTrackerOomException, StateMetricsTrackerNoStateMatchException {
+    final StateMetricsTracker stateMetricsTrackerOom = new StateMetricsTracker(2L);
+    final AirbyteStateMessage s1s1 = AirbyteMessageUtils.createStreamStateMessage(STREAM_1, 1);
+
+    // many more states than the capacity can be tracked as long as they are committed
+    for (int stateHash = 0; stateHash < 100; stateHash++) {
+      stateMetricsTrackerOom.addState(s1s1, STREAM_1_INDEX, stateHash, toEpochMillis(SECOND_ZERO));
+      stateMetricsTrackerOom.addState(s1s1, STREAM_2_INDEX, stateHash, toEpochMillis(SECOND_ZERO));
+      stateMetricsTrackerOom.incrementTotalDestinationEmittedStateMessages();
+      stateMetricsTrackerOom.updateStates(s1s1, STREAM_1_INDEX, stateHash, toEpochMillis(SECOND_ONE));
+      stateMetricsTrackerOom.incrementTotalDestinationEmittedStateMessages();
+      stateMetricsTrackerOom.updateStates(s1s1, STREAM_2_INDEX, stateHash, toEpochMillis(SECOND_TWO));
+    }
+
+    assertEquals(2L, stateMetricsTrackerOom.getMaxSecondsBetweenStateMessageEmittedAndCommitted());
+  }
+
+  @Test
+  void testStreamIndicesAboveShortMaxValue() throws StateMetricsTrackerOomException, StateMetricsTrackerNoStateMatchException {
+    // indices of the streams after the 32768th wrap to negative shorts
+    final short streamIndex = (short) 40_000;
+    final short lastStreamIndex = (short) (StateMetricsTracker.MAX_STREAM_COUNT - 1);
+    final AirbyteStateMessage s1s1 = AirbyteMessageUtils.createStreamStateMessage(STREAM_1, 1);
+    final AirbyteStateMessage s2s1 = AirbyteMessageUtils.createStreamStateMessage(STREAM_2, 1);
+
+    stateMetricsTracker.addState(s1s1, streamIndex, 0, toEpochMillis(SECOND_ZERO));
+    stateMetricsTracker.addState(s2s1, lastStreamIndex, 0, toEpochMillis(SECOND_ONE));
+    stateMetricsTracker.updateStates(s1s1, streamIndex, 0, toEpochMillis(SECOND_FIVE));
+    stateMetricsTracker.updateStates(s2s1, lastStreamIndex, 0, toEpochMillis(SECOND_TWO));
+
+    assertEquals(5L, stateMetricsTracker.getMaxSecondsBetweenStateMessageEmittedAndCommitted());
+    assertThrows(StateMetricsTrackerNoStateMatchException.class,
+        () -> stateMetricsTracker.updateStates(s2s1, StateMetricsTracker.NO_STREAM_INDEX, 0, toEpochMillis(SECOND_FIVE)));
+  }
+
+  private static long toEpochMillis(final String dateTime) {
+    return LocalDateTime.parse(dateTime, FORMATTER).toInstant(ZoneOffset.UTC).toEpochMilli();
+  }
+
 }
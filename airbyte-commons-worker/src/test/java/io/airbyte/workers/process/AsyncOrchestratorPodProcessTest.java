@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.process;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.workers.storage.DockerComposeDocumentStoreClient;
+import io.airbyte.workers.storage.DocumentStoreClient;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AsyncOrchestratorPodProcessTest {
+
+  private static final KubePodInfo KUBE_POD_INFO = new KubePodInfo("default", "orchestrator-repl-job-1-attempt-0",
+      new KubeContainerInfo("airbyte/container-orchestrator:dev", "IfNotPresent"));
+  private static final String OUTPUT = "some output value";
+
+  private DocumentStoreClient documentStoreClient;
+  private AsyncOrchestratorPodProcess process;
+
+  @BeforeEach
+  void setup() throws IOException {
+    documentStoreClient = spy(new DockerComposeDocumentStoreClient(Files.createTempDirectory(Path.of("/tmp"), "async_orchestrator")));
+    process = new AsyncOrchestratorPodProcess(KUBE_POD_INFO, documentStoreClient, mock(KubernetesClient.class),
+        null, null, null, null, null, Map.of(), 9000);
+  }
+
+  @Test
+  void testStatusIsReadFromStatusDocument() {
+    writeStatusDocument(AsyncKubePodStatus.RUNNING, 2, null);
+    clearInvocations(documentStoreClient);
+
+    assertEquals(AsyncKubePodStatus.RUNNING, process.getDocStoreStatus());
+    verify(documentStoreClient, times(1)).read(anyString());
+  }
+
+  @Test
+  void testStaleStatusDocumentIsIgnored() {
+    writeStatusDocument(AsyncKubePodStatus.SUCCEEDED, 3, OUTPUT);
+    assertEquals(AsyncKubePodStatus.SUCCEEDED, process.getDocStoreStatus());
+
+    writeStatusDocument(AsyncKubePodStatus.RUNNING, 2, null);
+    assertEquals(AsyncKubePodStatus.SUCCEEDED, process.getDocStoreStatus());
+    assertEquals(Optional.of(OUTPUT), process.getOutput());
+  }
+
+  @Test
+  void testStatusIsReadFromStatusFilesWithoutStatusDocument() {
+    assertEquals(AsyncKubePodStatus.NOT_STARTED, process.getDocStoreStatus());
+
+    documentStoreClient.write(getStatusFileKey(AsyncKubePodStatus.RUNNING), "");
+    assertEquals(AsyncKubePodStatus.RUNNING, process.getDocStoreStatus());
+
+    documentStoreClient.write(getStatusFileKey(AsyncKubePodStatus.SUCCEEDED), OUTPUT);
+    assertEquals(AsyncKubePodStatus.SUCCEEDED, process.getDocStoreStatus());
+    assertEquals(Optional.of(OUTPUT), process.getOutput());
+  }
+
+  @Test
+  void testOutputIsReadFromStatusDocument() {
+    writeStatusDocument(AsyncKubePodStatus.RUNNING, 2, null);
+    assertEquals(Optional.empty(), process.getOutput());
+
+    writeStatusDocument(AsyncKubePodStatus.SUCCEEDED, 3, "");
+    assertEquals(Optional.empty(), process.getOutput());
+
+    writeStatusDocument(AsyncKubePodStatus.SUCCEEDED, 4, OUTPUT);
+    assertEquals(Optional.of(OUTPUT), process.getOutput());
+  }
+
+  @Test
+  void testWaitForTerminalStatus() throws InterruptedException {
+    writeStatusDocument(AsyncKubePodStatus.FAILED, 3, null);
+
+    assertTrue(process.waitFor(1, TimeUnit.SECONDS));
+    assertEquals(1, process.exitValue());
+  }
+
+  @Test
+  void testPollIntervalBacksOffUntilTheStatusChanges() {
+    final long maxInterval = AsyncOrchestratorPodProcess.MAX_POLL_INTERVAL_MILLIS;
+    long interval = AsyncOrchestratorPodProcess.MIN_POLL_INTERVAL_MILLIS;
+
+    interval = AsyncOrchestratorPodProcess.getNextPollIntervalMillis(interval, maxInterval, false);
+    assertEquals(2 * AsyncOrchestratorPodProcess.MIN_POLL_INTERVAL_MILLIS, interval);
+
+    for (int i = 0; i < 10; i++) {
+      interval = AsyncOrchestratorPodProcess.getNextPollIntervalMillis(interval, maxInterval, false);
+    }
+    assertEquals(maxInterval, interval);
+
+    assertEquals(AsyncOrchestratorPodProcess.MIN_POLL_INTERVAL_MILLIS,
+        AsyncOrchestratorPodProcess.getNextPollIntervalMillis(interval, maxInterval, true));
+  }
+
+  private void writeStatusDocument(final AsyncKubePodStatus status, final long version, final String output) {
+    documentStoreClient.write(AsyncKubePodStatusDocument.getDocumentStoreKey(KUBE_POD_INFO),
+        Jsons.serialize(new AsyncKubePodStatusDocument(status, version, output)));
+  }
+
+  private static String getStatusFileKey(final AsyncKubePodStatus status) {
+    return KUBE_POD_INFO.namespace() + "/" + KUBE_POD_INFO.name() + "/" + status.name();
+  }
+
+}
@@ -11,6 +11,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -52,4 +54,15 @@ class DockerComposeDocumentStoreClientTest {
     assertFalse(emptyResponseAfterDeletion.isPresent());
   }
 
+  @Test
+  void testDeleteOlderThan() {
+    client.write(KEY, DOCUMENT);
+
+    assertEquals(0, client.deleteOlderThan(Instant.now().minus(Duration.ofDays(1))));
+    assertTrue(client.read(KEY).isPresent());
+
+    assertEquals(1, client.deleteOlderThan(Instant.now().plus(Duration.ofDays(1))));
+    assertFalse(client.read(KEY).isPresent());
+  }
+
 }
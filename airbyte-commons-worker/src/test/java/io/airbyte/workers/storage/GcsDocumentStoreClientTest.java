@@ -11,6 +11,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import com.google.cloud.storage.Storage;
 import com.google.cloud.storage.StorageOptions;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
@@ -57,4 +59,15 @@ class GcsDocumentStoreClientTest {
     assertFalse(emptyResponseAfterDeletion.isPresent());
   }
 
+  @Test
+  void testDeleteOlderThan() {
+    client.write(KEY, DOCUMENT);
+
+    assertEquals(0, client.deleteOlderThan(Instant.now().minus(Duration.ofDays(1))));
+    assertTrue(client.read(KEY).isPresent());
+
+    assertEquals(1, client.deleteOlderThan(Instant.now().plus(Duration.ofDays(1))));
+    assertFalse(client.read(KEY).isPresent());
+  }
+
 }
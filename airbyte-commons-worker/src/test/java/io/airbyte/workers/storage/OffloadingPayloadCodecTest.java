@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.airbyte.commons.temporal.TemporalUtils;
+import io.airbyte.commons.temporal.payload.CompressingPayloadCodec;
+import io.temporal.activity.ActivityInterface;
+import io.temporal.activity.ActivityMethod;
+import io.temporal.activity.ActivityOptions;
+import io.temporal.api.common.v1.Payload;
+import io.temporal.api.common.v1.Payloads;
+import io.temporal.api.common.v1.WorkflowExecution;
+import io.temporal.api.history.v1.HistoryEvent;
+import io.temporal.api.workflowservice.v1.GetWorkflowExecutionHistoryRequest;
+import io.temporal.client.WorkflowClient;
+import io.temporal.client.WorkflowClientOptions;
+import io.temporal.client.WorkflowOptions;
+import io.temporal.client.WorkflowStub;
+import io.temporal.common.converter.CodecDataConverter;
+import io.temporal.common.converter.DataConverter;
+import io.temporal.common.converter.DefaultDataConverter;
+import io.temporal.failure.ApplicationFailure;
+import io.temporal.testing.TestEnvironmentOptions;
+import io.temporal.testing.TestWorkflowEnvironment;
+import io.temporal.worker.Worker;
+import io.temporal.workflow.Workflow;
+import io.temporal.workflow.WorkflowInterface;
+import io.temporal.workflow.WorkflowMethod;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OffloadingPayloadCodecTest {
+
+  private static final String TASK_QUEUE = "default";
+  private static final int THRESHOLD_BYTES = 1024;
+  private static final String SMALL_INPUT = "small";
+  private static final String LARGE_INPUT = "large ".repeat(10_000);
+
+  private Path storageRoot;
+  private OffloadingPayloadCodec codec;
+
+  @BeforeEach
+  void setup() throws IOException {
+    storageRoot = Files.createTempDirectory(Path.of("/tmp"), "offloaded_payloads");
+    codec = new OffloadingPayloadCodec(new DockerComposeDocumentStoreClient(storageRoot), THRESHOLD_BYTES);
+  }
+
+  @Test
+  void testOnlyLargePayloadsAreOffloaded() throws IOException {
+    final Payload small = DefaultDataConverter.STANDARD_INSTANCE.toPayload(SMALL_INPUT).orElseThrow();
+    final Payload large = DefaultDataConverter.STANDARD_INSTANCE.toPayload(LARGE_INPUT).orElseThrow();
+
+    final List<Payload> encoded = codec.encode(List.of(small, large, large));
+
+    assertEquals(small, encoded.get(0));
+    assertEquals(OffloadingPayloadCodec.ENCODING, encoded.get(1).getMetadataOrThrow(OffloadingPayloadCodec.METADATA_ENCODING_KEY));
+    assertTrue(encoded.get(1).getSerializedSize() < THRESHOLD_BYTES);
+    // the same payload is stored once
+    assertEquals(encoded.get(1), encoded.get(2));
+    try (final var documents = Files.list(storageRoot.resolve("document_store"))) {
+      assertEquals(1, documents.count());
+    }
+    assertEquals(List.of(small, large, large), codec.decode(encoded));
+  }
+
+  @Test
+  void testPayloadsAreCompressedBeforeBeingOffloaded() {
+    final DataConverter dataConverter = new CodecDataConverter(DefaultDataConverter.newDefaultInstance(),
+        List.of(codec, new CompressingPayloadCodec(THRESHOLD_BYTES / 2)));
+    final byte[] randomBytes = new byte[THRESHOLD_BYTES * 4];
+    new Random(0).nextBytes(randomBytes);
+    final String incompressibleInput = Base64.getEncoder().encodeToString(randomBytes);
+
+    final Payloads compressed = dataConverter.toPayloads(LARGE_INPUT).orElseThrow();
+    final Payloads offloaded = dataConverter.toPayloads(incompressibleInput).orElseThrow();
+
+    assertTrue(compressed.getPayloads(0).getSerializedSize() < THRESHOLD_BYTES);
+    assertNotEquals(OffloadingPayloadCodec.ENCODING, compressed.getPayloads(0).getMetadataOrThrow(OffloadingPayloadCodec.METADATA_ENCODING_KEY));
+    assertEquals(OffloadingPayloadCodec.ENCODING, offloaded.getPayloads(0).getMetadataOrThrow(OffloadingPayloadCodec.METADATA_ENCODING_KEY));
+    assertEquals(LARGE_INPUT, dataConverter.fromPayloads(0, Optional.of(compressed), String.class, String.class));
+    assertEquals(incompressibleInput, dataConverter.fromPayloads(0, Optional.of(offloaded), String.class, String.class));
+  }
+
+  @Test
+  void testMissingOffloadedPayloadFails() {
+    final Payload large = DefaultDataConverter.STANDARD_INSTANCE.toPayload(LARGE_INPUT).orElseThrow();
+    final List<Payload> encoded = codec.encode(List.of(large));
+
+    final OffloadingPayloadCodec otherStoreCodec = new OffloadingPayloadCodec(new DockerComposeDocumentStoreClient(storageRoot.resolve("other")),
+        THRESHOLD_BYTES);
+    final ApplicationFailure failure = assertThrows(ApplicationFailure.class, () -> otherStoreCodec.decode(encoded));
+    assertTrue(failure.isNonRetryable());
+    assertEquals(OffloadingPayloadCodec.MISSING_PAYLOAD_FAILURE_TYPE, failure.getType());
+  }
+
+  @Test
+  void testWorkflowPayloadsAreOffloaded() throws IOException {
+    final TestWorkflowEnvironment testEnv = TestWorkflowEnvironment.newInstance(TestEnvironmentOptions.newBuilder()
+        .setWorkflowClientOptions(WorkflowClientOptions.newBuilder()
+            .setDataConverter(new CodecDataConverter(DefaultDataConverter.newDefaultInstance(), List.of(codec)))
+            .build())
+        .build());
+    try {
+      final Worker worker = testEnv.newWorker(TASK_QUEUE);
+      worker.registerWorkflowImplementationTypes(EchoWorkflow.WorkflowImpl.class);
+      worker.registerActivitiesImplementations(new EchoWorkflow.EchoActivityImpl());
+      testEnv.start();
+
+      final WorkflowClient client = testEnv.getWorkflowClient();
+      final EchoWorkflow workflow = client.newWorkflowStub(EchoWorkflow.class, WorkflowOptions.newBuilder().setTaskQueue(TASK_QUEUE).build());
+      final WorkflowExecution execution = WorkflowClient.start(workflow::run, LARGE_INPUT);
+
+      assertEquals(LARGE_INPUT, WorkflowStub.fromTyped(workflow).getResult(String.class));
+
+      final List<HistoryEvent> history = testEnv.getWorkflowService().blockingStub()
+          .getWorkflowExecutionHistory(GetWorkflowExecutionHistoryRequest.newBuilder()
+              .setNamespace(testEnv.getNamespace())
+              .setExecution(execution)
+              .build())
+          .getHistory()
+          .getEventsList();
+      final List<Payload> historyPayloads = history.stream()
+          .flatMap(event -> {
+            if (event.hasWorkflowExecutionStartedEventAttributes()) {
+              return event.getWorkflowExecutionStartedEventAttributes().getInput().getPayloadsList().stream();
+            } else if (event.hasActivityTaskScheduledEventAttributes()) {
+              return event.getActivityTaskScheduledEventAttributes().getInput().getPayloadsList().stream();
+            } else if (event.hasActivityTaskCompletedEventAttributes()) {
+              return event.getActivityTaskCompletedEventAttributes().getResult().getPayloadsList().stream();
+            } else if (event.hasWorkflowExecutionCompletedEventAttributes()) {
+              return event.getWorkflowExecutionCompletedEventAttributes().getResult().getPayloadsList().stream();
+            }
+            return Stream.empty();
+          })
+          .toList();
+
+      assertEquals(4, historyPayloads.size());
+      for (final Payload payload : historyPayloads) {
+        assertEquals(OffloadingPayloadCodec.ENCODING, payload.getMetadataOrThrow(OffloadingPayloadCodec.METADATA_ENCODING_KEY));
+        assertTrue(payload.getSerializedSize() < THRESHOLD_BYTES);
+      }
+      // the input, the activity input and result, and the workflow result are the same payload
+      try (final var documents = Files.list(storageRoot.resolve("document_store"))) {
+        assertEquals(1, documents.count());
+      }
+    } finally {
+      testEnv.close();
+    }
+  }
+
+  @WorkflowInterface
+  public interface EchoWorkflow {
+
+    @WorkflowMethod
+    String run(String input);
+
+    class WorkflowImpl implements EchoWorkflow {
+
+      private final EchoActivity activity = Workflow.newActivityStub(EchoActivity.class, ActivityOptions.newBuilder()
+          .setStartToCloseTimeout(Duration.ofMinutes(1))
+          .setRetryOptions(TemporalUtils.NO_RETRY)
+          .build());
+
+      @Override
+      public String run(final String input) {
+        return activity.echo(input);
+      }
+
+    }
+
+    @ActivityInterface
+    interface EchoActivity {
+
+      @ActivityMethod
+      String echo(String input);
+
+    }
+
+    class EchoActivityImpl implements EchoActivity {
+
+      @Override
+      public String echo(final String input) {
+        return input;
+      }
+
+    }
+
+  }
+
+}
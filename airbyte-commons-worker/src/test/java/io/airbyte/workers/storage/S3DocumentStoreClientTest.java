@@ -9,6 +9,8 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
@@ -58,4 +60,15 @@ class S3DocumentStoreClientTest {
     assertFalse(emptyResponseAfterDeletion.isPresent());
   }
 
+  @Test
+  void testDeleteOlderThan() {
+    client.write(KEY, DOCUMENT);
+
+    assertEquals(0, client.deleteOlderThan(Instant.now().minus(Duration.ofDays(1))));
+    assertTrue(client.read(KEY).isPresent());
+
+    assertEquals(1, client.deleteOlderThan(Instant.now().plus(Duration.ofDays(1))));
+    assertFalse(client.read(KEY).isPresent());
+  }
+
 }
@@ -35,6 +35,10 @@ public class EnvVariableFeatureFlags implements FeatureFlags {
   public static final String STRICT_COMPARISON_NORMALIZATION_WORKSPACES = "STRICT_COMPARISON_NORMALIZATION_WORKSPACES";
   public static final String STRICT_COMPARISON_NORMALIZATION_TAG = "STRICT_COMPARISON_NORMALIZATION_TAG";
 
+  public static final String BACKGROUND_VALIDATION_SAMPLE_RATE = "BACKGROUND_VALIDATION_SAMPLE_RATE";
+  // each sampled record is copied for validation, so only sample a few records of each stream
+  private static final int DEFAULT_BACKGROUND_VALIDATION_SAMPLE_RATE = 100;
+
   @Override
   public boolean autoDisablesFailingConnections() {
     log.info("Auto Disable Failing Connections: " + Boolean.parseBoolean(System.getenv("AUTO_DISABLE_FAILING_CONNECTIONS")));
@@ -98,6 +102,11 @@ public class EnvVariableFeatureFlags implements FeatureFlags {
     return getEnvOrDefault(STRICT_COMPARISON_NORMALIZATION_TAG, "strict_comparison2", (arg) -> arg);
   }
 
+  @Override
+  public int backgroundValidationSampleRate() {
+    return getEnvOrDefault(BACKGROUND_VALIDATION_SAMPLE_RATE, DEFAULT_BACKGROUND_VALIDATION_SAMPLE_RATE, Integer::parseInt);
+  }
+
   /**
    * Get env variable.
    *
@@ -59,4 +59,12 @@ public interface FeatureFlags {
    */
   String strictComparisonNormalizationTag();
 
+  /**
+   * Get the sample rate used when record schema validation runs in the background. Only one out of
+   * every sample rate records of each stream is validated.
+   *
+   * @return the background record schema validation sample rate, 1 validates every record
+   */
+  int backgroundValidationSampleRate();
+
 }
@@ -14,6 +14,11 @@ import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,11 +26,29 @@ import org.slf4j.MDC;
 
 /**
  * Abstraction to consume an {@link InputStream} to completion.
+ * <p>
+ * All gobblers of a process share one executor. When the JVM supports virtual threads, each gobbler
+ * runs on its own virtual thread, which holds no platform thread while it waits for its stream, so
+ * the number of platform threads does not grow with the number of streams being gobbled. Virtual
+ * threads are always daemon threads, so the JVM does not wait for their gobblers before it exits.
+ * <p>
+ * Otherwise gobblers run on a shared pool of platform threads, which are not daemon threads, as the
+ * thread of each gobbler used to be. Idle threads are reused, but a gobbler never waits for one: a
+ * gobbler that waited would leave the process writing to its stream blocked once the buffer of the
+ * stream is full, so the pool starts a new thread whenever none is idle. A warning is logged when
+ * more than {@value #ACTIVE_GOBBLER_WARNING_THRESHOLD} gobblers are running at once.
  */
 public class LineGobbler implements VoidCallable {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(LineGobbler.class);
   private static final String GENERIC = "generic";
+  private static final int ACTIVE_GOBBLER_WARNING_THRESHOLD = 512;
+  // idle threads are not daemon threads, they keep the JVM from exiting until they time out
+  private static final long IDLE_THREAD_KEEP_ALIVE_SECONDS = 5;
+
+  private static final ExecutorService EXECUTOR = createExecutor();
+  private static final AtomicInteger ACTIVE_GOBBLER_COUNT = new AtomicInteger();
+  private static final LongAdder GOBBLED_LINE_COUNT = new LongAdder();
 
   /**
    * Connect an input stream to be consumed by consumer.
@@ -68,10 +91,39 @@ public class LineGobbler implements VoidCallable {
    * @param mdcScopeBuilder mdc scope to be used during consumption
    */
   public static void gobble(final InputStream is, final Consumer<String> consumer, final String caller, final MdcScope.Builder mdcScopeBuilder) {
-    final ExecutorService executor = Executors.newSingleThreadExecutor();
     final Map<String, String> mdc = MDC.getCopyOfContextMap();
-    final var gobbler = new LineGobbler(is, consumer, executor, mdc, caller, mdcScopeBuilder);
-    executor.submit(gobbler);
+    final var gobbler = new LineGobbler(is, consumer, mdc, caller, mdcScopeBuilder);
+    EXECUTOR.submit(gobbler);
+  }
+
+  /**
+   * Number of gobblers currently consuming a stream in this process.
+   */
+  public static int getActiveGobblerCount() {
+    return ACTIVE_GOBBLER_COUNT.get();
+  }
+
+  /**
+   * Number of lines consumed by all the gobblers of this process since it started.
+   */
+  public static long getGobbledLineCount() {
+    return GOBBLED_LINE_COUNT.sum();
+  }
+
+  /**
+   * Virtual threads are only available from Java 21, which this code is not compiled against, so
+   * they are created through reflection when the running JVM has them.
+   */
+  private static ExecutorService createExecutor() {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (final ReflectiveOperationException e) {
+      LOGGER.debug("Virtual threads are not available, gobbling on platform threads.");
+    }
+    // a synchronous queue hands each gobbler to an idle thread or to a new one, it never queues them
+    final AtomicInteger threadCount = new AtomicInteger();
+    return new ThreadPoolExecutor(0, Integer.MAX_VALUE, IDLE_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new SynchronousQueue<>(),
+        runnable -> new Thread(runnable, "line-gobbler-" + threadCount.incrementAndGet()));
   }
 
   /**
@@ -105,35 +157,30 @@ public class LineGobbler implements VoidCallable {
 
   private final BufferedReader is;
   private final Consumer<String> consumer;
-  private final ExecutorService executor;
   private final Map<String, String> mdc;
   private final String caller;
   private final MdcScope.Builder containerLogMdcBuilder;
 
   LineGobbler(final InputStream is,
               final Consumer<String> consumer,
-              final ExecutorService executor,
               final Map<String, String> mdc) {
-    this(is, consumer, executor, mdc, GENERIC, MdcScope.DEFAULT_BUILDER);
+    this(is, consumer, mdc, GENERIC, MdcScope.DEFAULT_BUILDER);
   }
 
   LineGobbler(final InputStream is,
               final Consumer<String> consumer,
-              final ExecutorService executor,
               final Map<String, String> mdc,
               final MdcScope.Builder mdcScopeBuilder) {
-    this(is, consumer, executor, mdc, GENERIC, mdcScopeBuilder);
+    this(is, consumer, mdc, GENERIC, mdcScopeBuilder);
   }
 
   LineGobbler(final InputStream is,
               final Consumer<String> consumer,
-              final ExecutorService executor,
               final Map<String, String> mdc,
               final String caller,
               final MdcScope.Builder mdcScopeBuilder) {
     this.is = IOs.newBufferedReader(is);
     this.consumer = consumer;
-    this.executor = executor;
     this.mdc = mdc;
     this.caller = caller;
     this.containerLogMdcBuilder = mdcScopeBuilder;
@@ -141,6 +188,10 @@ public class LineGobbler implements VoidCallable {
 
   @Override
   public void voidCall() {
+    if (ACTIVE_GOBBLER_COUNT.incrementAndGet() == ACTIVE_GOBBLER_WARNING_THRESHOLD + 1) {
+      LOGGER.warn("More than {} line gobblers are running, each of them holds a thread unless virtual threads are available.",
+          ACTIVE_GOBBLER_WARNING_THRESHOLD);
+    }
     MDC.setContextMap(mdc);
     try {
       String line = is.readLine();
@@ -148,6 +199,7 @@ public class LineGobbler implements VoidCallable {
         try (final var mdcScope = containerLogMdcBuilder.build()) {
           consumer.accept(line);
         }
+        GOBBLED_LINE_COUNT.increment();
         line = is.readLine();
       }
     } catch (final IOException i) {
@@ -155,7 +207,9 @@ public class LineGobbler implements VoidCallable {
     } catch (final Exception e) {
       LOGGER.error("{} gobbler error when reading stream", caller, e);
     } finally {
-      executor.shutdown();
+      // the thread is reused by other gobblers
+      MDC.clear();
+      ACTIVE_GOBBLER_COUNT.decrementAndGet();
     }
   }
 
@@ -7,20 +7,26 @@ package io.airbyte.commons.json;
 import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.toMap;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.core.util.Separators;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.BinaryNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.base.Charsets;
 import com.google.common.base.Preconditions;
 import io.airbyte.commons.jackson.MoreMappers;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -45,6 +51,7 @@ public class Jsons {
   // Object Mapper is thread-safe
   private static final ObjectMapper OBJECT_MAPPER = MoreMappers.initMapper();
   private static final ObjectWriter OBJECT_WRITER = OBJECT_MAPPER.writer(new JsonPrettyPrinter());
+  private static final ObjectReader EXACT_READER = OBJECT_MAPPER.reader().with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
 
   /**
    * Serialize an object to a JSON string.
@@ -61,6 +68,23 @@ public class Jsons {
     }
   }
 
+  /**
+   * Serialize an object as UTF-8 encoded JSON directly to an OutputStream, without building an
+   * intermediate String. The stream is neither flushed nor closed.
+   *
+   * @param object to serialize
+   * @param outputStream to write the JSON to
+   * @param <T> type of object
+   * @throws IOException if writing to the stream fails
+   */
+  public static <T> void serialize(final T object, final OutputStream outputStream) throws IOException {
+    try (final JsonGenerator generator = OBJECT_MAPPER.getFactory().createGenerator(outputStream, JsonEncoding.UTF8)
+        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+        .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)) {
+      OBJECT_MAPPER.writeValue(generator, object);
+    }
+  }
+
   /**
    * Deserialize a JSON string to an object with a type.
    *
@@ -154,6 +178,40 @@ public class Jsons {
     }
   }
 
+  /**
+   * Deserialize UTF-8 encoded JSON bytes to a {@link JsonNode}. If not possible, return empty
+   * optional. The bytes are tokenized directly by a streaming parser, without being decoded to a
+   * String first.
+   *
+   * @param jsonBytes to deserialize
+   * @return JSON as JsonNode wrapped in an Optional. If deserialization fails, returns an empty
+   *         optional.
+   */
+  public static Optional<JsonNode> tryDeserialize(final byte[] jsonBytes) {
+    try {
+      return Optional.of(OBJECT_MAPPER.readTree(jsonBytes));
+    } catch (final Throwable e) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Same as {@link #tryDeserialize(byte[])}, but also returns an empty optional if the bytes contain
+   * anything but whitespace after the JSON value, i.e. only bytes that are exactly one JSON value are
+   * deserialized.
+   *
+   * @param jsonBytes to deserialize
+   * @return JSON as JsonNode wrapped in an Optional. If deserialization fails or the JSON value is
+   *         followed by other content, returns an empty optional.
+   */
+  public static Optional<JsonNode> tryDeserializeExact(final byte[] jsonBytes) {
+    try {
+      return Optional.of(EXACT_READER.readTree(jsonBytes));
+    } catch (final Throwable e) {
+      return Optional.empty();
+    }
+  }
+
   /**
    * Convert an object to {@link JsonNode}.
    *
@@ -274,14 +332,101 @@ public class Jsons {
   }
 
   /**
-   * Use string length as an estimation for byte size, because all ASCII characters are one byte long
-   * in UTF-8, and ASCII characters cover most of the use cases. To be more precise, we can convert
-   * the string to byte[] and use the length of the byte[]. However, this conversion is expensive in
-   * memory consumption. Given that the byte size of the serialized JSON is already an estimation of
-   * the actual size of the JSON object, using a cheap operation seems an acceptable compromise.
+   * Compute the size in bytes of the compact UTF-8 JSON serialization of a {@link JsonNode}. The
+   * size is computed by walking the tree, without serializing it, so this is cheap enough to be
+   * called on every record of a sync. Non-ASCII characters count for the number of bytes they are
+   * encoded to, so the size can be larger than the length of the serialized string.
    */
   public static int getEstimatedByteSize(final JsonNode jsonNode) {
-    return serialize(jsonNode).length();
+    return (int) Math.min(Integer.MAX_VALUE, getSerializedByteSize(jsonNode));
+  }
+
+  private static long getSerializedByteSize(final JsonNode jsonNode) {
+    switch (jsonNode.getNodeType()) {
+      case OBJECT -> {
+        // braces plus a comma between each field
+        long size = 2 + Math.max(0, jsonNode.size() - 1);
+        for (final Iterator<Entry<String, JsonNode>> it = jsonNode.fields(); it.hasNext();) {
+          final Entry<String, JsonNode> field = it.next();
+          // field name, colon and value
+          size += getQuotedStringByteSize(field.getKey()) + 1 + getSerializedByteSize(field.getValue());
+        }
+        return size;
+      }
+      case ARRAY -> {
+        // brackets plus a comma between each element
+        long size = 2 + Math.max(0, jsonNode.size() - 1);
+        for (final JsonNode element : jsonNode) {
+          size += getSerializedByteSize(element);
+        }
+        return size;
+      }
+      case STRING -> {
+        return getQuotedStringByteSize(jsonNode.textValue());
+      }
+      case NUMBER -> {
+        if (jsonNode.isIntegralNumber() && jsonNode.canConvertToLong()) {
+          return getDigitCount(jsonNode.longValue());
+        } else if (jsonNode.isBigDecimal()) {
+          return jsonNode.decimalValue().toPlainString().length();
+        }
+        return jsonNode.asText().length();
+      }
+      case BOOLEAN -> {
+        return jsonNode.booleanValue() ? 4 : 5;
+      }
+      case NULL, MISSING -> {
+        return 4;
+      }
+      case BINARY -> {
+        // base64 encoded and quoted
+        final int length = ((BinaryNode) jsonNode).binaryValue().length;
+        return 4L * ((length + 2) / 3) + 2;
+      }
+      default -> {
+        return serialize(jsonNode).getBytes(Charsets.UTF_8).length;
+      }
+    }
+  }
+
+  private static long getQuotedStringByteSize(final String value) {
+    long size = 2;
+    final int length = value.length();
+    int i = 0;
+    while (i < length) {
+      final char c = value.charAt(i);
+      i++;
+      if (c == '"' || c == '\\' || c == '\b' || c == '\t' || c == '\n' || c == '\f' || c == '\r') {
+        size += 2;
+      } else if (c < 0x20) {
+        // other control characters are written as unicode escapes
+        size += 6;
+      } else if (c < 0x80) {
+        size += 1;
+      } else if (c < 0x800) {
+        size += 2;
+      } else if (Character.isHighSurrogate(c) && i < length && Character.isLowSurrogate(value.charAt(i))) {
+        // a surrogate pair is a single 4 bytes code point
+        size += 4;
+        i++;
+      } else {
+        size += 3;
+      }
+    }
+    return size;
+  }
+
+  private static int getDigitCount(final long value) {
+    if (value == Long.MIN_VALUE) {
+      return 20;
+    }
+    int digits = value < 0 ? 2 : 1;
+    long remaining = Math.abs(value);
+    while (remaining >= 10) {
+      remaining /= 10;
+      digits++;
+    }
+    return digits;
   }
 
   /**
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.logging;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Finds whether a text contains any of a set of keywords, in a single pass over the text whatever
+ * the number of keywords, using an Aho-Corasick automaton.
+ * <p>
+ * Like a case insensitive regular expression without {@link java.util.regex.Pattern#UNICODE_CASE},
+ * matching ignores the case of US-ASCII letters only.
+ */
+final class AhoCorasickMatcher {
+
+  private static final int ASCII_SIZE = 128;
+  private static final int ROOT = 0;
+  private static final int NO_STATE = -1;
+  private static final int NO_COLUMN = -1;
+
+  // characters of the keywords -> column of the transition table, characters that do not appear in
+  // any keyword have no column and always lead back to the root
+  private final int[] asciiColumns = new int[ASCII_SIZE];
+  private final Map<Character, Integer> otherColumns = new HashMap<>();
+  // state -> column -> next state, for every character of the keywords
+  private final int[][] transitions;
+  // whether a keyword ends at the state
+  private final boolean[] matches;
+
+  AhoCorasickMatcher(final Collection<String> keywords) {
+    Arrays.fill(asciiColumns, NO_COLUMN);
+    int columnCount = 0;
+    for (final String keyword : keywords) {
+      for (int i = 0; i < keyword.length(); i++) {
+        final char c = toLowerCaseAscii(keyword.charAt(i));
+        if (getColumn(c) == NO_COLUMN) {
+          if (c < ASCII_SIZE) {
+            asciiColumns[c] = columnCount++;
+          } else {
+            otherColumns.put(c, columnCount++);
+          }
+        }
+      }
+    }
+
+    // trie of the keywords
+    final List<int[]> trie = new ArrayList<>();
+    final List<Boolean> keywordEnds = new ArrayList<>();
+    trie.add(newState(columnCount));
+    keywordEnds.add(false);
+    for (final String keyword : keywords) {
+      int state = ROOT;
+      for (int i = 0; i < keyword.length(); i++) {
+        final int column = getColumn(toLowerCaseAscii(keyword.charAt(i)));
+        if (trie.get(state)[column] == NO_STATE) {
+          trie.get(state)[column] = trie.size();
+          trie.add(newState(columnCount));
+          keywordEnds.add(false);
+        }
+        state = trie.get(state)[column];
+      }
+      keywordEnds.set(state, true);
+    }
+
+    // turn the trie into a deterministic automaton by following failure links breadth first, so that
+    // scanning a text takes a single table lookup per character
+    transitions = trie.toArray(new int[0][]);
+    matches = new boolean[transitions.length];
+    final int[] failures = new int[transitions.length];
+    final Queue<Integer> queue = new ArrayDeque<>();
+    matches[ROOT] = keywordEnds.get(ROOT);
+    for (int column = 0; column < columnCount; column++) {
+      final int child = transitions[ROOT][column];
+      if (child == NO_STATE) {
+        transitions[ROOT][column] = ROOT;
+      } else {
+        failures[child] = ROOT;
+        queue.add(child);
+      }
+    }
+    while (!queue.isEmpty()) {
+      final int state = queue.remove();
+      matches[state] = keywordEnds.get(state) || matches[failures[state]];
+      for (int column = 0; column < columnCount; column++) {
+        final int child = transitions[state][column];
+        if (child == NO_STATE) {
+          transitions[state][column] = transitions[failures[state]][column];
+        } else {
+          failures[child] = transitions[failures[state]][column];
+          queue.add(child);
+        }
+      }
+    }
+  }
+
+  /**
+   * Whether the text contains any of the keywords.
+   */
+  boolean containsAny(final CharSequence text) {
+    if (matches[ROOT]) {
+      // the empty keyword
+      return true;
+    }
+    int state = ROOT;
+    for (int i = 0; i < text.length(); i++) {
+      final int column = getColumn(toLowerCaseAscii(text.charAt(i)));
+      state = column == NO_COLUMN ? ROOT : transitions[state][column];
+      if (matches[state]) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private int getColumn(final char c) {
+    if (c < ASCII_SIZE) {
+      return asciiColumns[c];
+    }
+    return otherColumns.isEmpty() ? NO_COLUMN : otherColumns.getOrDefault(c, NO_COLUMN);
+  }
+
+  private static int[] newState(final int columnCount) {
+    final int[] state = new int[columnCount];
+    Arrays.fill(state, NO_STATE);
+    return state;
+  }
+
+  private static char toLowerCaseAscii(final char c) {
+    return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+  }
+
+}
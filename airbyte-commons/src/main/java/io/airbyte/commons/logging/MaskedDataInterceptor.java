@@ -7,6 +7,7 @@ package io.airbyte.commons.logging;
 import static io.airbyte.commons.constants.AirbyteCatalogConstants.LOCAL_SECRETS_MASKS_PATH;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.common.annotations.VisibleForTesting;
 import io.airbyte.commons.constants.AirbyteSecretConstants;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.commons.yaml.Yamls;
@@ -14,6 +15,8 @@ import java.nio.charset.Charset;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.Logger;
@@ -42,10 +45,18 @@ public class MaskedDataInterceptor implements RewritePolicy {
 
   protected static final Logger logger = StatusLogger.getLogger();
 
+  private static final String MASK_REPLACEMENT = "\"$1\":\"" + AirbyteSecretConstants.SECRETS_MASK + "\"";
+
   /**
    * The pattern used to determine if a message contains sensitive data.
    */
-  private final Optional<String> pattern;
+  private final Optional<Pattern> pattern;
+
+  /**
+   * Finds the quoted maskable properties in a message, so that messages that cannot match the pattern
+   * are not run through it.
+   */
+  private final Optional<AhoCorasickMatcher> maskablePropertyMatcher;
 
   @PluginFactory
   public static MaskedDataInterceptor createPolicy(
@@ -55,17 +66,33 @@ public class MaskedDataInterceptor implements RewritePolicy {
   }
 
   private MaskedDataInterceptor(final String specMaskFile) {
-    this.pattern = buildPattern(specMaskFile);
+    this(getMaskableProperties(specMaskFile));
+  }
+
+  @VisibleForTesting
+  MaskedDataInterceptor(final Set<String> maskableProperties) {
+    this.pattern = buildPattern(maskableProperties);
+    this.maskablePropertyMatcher = maskableProperties.isEmpty()
+        ? Optional.empty()
+        : Optional.of(new AhoCorasickMatcher(maskableProperties.stream().map(property -> "\"" + property + "\"").toList()));
   }
 
+  /**
+   * Masks the maskable properties of the message. The event is returned untouched if the message
+   * holds no maskable property.
+   */
   @Override
   public LogEvent rewrite(final LogEvent source) {
+    final Optional<String> maskedMessage = applyMask(source.getMessage().getFormattedMessage());
+    if (maskedMessage.isEmpty()) {
+      return source;
+    }
     return Log4jLogEvent.newBuilder()
         .setLoggerName(source.getLoggerName())
         .setMarker(source.getMarker())
         .setLoggerFqcn(source.getLoggerFqcn())
         .setLevel(source.getLevel())
-        .setMessage(new SimpleMessage(applyMask(source.getMessage().getFormattedMessage())))
+        .setMessage(new SimpleMessage(maskedMessage.get()))
         .setThrown(source.getThrown())
         .setContextMap(source.getContextMap())
         .setContextStack(source.getContextStack())
@@ -79,14 +106,14 @@ public class MaskedDataInterceptor implements RewritePolicy {
    * Applies the mask to the message, if necessary.
    *
    * @param message The log message.
-   * @return The possibly masked log message.
+   * @return The masked log message, or empty if there was nothing to mask.
    */
-  private String applyMask(final String message) {
-    if (pattern.isPresent()) {
-      return message.replaceAll(pattern.get(), "\"$1\":\"" + AirbyteSecretConstants.SECRETS_MASK + "\"");
-    } else {
-      return message;
+  private Optional<String> applyMask(final String message) {
+    if (pattern.isEmpty() || message == null || !maskablePropertyMatcher.get().containsAny(message)) {
+      return Optional.empty();
     }
+    final Matcher matcher = pattern.get().matcher(message);
+    return matcher.find() ? Optional.of(matcher.replaceAll(MASK_REPLACEMENT)) : Optional.empty();
   }
 
   /**
@@ -95,10 +122,10 @@ public class MaskedDataInterceptor implements RewritePolicy {
    * @param specMaskFile The spec mask file.
    * @return The set of maskable properties.
    */
-  private Set<String> getMaskableProperties(final String specMaskFile) {
+  private static Set<String> getMaskableProperties(final String specMaskFile) {
     logger.info("Loading mask data from '{}", specMaskFile);
     try {
-      final String maskFileContents = IOUtils.toString(getClass().getResourceAsStream(specMaskFile), Charset.defaultCharset());
+      final String maskFileContents = IOUtils.toString(MaskedDataInterceptor.class.getResourceAsStream(specMaskFile), Charset.defaultCharset());
       final Map<String, Set<String>> properties = Jsons.object(Yamls.deserialize(maskFileContents), new TypeReference<>() {});
       return properties.getOrDefault("properties", Set.of());
     } catch (final Exception e) {
@@ -108,14 +135,14 @@ public class MaskedDataInterceptor implements RewritePolicy {
   }
 
   /**
-   * Builds the maskable property matching pattern.
+   * Builds the maskable property matching pattern. It is compiled once, rather than every time a
+   * message is masked.
    *
-   * @param specMaskFile The spec mask file.
+   * @param maskableProperties The maskable properties.
    * @return The regular expression pattern used to find maskable properties.
    */
-  private Optional<String> buildPattern(final String specMaskFile) {
-    final Set<String> maskableProperties = getMaskableProperties(specMaskFile);
-    return !maskableProperties.isEmpty() ? Optional.of(generatePattern(maskableProperties)) : Optional.empty();
+  private static Optional<Pattern> buildPattern(final Set<String> maskableProperties) {
+    return !maskableProperties.isEmpty() ? Optional.of(Pattern.compile(generatePattern(maskableProperties))) : Optional.empty();
   }
 
   /**
@@ -124,11 +151,12 @@ public class MaskedDataInterceptor implements RewritePolicy {
    * @param properties The set of properties to match.
    * @return The generated regular expression pattern used to match the maskable properties.
    */
-  private String generatePattern(final Set<String> properties) {
+  private static String generatePattern(final Set<String> properties) {
     final StringBuilder builder = new StringBuilder();
     builder.append("(?i)"); // case insensitive
     builder.append("\"(");
-    builder.append(properties.stream().collect(Collectors.joining("|")));
+    // properties are matched literally, like the matcher that filters the messages does
+    builder.append(properties.stream().map(Pattern::quote).collect(Collectors.joining("|")));
     builder.append(")\"\\s*:\\s*(\"(?:[^\"\\\\]|\\\\.)*\"|\\[[^]\\[]*]|\\d+)");
     return builder.toString();
   }
@@ -4,19 +4,29 @@
 
 package io.airbyte.commons.io;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 
 import com.google.common.collect.ImmutableMap;
-import com.google.common.util.concurrent.MoreExecutors;
+import io.airbyte.commons.logging.MdcScope;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
 import java.nio.charset.StandardCharsets;
-import java.util.concurrent.ExecutorService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.slf4j.MDC;
 
 class LineGobblerTest {
 
@@ -25,40 +35,73 @@ class LineGobblerTest {
   void readAllLines() {
     final Consumer<String> consumer = Mockito.mock(Consumer.class);
     final InputStream is = new ByteArrayInputStream("test\ntest2\n".getBytes(StandardCharsets.UTF_8));
-    final ExecutorService executor = spy(MoreExecutors.newDirectExecutorService());
+    final long gobbledLineCount = LineGobbler.getGobbledLineCount();
 
-    executor.submit(new LineGobbler(is, consumer, executor, ImmutableMap.of()));
+    new LineGobbler(is, consumer, ImmutableMap.of()).voidCall();
 
     Mockito.verify(consumer).accept("test");
     Mockito.verify(consumer).accept("test2");
-    Mockito.verify(executor).shutdown();
+    assertTrue(LineGobbler.getGobbledLineCount() >= gobbledLineCount + 2);
   }
 
   @Test
   @SuppressWarnings("unchecked")
-  void shutdownOnSuccess() {
+  void stopsOnError() {
     final Consumer<String> consumer = Mockito.mock(Consumer.class);
+    Mockito.doThrow(RuntimeException.class).when(consumer).accept(anyString());
     final InputStream is = new ByteArrayInputStream("test\ntest2\n".getBytes(StandardCharsets.UTF_8));
-    final ExecutorService executor = spy(MoreExecutors.newDirectExecutorService());
 
-    executor.submit(new LineGobbler(is, consumer, executor, ImmutableMap.of()));
+    new LineGobbler(is, consumer, ImmutableMap.of()).voidCall();
 
-    Mockito.verify(consumer, Mockito.times(2)).accept(anyString());
-    Mockito.verify(executor).shutdown();
+    verify(consumer).accept(anyString());
   }
 
   @Test
-  @SuppressWarnings("unchecked")
-  void shutdownOnError() {
-    final Consumer<String> consumer = Mockito.mock(Consumer.class);
-    Mockito.doThrow(RuntimeException.class).when(consumer).accept(anyString());
-    final InputStream is = new ByteArrayInputStream("test\ntest2\n".getBytes(StandardCharsets.UTF_8));
-    final ExecutorService executor = spy(MoreExecutors.newDirectExecutorService());
+  void gobbleOnSharedExecutorWithCallerMdc() throws InterruptedException {
+    final List<String> lines = new CopyOnWriteArrayList<>();
+    final List<String> mdcValues = new CopyOnWriteArrayList<>();
+    final CountDownLatch done = new CountDownLatch(2);
+    final Consumer<String> consumer = line -> {
+      lines.add(line);
+      mdcValues.add(MDC.get("job_id"));
+      done.countDown();
+    };
 
-    executor.submit(new LineGobbler(is, consumer, executor, ImmutableMap.of()));
+    MDC.setContextMap(Map.of("job_id", "1"));
+    try {
+      LineGobbler.gobble(new ByteArrayInputStream("test\ntest2\n".getBytes(StandardCharsets.UTF_8)), consumer, "test", MdcScope.DEFAULT_BUILDER);
+    } finally {
+      MDC.clear();
+    }
 
-    verify(consumer).accept(anyString());
-    Mockito.verify(executor).shutdown();
+    assertTrue(done.await(10, TimeUnit.SECONDS));
+    assertEquals(List.of("test", "test2"), lines);
+    assertEquals(List.of("1", "1"), mdcValues);
+    assertNull(MDC.get("job_id"));
+  }
+
+  @Test
+  void gobblersNeverWaitForEachOther() throws Exception {
+    // more gobblers than the platform thread pool used to hold, each blocked on its stream
+    final int gobblerCount = 600;
+    final CountDownLatch started = new CountDownLatch(gobblerCount);
+    final List<PipedOutputStream> outputs = new ArrayList<>();
+    try {
+      for (int i = 0; i < gobblerCount; i++) {
+        final PipedOutputStream output = new PipedOutputStream();
+        outputs.add(output);
+        LineGobbler.gobble(new PipedInputStream(output), line -> started.countDown(), "test", MdcScope.DEFAULT_BUILDER);
+        output.write("started\n".getBytes(StandardCharsets.UTF_8));
+        output.flush();
+      }
+
+      assertTrue(started.await(30, TimeUnit.SECONDS));
+      assertTrue(LineGobbler.getActiveGobblerCount() >= gobblerCount);
+    } finally {
+      for (final PipedOutputStream output : outputs) {
+        output.close();
+      }
+    }
   }
 
 }
@@ -260,6 +260,14 @@ class JsonsTest {
     assertEquals(Jsons.toBytes(json).length, Jsons.getEstimatedByteSize(json));
   }
 
+  @Test
+  void testGetEstimatedByteSizeMatchesSerializedSize() {
+    final JsonNode json = Jsons.deserialize(
+        "{\"escaped\":\"line\\n\\\"quoted\\\" \\u0001\",\"unicode\":\"\u00fc\u20ac\\ud83d\\ude00\",\"int\":-12345,"
+            + "\"decimal\":1.5e-7,\"bool\":false,\"null\":null,\"nested\":{\"empty_array\":[],\"empty_object\":{}}}");
+    assertEquals(Jsons.toBytes(json).length, Jsons.getEstimatedByteSize(json));
+  }
+
   @Test
   void testFlatten__noArrays() {
     final JsonNode json = Jsons.deserialize("{ \"abc\": { \"def\": \"ghi\" }, \"jkl\": true, \"pqr\": 1 }");
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.logging;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class AhoCorasickMatcherTest {
+
+  @Test
+  void testContainsAny() {
+    final AhoCorasickMatcher matcher = new AhoCorasickMatcher(List.of("he", "she", "his", "hers", "\"p\u00e4ssword\""));
+
+    assertTrue(matcher.containsAny("ushers"));
+    assertTrue(matcher.containsAny("this"));
+    assertTrue(matcher.containsAny("ahishe"));
+    assertTrue(matcher.containsAny("{\"p\u00e4ssword\":\"x\"}"));
+    assertFalse(matcher.containsAny(""));
+    assertFalse(matcher.containsAny("hi s"));
+    assertFalse(matcher.containsAny("{\"password\":\"x\"}"));
+  }
+
+  @Test
+  void testOverlappingKeywordsAreFoundThroughFailureLinks() {
+    final AhoCorasickMatcher matcher = new AhoCorasickMatcher(List.of("abcd", "bc"));
+
+    assertTrue(matcher.containsAny("abce"));
+    assertFalse(matcher.containsAny("abdc"));
+  }
+
+  @Test
+  void testCaseOfAsciiLettersIsIgnored() {
+    final AhoCorasickMatcher matcher = new AhoCorasickMatcher(List.of("Api_Key", "\u00c4B"));
+
+    assertTrue(matcher.containsAny("my API_KEY"));
+    assertTrue(matcher.containsAny("my api_key"));
+    assertTrue(matcher.containsAny("\u00c4b"));
+    // like a regular expression without unicode case, non ascii letters are compared as is
+    assertFalse(matcher.containsAny("\u00e4b"));
+  }
+
+  @Test
+  void testNoKeywords() {
+    assertFalse(new AhoCorasickMatcher(List.of()).containsAny("anything"));
+    assertTrue(new AhoCorasickMatcher(List.of("")).containsAny("anything"));
+  }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.logging;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how many log events per second {@link MaskedDataInterceptor} rewrites, for log lines that
+ * hold a maskable property and for the much more common log lines that do not. The maskable
+ * properties are about as many as the ones of all the connector specs.
+ * <p>
+ * To use this, simply run the main method and compare the throughput reported for each benchmark.
+ */
+@SuppressWarnings("MissingJavadocType")
+@State(Scope.Benchmark)
+public class MaskedDataInterceptorPerformanceTest {
+
+  private static final int MASKABLE_PROPERTY_COUNT = 1500;
+
+  private MaskedDataInterceptor interceptor;
+  private LogEvent maskedEvent;
+  private LogEvent unmaskedEvent;
+
+  @Setup
+  public void setup() {
+    final Set<String> maskableProperties = new HashSet<>();
+    for (int i = 0; i < MASKABLE_PROPERTY_COUNT; i++) {
+      maskableProperties.add("secret_property_" + i);
+    }
+    interceptor = new MaskedDataInterceptor(maskableProperties);
+    maskedEvent = createEvent("Connector config: {\"host\":\"localhost\",\"port\":5432,\"secret_property_42\":\"hunter2\"}");
+    unmaskedEvent = createEvent("Records read: 125000 (130 MB) for stream {\"name\":\"users\",\"namespace\":\"public\"}");
+  }
+
+  private static LogEvent createEvent(final String message) {
+    return Log4jLogEvent.newBuilder()
+        .setLoggerName(MaskedDataInterceptorPerformanceTest.class.getName())
+        .setLevel(Level.INFO)
+        .setMessage(new SimpleMessage(message))
+        .setTimeMillis(System.currentTimeMillis())
+        .build();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  @Warmup(iterations = 2)
+  @Fork(1)
+  @Measurement(iterations = 5)
+  public LogEvent rewriteMaskedEvent() {
+    return interceptor.rewrite(maskedEvent);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  @Warmup(iterations = 2)
+  @Fork(1)
+  @Measurement(iterations = 5)
+  public LogEvent rewriteUnmaskedEvent() {
+    return interceptor.rewrite(unmaskedEvent);
+  }
+
+  public static void main(final String[] args) throws IOException {
+    // Run this main class to start benchmarking.
+    org.openjdk.jmh.Main.main(args);
+  }
+
+}
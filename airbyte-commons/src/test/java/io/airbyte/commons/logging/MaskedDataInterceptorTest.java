@@ -8,12 +8,14 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import io.airbyte.commons.constants.AirbyteSecretConstants;
 import io.airbyte.commons.json.Jsons;
+import java.util.Set;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.message.Message;
 import org.junit.jupiter.api.Test;
@@ -125,4 +127,31 @@ class MaskedDataInterceptorTest {
     });
   }
 
+  @Test
+  void testEventsWithoutMaskablePropertiesAreNotRewritten() {
+    final Message message = mock(Message.class);
+    final LogEvent logEvent = mock(LogEvent.class);
+    // the property names appear, but not as JSON properties
+    when(message.getFormattedMessage()).thenReturn("Reading foo and bar from {\"prop\":\"foo\"}");
+    when(logEvent.getMessage()).thenReturn(message);
+
+    final MaskedDataInterceptor interceptor = MaskedDataInterceptor.createPolicy(TEST_SPEC_SECRET_MASK_YAML);
+
+    assertSame(logEvent, interceptor.rewrite(logEvent));
+  }
+
+  @Test
+  void testMaskingIgnoresCaseAndMatchesPropertiesLiterally() {
+    final Message message = mock(Message.class);
+    final LogEvent logEvent = mock(LogEvent.class);
+    when(message.getFormattedMessage()).thenReturn("{\"API.Key\":\"secret\",\"apiXkey\":\"visible\"}");
+    when(logEvent.getMessage()).thenReturn(message);
+
+    final MaskedDataInterceptor interceptor = new MaskedDataInterceptor(Set.of("api.key"));
+
+    final JsonNode json = Jsons.deserialize(interceptor.rewrite(logEvent).getMessage().getFormattedMessage());
+    assertEquals(AirbyteSecretConstants.SECRETS_MASK, json.get("API.Key").asText());
+    assertEquals("visible", json.get("apiXkey").asText());
+  }
+
 }
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.config.helpers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads the last lines of a log stored as a sequence of objects, see {@link CloudLogs}. Objects are
+ * read newest first and from their end with ranged reads, and reading stops as soon as enough lines
+ * were found, so the beginning of large logs is never downloaded.
+ * <p>
+ * Each object holds whole lines: a line does not continue from one object to the next. Lines are
+ * separated by \n, a trailing \r is dropped, and a new line at the end of an object does not start
+ * an empty line.
+ */
+final class CloudLogTail {
+
+  static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+  private static final byte NEW_LINE = '\n';
+  private static final byte CARRIAGE_RETURN = '\r';
+  private static final byte[] EMPTY = new byte[0];
+
+  /**
+   * One object of a log.
+   */
+  interface LogObject {
+
+    long size();
+
+    /**
+     * Read length bytes starting at offset. The range is always within the object.
+     */
+    byte[] read(long offset, int length) throws IOException;
+
+  }
+
+  /**
+   * Called for each line found while scanning a log backwards, newest line first.
+   */
+  @FunctionalInterface
+  private interface LineVisitor {
+
+    /**
+     * @param objectIndex index of the object holding the line
+     * @param lineOffset offset of the line in its object
+     * @param buffer buffer holding the line
+     * @param from start of the line in the buffer
+     * @param to end of the line in the buffer, exclusive
+     * @return whether to keep scanning
+     */
+    boolean visit(int objectIndex, long lineOffset, byte[] buffer, int from, int to);
+
+  }
+
+  private final List<? extends LogObject> ascendingObjects;
+  private final int chunkSize;
+
+  /**
+   * @param ascendingObjects the objects of the log, oldest first
+   * @param chunkSize number of bytes read at once
+   */
+  CloudLogTail(final List<? extends LogObject> ascendingObjects, final int chunkSize) {
+    this.ascendingObjects = ascendingObjects;
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * Read the last lines of the log.
+   *
+   * @return up to numLines lines, oldest first
+   */
+  List<String> readLines(final int numLines) throws IOException {
+    final List<String> newestFirstLines = new ArrayList<>();
+    if (numLines > 0) {
+      scanBackwards((objectIndex, lineOffset, buffer, from, to) -> {
+        newestFirstLines.add(new String(buffer, from, to - from, StandardCharsets.UTF_8));
+        return newestFirstLines.size() < numLines;
+      });
+    }
+    Collections.reverse(newestFirstLines);
+    return newestFirstLines;
+  }
+
+  /**
+   * Pass the last lines of the log to the consumer, oldest first, without holding them all in memory.
+   * The log is first scanned backwards to find where the lines start, without decoding them, then
+   * read forwards from there, so the bytes of the lines are read twice.
+   */
+  void streamLines(final int numLines, final Consumer<String> lineConsumer) throws IOException {
+    if (numLines <= 0) {
+      return;
+    }
+    final TailStart start = new TailStart();
+    scanBackwards((objectIndex, lineOffset, buffer, from, to) -> {
+      start.objectIndex = objectIndex;
+      start.lineOffset = lineOffset;
+      return ++start.lineCount < numLines;
+    });
+    if (start.lineCount == 0) {
+      return;
+    }
+    for (int i = start.objectIndex; i < ascendingObjects.size(); i++) {
+      readForwards(ascendingObjects.get(i), i == start.objectIndex ? start.lineOffset : 0, lineConsumer);
+    }
+  }
+
+  private void scanBackwards(final LineVisitor visitor) throws IOException {
+    for (int objectIndex = ascendingObjects.size() - 1; objectIndex >= 0; objectIndex--) {
+      final LogObject object = ascendingObjects.get(objectIndex);
+      if (object.size() == 0) {
+        continue;
+      }
+      long chunkStart = object.size();
+      // start of the line being read, which ends in the bytes already read
+      byte[] carry = EMPTY;
+      // the new line at the end of an object does not start an empty line
+      boolean atObjectEnd = true;
+      while (chunkStart > 0) {
+        final int length = (int) Math.min(chunkSize, chunkStart);
+        chunkStart -= length;
+        final byte[] buffer = concat(object.read(chunkStart, length), carry);
+        int lineEnd = buffer.length;
+        for (int i = length - 1; i >= 0; i--) {
+          if (buffer[i] == NEW_LINE) {
+            if (!(atObjectEnd && i + 1 == lineEnd)
+                && !visitor.visit(objectIndex, chunkStart + i + 1, buffer, i + 1, stripCarriageReturn(buffer, i + 1, lineEnd))) {
+              return;
+            }
+            atObjectEnd = false;
+            lineEnd = i;
+          }
+        }
+        carry = lineEnd == buffer.length ? buffer : Arrays.copyOfRange(buffer, 0, lineEnd);
+      }
+      // the first line of the object
+      if (!(atObjectEnd && carry.length == 0) && !visitor.visit(objectIndex, 0, carry, 0, stripCarriageReturn(carry, 0, carry.length))) {
+        return;
+      }
+    }
+  }
+
+  private void readForwards(final LogObject object, final long offset, final Consumer<String> lineConsumer) throws IOException {
+    long position = offset;
+    byte[] carry = EMPTY;
+    while (position < object.size()) {
+      final int length = (int) Math.min(chunkSize, object.size() - position);
+      final byte[] buffer = concat(carry, object.read(position, length));
+      position += length;
+      int lineStart = 0;
+      for (int i = carry.length; i < buffer.length; i++) {
+        if (buffer[i] == NEW_LINE) {
+          lineConsumer.accept(new String(buffer, lineStart, stripCarriageReturn(buffer, lineStart, i) - lineStart, StandardCharsets.UTF_8));
+          lineStart = i + 1;
+        }
+      }
+      carry = Arrays.copyOfRange(buffer, lineStart, buffer.length);
+    }
+    if (carry.length > 0) {
+      lineConsumer.accept(new String(carry, 0, stripCarriageReturn(carry, 0, carry.length), StandardCharsets.UTF_8));
+    }
+  }
+
+  private static int stripCarriageReturn(final byte[] buffer, final int from, final int to) {
+    return to > from && buffer[to - 1] == CARRIAGE_RETURN ? to - 1 : to;
+  }
+
+  private static byte[] concat(final byte[] first, final byte[] second) {
+    if (first.length == 0) {
+      return second;
+    }
+    if (second.length == 0) {
+      return first;
+    }
+    final byte[] result = Arrays.copyOf(first, first.length + second.length);
+    System.arraycopy(second, 0, result, first.length, second.length);
+    return result;
+  }
+
+  private static final class TailStart {
+
+    private int objectIndex;
+    private long lineOffset;
+    private int lineCount;
+
+  }
+
+}
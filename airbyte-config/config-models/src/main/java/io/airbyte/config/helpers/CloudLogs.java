@@ -10,6 +10,7 @@ import io.airbyte.config.storage.MinioS3ClientFactory;
 import java.io.File;
 import java.io.IOException;
 import java.util.List;
+import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,6 +38,15 @@ public interface CloudLogs {
    */
   List<String> tailCloudLog(LogConfigs configs, String logPath, int numLines) throws IOException;
 
+  /**
+   * Same as {@link #tailCloudLog(LogConfigs, String, int)}, but pass the lines to the consumer, oldest
+   * first, as they are read rather than returning them all at once.
+   */
+  default void tailCloudLog(final LogConfigs configs, final String logPath, final int numLines, final Consumer<String> lineConsumer)
+      throws IOException {
+    tailCloudLog(configs, logPath, numLines).forEach(lineConsumer);
+  }
+
   void deleteLogs(LogConfigs configs, String logPath);
 
   /**
@@ -5,19 +5,20 @@
 package io.airbyte.config.helpers;
 
 import com.google.api.gax.paging.Page;
+import com.google.cloud.ReadChannel;
 import com.google.cloud.storage.Blob;
 import com.google.cloud.storage.Blob.BlobSourceOption;
 import com.google.cloud.storage.Storage;
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.Lists;
 import io.airbyte.commons.string.Strings;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -72,42 +73,32 @@ public class GcsLogs implements CloudLogs {
   @Override
   public List<String> tailCloudLog(final LogConfigs configs, final String logPath, final int numLines) throws IOException {
     LOGGER.debug("Tailing logs from GCS path: {}", logPath);
-    final Storage gcsClient = getOrCreateGcsClient();
+    final List<String> lines = getTail(getOrCreateGcsClient(), configs, logPath, CloudLogTail.DEFAULT_CHUNK_SIZE).readLines(numLines);
+    LOGGER.debug("Done retrieving GCS logs: {}.", logPath);
+    return lines;
+  }
 
-    LOGGER.debug("Start GCS list request.");
+  @Override
+  public void tailCloudLog(final LogConfigs configs, final String logPath, final int numLines, final Consumer<String> lineConsumer)
+      throws IOException {
+    LOGGER.debug("Streaming log tail from GCS path: {}", logPath);
+    getTail(getOrCreateGcsClient(), configs, logPath, CloudLogTail.DEFAULT_CHUNK_SIZE).streamLines(numLines, lineConsumer);
+    LOGGER.debug("Done streaming GCS logs: {}.", logPath);
+  }
 
+  @VisibleForTesting
+  static CloudLogTail getTail(final Storage gcsClient, final LogConfigs configs, final String logPath, final int chunkSize) {
+    LOGGER.debug("Start GCS list request.");
     final Page<Blob> blobs = gcsClient.list(
         configs.getStorageConfigs().getGcsConfig().getBucketName(),
         Storage.BlobListOption.prefix(logPath));
 
-    final var ascendingTimestampBlobs = new ArrayList<Blob>();
+    // Objects are returned in lexicographical order.
+    final var ascendingTimestampBlobs = new ArrayList<GcsLogObject>();
     for (final Blob blob : blobs.iterateAll()) {
-      ascendingTimestampBlobs.add(blob);
-    }
-    final var descendingTimestampBlobs = Lists.reverse(ascendingTimestampBlobs);
-
-    final var lines = new ArrayList<String>();
-    int linesRead = 0;
-
-    LOGGER.debug("Start getting GCS objects.");
-    while (linesRead <= numLines && !descendingTimestampBlobs.isEmpty()) {
-      final var poppedBlob = descendingTimestampBlobs.remove(0);
-      try (final var inMemoryData = new ByteArrayOutputStream()) {
-        poppedBlob.downloadTo(inMemoryData);
-        final var currFileLines = inMemoryData.toString(StandardCharsets.UTF_8).split("\n");
-        final List<String> currFileLinesReversed = Lists.reverse(List.of(currFileLines));
-        for (final var line : currFileLinesReversed) {
-          if (linesRead == numLines) {
-            break;
-          }
-          lines.add(0, line);
-          linesRead++;
-        }
-      }
+      ascendingTimestampBlobs.add(new GcsLogObject(blob));
     }
-
-    LOGGER.debug("Done retrieving GCS logs: {}.", logPath);
-    return lines;
+    return new CloudLogTail(ascendingTimestampBlobs, chunkSize);
   }
 
   @Override
@@ -130,4 +121,30 @@ public class GcsLogs implements CloudLogs {
     return gcs;
   }
 
+  /**
+   * A GCS blob read with ranged reads.
+   */
+  private record GcsLogObject(Blob blob) implements CloudLogTail.LogObject {
+
+    @Override
+    public long size() {
+      return blob.getSize();
+    }
+
+    @Override
+    public byte[] read(final long offset, final int length) throws IOException {
+      try (final ReadChannel reader = blob.reader()) {
+        reader.seek(offset);
+        reader.limit(offset + length);
+        final ByteBuffer buffer = ByteBuffer.allocate(length);
+        int bytesRead = 0;
+        while (buffer.hasRemaining() && bytesRead >= 0) {
+          bytesRead = reader.read(buffer);
+        }
+        return buffer.position() == length ? buffer.array() : Arrays.copyOf(buffer.array(), buffer.position());
+      }
+    }
+
+  }
+
 }
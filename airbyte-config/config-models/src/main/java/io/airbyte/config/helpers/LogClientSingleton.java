@@ -15,6 +15,7 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 import org.apache.commons.io.input.ReversedLinesFileReader;
 import org.apache.commons.lang3.NotImplementedException;
 import org.slf4j.Logger;
@@ -161,6 +162,35 @@ public class LogClientSingleton {
     return logClient.tailCloudLog(logConfigs, cloudLogPath, LOG_TAIL_SIZE);
   }
 
+  /**
+   * Tail log file, passing the lines to the consumer as they are read instead of returning them all
+   * at once.
+   *
+   * @param workerEnvironment environment of worker.
+   * @param logConfigs configuration for logs
+   * @param logPath log path
+   * @param lineConsumer consumer of the last lines in file, oldest first
+   * @throws IOException exception while accessing logs
+   */
+  public void streamJobLogFile(final WorkerEnvironment workerEnvironment,
+                               final LogConfigs logConfigs,
+                               final Path logPath,
+                               final Consumer<String> lineConsumer)
+      throws IOException {
+    if (logPath == null || logPath.equals(Path.of(""))) {
+      return;
+    }
+
+    if (shouldUseLocalLogs(workerEnvironment)) {
+      getTail(logPath, LOG_TAIL_SIZE).forEach(lineConsumer);
+      return;
+    }
+
+    final var cloudLogPath = sanitisePath(JOB_LOGGING_CLOUD_PREFIX, logPath);
+    createCloudClientIfNull(logConfigs);
+    logClient.tailCloudLog(logConfigs, cloudLogPath, LOG_TAIL_SIZE, lineConsumer);
+  }
+
   /**
    * Primarily to clean up logs after testing. Only valid for Kube logs.
    */
@@ -5,20 +5,16 @@
 package io.airbyte.config.helpers;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.Lists;
 import io.airbyte.commons.string.Strings;
 import io.airbyte.config.storage.CloudStorageConfigs;
 import io.airbyte.config.storage.CloudStorageConfigs.S3ApiWorkerStorageConfig;
 import io.airbyte.config.storage.CloudStorageConfigs.WorkerStorageType;
-import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
@@ -29,6 +25,7 @@ import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
 import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.S3Object;
 
 /**
  * S3 logs.
@@ -100,31 +97,27 @@ public class S3Logs implements CloudLogs {
   @Override
   public List<String> tailCloudLog(final LogConfigs configs, final String logPath, final int numLines) throws IOException {
     LOGGER.debug("Tailing logs from S3 path: {}", logPath);
-    final S3Client s3Client = getOrCreateS3Client();
+    final List<String> lines = getTail(getOrCreateS3Client(), configs, logPath, CloudLogTail.DEFAULT_CHUNK_SIZE).readLines(numLines);
+    LOGGER.debug("Done retrieving S3 logs: {}.", logPath);
+    return lines;
+  }
+
+  @Override
+  public void tailCloudLog(final LogConfigs configs, final String logPath, final int numLines, final Consumer<String> lineConsumer)
+      throws IOException {
+    LOGGER.debug("Streaming log tail from S3 path: {}", logPath);
+    getTail(getOrCreateS3Client(), configs, logPath, CloudLogTail.DEFAULT_CHUNK_SIZE).streamLines(numLines, lineConsumer);
+    LOGGER.debug("Done streaming S3 logs: {}.", logPath);
+  }
 
+  @VisibleForTesting
+  static CloudLogTail getTail(final S3Client s3Client, final LogConfigs configs, final String logPath, final int chunkSize) {
     final var s3Bucket = getBucketName(configs.getStorageConfigs());
     LOGGER.debug("Start making S3 list request.");
-    final List<String> ascendingTimestampKeys = getAscendingObjectKeys(s3Client, logPath, s3Bucket);
-    final var descendingTimestampKeys = Lists.reverse(ascendingTimestampKeys);
-
-    final var lines = new ArrayList<String>();
-    int linesRead = 0;
-
-    LOGGER.debug("Start getting S3 objects.");
-    while (linesRead <= numLines && !descendingTimestampKeys.isEmpty()) {
-      final var poppedKey = descendingTimestampKeys.remove(0);
-      final List<String> currFileLinesReversed = Lists.reverse(getCurrFile(s3Client, s3Bucket, poppedKey));
-      for (final var line : currFileLinesReversed) {
-        if (linesRead == numLines) {
-          break;
-        }
-        lines.add(0, line);
-        linesRead++;
-      }
-    }
-
-    LOGGER.debug("Done retrieving S3 logs: {}.", logPath);
-    return lines;
+    final List<S3LogObject> ascendingTimestampObjects = getAscendingObjects(s3Client, logPath, s3Bucket).stream()
+        .map(object -> new S3LogObject(s3Client, s3Bucket, object))
+        .toList();
+    return new CloudLogTail(ascendingTimestampObjects, chunkSize);
   }
 
   @Override
@@ -133,8 +126,8 @@ public class S3Logs implements CloudLogs {
     final S3Client s3Client = getOrCreateS3Client();
 
     final var s3Bucket = getBucketName(configs.getStorageConfigs());
-    final var keys = getAscendingObjectKeys(s3Client, logPath, s3Bucket)
-        .stream().map(key -> ObjectIdentifier.builder().key(key).build())
+    final var keys = getAscendingObjects(s3Client, logPath, s3Bucket)
+        .stream().map(object -> ObjectIdentifier.builder().key(object.key()).build())
         .collect(Collectors.toList());
     final Delete del = Delete.builder()
         .objects(keys)
@@ -155,36 +148,37 @@ public class S3Logs implements CloudLogs {
     return s3;
   }
 
-  private static List<String> getAscendingObjectKeys(final S3Client s3Client, final String logPath, final String s3Bucket) {
+  private static List<S3Object> getAscendingObjects(final S3Client s3Client, final String logPath, final String s3Bucket) {
     final var listObjReq = ListObjectsV2Request.builder().bucket(s3Bucket).prefix(logPath).build();
-    final var ascendingTimestampObjs = new ArrayList<String>();
+    final var ascendingTimestampObjs = new ArrayList<S3Object>();
 
     // Objects are returned in lexicographical order.
     for (final var page : s3Client.listObjectsV2Paginator(listObjReq)) {
-      for (final var objMetadata : page.contents()) {
-        ascendingTimestampObjs.add(objMetadata.key());
-      }
+      ascendingTimestampObjs.addAll(page.contents());
     }
     return ascendingTimestampObjs;
   }
 
-  private static List<String> getCurrFile(final S3Client s3Client, final String s3Bucket, final String poppedKey) throws IOException {
-    final var getObjReq = GetObjectRequest.builder()
-        .key(poppedKey)
-        .bucket(s3Bucket)
-        .build();
+  /**
+   * An S3 object read with ranged GETs.
+   */
+  private record S3LogObject(S3Client s3Client, String s3Bucket, S3Object object) implements CloudLogTail.LogObject {
 
-    final var data = s3Client.getObjectAsBytes(getObjReq).asByteArray();
-    final var is = new ByteArrayInputStream(data);
-    final var currentFileLines = new ArrayList<String>();
-    try (final var reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
-      String temp = reader.readLine();
-      while (temp != null) {
-        currentFileLines.add(temp);
-        temp = reader.readLine();
-      }
+    @Override
+    public long size() {
+      return object.size();
     }
-    return currentFileLines;
+
+    @Override
+    public byte[] read(final long offset, final int length) {
+      final var getObjReq = GetObjectRequest.builder()
+          .key(object.key())
+          .bucket(s3Bucket)
+          .range("bytes=" + offset + "-" + (offset + length - 1))
+          .build();
+      return s3Client.getObjectAsBytes(getObjReq).asByteArray();
+    }
+
   }
 
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.config.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class CloudLogTailTest {
+
+  /**
+   * Stands in for an object of a bucket, serving ranged reads from memory.
+   */
+  private static final class InMemoryLogObject implements CloudLogTail.LogObject {
+
+    private final byte[] content;
+    private final List<Long> readOffsets = new ArrayList<>();
+
+    private InMemoryLogObject(final String content) {
+      this.content = content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public long size() {
+      return content.length;
+    }
+
+    @Override
+    public byte[] read(final long offset, final int length) {
+      readOffsets.add(offset);
+      return Arrays.copyOfRange(content, (int) offset, (int) offset + length);
+    }
+
+  }
+
+  private static List<InMemoryLogObject> objects(final String... contents) {
+    return Arrays.stream(contents).map(InMemoryLogObject::new).toList();
+  }
+
+  private static List<String> streamLines(final CloudLogTail tail, final int numLines) throws IOException {
+    final List<String> lines = new ArrayList<>();
+    tail.streamLines(numLines, lines::add);
+    return lines;
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 2, 3, 7, 1024})
+  void testTailAcrossObjects(final int chunkSize) throws IOException {
+    final CloudLogTail tail = new CloudLogTail(objects("Line 1\nLine 2\nLine 3\n", "Line 4\nLine 5\nLine 6\n", "Line 7\nLine 8\nLine 9\n"), chunkSize);
+
+    final List<String> expected = List.of("Line 4", "Line 5", "Line 6", "Line 7", "Line 8", "Line 9");
+    assertEquals(expected, tail.readLines(6));
+    assertEquals(expected, streamLines(tail, 6));
+    assertEquals(List.of("Line 9"), tail.readLines(1));
+    assertEquals(List.of("Line 9"), streamLines(tail, 1));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 2, 5, 1024})
+  void testLineSeparators(final int chunkSize) throws IOException {
+    // an object without a final new line, blank lines, \r\n separators, an empty object and UTF-8
+    final CloudLogTail tail = new CloudLogTail(objects("first\r\n\nsecond", "", "\n", "th\u00efrd\n\n", "fourth\r\nlast"), chunkSize);
+
+    final List<String> expected = List.of("first", "", "second", "", "th\u00efrd", "", "fourth", "last");
+    assertEquals(expected, tail.readLines(100));
+    assertEquals(expected, streamLines(tail, 100));
+    assertEquals(expected.subList(3, expected.size()), tail.readLines(5));
+    assertEquals(expected.subList(3, expected.size()), streamLines(tail, 5));
+  }
+
+  @Test
+  void testOlderObjectsAreNotReadOnceEnoughLinesWereFound() throws IOException {
+    final List<InMemoryLogObject> objects = objects("Line 1\nLine 2\n", "Line 3\nLine 4\nLine 5\nLine 6\n");
+    final CloudLogTail tail = new CloudLogTail(objects, 7);
+
+    assertEquals(List.of("Line 5", "Line 6"), tail.readLines(2));
+
+    assertTrue(objects.get(0).readOffsets.isEmpty());
+    // reading stops at the new line before the first of the two lines
+    assertEquals(List.of(21L, 14L, 7L), objects.get(1).readOffsets);
+  }
+
+  @Test
+  void testNoLines() throws IOException {
+    assertEquals(List.of(), new CloudLogTail(objects(), 10).readLines(10));
+    assertEquals(List.of(), new CloudLogTail(objects("", ""), 10).readLines(10));
+    assertEquals(List.of(), new CloudLogTail(objects("Line 1\n"), 10).readLines(0));
+    assertEquals(List.of(), streamLines(new CloudLogTail(objects("Line 1\n"), 10), 0));
+  }
+
+}
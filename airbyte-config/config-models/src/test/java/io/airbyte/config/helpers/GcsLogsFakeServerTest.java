@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.config.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.google.cloud.NoCredentials;
+import com.google.cloud.storage.BlobInfo;
+import com.google.cloud.storage.BucketInfo;
+import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.StorageOptions;
+import io.airbyte.config.storage.CloudStorageConfigs;
+import io.airbyte.config.storage.CloudStorageConfigs.GcsConfig;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Reads the tail of a log from a fake GCS server, to check the seek and limit reads made by
+ * {@link GcsLogs} against the GCS JSON API. See {@link S3LogsMinioTest}.
+ */
+class GcsLogsFakeServerTest {
+
+  private static final String BUCKET_NAME = "logs";
+  private static final int GCS_PORT = 4443;
+
+  private static GenericContainer<?> gcs;
+  private static Storage storage;
+  private static LogConfigs logConfigs;
+
+  @BeforeAll
+  static void setup() {
+    gcs = new GenericContainer<>(DockerImageName.parse("fsouza/fake-gcs-server:latest"))
+        .withCommand("-scheme", "http", "-port", String.valueOf(GCS_PORT))
+        .withExposedPorts(GCS_PORT);
+    gcs.start();
+
+    storage = StorageOptions.newBuilder()
+        .setHost("http://" + gcs.getHost() + ":" + gcs.getMappedPort(GCS_PORT))
+        .setProjectId("test-project")
+        .setCredentials(NoCredentials.getInstance())
+        .build()
+        .getService();
+    logConfigs = new LogConfigs(Optional.of(CloudStorageConfigs.gcs(new GcsConfig(BUCKET_NAME, ""))));
+
+    storage.create(BucketInfo.of(BUCKET_NAME));
+    createBlob("tail/1-first", "Line 1\r\nLine 2\n");
+    createBlob("tail/2-second", "L\u00efne 3\nLine 4\n");
+    createBlob("tail/3-third", "Line 5\n");
+  }
+
+  @AfterAll
+  static void tearDown() {
+    gcs.close();
+  }
+
+  private static void createBlob(final String name, final String content) {
+    storage.create(BlobInfo.newBuilder(BUCKET_NAME, name).build(), content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 2, 3, 7, CloudLogTail.DEFAULT_CHUNK_SIZE})
+  void testTailWithRangedReads(final int chunkSize) throws IOException {
+    final CloudLogTail tail = GcsLogs.getTail(storage, logConfigs, "tail", chunkSize);
+
+    final List<String> expected = List.of("Line 2", "L\u00efne 3", "Line 4", "Line 5");
+    assertEquals(expected, tail.readLines(4));
+
+    final List<String> streamed = new ArrayList<>();
+    tail.streamLines(4, streamed::add);
+    assertEquals(expected, streamed);
+  }
+
+}
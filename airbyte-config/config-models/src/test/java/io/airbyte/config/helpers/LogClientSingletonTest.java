@@ -17,6 +17,7 @@ import io.airbyte.config.Configs.WorkerEnvironment;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Collections;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -40,6 +41,14 @@ class LogClientSingletonTest {
     verify(mockLogClient).tailCloudLog(any(), eq("job-logging/job/1"), eq(LogClientSingleton.LOG_TAIL_SIZE));
   }
 
+  @Test
+  void testStreamJobLogFileK8s() throws IOException {
+    when(configs.getWorkerEnvironment()).thenReturn(WorkerEnvironment.KUBERNETES);
+    final Consumer<String> lineConsumer = line -> {};
+    LogClientSingleton.getInstance().streamJobLogFile(configs.getWorkerEnvironment(), configs.getLogConfigs(), Path.of("/job/1"), lineConsumer);
+    verify(mockLogClient).tailCloudLog(any(), eq("job-logging/job/1"), eq(LogClientSingleton.LOG_TAIL_SIZE), eq(lineConsumer));
+  }
+
   @Test
   void testGetJobLogFileNullPath() throws IOException {
     assertEquals(Collections.emptyList(),
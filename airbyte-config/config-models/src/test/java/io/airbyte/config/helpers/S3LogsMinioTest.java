@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.config.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.airbyte.config.storage.CloudStorageConfigs;
+import io.airbyte.config.storage.CloudStorageConfigs.MinioConfig;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.utility.DockerImageName;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.CreateBucketRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+/**
+ * Reads the tail of a log from MinIO, to check the ranged GETs made by {@link S3Logs} against a real
+ * S3 API. Small chunk sizes make the tail read each object with many ranged GETs, and a range that
+ * is off by one shows up as duplicated or missing bytes in the lines.
+ */
+class S3LogsMinioTest {
+
+  private static final String ACCESS_KEY = "minio";
+  private static final String SECRET_KEY = "minio123";
+  private static final String BUCKET_NAME = "logs";
+  private static final int MINIO_PORT = 9000;
+
+  private static GenericContainer<?> minio;
+  private static S3Client s3Client;
+  private static LogConfigs logConfigs;
+
+  @BeforeAll
+  static void setup() {
+    minio = new GenericContainer<>(DockerImageName.parse("minio/minio:latest"))
+        .withEnv("MINIO_ROOT_USER", ACCESS_KEY)
+        .withEnv("MINIO_ROOT_PASSWORD", SECRET_KEY)
+        .withCommand("server", "/data")
+        .withExposedPorts(MINIO_PORT)
+        .waitingFor(Wait.forHttp("/minio/health/live").forPort(MINIO_PORT));
+    minio.start();
+
+    final String endpoint = "http://" + minio.getHost() + ":" + minio.getMappedPort(MINIO_PORT);
+    s3Client = S3Client.builder()
+        .endpointOverride(URI.create(endpoint))
+        .region(Region.US_EAST_1)
+        .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(ACCESS_KEY, SECRET_KEY)))
+        // the bucket is not a subdomain of the container host
+        .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build())
+        .build();
+    logConfigs = new LogConfigs(Optional.of(CloudStorageConfigs.minio(new MinioConfig(BUCKET_NAME, ACCESS_KEY, SECRET_KEY, endpoint))));
+
+    s3Client.createBucket(CreateBucketRequest.builder().bucket(BUCKET_NAME).build());
+    putObject("tail/1-first", "Line 1\r\nLine 2\n");
+    putObject("tail/2-second", "L\u00efne 3\nLine 4\n");
+    putObject("tail/3-third", "Line 5\n");
+  }
+
+  @AfterAll
+  static void tearDown() {
+    s3Client.close();
+    minio.close();
+  }
+
+  private static void putObject(final String key, final String content) {
+    s3Client.putObject(PutObjectRequest.builder().bucket(BUCKET_NAME).key(key).build(),
+        RequestBody.fromBytes(content.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 2, 3, 7, CloudLogTail.DEFAULT_CHUNK_SIZE})
+  void testTailWithRangedReads(final int chunkSize) throws IOException {
+    final CloudLogTail tail = S3Logs.getTail(s3Client, logConfigs, "tail", chunkSize);
+
+    final List<String> expected = List.of("Line 2", "L\u00efne 3", "Line 4", "Line 5");
+    assertEquals(expected, tail.readLines(4));
+
+    final List<String> streamed = new ArrayList<>();
+    tail.streamLines(4, streamed::add);
+    assertEquals(expected, streamed);
+  }
+
+}
@@ -4,6 +4,8 @@
 
 package io.airbyte.config.persistence;
 
+import static io.airbyte.config.persistence.StandardSyncPersistence.OPERATION_IDS_AGG_DELIMITER;
+import static io.airbyte.config.persistence.StandardSyncPersistence.OPERATION_IDS_AGG_FIELD;
 import static io.airbyte.db.instance.configs.jooq.generated.Tables.ACTOR;
 import static io.airbyte.db.instance.configs.jooq.generated.Tables.ACTOR_CATALOG;
 import static io.airbyte.db.instance.configs.jooq.generated.Tables.ACTOR_CATALOG_FETCH_EVENT;
@@ -25,10 +27,15 @@ import static org.jooq.impl.DSL.select;
 import static org.jooq.impl.SQLDataType.VARCHAR;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.base.Charsets;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Sets;
-import com.google.common.hash.HashFunction;
+import com.google.common.hash.Funnels;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
 import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import io.airbyte.commons.enums.Enums;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.commons.version.AirbyteProtocolVersion;
@@ -62,21 +69,26 @@ import io.airbyte.db.instance.configs.jooq.generated.enums.StatusType;
 import io.airbyte.metrics.lib.MetricQueries;
 import io.airbyte.protocol.models.AirbyteCatalog;
 import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import io.airbyte.protocol.models.ConnectorSpecification;
 import io.airbyte.protocol.models.StreamDescriptor;
 import io.airbyte.validation.json.JsonValidationException;
 import jakarta.annotation.Nonnull;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -90,6 +102,7 @@ import org.jooq.Record;
 import org.jooq.Record1;
 import org.jooq.Record2;
 import org.jooq.Result;
+import org.jooq.SelectFieldOrAsterisk;
 import org.jooq.SelectJoinStep;
 import org.jooq.Table;
 import org.jooq.impl.DSL;
@@ -117,19 +130,41 @@ public class ConfigRepository {
   }
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ConfigRepository.class);
-  private static final String OPERATION_IDS_AGG_FIELD = "operation_ids_agg";
-  private static final String OPERATION_IDS_AGG_DELIMITER = ",";
   public static final String PRIMARY_KEY = "id";
   private static final List<Field<?>> BASE_CONNECTOR_BUILDER_PROJECT_COLUMNS =
       Arrays.asList(CONNECTOR_BUILDER_PROJECT.ID, CONNECTOR_BUILDER_PROJECT.WORKSPACE_ID, CONNECTOR_BUILDER_PROJECT.NAME,
           CONNECTOR_BUILDER_PROJECT.ACTOR_DEFINITION_ID, CONNECTOR_BUILDER_PROJECT.TOMBSTONE,
           field(CONNECTOR_BUILDER_PROJECT.MANIFEST_DRAFT.isNotNull()).as("hasDraft"));
 
+  // catalog_hash holds 32 hex characters
+  private static final int CATALOG_HASH_BYTES = 16;
+  private static final long MAX_CACHED_ACTOR_CATALOGS_LENGTH = 16L * 1024 * 1024;
+
+  /**
+   * Catalogs are cached as JSON, which is far more compact than the parsed tree, and parsed on each
+   * read so that callers get a catalog of their own.
+   */
+  private record CachedActorCatalog(UUID id, String catalogJson, String catalogHash) {
+
+    ActorCatalog toActorCatalog() {
+      return new ActorCatalog()
+          .withId(id)
+          .withCatalog(Jsons.jsonNode(DbConverter.parseAirbyteCatalog(catalogJson)))
+          .withCatalogHash(catalogHash);
+    }
+
+  }
+
   private final ExceptionWrappingDatabase database;
   private final ActorDefinitionMigrator actorDefinitionMigrator;
   private final StandardSyncPersistence standardSyncPersistence;
 
   private final long defaultMaxSecondsBetweenMessages;
+  // actor catalog id -> catalog JSON, weighed by the length of the JSON
+  private final Cache<UUID, CachedActorCatalog> actorCatalogCache = CacheBuilder.newBuilder()
+      .maximumWeight(MAX_CACHED_ACTOR_CATALOGS_LENGTH)
+      .weigher((final UUID id, final CachedActorCatalog cachedCatalog) -> cachedCatalog.catalogJson().length())
+      .build();
 
   public ConfigRepository(final Database database, final long defaultMaxSecondsBetweenMessages) {
     this(database, new ActorDefinitionMigrator(new ExceptionWrappingDatabase(database)), new StandardSyncPersistence(database),
@@ -415,6 +450,27 @@ public class ConfigRepository {
     return database.query(ConfigWriter::getActorDefinitionsInUseToProtocolVersion);
   }
 
+  /**
+   * Get the spec stored with the definitions of a connector image, see
+   * {@link io.airbyte.config.StandardSourceDefinition#getSpec()}. Specs don't change for a given
+   * image, so the spec of any definition of the image is returned.
+   *
+   * @param dockerRepository docker repository of the image
+   * @param dockerImageTag docker image tag of the image
+   * @return spec of the image, if a definition of the image exists
+   * @throws IOException - you never know when you IO
+   */
+  public Optional<ConnectorSpecification> getActorDefinitionSpecForImage(final String dockerRepository, final String dockerImageTag)
+      throws IOException {
+    return database.query(ctx -> ctx.select(ACTOR_DEFINITION.SPEC)
+        .from(ACTOR_DEFINITION)
+        .where(ACTOR_DEFINITION.DOCKER_REPOSITORY.eq(dockerRepository))
+        .and(ACTOR_DEFINITION.DOCKER_IMAGE_TAG.eq(dockerImageTag))
+        .limit(1)
+        .fetchOptional(ACTOR_DEFINITION.SPEC))
+        .map(spec -> Jsons.deserialize(spec.data(), ConnectorSpecification.class));
+  }
+
   /**
    * List public source definitions.
    *
@@ -1144,7 +1200,7 @@ public class ConfigRepository {
         // group by connection.id so that the groupConcat above works
         .groupBy(CONNECTION.ID)).fetch();
 
-    return getStandardSyncsFromResult(connectionAndOperationIdsResult);
+    return getStandardSyncsFromResult(connectionAndOperationIdsResult, DbConverter::buildStandardSync);
   }
 
   /**
@@ -1167,11 +1223,34 @@ public class ConfigRepository {
    * @throws IOException if there is an issue while interacting with db.
    */
   public List<StandardSync> listWorkspaceStandardSyncs(final StandardSyncQuery standardSyncQuery) throws IOException {
-    final Result<Record> connectionAndOperationIdsResult = database.query(ctx -> ctx
-        // SELECT connection.* plus the connection's associated operationIds as a concatenated list
-        .select(
-            CONNECTION.asterisk(),
-            groupConcat(CONNECTION_OPERATION.OPERATION_ID).separator(OPERATION_IDS_AGG_DELIMITER).as(OPERATION_IDS_AGG_FIELD))
+    return getStandardSyncsFromResult(queryWorkspaceStandardSyncs(standardSyncQuery, List.of(CONNECTION.asterisk())),
+        DbConverter::buildStandardSync);
+  }
+
+  /**
+   * List summaries of the connections for workspace via a query. A summary holds every field of the
+   * connection but its catalog, which is not read from the db, so listing summaries is much cheaper
+   * for workspaces with many connections.
+   *
+   * @param standardSyncQuery query
+   * @return list of connections without their catalog
+   * @throws IOException if there is an issue while interacting with db.
+   */
+  public List<StandardSync> listWorkspaceStandardSyncSummaries(final StandardSyncQuery standardSyncQuery) throws IOException {
+    final List<SelectFieldOrAsterisk> connectionFieldsWithoutCatalog = Arrays.stream(CONNECTION.fields())
+        .filter(connectionField -> !connectionField.equals(CONNECTION.CATALOG))
+        .collect(Collectors.toList());
+    return getStandardSyncsFromResult(queryWorkspaceStandardSyncs(standardSyncQuery, connectionFieldsWithoutCatalog),
+        DbConverter::buildStandardSyncSummary);
+  }
+
+  private Result<Record> queryWorkspaceStandardSyncs(final StandardSyncQuery standardSyncQuery, final List<SelectFieldOrAsterisk> connectionFields)
+      throws IOException {
+    final List<SelectFieldOrAsterisk> selectedFields = new ArrayList<>(connectionFields);
+    selectedFields.add(groupConcat(CONNECTION_OPERATION.OPERATION_ID).separator(OPERATION_IDS_AGG_DELIMITER).as(OPERATION_IDS_AGG_FIELD));
+    return database.query(ctx -> ctx
+        // SELECT connection fields plus the connection's associated operationIds as a concatenated list
+        .select(selectedFields)
         .from(CONNECTION)
 
         // left join with all connection_operation rows that match the connection's id.
@@ -1189,8 +1268,6 @@ public class ConfigRepository {
 
         // group by connection.id so that the groupConcat above works
         .groupBy(CONNECTION.ID)).fetch();
-
-    return getStandardSyncsFromResult(connectionAndOperationIdsResult);
   }
 
   /**
@@ -1212,21 +1289,15 @@ public class ConfigRepository {
             .and(includeDeleted ? noCondition() : CONNECTION.STATUS.notEqual(StatusType.deprecated)))
         .groupBy(CONNECTION.ID)).fetch();
 
-    return getStandardSyncsFromResult(connectionAndOperationIdsResult);
+    return getStandardSyncsFromResult(connectionAndOperationIdsResult, DbConverter::buildStandardSync);
   }
 
-  private List<StandardSync> getStandardSyncsFromResult(final Result<Record> connectionAndOperationIdsResult) {
+  private static List<StandardSync> getStandardSyncsFromResult(final Result<Record> connectionAndOperationIdsResult,
+                                                               final BiFunction<Record, List<UUID>, StandardSync> standardSyncBuilder) {
     final List<StandardSync> standardSyncs = new ArrayList<>();
 
     for (final Record record : connectionAndOperationIdsResult) {
-      final String operationIdsFromRecord = record.get(OPERATION_IDS_AGG_FIELD, String.class);
-
-      // can be null when connection has no connectionOperations
-      final List<UUID> operationIds = operationIdsFromRecord == null
-          ? Collections.emptyList()
-          : Arrays.stream(operationIdsFromRecord.split(OPERATION_IDS_AGG_DELIMITER)).map(UUID::fromString).toList();
-
-      standardSyncs.add(DbConverter.buildStandardSync(record, operationIds));
+      standardSyncs.add(standardSyncBuilder.apply(record, StandardSyncPersistence.getOperationIds(record)));
     }
 
     return standardSyncs;
@@ -1576,22 +1647,6 @@ public class ConfigRepository {
     return listDestinationOauthParamQuery(Optional.empty()).toList();
   }
 
-  private Map<UUID, AirbyteCatalog> findCatalogByHash(final String catalogHash, final DSLContext context) {
-    final Result<Record2<UUID, JSONB>> records = context.select(ACTOR_CATALOG.ID, ACTOR_CATALOG.CATALOG)
-        .from(ACTOR_CATALOG)
-        .where(ACTOR_CATALOG.CATALOG_HASH.eq(catalogHash)).fetch();
-
-    final Map<UUID, AirbyteCatalog> result = new HashMap<>();
-    for (final Record record : records) {
-      // We do not apply the on-the-fly migration here because the only caller is getOrInsertActorCatalog
-      // which is using this to figure out if the catalog has already been inserted. Migrating on the fly
-      // here will cause us to add a duplicate each time we check for existence of a catalog.
-      final AirbyteCatalog catalog = Jsons.deserialize(record.get(ACTOR_CATALOG.CATALOG).toString(), AirbyteCatalog.class);
-      result.put(record.get(ACTOR_CATALOG.ID), catalog);
-    }
-    return result;
-  }
-
   /**
    * Updates the database with the most up-to-date source and destination definitions in the connector
    * catalog.
@@ -1687,7 +1742,9 @@ public class ConfigRepository {
   }
 
   /**
-   * Get actor catalog.
+   * Get actor catalog. Catalogs are never modified once stored, so the JSON of recently read catalogs
+   * is kept in memory and the catalog is not read from the database again. Each call returns a new
+   * catalog, which the caller may modify.
    *
    * @param actorCatalogId actor catalog id
    * @return actor catalog
@@ -1696,11 +1753,23 @@ public class ConfigRepository {
    */
   public ActorCatalog getActorCatalogById(final UUID actorCatalogId)
       throws IOException, ConfigNotFoundException {
+    try {
+      return actorCatalogCache.get(actorCatalogId, () -> readActorCatalog(actorCatalogId)).toActorCatalog();
+    } catch (final ExecutionException | UncheckedExecutionException e) {
+      Throwables.throwIfInstanceOf(e.getCause(), ConfigNotFoundException.class);
+      Throwables.throwIfInstanceOf(e.getCause(), IOException.class);
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  private CachedActorCatalog readActorCatalog(final UUID actorCatalogId) throws IOException, ConfigNotFoundException {
     final Result<Record> result = database.query(ctx -> ctx.select(ACTOR_CATALOG.asterisk())
         .from(ACTOR_CATALOG).where(ACTOR_CATALOG.ID.eq(actorCatalogId))).fetch();
 
     if (result.size() > 0) {
-      return DbConverter.buildActorCatalog(result.get(0));
+      final Record record = result.get(0);
+      return new CachedActorCatalog(record.get(ACTOR_CATALOG.ID), record.get(ACTOR_CATALOG.CATALOG).data(), record.get(ACTOR_CATALOG.CATALOG_HASH));
     }
     throw new ConfigNotFoundException(ConfigSchema.ACTOR_CATALOG, actorCatalogId);
   }
@@ -1711,6 +1780,10 @@ public class ConfigRepository {
    * Checks in the config DB if the catalog is present already, if so returns it identifier. It is not
    * present, it is inserted in DB with a new identifier and that identifier is returned.
    *
+   * Catalogs stored before catalogs were hashed with {@link #hashCatalog(AirbyteCatalog)} hold a
+   * murmur3 hash. When no catalog has the hash of the catalog, the catalogs with its murmur3 hash are
+   * compared to it, and the one that is equal gets the new hash, so that it keeps its identifier.
+   *
    * @param airbyteCatalog An Airbyte catalog to cache
    * @param context - db context
    * @return the db identifier for the cached catalog.
@@ -1718,27 +1791,80 @@ public class ConfigRepository {
   private UUID getOrInsertActorCatalog(final AirbyteCatalog airbyteCatalog,
                                        final DSLContext context,
                                        final OffsetDateTime timestamp) {
-    final HashFunction hashFunction = Hashing.murmur3_32_fixed();
-    final String catalogHash = hashFunction.hashBytes(Jsons.serialize(airbyteCatalog).getBytes(
-        Charsets.UTF_8)).toString();
-    final Map<UUID, AirbyteCatalog> catalogs = findCatalogByHash(catalogHash, context);
-
-    for (final Map.Entry<UUID, AirbyteCatalog> entry : catalogs.entrySet()) {
-      if (entry.getValue().equals(airbyteCatalog)) {
-        return entry.getKey();
-      }
+    final String catalogHash = hashCatalog(airbyteCatalog);
+    // catalogs are addressed by the hash of their content, so a catalog with the same hash is the
+    // same catalog
+    final UUID existingCatalogId = context.select(ACTOR_CATALOG.ID)
+        .from(ACTOR_CATALOG)
+        .where(ACTOR_CATALOG.CATALOG_HASH.eq(catalogHash))
+        .limit(1)
+        .fetchOne(ACTOR_CATALOG.ID);
+    if (existingCatalogId != null) {
+      return existingCatalogId;
+    }
+
+    final String catalogJson = Jsons.serialize(airbyteCatalog);
+    final Optional<UUID> legacyCatalogId = findCatalogByLegacyHash(airbyteCatalog, catalogJson, context);
+    if (legacyCatalogId.isPresent()) {
+      context.update(ACTOR_CATALOG)
+          .set(ACTOR_CATALOG.CATALOG_HASH, catalogHash)
+          .set(ACTOR_CATALOG.MODIFIED_AT, timestamp)
+          .where(ACTOR_CATALOG.ID.eq(legacyCatalogId.get()))
+          .execute();
+      // the cached catalog holds the previous hash
+      actorCatalogCache.invalidate(legacyCatalogId.get());
+      return legacyCatalogId.get();
     }
 
     final UUID catalogId = UUID.randomUUID();
     context.insertInto(ACTOR_CATALOG)
         .set(ACTOR_CATALOG.ID, catalogId)
-        .set(ACTOR_CATALOG.CATALOG, JSONB.valueOf(Jsons.serialize(airbyteCatalog)))
+        .set(ACTOR_CATALOG.CATALOG, JSONB.valueOf(catalogJson))
         .set(ACTOR_CATALOG.CATALOG_HASH, catalogHash)
         .set(ACTOR_CATALOG.CREATED_AT, timestamp)
         .set(ACTOR_CATALOG.MODIFIED_AT, timestamp).execute();
     return catalogId;
   }
 
+  private Optional<UUID> findCatalogByLegacyHash(final AirbyteCatalog airbyteCatalog, final String catalogJson, final DSLContext context) {
+    final Result<Record2<UUID, JSONB>> records = context.select(ACTOR_CATALOG.ID, ACTOR_CATALOG.CATALOG)
+        .from(ACTOR_CATALOG)
+        .where(ACTOR_CATALOG.CATALOG_HASH.eq(legacyHashCatalog(catalogJson)))
+        .fetch();
+    for (final Record2<UUID, JSONB> record : records) {
+      // We do not apply the on-the-fly migration here, the stored catalog is compared as it was written
+      if (Jsons.deserialize(record.value2().data(), AirbyteCatalog.class).equals(airbyteCatalog)) {
+        return Optional.of(record.value1());
+      }
+    }
+    return Optional.empty();
+  }
+
+  @VisibleForTesting
+  static String legacyHashCatalog(final String catalogJson) {
+    return Hashing.murmur3_32_fixed().hashBytes(catalogJson.getBytes(StandardCharsets.UTF_8)).toString();
+  }
+
+  /**
+   * Hash the content of a catalog, streaming its JSON serialization through the hash function
+   * instead of building it in memory. Hashes are SHA-256 truncated to 128 bits, which fits the
+   * catalog_hash column and keeps collisions out of reach for content addressing. Catalogs stored
+   * before this scheme have shorter murmur3 hashes, see {@link #legacyHashCatalog(String)}.
+   *
+   * @param catalog catalog to hash
+   * @return hex encoded hash of the catalog
+   */
+  @VisibleForTesting
+  static String hashCatalog(final AirbyteCatalog catalog) {
+    final Hasher hasher = Hashing.sha256().newHasher();
+    try (final OutputStream hashingStream = Funnels.asOutputStream(hasher)) {
+      Jsons.serialize(catalog, hashingStream);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return HashCode.fromBytes(Arrays.copyOf(hasher.hash().asBytes(), CATALOG_HASH_BYTES)).toString();
+  }
+
   /**
    * Get most actor catalog for source.
    *
@@ -70,6 +70,19 @@ public class DbConverter {
    * @return connection (a.k.a. StandardSync)
    */
   public static StandardSync buildStandardSync(final Record record, final List<UUID> connectionOperationId) {
+    return buildStandardSyncSummary(record, connectionOperationId)
+        .withCatalog(parseConfiguredAirbyteCatalog(record.get(CONNECTION.CATALOG).data()));
+  }
+
+  /**
+   * Build connection (a.k.a. StandardSync) from db record, without its catalog. The record doesn't
+   * need to hold the catalog column.
+   *
+   * @param record db record
+   * @param connectionOperationId connection operation ids
+   * @return connection without its catalog
+   */
+  public static StandardSync buildStandardSyncSummary(final Record record, final List<UUID> connectionOperationId) {
     return new StandardSync()
         .withConnectionId(record.get(CONNECTION.ID))
         .withNamespaceDefinition(
@@ -80,7 +93,6 @@ public class DbConverter {
         .withSourceId(record.get(CONNECTION.SOURCE_ID))
         .withDestinationId(record.get(CONNECTION.DESTINATION_ID))
         .withName(record.get(CONNECTION.NAME))
-        .withCatalog(parseConfiguredAirbyteCatalog(record.get(CONNECTION.CATALOG).data()))
         .withFieldSelectionData(record.get(CONNECTION.FIELD_SELECTION_DATA) == null ? null
             : Jsons.deserialize(record.get(CONNECTION.FIELD_SELECTION_DATA).data(), FieldSelectionData.class))
         .withStatus(
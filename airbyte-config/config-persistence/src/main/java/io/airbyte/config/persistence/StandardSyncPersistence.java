@@ -9,7 +9,8 @@ import static io.airbyte.db.instance.configs.jooq.generated.Tables.ACTOR_DEFINIT
 import static io.airbyte.db.instance.configs.jooq.generated.Tables.CONNECTION;
 import static io.airbyte.db.instance.configs.jooq.generated.Tables.CONNECTION_OPERATION;
 import static io.airbyte.db.instance.configs.jooq.generated.Tables.STATE;
-import static org.jooq.impl.DSL.asterisk;
+import static org.jooq.impl.DSL.groupConcat;
+import static org.jooq.impl.DSL.noCondition;
 import static org.jooq.impl.DSL.select;
 
 import io.airbyte.commons.enums.Enums;
@@ -32,6 +33,8 @@ import io.airbyte.protocol.models.StreamDescriptor;
 import java.io.IOException;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -40,13 +43,15 @@ import org.jooq.DSLContext;
 import org.jooq.JSONB;
 import org.jooq.Record;
 import org.jooq.Result;
-import org.jooq.SelectJoinStep;
 
 /**
  * All db queries for the StandardSync resource. Also known as a Connection.
  */
 public class StandardSyncPersistence {
 
+  static final String OPERATION_IDS_AGG_FIELD = "operation_ids_agg";
+  static final String OPERATION_IDS_AGG_DELIMITER = ",";
+
   private record StandardSyncIdsWithProtocolVersions(
                                                      UUID standardSyncId,
                                                      UUID sourceDefId,
@@ -241,17 +246,21 @@ public class StandardSyncPersistence {
   }
 
   private List<ConfigWithMetadata<StandardSync>> listStandardSyncWithMetadata(final Optional<UUID> configId) throws IOException {
-    final Result<Record> result = database.query(ctx -> {
-      final SelectJoinStep<Record> query = ctx.select(asterisk()).from(CONNECTION);
-      if (configId.isPresent()) {
-        return query.where(CONNECTION.ID.eq(configId.get())).fetch();
-      }
-      return query.fetch();
-    });
+    final Result<Record> result = database.query(ctx -> ctx
+        // SELECT connection.* plus the connection's associated operationIds as a concatenated list, so
+        // that the operations of every connection are fetched by the same query
+        .select(
+            CONNECTION.asterisk(),
+            groupConcat(CONNECTION_OPERATION.OPERATION_ID).separator(OPERATION_IDS_AGG_DELIMITER).as(OPERATION_IDS_AGG_FIELD))
+        .from(CONNECTION)
+        .leftJoin(CONNECTION_OPERATION).on(CONNECTION_OPERATION.CONNECTION_ID.eq(CONNECTION.ID))
+        .where(configId.map(CONNECTION.ID::eq).orElse(noCondition()))
+        .groupBy(CONNECTION.ID)
+        .fetch());
 
     final List<ConfigWithMetadata<StandardSync>> standardSyncs = new ArrayList<>();
     for (final Record record : result) {
-      final StandardSync standardSync = DbConverter.buildStandardSync(record, connectionOperationIds(record.get(CONNECTION.ID)));
+      final StandardSync standardSync = DbConverter.buildStandardSync(record, getOperationIds(record));
       if (ScheduleHelpers.isScheduleTypeMismatch(standardSync)) {
         throw new RuntimeException("unexpected schedule type mismatch");
       }
@@ -265,18 +274,20 @@ public class StandardSyncPersistence {
     return standardSyncs;
   }
 
-  private List<UUID> connectionOperationIds(final UUID connectionId) throws IOException {
-    final Result<Record> result = database.query(ctx -> ctx.select(asterisk())
-        .from(CONNECTION_OPERATION)
-        .where(CONNECTION_OPERATION.CONNECTION_ID.eq(connectionId))
-        .fetch());
-
-    final List<UUID> ids = new ArrayList<>();
-    for (final Record record : result) {
-      ids.add(record.get(CONNECTION_OPERATION.OPERATION_ID));
-    }
+  /**
+   * Get the operation ids of a connection from a record that aggregates them in the
+   * {@link #OPERATION_IDS_AGG_FIELD} field.
+   *
+   * @param record connection record
+   * @return operation ids of the connection
+   */
+  static List<UUID> getOperationIds(final Record record) {
+    final String operationIdsFromRecord = record.get(OPERATION_IDS_AGG_FIELD, String.class);
 
-    return ids;
+    // can be null when connection has no connectionOperations
+    return operationIdsFromRecord == null
+        ? Collections.emptyList()
+        : Arrays.stream(operationIdsFromRecord.split(OPERATION_IDS_AGG_DELIMITER)).map(UUID::fromString).toList();
   }
 
   private Stream<StandardSyncIdsWithProtocolVersions> findDisabledSyncs(final DSLContext ctx, final UUID actorDefId, final ActorType actorType) {
@@ -22,14 +22,19 @@ import io.airbyte.protocol.models.AirbyteStreamState;
 import io.airbyte.protocol.models.StreamDescriptor;
 import java.io.IOException;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import org.jooq.DSLContext;
 import org.jooq.JSONB;
+import org.jooq.Query;
 import org.jooq.Record;
 import org.jooq.RecordMapper;
 import org.jooq.impl.DSL;
@@ -116,33 +121,100 @@ public class StatePersistence {
   }
 
   private static void saveGlobalState(final DSLContext ctx, final UUID connectionId, final AirbyteGlobalState globalState) {
-    writeStateToDb(ctx, connectionId, null, null, StateType.GLOBAL, globalState.getSharedState());
+    final Map<StreamKey, JsonNode> states = new LinkedHashMap<>();
+    states.put(new StreamKey(null, null), globalState.getSharedState());
     for (final AirbyteStreamState streamState : globalState.getStreamStates()) {
-      writeStateToDb(ctx,
-          connectionId,
-          streamState.getStreamDescriptor().getName(),
-          streamState.getStreamDescriptor().getNamespace(),
-          StateType.GLOBAL,
+      states.put(new StreamKey(streamState.getStreamDescriptor().getName(), streamState.getStreamDescriptor().getNamespace()),
           streamState.getStreamState());
     }
+    writeStatesToDb(ctx, connectionId, StateType.GLOBAL, states);
   }
 
   private static void saveStreamState(final DSLContext ctx, final UUID connectionId, final List<AirbyteStateMessage> stateMessages) {
+    final Map<StreamKey, JsonNode> states = new LinkedHashMap<>();
     for (final AirbyteStateMessage stateMessage : stateMessages) {
       final AirbyteStreamState streamState = stateMessage.getStream();
-      writeStateToDb(ctx,
-          connectionId,
-          streamState.getStreamDescriptor().getName(),
-          streamState.getStreamDescriptor().getNamespace(),
-          StateType.STREAM,
+      states.put(new StreamKey(streamState.getStreamDescriptor().getName(), streamState.getStreamDescriptor().getNamespace()),
           streamState.getStreamState());
     }
+    writeStatesToDb(ctx, connectionId, StateType.STREAM, states);
   }
 
   private static void saveLegacyState(final DSLContext ctx, final UUID connectionId, final JsonNode state) {
     writeStateToDb(ctx, connectionId, null, null, StateType.LEGACY, state);
   }
 
+  /**
+   * Writes several states of a connection at once. The existing states are read with a single query,
+   * then changed states are updated with a single batch and new states are inserted with a single
+   * multi-row insert. States that are equal to the stored ones are not written again. Null states are
+   * deleted.
+   *
+   * The same as calling {@link #writeStateToDb(DSLContext, UUID, String, String, StateType, JsonNode)}
+   * for each state, without a round trip to the db per state.
+   */
+  private static void writeStatesToDb(final DSLContext ctx,
+                                      final UUID connectionId,
+                                      final StateType stateType,
+                                      final Map<StreamKey, JsonNode> states) {
+    final Map<StreamKey, JsonNode> existingStates = new HashMap<>();
+    ctx.select(STATE.STREAM_NAME, STATE.NAMESPACE, STATE.STATE_)
+        .from(STATE)
+        .where(STATE.CONNECTION_ID.eq(connectionId))
+        .fetch()
+        .forEach(record -> existingStates.put(new StreamKey(record.value1(), record.value2()), Jsons.deserialize(record.value3().data())));
+
+    final OffsetDateTime now = OffsetDateTime.now();
+    final io.airbyte.db.instance.configs.jooq.generated.enums.StateType dbStateType =
+        Enums.convertTo(stateType, io.airbyte.db.instance.configs.jooq.generated.enums.StateType.class);
+    final var insert = ctx.insertInto(STATE)
+        .columns(
+            STATE.ID,
+            STATE.CREATED_AT,
+            STATE.UPDATED_AT,
+            STATE.CONNECTION_ID,
+            STATE.STREAM_NAME,
+            STATE.NAMESPACE,
+            STATE.STATE_,
+            STATE.TYPE);
+    boolean hasInserts = false;
+    final List<Query> updates = new ArrayList<>();
+
+    for (final Entry<StreamKey, JsonNode> entry : states.entrySet()) {
+      final StreamKey key = entry.getKey();
+      final JsonNode state = entry.getValue();
+      if (state == null) {
+        if (existingStates.containsKey(key)) {
+          writeStateToDb(ctx, connectionId, key.streamName(), key.namespace(), stateType, null);
+        }
+      } else if (!existingStates.containsKey(key)) {
+        insert.values(UUID.randomUUID(), now, now, connectionId, key.streamName(), key.namespace(), toJsonb(stateType, state), dbStateType);
+        hasInserts = true;
+      } else if (!state.equals(existingStates.get(key))) {
+        updates.add(ctx.update(STATE)
+            .set(STATE.UPDATED_AT, now)
+            .set(STATE.STATE_, toJsonb(stateType, state))
+            .where(
+                STATE.CONNECTION_ID.eq(connectionId),
+                PersistenceHelpers.isNullOrEquals(STATE.STREAM_NAME, key.streamName()),
+                PersistenceHelpers.isNullOrEquals(STATE.NAMESPACE, key.namespace())));
+      }
+    }
+
+    if (!updates.isEmpty()) {
+      ctx.batch(updates).execute();
+    }
+    if (hasInserts) {
+      insert.execute();
+    }
+  }
+
+  private static JSONB toJsonb(final StateType stateType, final JsonNode state) {
+    // NOTE: the legacy code was storing a State object instead of just the State data field. We kept
+    // the same behavior for consistency.
+    return JSONB.valueOf(Jsons.serialize(stateType != StateType.LEGACY ? state : new State().withState(state)));
+  }
+
   /**
    * Performs the actual SQL operation depending on the state.
    *
@@ -162,9 +234,7 @@ public class StatePersistence {
               PersistenceHelpers.isNullOrEquals(STATE.NAMESPACE, namespace))
           .fetch().isNotEmpty();
 
-      // NOTE: the legacy code was storing a State object instead of just the State data field. We kept
-      // the same behavior for consistency.
-      final JSONB jsonbState = JSONB.valueOf(Jsons.serialize(stateType != StateType.LEGACY ? state : new State().withState(state)));
+      final JSONB jsonbState = toJsonb(stateType, state);
       final OffsetDateTime now = OffsetDateTime.now();
 
       if (!hasState) {
@@ -318,6 +388,12 @@ public class StatePersistence {
         Jsons.deserialize(record.get(STATE.STATE_).data()));
   }
 
+  /**
+   * Identifies a row of the state table of a connection. Both fields are null for the shared state of
+   * GLOBAL and for LEGACY states.
+   */
+  private record StreamKey(String streamName, String namespace) {}
+
   private record StateRecord(
                              io.airbyte.db.instance.configs.jooq.generated.enums.StateType type,
                              String streamName,
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.config.persistence.split_secrets;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Stopwatch;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.airbyte.metrics.lib.MetricClient;
+import io.airbyte.metrics.lib.OssMetricsRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches the secrets read from another {@link ReadOnlySecretPersistence}, e.g. a secret manager
+ * that many connections share credentials from, and reads the secrets missing from the cache
+ * concurrently.
+ * <p>
+ * Secrets are cached by full coordinate, version included. Updating a secret writes a new version,
+ * so cached secrets are not invalidated on writes. They expire a fixed time after being read, which
+ * bounds how long a secret overwritten in place in the backing store can be served. Missing secrets
+ * are not cached.
+ */
+public class CachingSecretPersistence implements ReadOnlySecretPersistence {
+
+  private static final int MAX_CONCURRENT_READS = 8;
+
+  private final ReadOnlySecretPersistence delegate;
+  private final MetricClient metricClient;
+  private final Cache<SecretCoordinate, CachedSecret> secrets;
+  private final ExecutorService readExecutor;
+
+  public CachingSecretPersistence(final ReadOnlySecretPersistence delegate,
+                                  final MetricClient metricClient,
+                                  final Duration expireAfterWrite,
+                                  final long maximumSize) {
+    this(delegate, metricClient, expireAfterWrite, maximumSize, Ticker.systemTicker());
+  }
+
+  @VisibleForTesting
+  CachingSecretPersistence(final ReadOnlySecretPersistence delegate,
+                           final MetricClient metricClient,
+                           final Duration expireAfterWrite,
+                           final long maximumSize,
+                           final Ticker ticker) {
+    this.delegate = delegate;
+    this.metricClient = metricClient;
+    this.secrets = CacheBuilder.newBuilder()
+        .expireAfterWrite(expireAfterWrite)
+        .maximumSize(maximumSize)
+        .ticker(ticker)
+        .build();
+    this.readExecutor = Executors.newFixedThreadPool(MAX_CONCURRENT_READS,
+        new ThreadFactoryBuilder().setDaemon(true).setNameFormat("secret-reader-%d").build());
+  }
+
+  @Override
+  public Optional<String> read(final SecretCoordinate coordinate) {
+    return Optional.ofNullable(readAll(List.of(coordinate)).get(coordinate));
+  }
+
+  @Override
+  public Map<SecretCoordinate, String> readAll(final Collection<SecretCoordinate> coordinates) {
+    final Map<SecretCoordinate, String> found = new HashMap<>();
+    final List<SecretCoordinate> misses = new ArrayList<>();
+    long savedMillis = 0;
+    for (final SecretCoordinate coordinate : new LinkedHashSet<>(coordinates)) {
+      final CachedSecret cached = secrets.getIfPresent(coordinate);
+      if (cached != null) {
+        found.put(coordinate, cached.secret());
+        savedMillis += cached.readMillis();
+      } else {
+        misses.add(coordinate);
+      }
+    }
+    if (!found.isEmpty()) {
+      metricClient.count(OssMetricsRegistry.SECRETS_CACHE_HIT, found.size());
+      metricClient.count(OssMetricsRegistry.SECRETS_READ_TIME_SAVED_MILLISECS, savedMillis);
+    }
+    if (misses.isEmpty()) {
+      return found;
+    }
+
+    metricClient.count(OssMetricsRegistry.SECRETS_CACHE_MISS, misses.size());
+    if (misses.size() == 1) {
+      readThrough(misses.get(0)).ifPresent(secret -> found.put(misses.get(0), secret));
+      return found;
+    }
+    final List<CompletableFuture<Optional<String>>> reads = misses.stream()
+        .map(coordinate -> CompletableFuture.supplyAsync(() -> readThrough(coordinate), readExecutor))
+        .toList();
+    try {
+      for (int i = 0; i < misses.size(); i++) {
+        final SecretCoordinate coordinate = misses.get(i);
+        reads.get(i).join().ifPresent(secret -> found.put(coordinate, secret));
+      }
+    } catch (final CompletionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw e;
+    }
+    return found;
+  }
+
+  private Optional<String> readThrough(final SecretCoordinate coordinate) {
+    final Stopwatch stopwatch = Stopwatch.createStarted();
+    final Optional<String> secret = delegate.read(coordinate);
+    secret.ifPresent(value -> secrets.put(coordinate, new CachedSecret(value, stopwatch.elapsed(TimeUnit.MILLISECONDS))));
+    return secret;
+  }
+
+  /**
+   * A secret, and the time it took to read it from the secret persistence.
+   */
+  private record CachedSecret(String secret, long readMillis) {}
+
+}
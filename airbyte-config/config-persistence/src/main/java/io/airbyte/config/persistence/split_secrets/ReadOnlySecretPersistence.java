@@ -4,6 +4,9 @@
 
 package io.airbyte.config.persistence.split_secrets;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -15,4 +18,19 @@ public interface ReadOnlySecretPersistence {
 
   Optional<String> read(SecretCoordinate coordinate);
 
+  /**
+   * Reads the secrets at several coordinates, one at a time by default. Persistences that can read
+   * several secrets concurrently or in a single request should override this.
+   *
+   * @param coordinates coordinates of the secrets to read
+   * @return the secret of each coordinate that has one
+   */
+  default Map<SecretCoordinate, String> readAll(final Collection<SecretCoordinate> coordinates) {
+    final Map<SecretCoordinate, String> secrets = new HashMap<>();
+    for (final SecretCoordinate coordinate : coordinates) {
+      read(coordinate).ifPresent(secret -> secrets.put(coordinate, secret));
+    }
+    return secrets;
+  }
+
 }
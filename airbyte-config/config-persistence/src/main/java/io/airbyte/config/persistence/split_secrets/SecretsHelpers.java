@@ -15,9 +15,11 @@ import io.airbyte.commons.json.JsonSchemas;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.commons.util.MoreIterators;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
@@ -159,11 +161,45 @@ public class SecretsHelpers {
   public static JsonNode combineConfig(final JsonNode partialConfig, final ReadOnlySecretPersistence secretPersistence) {
     final var config = partialConfig.deepCopy();
 
+    // read all the secrets of the config at once, so that the persistence can read them concurrently
+    final Set<SecretCoordinate> coordinates = new HashSet<>();
+    collectCoordinates(config, coordinates);
+    if (coordinates.isEmpty()) {
+      return config;
+    }
+    return replaceCoordinates(config, secretPersistence.readAll(coordinates));
+  }
+
+  private static void collectCoordinates(final JsonNode config, final Set<SecretCoordinate> coordinates) {
+    // if the entire config is a secret coordinate object
+    if (config.has(COORDINATE_FIELD)) {
+      coordinates.add(getCoordinateFromTextNode(config.get(COORDINATE_FIELD)));
+      return;
+    }
+
+    // otherwise iterate through all object fields
+    config.fields().forEachRemaining(field -> {
+      final var fieldNode = field.getValue();
+
+      if (fieldNode instanceof ArrayNode) {
+        for (int i = 0; i < fieldNode.size(); i++) {
+          collectCoordinates(fieldNode.get(i), coordinates);
+        }
+      } else if (fieldNode instanceof ObjectNode) {
+        collectCoordinates(fieldNode, coordinates);
+      }
+    });
+  }
+
+  private static JsonNode replaceCoordinates(final JsonNode config, final Map<SecretCoordinate, String> secrets) {
     // if the entire config is a secret coordinate object
     if (config.has(COORDINATE_FIELD)) {
-      final var coordinateNode = config.get(COORDINATE_FIELD);
-      final var coordinate = getCoordinateFromTextNode(coordinateNode);
-      return new TextNode(getOrThrowSecretValue(secretPersistence, coordinate));
+      final var coordinate = getCoordinateFromTextNode(config.get(COORDINATE_FIELD));
+      final String secretValue = secrets.get(coordinate);
+      if (secretValue == null) {
+        throw new RuntimeException(String.format("That secret was not found in the store! Coordinate: %s", coordinate.getFullCoordinate()));
+      }
+      return new TextNode(secretValue);
     }
 
     // otherwise iterate through all object fields
@@ -173,10 +209,10 @@ public class SecretsHelpers {
 
       if (fieldNode instanceof ArrayNode) {
         for (int i = 0; i < fieldNode.size(); i++) {
-          ((ArrayNode) fieldNode).set(i, combineConfig(fieldNode.get(i), secretPersistence));
+          ((ArrayNode) fieldNode).set(i, replaceCoordinates(fieldNode.get(i), secrets));
         }
       } else if (fieldNode instanceof ObjectNode) {
-        ((ObjectNode) config).replace(fieldName, combineConfig(fieldNode, secretPersistence));
+        ((ObjectNode) config).replace(fieldName, replaceCoordinates(fieldNode, secrets));
       }
     });
 
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.config.persistence;
+
+import static io.airbyte.db.instance.configs.jooq.generated.Tables.ACTOR_CATALOG;
+import static io.airbyte.db.instance.configs.jooq.generated.Tables.ACTOR_CATALOG_FETCH_EVENT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.config.ActorCatalog;
+import io.airbyte.config.SourceConnection;
+import io.airbyte.config.StandardSourceDefinition;
+import io.airbyte.config.StandardWorkspace;
+import io.airbyte.db.ExceptionWrappingDatabase;
+import io.airbyte.protocol.models.AirbyteCatalog;
+import io.airbyte.protocol.models.CatalogHelpers;
+import io.airbyte.protocol.models.Field;
+import io.airbyte.protocol.models.JsonSchemaType;
+import io.airbyte.validation.json.JsonValidationException;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import org.jooq.JSONB;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ActorCatalogPersistenceTest extends BaseConfigDatabaseTest {
+
+  private static final String CONNECTOR_VERSION = "1.2.0";
+  private static final String CONFIG_HASH = "ConfigHash";
+  private static final AirbyteCatalog CATALOG = CatalogHelpers.createAirbyteCatalog("clothes", Field.of("name", JsonSchemaType.STRING));
+
+  private ConfigRepository configRepository;
+  private UUID sourceId;
+
+  @BeforeEach
+  void setup() throws SQLException, IOException, JsonValidationException {
+    truncateAllTables();
+
+    configRepository = new ConfigRepository(
+        database,
+        new ActorDefinitionMigrator(new ExceptionWrappingDatabase(database)),
+        mock(StandardSyncPersistence.class),
+        MockData.DEFAULT_MAX_SECONDS_BETWEEN_MESSAGES);
+
+    final StandardWorkspace workspace = MockData.standardWorkspaces().get(0);
+    final StandardSourceDefinition sourceDefinition = MockData.publicSourceDefinition();
+    final SourceConnection source = MockData.sourceConnections().get(0)
+        .withWorkspaceId(workspace.getWorkspaceId())
+        .withSourceDefinitionId(sourceDefinition.getSourceDefinitionId());
+    configRepository.writeStandardWorkspaceNoSecrets(workspace);
+    configRepository.writeStandardSourceDefinition(sourceDefinition);
+    configRepository.writeSourceConnectionNoSecrets(source);
+    sourceId = source.getSourceId();
+  }
+
+  @Test
+  void testSameCatalogIsStoredOnce() throws IOException, ConfigNotFoundException {
+    final UUID catalogId = configRepository.writeActorCatalogFetchEvent(CATALOG, sourceId, CONNECTOR_VERSION, CONFIG_HASH);
+    final UUID sameCatalogId = configRepository.writeActorCatalogFetchEvent(Jsons.clone(CATALOG), sourceId, "1.3.0", CONFIG_HASH);
+    final AirbyteCatalog otherCatalog = CatalogHelpers.createAirbyteCatalog("shoes", Field.of("size", JsonSchemaType.NUMBER));
+    final UUID otherCatalogId = configRepository.writeActorCatalogFetchEvent(otherCatalog, sourceId, CONNECTOR_VERSION, CONFIG_HASH);
+
+    assertEquals(catalogId, sameCatalogId);
+    assertNotEquals(catalogId, otherCatalogId);
+    assertEquals(2, database.query(ctx -> ctx.selectCount().from(ACTOR_CATALOG)).fetchOne().into(int.class));
+
+    final ActorCatalog storedCatalog = configRepository.getActorCatalogById(catalogId);
+    assertEquals(CATALOG, Jsons.object(storedCatalog.getCatalog(), AirbyteCatalog.class));
+    assertEquals(ConfigRepository.hashCatalog(CATALOG), storedCatalog.getCatalogHash());
+  }
+
+  @Test
+  void testCatalogStoredWithALegacyHashKeepsItsId() throws IOException, ConfigNotFoundException, SQLException {
+    final UUID legacyCatalogId = UUID.randomUUID();
+    final String catalogJson = Jsons.serialize(CATALOG);
+    final OffsetDateTime now = OffsetDateTime.now();
+    database.transaction(ctx -> ctx.insertInto(ACTOR_CATALOG)
+        .set(ACTOR_CATALOG.ID, legacyCatalogId)
+        .set(ACTOR_CATALOG.CATALOG, JSONB.valueOf(catalogJson))
+        .set(ACTOR_CATALOG.CATALOG_HASH, ConfigRepository.legacyHashCatalog(catalogJson))
+        .set(ACTOR_CATALOG.CREATED_AT, now)
+        .set(ACTOR_CATALOG.MODIFIED_AT, now)
+        .execute());
+
+    assertEquals(legacyCatalogId, configRepository.writeActorCatalogFetchEvent(Jsons.clone(CATALOG), sourceId, CONNECTOR_VERSION, CONFIG_HASH));
+    assertEquals(1, database.query(ctx -> ctx.selectCount().from(ACTOR_CATALOG)).fetchOne().into(int.class));
+    assertEquals(ConfigRepository.hashCatalog(CATALOG), configRepository.getActorCatalogById(legacyCatalogId).getCatalogHash());
+
+    final AirbyteCatalog otherCatalog = CatalogHelpers.createAirbyteCatalog("shoes", Field.of("size", JsonSchemaType.NUMBER));
+    assertNotEquals(legacyCatalogId, configRepository.writeActorCatalogFetchEvent(otherCatalog, sourceId, CONNECTOR_VERSION, CONFIG_HASH));
+  }
+
+  @Test
+  void testCatalogHash() {
+    final String hash = ConfigRepository.hashCatalog(CATALOG);
+
+    assertEquals(32, hash.length());
+    assertEquals(hash, ConfigRepository.hashCatalog(Jsons.clone(CATALOG)));
+    assertNotEquals(hash, ConfigRepository.hashCatalog(CatalogHelpers.createAirbyteCatalog("clothes", Field.of("size", JsonSchemaType.STRING))));
+  }
+
+  @Test
+  void testCatalogsAreReadOnce() throws IOException, ConfigNotFoundException, SQLException {
+    final UUID catalogId = configRepository.writeActorCatalogFetchEvent(CATALOG, sourceId, CONNECTOR_VERSION, CONFIG_HASH);
+
+    final ActorCatalog catalog = configRepository.getActorCatalogById(catalogId);
+    database.transaction(ctx -> ctx.deleteFrom(ACTOR_CATALOG_FETCH_EVENT).execute() + ctx.deleteFrom(ACTOR_CATALOG).execute());
+
+    assertEquals(catalog, configRepository.getActorCatalogById(catalogId));
+    assertThrows(ConfigNotFoundException.class, () -> configRepository.getActorCatalogById(UUID.randomUUID()));
+  }
+
+  @Test
+  void testEachReadReturnsANewCatalog() throws IOException, ConfigNotFoundException {
+    final UUID catalogId = configRepository.writeActorCatalogFetchEvent(CATALOG, sourceId, CONNECTOR_VERSION, CONFIG_HASH);
+
+    final ActorCatalog catalog = configRepository.getActorCatalogById(catalogId);
+    ((ObjectNode) catalog.getCatalog()).remove("streams");
+
+    assertNotSame(catalog, configRepository.getActorCatalogById(catalogId));
+    assertEquals(CATALOG, Jsons.object(configRepository.getActorCatalogById(catalogId).getCatalog(), AirbyteCatalog.class));
+  }
+
+}
@@ -9,6 +9,7 @@ import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 
+import io.airbyte.commons.json.Jsons;
 import io.airbyte.commons.version.AirbyteProtocolVersion;
 import io.airbyte.config.DestinationConnection;
 import io.airbyte.config.Geography;
@@ -24,6 +25,8 @@ import java.io.IOException;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -187,6 +190,17 @@ class ActorDefinitionPersistenceTest extends BaseConfigDatabaseTest {
         protocolVersions);
   }
 
+  @Test
+  void testActorDefinitionSpecForImage() throws JsonValidationException, IOException {
+    final ConnectorSpecification spec = new ConnectorSpecification().withConnectionSpecification(Jsons.jsonNode(Map.of("foo", "bar")));
+    final StandardSourceDefinition srcDef = createBaseSourceDef().withSpec(spec);
+    configRepository.writeStandardSourceDefinition(srcDef);
+
+    assertEquals(Optional.of(spec), configRepository.getActorDefinitionSpecForImage(srcDef.getDockerRepository(), srcDef.getDockerImageTag()));
+    assertEquals(Optional.empty(), configRepository.getActorDefinitionSpecForImage(srcDef.getDockerRepository(), "9.9.9"));
+    assertEquals(Optional.empty(), configRepository.getActorDefinitionSpecForImage("unknown-image", srcDef.getDockerImageTag()));
+  }
+
   @Test
   void testDestinationDefinitionWithNullTombstone() throws JsonValidationException, ConfigNotFoundException, IOException {
     assertReturnsDestDef(createBaseDestDef());
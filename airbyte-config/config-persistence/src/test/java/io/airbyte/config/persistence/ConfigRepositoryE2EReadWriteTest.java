@@ -263,6 +263,18 @@ class ConfigRepositoryE2EReadWriteTest extends BaseConfigDatabaseTest {
     assertSyncsMatch(expectedSyncs, actualSyncs);
   }
 
+  @Test
+  void testListWorkspaceStandardSyncSummaries() throws IOException {
+    final UUID workspaceId = MockData.standardWorkspaces().get(0).getWorkspaceId();
+    final StandardSyncQuery query = new StandardSyncQuery(workspaceId, null, null, true);
+    final List<StandardSync> expectedSyncs = MockData.standardSyncs().subList(0, 4).stream()
+        .map(standardSync -> Jsons.clone(standardSync).withCatalog(null))
+        .toList();
+    final List<StandardSync> actualSyncs = configRepository.listWorkspaceStandardSyncSummaries(query);
+
+    assertSyncsMatch(expectedSyncs, actualSyncs);
+  }
+
   @Test
   void testGetWorkspaceBySlug() throws IOException {
     final StandardWorkspace workspace = MockData.standardWorkspaces().get(0);
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.config.persistence;
+
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.config.StandardSync;
+import io.airbyte.config.StateType;
+import io.airbyte.config.StateWrapper;
+import io.airbyte.db.Database;
+import io.airbyte.db.ExceptionWrappingDatabase;
+import io.airbyte.db.factory.DSLContextFactory;
+import io.airbyte.db.factory.DataSourceFactory;
+import io.airbyte.db.factory.FlywayFactory;
+import io.airbyte.db.instance.configs.ConfigsDatabaseMigrator;
+import io.airbyte.db.instance.configs.ConfigsDatabaseTestProvider;
+import io.airbyte.db.instance.test.TestDatabaseProviders;
+import io.airbyte.protocol.models.AirbyteStateMessage;
+import io.airbyte.protocol.models.AirbyteStateMessage.AirbyteStateType;
+import io.airbyte.protocol.models.AirbyteStreamState;
+import io.airbyte.protocol.models.StreamDescriptor;
+import io.airbyte.test.utils.DatabaseConnectionHelper;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Measures the time {@link StatePersistence} takes to persist the stream states of a connection
+ * with many streams, against a Postgres test container. Every write updates changedStreams of the
+ * streams and sends the others unchanged, as the state of a sync only moves for some streams.
+ * <p>
+ * Requires docker. To use this, simply run the main method and look at the time reported for each
+ * number of changed streams.
+ */
+@SuppressWarnings({"MissingJavadocType", "PMD.SignatureDeclareThrowsException"})
+@State(Scope.Benchmark)
+public class StatePersistencePerformanceTest {
+
+  private static final int STREAM_COUNT = 2000;
+
+  @Param({"0", "100", "2000"})
+  public int changedStreams;
+
+  private PostgreSQLContainer<?> container;
+  private DataSource dataSource;
+  private DSLContext dslContext;
+  private StatePersistence statePersistence;
+  private UUID connectionId;
+  private int iteration;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    container = new PostgreSQLContainer<>("postgres:13-alpine")
+        .withDatabaseName("airbyte")
+        .withUsername("docker")
+        .withPassword("docker");
+    container.start();
+
+    dataSource = DatabaseConnectionHelper.createDataSource(container);
+    dslContext = DSLContextFactory.create(dataSource, SQLDialect.POSTGRES);
+    final TestDatabaseProviders databaseProviders = new TestDatabaseProviders(dataSource, dslContext);
+    final Database database = databaseProviders.createNewConfigsDatabase();
+    databaseProviders.createNewJobsDatabase();
+    new ConfigsDatabaseTestProvider(dslContext, FlywayFactory.create(
+        dataSource,
+        StatePersistencePerformanceTest.class.getName(),
+        ConfigsDatabaseMigrator.DB_IDENTIFIER,
+        ConfigsDatabaseMigrator.MIGRATION_FILE_LOCATION)).create(true);
+
+    final ConfigRepository configRepository = new ConfigRepository(
+        database,
+        new ActorDefinitionMigrator(new ExceptionWrappingDatabase(database)),
+        new StandardSyncPersistence(database),
+        MockData.DEFAULT_MAX_SECONDS_BETWEEN_MESSAGES);
+    final StandardSync sync = Jsons.clone(MockData.standardSyncs().get(0)).withOperationIds(Collections.emptyList());
+    configRepository.writeStandardWorkspaceNoSecrets(MockData.standardWorkspaces().get(0));
+    configRepository.writeStandardSourceDefinition(MockData.publicSourceDefinition());
+    configRepository.writeSourceConnectionNoSecrets(MockData.sourceConnections().get(0));
+    configRepository.writeStandardDestinationDefinition(MockData.publicDestinationDefinition());
+    configRepository.writeDestinationConnectionNoSecrets(MockData.destinationConnections().get(0));
+    configRepository.writeStandardSync(sync);
+    connectionId = sync.getConnectionId();
+
+    statePersistence = new StatePersistence(database);
+    statePersistence.updateOrCreateState(connectionId, buildState(STREAM_COUNT));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    dslContext.close();
+    DataSourceFactory.close(dataSource);
+    container.close();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  @Warmup(iterations = 2)
+  @Fork(1)
+  @Measurement(iterations = 5)
+  public void updateOrCreateState() throws Exception {
+    iteration++;
+    statePersistence.updateOrCreateState(connectionId, buildState(changedStreams));
+  }
+
+  private StateWrapper buildState(final int streamsToChange) {
+    final List<AirbyteStateMessage> stateMessages = new ArrayList<>(STREAM_COUNT);
+    for (int i = 0; i < STREAM_COUNT; i++) {
+      final int cursor = i < streamsToChange ? iteration : 0;
+      stateMessages.add(new AirbyteStateMessage()
+          .withType(AirbyteStateType.STREAM)
+          .withStream(new AirbyteStreamState()
+              .withStreamDescriptor(new StreamDescriptor().withName("stream_" + i).withNamespace("public"))
+              .withStreamState(Jsons.jsonNode(Map.of("cursor", cursor)))));
+    }
+    return new StateWrapper().withStateType(StateType.STREAM).withStateMessages(stateMessages);
+  }
+
+  public static void main(final String[] args) throws Exception {
+    // Run this main class to start benchmarking.
+    org.openjdk.jmh.Main.main(args);
+  }
+
+}
@@ -26,10 +26,14 @@ import io.airbyte.protocol.models.StreamDescriptor;
 import io.airbyte.validation.json.JsonValidationException;
 import java.io.IOException;
 import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import org.jooq.JSONB;
 import org.jooq.impl.DSL;
@@ -542,6 +546,50 @@ class StatePersistenceTest extends BaseConfigDatabaseTest {
     Assertions.assertEquals(readStates.get(0).getState(), stateWrapper.getLegacyState());
   }
 
+  @Test
+  void testStreamUnchangedStatesAreNotRewritten() throws IOException, SQLException {
+    final StateWrapper state0 = new StateWrapper()
+        .withStateType(StateType.STREAM)
+        .withStateMessages(Arrays.asList(
+            new AirbyteStateMessage()
+                .withType(AirbyteStateType.STREAM)
+                .withStream(new AirbyteStreamState()
+                    .withStreamDescriptor(new StreamDescriptor().withName("s1").withNamespace("n1"))
+                    .withStreamState(Jsons.deserialize(STATE_WITH_NAMESPACE))),
+            new AirbyteStateMessage()
+                .withType(AirbyteStateType.STREAM)
+                .withStream(new AirbyteStreamState()
+                    .withStreamDescriptor(new StreamDescriptor().withName("s2"))
+                    .withStreamState(Jsons.deserialize(STREAM_STATE_2)))));
+    statePersistence.updateOrCreateState(connectionId, state0);
+    final Map<String, OffsetDateTime> updatedAt0 = getUpdatedAtByStreamName();
+
+    // s1 is updated, s2 is unchanged and s3 is new
+    final StateWrapper state1 = clone(state0);
+    state1.getStateMessages().get(0).getStream().withStreamState(Jsons.deserialize("\"updated state s1\""));
+    state1.setStateMessages(new ArrayList<>(state1.getStateMessages()));
+    state1.getStateMessages().add(new AirbyteStateMessage()
+        .withType(AirbyteStateType.STREAM)
+        .withStream(new AirbyteStreamState()
+            .withStreamDescriptor(new StreamDescriptor().withName("s3"))
+            .withStreamState(Jsons.deserialize(STATE_ONE))));
+    statePersistence.updateOrCreateState(connectionId, state1);
+    final Map<String, OffsetDateTime> updatedAt1 = getUpdatedAtByStreamName();
+
+    Assertions.assertEquals(Set.copyOf(state1.getStateMessages()),
+        Set.copyOf(statePersistence.getCurrentState(connectionId).orElseThrow().getStateMessages()));
+    Assertions.assertNotEquals(updatedAt0.get("s1"), updatedAt1.get("s1"));
+    Assertions.assertEquals(updatedAt0.get("s2"), updatedAt1.get("s2"));
+    Assertions.assertTrue(updatedAt1.containsKey("s3"));
+  }
+
+  private Map<String, OffsetDateTime> getUpdatedAtByStreamName() throws SQLException {
+    return database.query(ctx -> ctx.select(DSL.field("stream_name", String.class), DSL.field("updated_at", OffsetDateTime.class))
+        .from(DSL.table(STATE))
+        .where(DSL.field("connection_id").eq(connectionId))
+        .fetchMap(r -> r.value1(), r -> r.value2()));
+  }
+
   private StateWrapper clone(final StateWrapper state) {
     return switch (state.getStateType()) {
       case LEGACY -> new StateWrapper()
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.config.persistence.split_secrets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.base.Ticker;
+import io.airbyte.metrics.lib.MetricClient;
+import io.airbyte.metrics.lib.OssMetricsRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CachingSecretPersistenceTest {
+
+  private static final Duration EXPIRE_AFTER_WRITE = Duration.ofMinutes(5);
+  private static final SecretCoordinate COORDINATE_1 = new SecretCoordinate("secret_1", 1);
+  private static final SecretCoordinate COORDINATE_2 = new SecretCoordinate("secret_2", 1);
+  private static final SecretCoordinate MISSING_COORDINATE = new SecretCoordinate("missing", 1);
+  private static final String SECRET_1 = "value_1";
+  private static final String SECRET_2 = "value_2";
+
+  private final AtomicLong nanos = new AtomicLong();
+  private final Ticker ticker = new Ticker() {
+
+    @Override
+    public long read() {
+      return nanos.get();
+    }
+
+  };
+
+  private SecretPersistence delegate;
+  private MetricClient metricClient;
+  private CachingSecretPersistence secretPersistence;
+
+  @BeforeEach
+  void setup() {
+    delegate = spy(new MemorySecretPersistence());
+    delegate.write(COORDINATE_1, SECRET_1);
+    delegate.write(COORDINATE_2, SECRET_2);
+    metricClient = mock(MetricClient.class);
+    secretPersistence = new CachingSecretPersistence(delegate, metricClient, EXPIRE_AFTER_WRITE, 100, ticker);
+  }
+
+  @Test
+  void testSecretsAreReadOnce() {
+    assertEquals(Optional.of(SECRET_1), secretPersistence.read(COORDINATE_1));
+    assertEquals(Optional.of(SECRET_1), secretPersistence.read(COORDINATE_1));
+
+    verify(delegate, times(1)).read(COORDINATE_1);
+    verify(metricClient).count(OssMetricsRegistry.SECRETS_CACHE_MISS, 1);
+    verify(metricClient).count(OssMetricsRegistry.SECRETS_CACHE_HIT, 1);
+    verify(metricClient).count(eq(OssMetricsRegistry.SECRETS_READ_TIME_SAVED_MILLISECS), anyLong());
+  }
+
+  @Test
+  void testSecretsExpire() {
+    secretPersistence.read(COORDINATE_1);
+    nanos.addAndGet(EXPIRE_AFTER_WRITE.minusSeconds(1).toNanos());
+    secretPersistence.read(COORDINATE_1);
+    verify(delegate, times(1)).read(COORDINATE_1);
+
+    nanos.addAndGet(Duration.ofSeconds(1).toNanos());
+    secretPersistence.read(COORDINATE_1);
+    verify(delegate, times(2)).read(COORDINATE_1);
+  }
+
+  @Test
+  void testMissingSecretsAreNotCached() {
+    assertTrue(secretPersistence.read(MISSING_COORDINATE).isEmpty());
+    delegate.write(MISSING_COORDINATE, SECRET_1);
+
+    assertEquals(Optional.of(SECRET_1), secretPersistence.read(MISSING_COORDINATE));
+    verify(delegate, times(2)).read(MISSING_COORDINATE);
+  }
+
+  @Test
+  void testReadAll() {
+    secretPersistence.read(COORDINATE_1);
+
+    final Map<SecretCoordinate, String> secrets = secretPersistence.readAll(List.of(COORDINATE_1, COORDINATE_2, MISSING_COORDINATE, COORDINATE_2));
+
+    assertEquals(Map.of(COORDINATE_1, SECRET_1, COORDINATE_2, SECRET_2), secrets);
+    verify(delegate, times(1)).read(COORDINATE_1);
+    verify(delegate, times(1)).read(COORDINATE_2);
+    verify(delegate, times(1)).read(MISSING_COORDINATE);
+    verify(metricClient).count(OssMetricsRegistry.SECRETS_CACHE_HIT, 1);
+    verify(metricClient).count(OssMetricsRegistry.SECRETS_CACHE_MISS, 2);
+  }
+
+  @Test
+  void testNoMetricsForEmptyRead() {
+    assertEquals(Map.of(), secretPersistence.readAll(List.of()));
+    verify(metricClient, never()).count(any(), anyLong());
+  }
+
+}
@@ -5,12 +5,17 @@
 package io.airbyte.container_orchestrator;
 
 import com.google.common.annotations.VisibleForTesting;
+import io.airbyte.commons.json.Jsons;
 import io.airbyte.workers.process.AsyncKubePodStatus;
+import io.airbyte.workers.process.AsyncKubePodStatusDocument;
 import io.airbyte.workers.process.KubePodInfo;
 import io.airbyte.workers.storage.DocumentStoreClient;
 import jakarta.inject.Singleton;
 import java.lang.invoke.MethodHandles;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -18,8 +23,10 @@ import org.slf4j.LoggerFactory;
  * The state manager writes the "truth" for states of the async pod process. If the store isn't
  * updated by the underlying pod, it will appear as failed.
  * <p>
- * It doesn't have a single value for a state. Instead, in a location on cloud storage or disk, it
- * writes every state it's encountered.
+ * Every state is written to a single {@link AsyncKubePodStatusDocument}, along with a version that
+ * increases on every write, so that the status can be read in one request. Every state it's
+ * encountered is also written to its own location on cloud storage or disk, which is what the
+ * workers of previous versions read.
  */
 @Singleton
 public class AsyncStateManager {
@@ -36,6 +43,7 @@ public class AsyncStateManager {
 
   private final DocumentStoreClient documentStoreClient;
   private final KubePodInfo kubePodInfo;
+  private final AtomicLong version = new AtomicLong();
 
   public AsyncStateManager(final DocumentStoreClient documentStoreClient, final KubePodInfo kubePodInfo) {
     this.documentStoreClient = documentStoreClient;
@@ -43,29 +51,38 @@ public class AsyncStateManager {
   }
 
   /**
-   * Writes an empty file to a location designated by the input status.
+   * Writes a file containing a string value to a location designated by the input status, and the
+   * status document.
    */
-  public void write(final AsyncKubePodStatus status, final String value) {
+  public synchronized void write(final AsyncKubePodStatus status, final String value) {
     final var key = getDocumentStoreKey(status);
     log.info("Writing async status {} for {}...", status, kubePodInfo);
     documentStoreClient.write(key, value);
+    final var statusDocument = new AsyncKubePodStatusDocument(status, version.incrementAndGet(),
+        status == AsyncKubePodStatus.SUCCEEDED ? value : null);
+    documentStoreClient.write(AsyncKubePodStatusDocument.getDocumentStoreKey(kubePodInfo), Jsons.serialize(statusDocument));
   }
 
   /**
-   * Writes a file containing a string value to a location designated by the input status.
+   * Writes an empty file to a location designated by the input status, and the status document.
    */
   public void write(final AsyncKubePodStatus status) {
     write(status, "");
   }
 
   /**
-   * Interprets the state given all written state messages for the pod.
+   * Reads the state from the status document. If there is none, interprets the state given all
+   * written state messages for the pod.
    * <p>
    * Checks terminal states first, then running, then initialized. Defaults to not started.
    * <p>
    * The order matters here!
    */
   public AsyncKubePodStatus getStatus() {
+    final Optional<AsyncKubePodStatusDocument> statusDocument = readStatusDocument();
+    if (statusDocument.isPresent()) {
+      return statusDocument.get().status();
+    }
     return STATUS_CHECK_ORDER.stream()
         .filter(this::statusFileExists)
         .findFirst()
@@ -79,6 +96,12 @@ public class AsyncStateManager {
    * @throws IllegalArgumentException if no success file exists
    */
   public String getOutput() throws IllegalArgumentException {
+    final Optional<AsyncKubePodStatusDocument> statusDocument = readStatusDocument()
+        .filter(document -> document.status() == AsyncKubePodStatus.SUCCEEDED);
+    if (statusDocument.isPresent()) {
+      return Objects.requireNonNullElse(statusDocument.get().output(), "");
+    }
+
     final var key = getDocumentStoreKey(AsyncKubePodStatus.SUCCEEDED);
     final var output = documentStoreClient.read(key);
 
@@ -95,6 +118,11 @@ public class AsyncStateManager {
     return kubePodInfo.namespace() + "/" + kubePodInfo.name() + "/" + status.name();
   }
 
+  private Optional<AsyncKubePodStatusDocument> readStatusDocument() {
+    return documentStoreClient.read(AsyncKubePodStatusDocument.getDocumentStoreKey(kubePodInfo))
+        .map(document -> Jsons.deserialize(document, AsyncKubePodStatusDocument.class));
+  }
+
   private boolean statusFileExists(final AsyncKubePodStatus status) {
     final var key = getDocumentStoreKey(status);
     return documentStoreClient.read(key).isPresent();
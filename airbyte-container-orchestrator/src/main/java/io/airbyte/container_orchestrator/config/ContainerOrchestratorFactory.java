@@ -18,6 +18,9 @@ import io.airbyte.container_orchestrator.orchestrator.NoOpOrchestrator;
 import io.airbyte.container_orchestrator.orchestrator.NormalizationJobOrchestrator;
 import io.airbyte.container_orchestrator.orchestrator.ReplicationJobOrchestrator;
 import io.airbyte.featureflag.FeatureFlagClient;
+import io.airbyte.metrics.lib.MetricClient;
+import io.airbyte.metrics.lib.MetricClientFactory;
+import io.airbyte.metrics.lib.MetricEmittingApps;
 import io.airbyte.persistence.job.models.JobRunConfig;
 import io.airbyte.workers.WorkerConfigs;
 import io.airbyte.workers.internal.state_aggregator.StateAggregatorFactory;
@@ -55,6 +58,12 @@ class ContainerOrchestratorFactory {
     return new EnvVariableFeatureFlags();
   }
 
+  @Singleton
+  MetricClient metricClient() {
+    MetricClientFactory.initialize(MetricEmittingApps.WORKER);
+    return MetricClientFactory.getMetricClient();
+  }
+
   @Singleton
   EnvConfigs envConfigs(@Named("envVars") final Map<String, String> env) {
     return new EnvConfigs(env);
@@ -26,6 +26,10 @@ import io.airbyte.config.ReplicationOutput;
 import io.airbyte.config.StandardSyncInput;
 import io.airbyte.featureflag.FeatureFlagClient;
 import io.airbyte.featureflag.FieldSelectionEnabled;
+import io.airbyte.featureflag.PerfByteLevelMessageParsing;
+import io.airbyte.featureflag.PerfPipelinedReplication;
+import io.airbyte.featureflag.PerfPreAggregatedLineLengths;
+import io.airbyte.featureflag.PerfRawLinePassthrough;
 import io.airbyte.featureflag.Workspace;
 import io.airbyte.metrics.lib.ApmTraceUtils;
 import io.airbyte.metrics.lib.MetricClientFactory;
@@ -38,7 +42,6 @@ import io.airbyte.workers.WorkerConstants;
 import io.airbyte.workers.WorkerMetricReporter;
 import io.airbyte.workers.WorkerUtils;
 import io.airbyte.workers.general.DefaultReplicationWorker;
-import io.airbyte.workers.internal.AirbyteStreamFactory;
 import io.airbyte.workers.internal.DefaultAirbyteDestination;
 import io.airbyte.workers.internal.DefaultAirbyteSource;
 import io.airbyte.workers.internal.DefaultAirbyteStreamFactory;
@@ -153,13 +156,23 @@ public class ReplicationJobOrchestrator implements JobOrchestrator<StandardSyncI
         useIsolatedPool,
         featureFlags);
 
+    final UUID workspaceId = syncInput.getWorkspaceId();
+    final boolean byteLevelParsing = workspaceId != null
+        && featureFlagClient.enabled(PerfByteLevelMessageParsing.INSTANCE, new Workspace(workspaceId));
+    // lines are only kept when they are read as bytes
+    final boolean linePassthrough = byteLevelParsing
+        && featureFlagClient.enabled(PerfRawLinePassthrough.INSTANCE, new Workspace(workspaceId));
+    final boolean preAggregatedLineLengths = workspaceId != null
+        && featureFlagClient.enabled(PerfPreAggregatedLineLengths.INSTANCE, new Workspace(workspaceId));
+
     log.info("Setting up source...");
     // reset jobs use an empty source to induce resetting all data in destination.
     final var airbyteSource =
         WorkerConstants.RESET_JOB_SOURCE_DOCKER_IMAGE_STUB.equals(sourceLauncherConfig.getDockerImage()) ? new EmptyAirbyteSource(
             featureFlags.useStreamCapableState())
             : new DefaultAirbyteSource(sourceLauncher,
-                getStreamFactory(sourceLauncherConfig.getProtocolVersion(), syncInput.getCatalog(), DefaultAirbyteSource.CONTAINER_LOG_MDC_BUILDER),
+                getStreamFactory(sourceLauncherConfig.getProtocolVersion(), syncInput.getCatalog(), DefaultAirbyteSource.CONTAINER_LOG_MDC_BUILDER,
+                    byteLevelParsing).withLinePassthrough(linePassthrough).withPreAggregatedLineLengths(preAggregatedLineLengths),
                 migratorFactory.getProtocolSerializer(sourceLauncherConfig.getProtocolVersion()), featureFlags);
 
     MetricClientFactory.initialize(MetricEmittingApps.WORKER);
@@ -168,13 +181,14 @@ public class ReplicationJobOrchestrator implements JobOrchestrator<StandardSyncI
         sourceLauncherConfig.getDockerImage());
 
     log.info("Setting up replication worker...");
-    final UUID workspaceId = syncInput.getWorkspaceId();
     // NOTE: we apply field selection if the feature flag client says so (recommended) or the old
     // environment-variable flags say so (deprecated).
     // The latter FeatureFlagHelper will be removed once the flag client is fully deployed.
     final boolean fieldSelectionEnabled = workspaceId != null
         && (featureFlagClient.enabled(FieldSelectionEnabled.INSTANCE, new Workspace(workspaceId))
             || FeatureFlagHelper.isFieldSelectionEnabledForWorkspace(featureFlags, workspaceId));
+    final boolean pipelinedReplicationEnabled = workspaceId != null
+        && featureFlagClient.enabled(PerfPipelinedReplication.INSTANCE, new Workspace(workspaceId));
     final var replicationWorker = new DefaultReplicationWorker(
         jobRunConfig.getJobId(),
         Math.toIntExact(jobRunConfig.getAttemptId()),
@@ -182,16 +196,18 @@ public class ReplicationJobOrchestrator implements JobOrchestrator<StandardSyncI
         new NamespacingMapper(syncInput.getNamespaceDefinition(), syncInput.getNamespaceFormat(), syncInput.getPrefix()),
         new DefaultAirbyteDestination(destinationLauncher,
             getStreamFactory(destinationLauncherConfig.getProtocolVersion(), syncInput.getCatalog(),
-                DefaultAirbyteDestination.CONTAINER_LOG_MDC_BUILDER),
+                DefaultAirbyteDestination.CONTAINER_LOG_MDC_BUILDER, byteLevelParsing).withPreAggregatedLineLengths(preAggregatedLineLengths),
             new VersionedAirbyteMessageBufferedWriterFactory(serDeProvider, migratorFactory, destinationLauncherConfig.getProtocolVersion(),
                 Optional.of(syncInput.getCatalog())),
-            migratorFactory.getProtocolSerializer(destinationLauncherConfig.getProtocolVersion())),
+            migratorFactory.getProtocolSerializer(destinationLauncherConfig.getProtocolVersion())).withLinePassthrough(linePassthrough),
         new AirbyteMessageTracker(featureFlags),
         syncPersistenceFactory,
-        new RecordSchemaValidator(featureFlagClient, syncInput.getWorkspaceId(), WorkerUtils.mapStreamNamesToSchemas(syncInput)),
+        new RecordSchemaValidator(featureFlagClient, syncInput.getWorkspaceId(), WorkerUtils.mapStreamNamesToSchemas(syncInput),
+            featureFlags.backgroundValidationSampleRate()),
         metricReporter,
         new ConnectorConfigUpdater(sourceApi, destinationApi),
-        fieldSelectionEnabled);
+        fieldSelectionEnabled,
+        pipelinedReplicationEnabled);
 
     log.info("Running replication worker...");
     final var jobRoot = TemporalUtils.getJobRoot(configs.getWorkspaceRoot(),
@@ -202,13 +218,15 @@ public class ReplicationJobOrchestrator implements JobOrchestrator<StandardSyncI
     return Optional.of(Jsons.serialize(replicationOutput));
   }
 
-  private AirbyteStreamFactory getStreamFactory(final Version protocolVersion,
-                                                final ConfiguredAirbyteCatalog configuredAirbyteCatalog,
-                                                final MdcScope.Builder mdcScope) {
-    return protocolVersion != null
+  private DefaultAirbyteStreamFactory getStreamFactory(final Version protocolVersion,
+                                                       final ConfiguredAirbyteCatalog configuredAirbyteCatalog,
+                                                       final MdcScope.Builder mdcScope,
+                                                       final boolean byteLevelParsing) {
+    final DefaultAirbyteStreamFactory streamFactory = protocolVersion != null
         ? new VersionedAirbyteStreamFactory<>(serDeProvider, migratorFactory, protocolVersion, Optional.of(configuredAirbyteCatalog), mdcScope,
             Optional.of(RuntimeException.class))
         : new DefaultAirbyteStreamFactory(mdcScope);
+    return streamFactory.withByteLevelParsing(byteLevelParsing);
   }
 
 }
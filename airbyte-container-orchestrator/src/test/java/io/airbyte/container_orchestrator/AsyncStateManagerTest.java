@@ -11,10 +11,16 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.airbyte.commons.json.Jsons;
 import io.airbyte.workers.process.AsyncKubePodStatus;
+import io.airbyte.workers.process.AsyncKubePodStatusDocument;
 import io.airbyte.workers.process.KubeContainerInfo;
 import io.airbyte.workers.process.KubePodInfo;
+import io.airbyte.workers.storage.DockerComposeDocumentStoreClient;
 import io.airbyte.workers.storage.DocumentStoreClient;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -108,4 +114,29 @@ class AsyncStateManagerTest {
     assertEquals(AsyncKubePodStatus.FAILED, failedStatus);
   }
 
+  @Test
+  void testStatusDocumentLifecycle() throws IOException {
+    final DocumentStoreClient localDocumentStore = new DockerComposeDocumentStoreClient(Files.createTempDirectory(Path.of("/tmp"), "async_state"));
+    final AsyncStateManager localStateManager = new AsyncStateManager(localDocumentStore, KUBE_POD_INFO);
+    final String statusKey = AsyncKubePodStatusDocument.getDocumentStoreKey(KUBE_POD_INFO);
+
+    localStateManager.write(AsyncKubePodStatus.INITIALIZING);
+    assertEquals(AsyncKubePodStatus.INITIALIZING, localStateManager.getStatus());
+    assertEquals(new AsyncKubePodStatusDocument(AsyncKubePodStatus.INITIALIZING, 1, null),
+        Jsons.deserialize(localDocumentStore.read(statusKey).orElseThrow(), AsyncKubePodStatusDocument.class));
+
+    localStateManager.write(AsyncKubePodStatus.RUNNING);
+    assertEquals(AsyncKubePodStatus.RUNNING, localStateManager.getStatus());
+
+    localStateManager.write(AsyncKubePodStatus.SUCCEEDED, OUTPUT);
+    assertEquals(AsyncKubePodStatus.SUCCEEDED, localStateManager.getStatus());
+    assertEquals(OUTPUT, localStateManager.getOutput());
+    assertEquals(new AsyncKubePodStatusDocument(AsyncKubePodStatus.SUCCEEDED, 3, OUTPUT),
+        Jsons.deserialize(localDocumentStore.read(statusKey).orElseThrow(), AsyncKubePodStatusDocument.class));
+
+    // the per status documents are still written for workers of previous versions
+    assertEquals(Optional.of(OUTPUT), localDocumentStore.read(localStateManager.getDocumentStoreKey(AsyncKubePodStatus.SUCCEEDED)));
+    assertEquals(Optional.of(""), localDocumentStore.read(localStateManager.getDocumentStoreKey(AsyncKubePodStatus.RUNNING)));
+  }
+
 }
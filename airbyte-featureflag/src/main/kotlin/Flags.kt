@@ -19,6 +19,14 @@ object ApplyFieldSelection : EnvVar(envVar = "APPLY_FIELD_SELECTION")
 
 object PerfBackgroundJsonValidation : Temporary(key = "performance.backgroundJsonSchemaValidation")
 
+object PerfByteLevelMessageParsing : Temporary(key = "performance.byteLevelMessageParsing")
+
+object PerfPipelinedReplication : Temporary(key = "performance.pipelinedReplication")
+
+object PerfPreAggregatedLineLengths : Temporary(key = "performance.preAggregatedLineLengths")
+
+object PerfRawLinePassthrough : Temporary(key = "performance.rawLinePassthrough")
+
 object StrictComparisonNormalizationEnabled : Temporary(key = "normalization.strictComparisonEnabled")
 
 object CommitStatesAsap : Temporary(key = "platform.commitStatesAsap")
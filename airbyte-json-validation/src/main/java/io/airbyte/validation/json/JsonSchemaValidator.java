@@ -7,6 +7,9 @@ package io.airbyte.validation.json;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import com.networknt.schema.JsonMetaSchema;
 import com.networknt.schema.JsonSchema;
 import com.networknt.schema.JsonSchemaFactory;
@@ -18,10 +21,10 @@ import java.io.File;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import me.andrz.jackson.JsonContext;
 import me.andrz.jackson.JsonReferenceException;
@@ -38,6 +41,7 @@ public class JsonSchemaValidator {
   // This URI just needs to point at any path in the same directory as /app/WellKnownTypes.json
   // It's required for the JsonSchema#validate method to resolve $ref correctly.
   private static final URI DEFAULT_BASE_URI;
+  private static final int DEFAULT_SCHEMA_CACHE_SIZE = 1000;
 
   static {
     try {
@@ -49,7 +53,10 @@ public class JsonSchemaValidator {
 
   private final JsonSchemaFactory jsonSchemaFactory;
   private final URI baseUri;
-  private final Map<String, JsonSchema> schemaToValidators = new HashMap<>();
+  private final Map<String, JsonSchema> schemaToValidators = new ConcurrentHashMap<>();
+  // compiled schemas used by the methods that take the schema as an argument, keyed by the content of
+  // the schema so that callers do not have to hold on to the same JsonNode instance.
+  private final Cache<JsonNode, JsonSchema> schemaCache;
 
   public JsonSchemaValidator() {
     this(DEFAULT_BASE_URI);
@@ -65,8 +72,24 @@ public class JsonSchemaValidator {
    */
   @VisibleForTesting
   public JsonSchemaValidator(final URI baseUri) {
+    this(baseUri, DEFAULT_SCHEMA_CACHE_SIZE);
+  }
+
+  /**
+   * Allows overriding the number of compiled schemas that are cached. A size of 0 disables caching,
+   * and a schema is compiled on every call.
+   *
+   * @param baseUri The base URI for schema resolution
+   * @param schemaCacheSize maximum number of compiled schemas to keep
+   */
+  @VisibleForTesting
+  public JsonSchemaValidator(final URI baseUri, final int schemaCacheSize) {
     this.jsonSchemaFactory = JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V7);
     this.baseUri = baseUri;
+    this.schemaCache = CacheBuilder.newBuilder()
+        .maximumSize(schemaCacheSize)
+        .recordStats()
+        .build();
   }
 
   /**
@@ -111,17 +134,15 @@ public class JsonSchemaValidator {
   /**
    * Test if a JSON object conforms to a given JSONSchema.
    * <p>
-   * WARNING
-   * <p>
-   * The following methods perform JSON validation **by re-creating a validator each time**. This is
-   * both CPU and GC expensive, and should be used carefully.
-   * <p>
+   * The following methods compile the schema on first use and reuse it for any schema with the same
+   * content afterwards. Looking up a schema requires hashing it, which is cheap compared to compiling
+   * it but not free: prefer {@link #initializeSchemaValidator(String, JsonNode)} for schemas that are
+   * known upfront.
    *
    * @param schemaJson JSONSchema to test against
    * @param objectJson object to test
    * @return true if objectJson conforms to the JSONSchema. Otherwise, false.
    */
-  // todo(davin): Rewrite this section to cache schemas.
   public boolean test(final JsonNode schemaJson, final JsonNode objectJson) {
     final Set<ValidationMessage> validationMessages = validateInternal(schemaJson, objectJson);
 
@@ -218,10 +239,31 @@ public class JsonSchemaValidator {
     Preconditions.checkNotNull(schemaJson);
     Preconditions.checkNotNull(objectJson);
 
-    final JsonSchema schema = getSchemaValidator(schemaJson);
+    final JsonSchema schema = getCachedSchemaValidator(schemaJson);
     return schema.validate(objectJson);
   }
 
+  /**
+   * Hit, miss and eviction counts of the compiled schema cache used by the methods that take the
+   * schema as an argument.
+   */
+  public CacheStats getSchemaCacheStats() {
+    return schemaCache.stats();
+  }
+
+  private JsonSchema getCachedSchemaValidator(final JsonNode schemaJson) {
+    final JsonSchema cached = schemaCache.getIfPresent(schemaJson);
+    if (cached != null) {
+      return cached;
+    }
+    // the key is copied so that mutating the caller's schema afterwards cannot corrupt the cache.
+    // concurrent misses for the same schema may compile it more than once, which is harmless.
+    final JsonNode schemaCopy = schemaJson.deepCopy();
+    final JsonSchema schema = getSchemaValidator(schemaCopy);
+    schemaCache.put(schemaCopy, schema);
+    return schema;
+  }
+
   /**
    * Return a schema validator for a json schema, defaulting to the V7 Json schema.
    */
@@ -257,6 +299,9 @@ public class JsonSchemaValidator {
         context,
         baseUri,
         schemaJson);
+    // $ref validators are otherwise loaded lazily on first use, which is not safe once the schema is
+    // shared between threads.
+    schema.initializeValidators();
     return schema;
   }
 
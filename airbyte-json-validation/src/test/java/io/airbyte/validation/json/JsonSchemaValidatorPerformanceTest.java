@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.validation.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.airbyte.commons.json.Jsons;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of {@link JsonSchemaValidator} methods that take the schema as an
+ * argument, which is how records are validated when downgrading protocol versions and when a record
+ * fails validation against its stream's schema.
+ * <p>
+ * A schema cache size of 0 compiles the schema on every call, which is the behaviour before
+ * compiled schemas were cached.
+ * <p>
+ * To use this, simply run the main method and look at the ops/s reported for each cache size.
+ */
+@SuppressWarnings("MissingJavadocType")
+@State(Scope.Benchmark)
+public class JsonSchemaValidatorPerformanceTest {
+
+  private static final JsonNode SCHEMA = Jsons.deserialize("""
+                                                           {
+                                                             "$schema": "http://json-schema.org/draft-07/schema#",
+                                                             "type": "object",
+                                                             "properties": {
+                                                               "id": { "type": "integer" },
+                                                               "name": { "type": "string" },
+                                                               "email": { "type": ["null", "string"] },
+                                                               "created_at": { "type": "string", "format": "date-time" },
+                                                               "score": { "type": "number" },
+                                                               "tags": { "type": "array", "items": { "type": "string" } },
+                                                               "address": {
+                                                                 "type": "object",
+                                                                 "properties": {
+                                                                   "street": { "type": "string" },
+                                                                   "zip": { "oneOf": [{ "type": "string" }, { "type": "integer" }] }
+                                                                 }
+                                                               }
+                                                             }
+                                                           }
+                                                           """);
+
+  private static final JsonNode VALID_RECORD = Jsons.deserialize("""
+                                                                 {
+                                                                   "id": 1,
+                                                                   "name": "airbyte",
+                                                                   "email": null,
+                                                                   "created_at": "2023-01-01T00:00:00Z",
+                                                                   "score": 1.5,
+                                                                   "tags": ["a", "b"],
+                                                                   "address": { "street": "main", "zip": 94107 }
+                                                                 }
+                                                                 """);
+
+  private static final JsonNode INVALID_RECORD = Jsons.deserialize("""
+                                                                   {
+                                                                     "id": "not an integer",
+                                                                     "name": 1,
+                                                                     "tags": [1, 2]
+                                                                   }
+                                                                   """);
+
+  @Param({"0", "1000"})
+  public int schemaCacheSize;
+
+  private JsonSchemaValidator validator;
+
+  @Setup
+  public void setup() throws URISyntaxException {
+    validator = new JsonSchemaValidator(new URI("file:///app/nonexistent_file.json"), schemaCacheSize);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  @Warmup(iterations = 2)
+  @Fork(1)
+  @Measurement(iterations = 3)
+  public boolean testValidRecord() {
+    return validator.test(SCHEMA, VALID_RECORD);
+  }
+
+  /**
+   * Mirrors RecordSchemaValidator, which validates an invalid record twice to build its error
+   * message.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  @Warmup(iterations = 2)
+  @Fork(1)
+  @Measurement(iterations = 3)
+  public int invalidRecordMessages() {
+    return validator.getValidationMessageArgs(SCHEMA, INVALID_RECORD).size()
+        + validator.getValidationMessagePaths(SCHEMA, INVALID_RECORD).size();
+  }
+
+  public static void main(final String[] args) throws IOException {
+    // Run this main class to start benchmarking.
+    org.openjdk.jmh.Main.main(args);
+  }
+
+}
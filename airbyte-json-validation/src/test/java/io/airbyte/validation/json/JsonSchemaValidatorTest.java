@@ -12,6 +12,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.airbyte.commons.io.IOs;
 import io.airbyte.commons.json.Jsons;
 import java.io.IOException;
@@ -165,4 +166,43 @@ class JsonSchemaValidatorTest {
     assertThrows(JsonValidationException.class, () -> validator.ensureInitializedSchema(schemaName, badJson));
   }
 
+  @Test
+  void testSchemasWithSameContentShareCompiledSchema() {
+    final JsonSchemaValidator validator = new JsonSchemaValidator();
+    final JsonNode object = Jsons.deserialize("{\"host\":\"abc\"}");
+
+    assertTrue(validator.test(VALID_SCHEMA, object));
+    assertTrue(validator.test(Jsons.clone(VALID_SCHEMA), object));
+    assertFalse(validator.validate(VALID_SCHEMA, Jsons.deserialize("{}")).isEmpty());
+
+    assertEquals(1, validator.getSchemaCacheStats().missCount());
+    assertEquals(2, validator.getSchemaCacheStats().hitCount());
+  }
+
+  @Test
+  void testMutatingSchemaAfterValidationIsNotCached() {
+    final JsonSchemaValidator validator = new JsonSchemaValidator();
+    final JsonNode schema = Jsons.clone(VALID_SCHEMA);
+    final JsonNode object = Jsons.deserialize("{\"host\":1}");
+
+    assertFalse(validator.test(schema, object));
+
+    ((ObjectNode) schema.get(PROPERTIES).get("host")).put("type", "integer");
+    assertTrue(validator.test(schema, object));
+    assertEquals(2, validator.getSchemaCacheStats().missCount());
+  }
+
+  @Test
+  void testSchemaCacheIsBounded() throws URISyntaxException {
+    final JsonSchemaValidator validator = new JsonSchemaValidator(new URI("file:///app/nonexistent_file.json"), 0);
+    final JsonNode object = Jsons.deserialize("{\"host\":\"abc\"}");
+
+    assertTrue(validator.test(VALID_SCHEMA, object));
+    assertTrue(validator.test(VALID_SCHEMA, object));
+
+    assertEquals(0, validator.getSchemaCacheStats().hitCount());
+    assertEquals(2, validator.getSchemaCacheStats().missCount());
+    assertEquals(2, validator.getSchemaCacheStats().evictionCount());
+  }
+
 }
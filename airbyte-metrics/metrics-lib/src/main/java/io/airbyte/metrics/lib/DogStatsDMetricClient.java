@@ -8,8 +8,6 @@ import com.google.common.annotations.VisibleForTesting;
 import com.timgroup.statsd.NonBlockingStatsDClientBuilder;
 import com.timgroup.statsd.StatsDClient;
 import io.airbyte.config.Configs;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -24,7 +22,8 @@ import lombok.extern.slf4j.Slf4j;
  * <p>
  * Any {@link MetricAttribute}s provided with the metric data are sent as tags created by joining
  * the {@code key} and {@code value} property of each {@link MetricAttribute} with a
- * {@link #TAG_DELIMITER} delimiter.
+ * {@link #TAG_DELIMITER} delimiter. The tags of each set of attributes are built once, the StatsD
+ * client doesn't modify them.
  */
 @Slf4j
 public class DogStatsDMetricClient implements MetricClient {
@@ -33,6 +32,7 @@ public class DogStatsDMetricClient implements MetricClient {
 
   private boolean instancePublish = false;
   private StatsDClient statsDClient;
+  private final MetricAttributesCache<String[]> tagsCache = new MetricAttributesCache<>(DogStatsDMetricClient::toTags);
 
   /**
    * Traditional singleton initialize call. Please invoke this before using any methods in this class.
@@ -83,7 +83,7 @@ public class DogStatsDMetricClient implements MetricClient {
       }
 
       log.info("publishing count, name: {}, value: {}, attributes: {}", metric, amt, attributes);
-      statsDClient.count(metric.getMetricName(), amt, toTags(attributes));
+      statsDClient.count(metric.getMetricName(), amt, tagsCache.get(attributes));
     }
   }
 
@@ -104,7 +104,7 @@ public class DogStatsDMetricClient implements MetricClient {
       }
 
       log.debug("publishing gauge, name: {}, value: {}, attributes: {}", metric, val, attributes);
-      statsDClient.gauge(metric.getMetricName(), val, toTags(attributes));
+      statsDClient.gauge(metric.getMetricName(), val, tagsCache.get(attributes));
     }
   }
 
@@ -118,7 +118,7 @@ public class DogStatsDMetricClient implements MetricClient {
       }
 
       log.debug("recording distribution, name: {}, value: {}, attributes: {}", metric, val, attributes);
-      statsDClient.distribution(metric.getMetricName(), val, toTags(attributes));
+      statsDClient.distribution(metric.getMetricName(), val, tagsCache.get(attributes));
     }
   }
 
@@ -128,8 +128,12 @@ public class DogStatsDMetricClient implements MetricClient {
    * @param attributes An array of {@link MetricAttribute} tuples.
    * @return An array of tag values.
    */
-  private String[] toTags(final MetricAttribute... attributes) {
-    return Stream.of(attributes).map(a -> String.join(TAG_DELIMITER, a.key(), a.value())).collect(Collectors.toList()).toArray(new String[] {});
+  private static String[] toTags(final MetricAttribute... attributes) {
+    final String[] tags = new String[attributes.length];
+    for (int i = 0; i < attributes.length; i++) {
+      tags[i] = attributes[i].key() + TAG_DELIMITER + attributes[i].value();
+    }
+    return tags;
   }
 
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.metrics.lib;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Pre-aggregates the values of a metric recorded too often to call a {@link MetricClient} for each
+ * of them, e.g. once per record of a sync.
+ * <p>
+ * Values are counted in memory per power of two bucket, without locking, and every
+ * {@code flushEvery} values the number of values of each bucket is reported as a count tagged with
+ * the {@link MetricTags#UPPER_BOUND} of the bucket. Values that haven't been reported yet are
+ * reported by {@link #flush()}.
+ */
+public class LocalHistogram {
+
+  // a non negative long has at most 63 significant bits
+  private static final int BUCKET_COUNT = Long.SIZE;
+
+  private final MetricClient metricClient;
+  private final MetricsRegistry metric;
+  private final long flushEvery;
+  // bucket i counts the values that have i significant bits, i.e. the values up to 2^i - 1
+  private final AtomicLongArray bucketCounts = new AtomicLongArray(BUCKET_COUNT);
+  private final MetricAttribute[][] bucketAttributes = new MetricAttribute[BUCKET_COUNT][];
+  private final AtomicLong recordedCount = new AtomicLong();
+
+  public LocalHistogram(final MetricClient metricClient,
+                        final MetricsRegistry metric,
+                        final long flushEvery,
+                        final MetricAttribute... attributes) {
+    this.metricClient = metricClient;
+    this.metric = metric;
+    this.flushEvery = flushEvery;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      bucketAttributes[i] = Arrays.copyOf(attributes, attributes.length + 1);
+      bucketAttributes[i][attributes.length] = new MetricAttribute(MetricTags.UPPER_BOUND, String.valueOf(getUpperBound(i)));
+    }
+  }
+
+  /**
+   * Record a value. Negative values are counted as 0.
+   */
+  public void record(final long value) {
+    bucketCounts.incrementAndGet(getBucket(value));
+    if (recordedCount.incrementAndGet() % flushEvery == 0) {
+      flush();
+    }
+  }
+
+  /**
+   * Report the values recorded since the last flush.
+   */
+  public void flush() {
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      final long count = bucketCounts.getAndSet(i, 0);
+      if (count > 0) {
+        metricClient.count(metric, count, bucketAttributes[i]);
+      }
+    }
+  }
+
+  static int getBucket(final long value) {
+    return value <= 0 ? 0 : Long.SIZE - Long.numberOfLeadingZeros(value);
+  }
+
+  static long getUpperBound(final int bucket) {
+    // overflows to Long.MAX_VALUE for the last bucket
+    return (1L << bucket) - 1;
+  }
+
+}
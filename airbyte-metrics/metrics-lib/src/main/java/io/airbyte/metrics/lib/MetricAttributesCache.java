@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.metrics.lib;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Caches what a {@link MetricClient} builds from the {@link MetricAttribute}s of a metric, so that
+ * metrics emitted repeatedly with the same attributes don't rebuild them on every call.
+ * <p>
+ * Attributes that hold ids can take many values, so the cache stops growing once it holds
+ * {@link #MAX_CACHED_ATTRIBUTES} sets of attributes. Other sets are built on every call.
+ *
+ * @param <T> what the attributes are turned into
+ */
+final class MetricAttributesCache<T> {
+
+  static final int MAX_CACHED_ATTRIBUTES = 10_000;
+
+  private final Function<MetricAttribute[], T> builder;
+  private final T noAttributes;
+  private final Map<List<MetricAttribute>, T> cache = new ConcurrentHashMap<>();
+
+  MetricAttributesCache(final Function<MetricAttribute[], T> builder) {
+    this.builder = builder;
+    this.noAttributes = builder.apply(new MetricAttribute[0]);
+  }
+
+  T get(final MetricAttribute... attributes) {
+    if (attributes.length == 0) {
+      return noAttributes;
+    }
+    // the list is only a view of the array of the caller, entries get their own copy
+    final T cached = cache.get(Arrays.asList(attributes));
+    if (cached != null) {
+      return cached;
+    }
+    final T built = builder.apply(attributes);
+    if (cache.size() < MAX_CACHED_ATTRIBUTES) {
+      // not List.of, which rejects the null attributes some callers pass
+      cache.putIfAbsent(Arrays.asList(attributes.clone()), built);
+    }
+    return built;
+  }
+
+}
@@ -15,6 +15,7 @@ import io.airbyte.db.instance.jobs.jooq.generated.enums.JobStatus;
 public class MetricTags {
 
   public static final String ATTEMPT_QUEUE = "attempt_queue";
+  public static final String CACHE_TIER = "cache_tier";
   public static final String CONNECTION_ID = "connection_id";
   public static final String FAILURE_ORIGIN = "failure_origin";
   public static final String FAILURE_TYPE = "failure_type";
@@ -24,6 +25,8 @@ public class MetricTags {
   public static final String RELEASE_STAGE = "release_stage";
   public static final String RESET_WORKFLOW_FAILURE_CAUSE = "failure_cause";
   public static final String UNKNOWN = "unknown";
+  public static final String UPPER_BOUND = "upper_bound";
+  public static final String WORKFLOW_OPERATION = "workflow_operation";
   public static final String WORKFLOW_TYPE = "workflow_type";
   public static final String WORKSPACE_ID = "workspace_id";
 
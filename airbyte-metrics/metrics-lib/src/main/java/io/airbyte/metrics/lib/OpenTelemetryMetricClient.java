@@ -26,6 +26,8 @@ import io.opentelemetry.sdk.metrics.export.PeriodicMetricReader;
 import io.opentelemetry.sdk.resources.Resource;
 import io.opentelemetry.sdk.trace.SdkTracerProvider;
 import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Implementation of the {@link MetricClient} that sends the provided metric data to an
@@ -33,35 +35,55 @@ import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
  * <p>
  * Any {@link MetricAttribute}s provided along with the metric data are passed as key/value pairs
  * annotating the metric.
+ * <p>
+ * Instruments are created on the first use of each metric and reused afterwards. A gauge reports
+ * the latest value recorded for each set of attributes. Like {@link MetricAttributesCache}, a gauge
+ * stops tracking new sets of attributes once it tracks {@link #MAX_GAUGE_SERIES} of them, the values
+ * of the sets it already tracks are still updated. Attributes without a value are left out.
  */
 public class OpenTelemetryMetricClient implements MetricClient {
 
+  static final int MAX_GAUGE_SERIES = MetricAttributesCache.MAX_CACHED_ATTRIBUTES;
+
   private Meter meter;
   private SdkMeterProvider meterProvider;
+  // instruments are created once per metric, registering a gauge callback on every call would
+  // report all the values ever recorded
+  private final Map<MetricsRegistry, LongCounter> counters = new ConcurrentHashMap<>();
+  private final Map<MetricsRegistry, DoubleHistogram> histograms = new ConcurrentHashMap<>();
+  private final Map<MetricsRegistry, Map<Attributes, Double>> gaugeValues = new ConcurrentHashMap<>();
+  private final MetricAttributesCache<Attributes> attributesCache = new MetricAttributesCache<>(OpenTelemetryMetricClient::buildAttributes);
 
   @Override
   public void count(final MetricsRegistry metric, final long val, final MetricAttribute... attributes) {
-    final LongCounter counter = meter
-        .counterBuilder(metric.getMetricName())
-        .setDescription(metric.getMetricDescription())
-        .build();
-
-    final AttributesBuilder attributesBuilder = buildAttributes(attributes);
-    counter.add(val, attributesBuilder.build());
+    final LongCounter counter = counters.computeIfAbsent(metric, m -> meter
+        .counterBuilder(m.getMetricName())
+        .setDescription(m.getMetricDescription())
+        .build());
+    counter.add(val, attributesCache.get(attributes));
   }
 
   @Override
   public void gauge(final MetricsRegistry metric, final double val, final MetricAttribute... attributes) {
-    final AttributesBuilder attributesBuilder = buildAttributes(attributes);
-    meter.gaugeBuilder(metric.getMetricName()).setDescription(metric.getMetricDescription())
-        .buildWithCallback(measurement -> measurement.record(val, attributesBuilder.build()));
+    final Map<Attributes, Double> latestValues = gaugeValues.computeIfAbsent(metric, m -> {
+      final Map<Attributes, Double> values = new ConcurrentHashMap<>();
+      meter.gaugeBuilder(m.getMetricName()).setDescription(m.getMetricDescription())
+          .buildWithCallback(measurement -> values.forEach((gaugeAttributes, value) -> measurement.record(value, gaugeAttributes)));
+      return values;
+    });
+    final Attributes gaugeAttributes = attributesCache.get(attributes);
+    if (latestValues.size() < MAX_GAUGE_SERIES) {
+      latestValues.put(gaugeAttributes, val);
+    } else {
+      latestValues.replace(gaugeAttributes, val);
+    }
   }
 
   @Override
   public void distribution(final MetricsRegistry metric, final double val, final MetricAttribute... attributes) {
-    final DoubleHistogram histogramMeter = meter.histogramBuilder(metric.getMetricName()).setDescription(metric.getMetricDescription()).build();
-    final AttributesBuilder attributesBuilder = buildAttributes(attributes);
-    histogramMeter.record(val, attributesBuilder.build());
+    final DoubleHistogram histogramMeter = histograms.computeIfAbsent(metric,
+        m -> meter.histogramBuilder(m.getMetricName()).setDescription(m.getMetricDescription()).build());
+    histogramMeter.record(val, attributesCache.get(attributes));
   }
 
   /**
@@ -104,6 +126,7 @@ public class OpenTelemetryMetricClient implements MetricClient {
 
     meter = openTelemetry.meterBuilder(metricEmittingApp.getApplicationName())
         .build();
+    clearInstruments();
   }
 
   @VisibleForTesting
@@ -114,14 +137,23 @@ public class OpenTelemetryMetricClient implements MetricClient {
   @Override
   public void shutdown() {
     resetForTest();
+    clearInstruments();
+  }
+
+  private void clearInstruments() {
+    counters.clear();
+    histograms.clear();
+    gaugeValues.clear();
   }
 
-  private AttributesBuilder buildAttributes(final MetricAttribute... attributes) {
+  private static Attributes buildAttributes(final MetricAttribute... attributes) {
     final AttributesBuilder attributesBuilder = Attributes.builder();
     for (final MetricAttribute attribute : attributes) {
-      attributesBuilder.put(stringKey(attribute.key()), attribute.value());
+      if (attribute != null && attribute.key() != null && attribute.value() != null) {
+        attributesBuilder.put(stringKey(attribute.key()), attribute.value());
+      }
     }
-    return attributesBuilder;
+    return attributesBuilder.build();
   }
 
 }
@@ -50,6 +50,26 @@ public enum OssMetricsRegistry implements MetricsRegistry {
       MetricEmittingApps.WORKER,
       "attempt_succeeded_by_release_stage",
       "increments when an attempts succeeds. attempts are double counted as this is tagged by release stage."),
+  CONNECTION_MANAGER_WORKFLOWS_FAILED_TO_START(
+      MetricEmittingApps.SERVER,
+      "connection_manager_workflows_failed_to_start",
+      "increments when the connection manager workflow of a connection could not be started by a migration or a restart. tagged by operation."),
+  CONNECTION_MANAGER_WORKFLOWS_PENDING_START(
+      MetricEmittingApps.SERVER,
+      "connection_manager_workflows_pending_start",
+      "number of connection manager workflows left to start by a running migration or restart. tagged by operation."),
+  CONNECTION_MANAGER_WORKFLOWS_STARTED(
+      MetricEmittingApps.SERVER,
+      "connection_manager_workflows_started",
+      "increments when the connection manager workflow of a connection is started by a migration or a restart. tagged by operation."),
+  CONNECTOR_SPEC_CACHE_HIT(
+      MetricEmittingApps.SERVER,
+      "connector_spec_cache_hit",
+      "increments when the spec of a connector image is served without running the image. tagged by the cache tier that held it."),
+  CONNECTOR_SPEC_CACHE_MISS(
+      MetricEmittingApps.SERVER,
+      "connector_spec_cache_miss",
+      "increments when the spec of a connector image is not cached and a get spec job is run for it."),
   EST_NUM_METRICS_EMITTED_BY_REPORTER(
       MetricEmittingApps.METRICS_REPORTER,
       "est_num_metrics_emitted_by_reporter",
@@ -74,10 +94,26 @@ public enum OssMetricsRegistry implements MetricsRegistry {
       MetricEmittingApps.WORKER,
       "json_string_length",
       "string length of a raw json string"),
+  JSON_STRING_LENGTH_BUCKET_COUNT(
+      MetricEmittingApps.WORKER,
+      "json_string_length_bucket_count",
+      "number of raw json strings with a byte length up to the upper_bound tag of the bucket, and above the bound of the previous bucket"),
+  JSON_SCHEMA_VALIDATOR_CACHE(
+      MetricEmittingApps.WORKER,
+      "json_schema_validator_cache",
+      "lookups of compiled json schemas during replication. tagged by result: hit, miss or eviction."),
   KUBE_POD_PROCESS_CREATE_TIME_MILLISECS(
       MetricEmittingApps.WORKER,
       "kube_pod_process_create_time_millisecs",
       "time taken to create a new kube pod process"),
+  LINE_GOBBLER_ACTIVE_COUNT(
+      MetricEmittingApps.WORKER,
+      "line_gobbler_active_count",
+      "number of streams of connector containers being read by line gobblers in the worker"),
+  LINE_GOBBLER_LINES_PER_SECOND(
+      MetricEmittingApps.WORKER,
+      "line_gobbler_lines_per_second",
+      "lines read by all the line gobblers of the worker per second, averaged over the last reporting interval"),
   NUM_ABNORMAL_SCHEDULED_SYNCS_IN_LAST_DAY(
       MetricEmittingApps.METRICS_REPORTER,
       "num_abnormal_scheduled_syncs_last_day",
@@ -134,15 +170,33 @@ public enum OssMetricsRegistry implements MetricsRegistry {
   TEMPORAL_WORKFLOW_FAILURE(MetricEmittingApps.WORKER,
       "temporal_workflow_failure",
       "count of the number of workflow failures"),
+  RECORD_SCHEMA_VALIDATION_DROPPED(MetricEmittingApps.WORKER,
+      "record_schema_validation_dropped",
+      "number of records not validated because the background record schema validation queue was full"),
   REPLICATION_BYTES_SYNCED(MetricEmittingApps.WORKER,
       "replication_bytes_synced",
       "number of bytes synced during replication"),
   REPLICATION_RECORDS_SYNCED(MetricEmittingApps.WORKER,
       "replication_records_synced",
       "number of records synced during replication"),
+  REPLICATION_PIPELINE_QUEUE_DEPTH(MetricEmittingApps.WORKER,
+      "replication_pipeline_queue_depth",
+      "number of messages waiting between two stages of a pipelined replication. tagged by the queue's consuming stage."),
+  REPLICATION_PIPELINE_STAGE_STALL_TIME_MILLISECS(MetricEmittingApps.WORKER,
+      "replication_pipeline_stage_stall_time_millisecs",
+      "time a stage of a pipelined replication spent waiting on its input or output queue. tagged by stage and by what it was blocked on."),
   RESET_REQUEST(MetricEmittingApps.WORKER,
       "reset_request",
       "number of requested resets"),
+  SECRETS_CACHE_HIT(MetricEmittingApps.WORKER,
+      "secrets_cache_hit",
+      "number of secrets hydrated from the secrets cache instead of the secret persistence"),
+  SECRETS_CACHE_MISS(MetricEmittingApps.WORKER,
+      "secrets_cache_miss",
+      "number of secrets read from the secret persistence because they were not in the secrets cache"),
+  SECRETS_READ_TIME_SAVED_MILLISECS(MetricEmittingApps.WORKER,
+      "secrets_read_time_saved_millisecs",
+      "time the secrets cache saved, as the time it took to read each cached secret from the secret persistence"),
 
   STATE_BUFFERING(MetricEmittingApps.WORKER,
       "state_buffering",
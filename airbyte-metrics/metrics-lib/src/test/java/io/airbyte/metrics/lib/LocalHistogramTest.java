@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.metrics.lib;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LocalHistogramTest {
+
+  private static final MetricsRegistry METRIC = OssMetricsRegistry.JSON_STRING_LENGTH_BUCKET_COUNT;
+  private static final MetricAttribute ATTRIBUTE = new MetricAttribute("tag1", "value1");
+
+  private MetricClient metricClient;
+
+  @BeforeEach
+  void setup() {
+    metricClient = mock(MetricClient.class);
+  }
+
+  @Test
+  void testBuckets() {
+    assertEquals(0, LocalHistogram.getBucket(-1));
+    assertEquals(0, LocalHistogram.getBucket(0));
+    assertEquals(1, LocalHistogram.getBucket(1));
+    assertEquals(2, LocalHistogram.getBucket(2));
+    assertEquals(2, LocalHistogram.getBucket(3));
+    assertEquals(3, LocalHistogram.getBucket(4));
+    assertEquals(63, LocalHistogram.getBucket(Long.MAX_VALUE));
+
+    assertEquals(0, LocalHistogram.getUpperBound(0));
+    assertEquals(3, LocalHistogram.getUpperBound(2));
+    assertEquals(Long.MAX_VALUE, LocalHistogram.getUpperBound(63));
+  }
+
+  @Test
+  void testValuesAreReportedPerBucketEveryFlush() {
+    final LocalHistogram histogram = new LocalHistogram(metricClient, METRIC, 4, ATTRIBUTE);
+
+    histogram.record(2);
+    histogram.record(3);
+    histogram.record(100);
+    verifyNoInteractions(metricClient);
+
+    histogram.record(3);
+    verify(metricClient).count(METRIC, 3, ATTRIBUTE, new MetricAttribute(MetricTags.UPPER_BOUND, "3"));
+    verify(metricClient).count(METRIC, 1, ATTRIBUTE, new MetricAttribute(MetricTags.UPPER_BOUND, "127"));
+
+    histogram.record(100);
+    histogram.flush();
+    verify(metricClient, times(2)).count(METRIC, 1, ATTRIBUTE, new MetricAttribute(MetricTags.UPPER_BOUND, "127"));
+
+    histogram.flush();
+    verifyNoMoreInteractions(metricClient);
+  }
+
+}
@@ -108,4 +108,67 @@ class OpenTelemetryMetricClientTest {
     assertThat(data.getHistogramData().getPoints().stream().anyMatch(histogramPointData -> histogramPointData.getMin() == 10.0));
   }
 
+  @Test
+  @DisplayName("Counts of the same metric and tags should add up in a single point")
+  void testCountsAddUp() {
+    openTelemetryMetricClient.count(OssMetricsRegistry.KUBE_POD_PROCESS_CREATE_TIME_MILLISECS, 1, new MetricAttribute(TAG, TAG));
+    openTelemetryMetricClient.count(OssMetricsRegistry.KUBE_POD_PROCESS_CREATE_TIME_MILLISECS, 2, new MetricAttribute(TAG, TAG));
+
+    metricProvider.forceFlush();
+    final MetricData data = Iterables.getOnlyElement(metricExporter.getFinishedMetricItems());
+
+    assertThat(Iterables.getOnlyElement(data.getLongSumData().getPoints()).getValue()).isEqualTo(3L);
+  }
+
+  @Test
+  @DisplayName("Gauges should report the latest value of each set of tags")
+  void testGaugeReportsLatestValue() {
+    openTelemetryMetricClient.gauge(OssMetricsRegistry.KUBE_POD_PROCESS_CREATE_TIME_MILLISECS, 1, new MetricAttribute(TAG, TAG));
+    openTelemetryMetricClient.gauge(OssMetricsRegistry.KUBE_POD_PROCESS_CREATE_TIME_MILLISECS, 2, new MetricAttribute(TAG, TAG));
+
+    metricProvider.forceFlush();
+    final MetricData data = Iterables.getOnlyElement(metricExporter.getFinishedMetricItems());
+
+    assertThat(Iterables.getOnlyElement(data.getDoubleGaugeData().getPoints()).getValue()).isEqualTo(2.0);
+  }
+
+  @Test
+  @DisplayName("Gauges should stop tracking new tags once they track the maximum number of series")
+  void testGaugeSeriesAreBounded() {
+    for (int i = 0; i <= OpenTelemetryMetricClient.MAX_GAUGE_SERIES; i++) {
+      openTelemetryMetricClient.gauge(OssMetricsRegistry.KUBE_POD_PROCESS_CREATE_TIME_MILLISECS, 1, new MetricAttribute(TAG, String.valueOf(i)));
+    }
+    // series that are already tracked are still updated
+    openTelemetryMetricClient.gauge(OssMetricsRegistry.KUBE_POD_PROCESS_CREATE_TIME_MILLISECS, 2, new MetricAttribute(TAG, "0"));
+
+    metricProvider.forceFlush();
+    final MetricData data = Iterables.getOnlyElement(metricExporter.getFinishedMetricItems());
+
+    assertThat(data.getDoubleGaugeData().getPoints().size()).isEqualTo(OpenTelemetryMetricClient.MAX_GAUGE_SERIES);
+    final String untrackedTag = String.valueOf(OpenTelemetryMetricClient.MAX_GAUGE_SERIES);
+    assertThat(data.getDoubleGaugeData().getPoints().stream()
+        .noneMatch(point -> untrackedTag.equals(point.getAttributes().get(AttributeKey.stringKey(TAG)))))
+            .isTrue();
+    assertThat(data.getDoubleGaugeData().getPoints().stream()
+        .anyMatch(point -> "0".equals(point.getAttributes().get(AttributeKey.stringKey(TAG))) && point.getValue() == 2.0))
+            .isTrue();
+  }
+
+  @Test
+  @DisplayName("Tags without a value should be left out")
+  void testNullTagValues() {
+    openTelemetryMetricClient.count(OssMetricsRegistry.KUBE_POD_PROCESS_CREATE_TIME_MILLISECS, 1, new MetricAttribute(TAG, null));
+    openTelemetryMetricClient.gauge(OssMetricsRegistry.CONNECTION_MANAGER_WORKFLOWS_PENDING_START, 1, new MetricAttribute(TAG, null), null);
+    openTelemetryMetricClient.distribution(OssMetricsRegistry.ATTEMPT_CREATED_BY_RELEASE_STAGE, 1, new MetricAttribute(TAG, null));
+
+    metricProvider.forceFlush();
+    final List<MetricData> metricDataList = metricExporter.getFinishedMetricItems();
+
+    assertThat(metricDataList.size()).isEqualTo(3);
+    assertThat(metricDataList.stream()
+        .flatMap(data -> data.getData().getPoints().stream())
+        .allMatch(point -> point.getAttributes().isEmpty()))
+            .isTrue();
+  }
+
 }
@@ -39,7 +39,6 @@ import io.airbyte.config.JobOutput.OutputType;
 import io.airbyte.config.NormalizationSummary;
 import io.airbyte.config.StreamSyncStats;
 import io.airbyte.config.SyncStats;
-import io.airbyte.config.persistence.PersistenceHelpers;
 import io.airbyte.db.Database;
 import io.airbyte.db.ExceptionWrappingDatabase;
 import io.airbyte.db.instance.jobs.JobsDatabaseSchema;
@@ -82,11 +81,13 @@ import org.jooq.Field;
 import org.jooq.InsertValuesStepN;
 import org.jooq.JSONB;
 import org.jooq.Named;
+import org.jooq.Query;
 import org.jooq.Record;
 import org.jooq.RecordMapper;
 import org.jooq.Result;
 import org.jooq.Sequence;
 import org.jooq.Table;
+import org.jooq.TableRecord;
 import org.jooq.conf.ParamType;
 import org.jooq.impl.DSL;
 import org.slf4j.Logger;
@@ -420,24 +421,24 @@ public class DefaultJobPersistence implements JobPersistence {
   private static void saveToSyncStatsTable(final OffsetDateTime now, final SyncStats syncStats, final Long attemptId, final DSLContext ctx) {
     // Although JOOQ supports upsert using the onConflict statement, we cannot use it as the table
     // currently has duplicate records and also doesn't contain the unique constraint on the attempt_id
-    // column JOOQ requires. We are forced to check for existence.
-    final var isExisting = ctx.fetchExists(SYNC_STATS, SYNC_STATS.ATTEMPT_ID.eq(attemptId));
-    if (isExisting) {
-      ctx.update(SYNC_STATS)
-          .set(SYNC_STATS.UPDATED_AT, now)
-          .set(SYNC_STATS.BYTES_EMITTED, syncStats.getBytesEmitted())
-          .set(SYNC_STATS.RECORDS_EMITTED, syncStats.getRecordsEmitted())
-          .set(SYNC_STATS.ESTIMATED_RECORDS, syncStats.getEstimatedRecords())
-          .set(SYNC_STATS.ESTIMATED_BYTES, syncStats.getEstimatedBytes())
-          .set(SYNC_STATS.RECORDS_COMMITTED, syncStats.getRecordsCommitted())
-          .set(SYNC_STATS.SOURCE_STATE_MESSAGES_EMITTED, syncStats.getSourceStateMessagesEmitted())
-          .set(SYNC_STATS.DESTINATION_STATE_MESSAGES_EMITTED, syncStats.getDestinationStateMessagesEmitted())
-          .set(SYNC_STATS.MAX_SECONDS_BEFORE_SOURCE_STATE_MESSAGE_EMITTED, syncStats.getMaxSecondsBeforeSourceStateMessageEmitted())
-          .set(SYNC_STATS.MEAN_SECONDS_BEFORE_SOURCE_STATE_MESSAGE_EMITTED, syncStats.getMeanSecondsBeforeSourceStateMessageEmitted())
-          .set(SYNC_STATS.MAX_SECONDS_BETWEEN_STATE_MESSAGE_EMITTED_AND_COMMITTED, syncStats.getMaxSecondsBetweenStateMessageEmittedandCommitted())
-          .set(SYNC_STATS.MEAN_SECONDS_BETWEEN_STATE_MESSAGE_EMITTED_AND_COMMITTED, syncStats.getMeanSecondsBetweenStateMessageEmittedandCommitted())
-          .where(SYNC_STATS.ATTEMPT_ID.eq(attemptId))
-          .execute();
+    // column JOOQ requires. We update first and only insert if there was nothing to update, which
+    // saves a round trip for every write but the first one of an attempt.
+    final int updatedRows = ctx.update(SYNC_STATS)
+        .set(SYNC_STATS.UPDATED_AT, now)
+        .set(SYNC_STATS.BYTES_EMITTED, syncStats.getBytesEmitted())
+        .set(SYNC_STATS.RECORDS_EMITTED, syncStats.getRecordsEmitted())
+        .set(SYNC_STATS.ESTIMATED_RECORDS, syncStats.getEstimatedRecords())
+        .set(SYNC_STATS.ESTIMATED_BYTES, syncStats.getEstimatedBytes())
+        .set(SYNC_STATS.RECORDS_COMMITTED, syncStats.getRecordsCommitted())
+        .set(SYNC_STATS.SOURCE_STATE_MESSAGES_EMITTED, syncStats.getSourceStateMessagesEmitted())
+        .set(SYNC_STATS.DESTINATION_STATE_MESSAGES_EMITTED, syncStats.getDestinationStateMessagesEmitted())
+        .set(SYNC_STATS.MAX_SECONDS_BEFORE_SOURCE_STATE_MESSAGE_EMITTED, syncStats.getMaxSecondsBeforeSourceStateMessageEmitted())
+        .set(SYNC_STATS.MEAN_SECONDS_BEFORE_SOURCE_STATE_MESSAGE_EMITTED, syncStats.getMeanSecondsBeforeSourceStateMessageEmitted())
+        .set(SYNC_STATS.MAX_SECONDS_BETWEEN_STATE_MESSAGE_EMITTED_AND_COMMITTED, syncStats.getMaxSecondsBetweenStateMessageEmittedandCommitted())
+        .set(SYNC_STATS.MEAN_SECONDS_BETWEEN_STATE_MESSAGE_EMITTED_AND_COMMITTED, syncStats.getMeanSecondsBetweenStateMessageEmittedandCommitted())
+        .where(SYNC_STATS.ATTEMPT_ID.eq(attemptId))
+        .execute();
+    if (updatedRows > 0) {
       return;
     }
 
@@ -460,48 +461,67 @@ public class DefaultJobPersistence implements JobPersistence {
         .execute();
   }
 
+  /**
+   * Name and namespace of a stream, the namespace may be null.
+   */
+  private record StreamKey(String name, String namespace) {}
+
   private static void saveToStreamStatsTable(final OffsetDateTime now,
                                              final List<StreamSyncStats> perStreamStats,
                                              final Long attemptId,
                                              final DSLContext ctx) {
-    Optional.ofNullable(perStreamStats).orElse(Collections.emptyList()).forEach(
-        streamStats -> {
-          // We cannot entirely rely on JOOQ's generated SQL for upserts as it does not support null fields
-          // for conflict detection. We are forced to separately check for existence.
-          final var stats = streamStats.getStats();
-          final var isExisting =
-              ctx.fetchExists(STREAM_STATS, STREAM_STATS.ATTEMPT_ID.eq(attemptId).and(STREAM_STATS.STREAM_NAME.eq(streamStats.getStreamName()))
-                  .and(PersistenceHelpers.isNullOrEquals(STREAM_STATS.STREAM_NAMESPACE, streamStats.getStreamNamespace())));
-          if (isExisting) {
-            ctx.update(STREAM_STATS)
-                .set(STREAM_STATS.UPDATED_AT, now)
-                .set(STREAM_STATS.BYTES_EMITTED, stats.getBytesEmitted())
-                .set(STREAM_STATS.RECORDS_EMITTED, stats.getRecordsEmitted())
-                .set(STREAM_STATS.ESTIMATED_RECORDS, stats.getEstimatedRecords())
-                .set(STREAM_STATS.ESTIMATED_BYTES, stats.getEstimatedBytes())
-                .where(STREAM_STATS.ATTEMPT_ID.eq(attemptId))
-                .execute();
-            return;
-          }
+    if (perStreamStats == null || perStreamStats.isEmpty()) {
+      return;
+    }
 
-          ctx.insertInto(STREAM_STATS)
-              .set(STREAM_STATS.ID, UUID.randomUUID())
-              .set(STREAM_STATS.ATTEMPT_ID, attemptId)
-              .set(STREAM_STATS.STREAM_NAME, streamStats.getStreamName())
-              .set(STREAM_STATS.STREAM_NAMESPACE, streamStats.getStreamNamespace())
-              .set(STREAM_STATS.CREATED_AT, now)
-              .set(STREAM_STATS.UPDATED_AT, now)
-              .set(STREAM_STATS.BYTES_EMITTED, stats.getBytesEmitted())
-              .set(STREAM_STATS.RECORDS_EMITTED, stats.getRecordsEmitted())
-              .set(STREAM_STATS.ESTIMATED_BYTES, stats.getEstimatedBytes())
-              .set(STREAM_STATS.ESTIMATED_RECORDS, stats.getEstimatedRecords())
-              .set(STREAM_STATS.UPDATED_AT, now)
-              .set(STREAM_STATS.BYTES_EMITTED, stats.getBytesEmitted())
-              .set(STREAM_STATS.RECORDS_EMITTED, stats.getRecordsEmitted())
-              .set(STREAM_STATS.ESTIMATED_BYTES, stats.getEstimatedBytes())
-              .set(STREAM_STATS.ESTIMATED_RECORDS, stats.getEstimatedRecords())
-              .execute();
-        });
+    // We cannot entirely rely on JOOQ's generated SQL for upserts as it does not support null fields
+    // for conflict detection. We are forced to check for existence, which is done for all the streams
+    // of the attempt at once.
+    final Map<StreamKey, List<UUID>> existingStreamStatsIds = new HashMap<>();
+    ctx.select(STREAM_STATS.ID, STREAM_STATS.STREAM_NAME, STREAM_STATS.STREAM_NAMESPACE)
+        .from(STREAM_STATS)
+        .where(STREAM_STATS.ATTEMPT_ID.eq(attemptId))
+        .fetch()
+        .forEach(record -> existingStreamStatsIds
+            .computeIfAbsent(new StreamKey(record.get(STREAM_STATS.STREAM_NAME), record.get(STREAM_STATS.STREAM_NAMESPACE)), key -> new ArrayList<>())
+            .add(record.get(STREAM_STATS.ID)));
+
+    final List<Query> updates = new ArrayList<>();
+    final List<TableRecord<?>> inserts = new ArrayList<>();
+    for (final StreamSyncStats streamStats : perStreamStats) {
+      final var stats = streamStats.getStats();
+      final List<UUID> existingIds = existingStreamStatsIds.get(new StreamKey(streamStats.getStreamName(), streamStats.getStreamNamespace()));
+      if (existingIds != null) {
+        updates.add(ctx.update(STREAM_STATS)
+            .set(STREAM_STATS.UPDATED_AT, now)
+            .set(STREAM_STATS.BYTES_EMITTED, stats.getBytesEmitted())
+            .set(STREAM_STATS.RECORDS_EMITTED, stats.getRecordsEmitted())
+            .set(STREAM_STATS.ESTIMATED_RECORDS, stats.getEstimatedRecords())
+            .set(STREAM_STATS.ESTIMATED_BYTES, stats.getEstimatedBytes())
+            .where(STREAM_STATS.ID.in(existingIds)));
+        continue;
+      }
+
+      final var record = ctx.newRecord(STREAM_STATS);
+      record.set(STREAM_STATS.ID, UUID.randomUUID());
+      record.set(STREAM_STATS.ATTEMPT_ID, attemptId);
+      record.set(STREAM_STATS.STREAM_NAME, streamStats.getStreamName());
+      record.set(STREAM_STATS.STREAM_NAMESPACE, streamStats.getStreamNamespace());
+      record.set(STREAM_STATS.CREATED_AT, now);
+      record.set(STREAM_STATS.UPDATED_AT, now);
+      record.set(STREAM_STATS.BYTES_EMITTED, stats.getBytesEmitted());
+      record.set(STREAM_STATS.RECORDS_EMITTED, stats.getRecordsEmitted());
+      record.set(STREAM_STATS.ESTIMATED_BYTES, stats.getEstimatedBytes());
+      record.set(STREAM_STATS.ESTIMATED_RECORDS, stats.getEstimatedRecords());
+      inserts.add(record);
+    }
+
+    if (!updates.isEmpty()) {
+      ctx.batch(updates).execute();
+    }
+    if (!inserts.isEmpty()) {
+      ctx.batchInsert(inserts).execute();
+    }
   }
 
   @Override
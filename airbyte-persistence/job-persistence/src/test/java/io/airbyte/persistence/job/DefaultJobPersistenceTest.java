@@ -483,6 +483,33 @@ class DefaultJobPersistenceTest {
       assertEquals(streamStats, actStreamStats);
     }
 
+    @Test
+    @DisplayName("Writing stats of some streams should only update the stats of these streams")
+    void testWriteStatsUpdatesEachStream() throws IOException {
+      final long jobId = jobPersistence.enqueueJob(SCOPE, SPEC_JOB_CONFIG).orElseThrow();
+      final int attemptNumber = jobPersistence.createAttempt(jobId, LOG_PATH);
+
+      // First write.
+      final var firstStreamStats = new StreamSyncStats().withStreamName("name1").withStreamNamespace("ns")
+          .withStats(new SyncStats().withBytesEmitted(500L).withRecordsEmitted(500L).withEstimatedBytes(10000L).withEstimatedRecords(2000L));
+      final var secondStreamStats = new StreamSyncStats().withStreamName("name1")
+          .withStats(new SyncStats().withBytesEmitted(100L).withRecordsEmitted(100L).withEstimatedBytes(10000L).withEstimatedRecords(2000L));
+      jobPersistence.writeStats(jobId, attemptNumber, 1000, 1000, 600, 600, List.of(firstStreamStats, secondStreamStats));
+
+      // Second write, of the first stream and of a new stream.
+      final var updatedFirstStreamStats = new StreamSyncStats().withStreamName("name1").withStreamNamespace("ns")
+          .withStats(new SyncStats().withBytesEmitted(1000L).withRecordsEmitted(1000L).withEstimatedBytes(10000L).withEstimatedRecords(2000L));
+      final var thirdStreamStats = new StreamSyncStats().withStreamName("name2").withStreamNamespace("ns")
+          .withStats(new SyncStats().withBytesEmitted(10L).withRecordsEmitted(10L).withEstimatedBytes(10000L).withEstimatedRecords(2000L));
+      jobPersistence.writeStats(jobId, attemptNumber, 2000, 2000, 1110, 1110, List.of(updatedFirstStreamStats, thirdStreamStats));
+
+      final AttemptStats stats = jobPersistence.getAttemptStats(jobId, attemptNumber);
+      assertEquals(1110, stats.combinedStats().getBytesEmitted());
+      assertEquals(
+          Set.of(updatedFirstStreamStats, secondStreamStats, thirdStreamStats),
+          Set.copyOf(stats.perStreamStats()));
+    }
+
     @Test
     @DisplayName("Writing multiple stats a stream with null namespace should write correctly without exceptions")
     void testGetStatsNoResult() throws IOException {
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.persistence.job;
+
+import io.airbyte.config.JobConfig;
+import io.airbyte.config.JobConfig.ConfigType;
+import io.airbyte.config.JobSyncConfig;
+import io.airbyte.config.StreamSyncStats;
+import io.airbyte.config.SyncStats;
+import io.airbyte.db.Database;
+import io.airbyte.db.factory.DSLContextFactory;
+import io.airbyte.db.factory.DataSourceFactory;
+import io.airbyte.db.instance.test.TestDatabaseProviders;
+import io.airbyte.test.utils.DatabaseConnectionHelper;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Measures the time {@link DefaultJobPersistence#writeStats} takes to persist the progress of a sync
+ * with many streams, against a Postgres test container. The stats of all the streams are written
+ * once before measuring, so every measured write updates existing stats, as the periodic progress
+ * reports of a running sync do.
+ * <p>
+ * Requires docker. To use this, simply run the main method and look at the time reported for each
+ * number of streams.
+ */
+@SuppressWarnings({"MissingJavadocType", "PMD.SignatureDeclareThrowsException"})
+@State(Scope.Benchmark)
+public class WriteStatsPerformanceTest {
+
+  @Param({"10", "1000"})
+  public int streamCount;
+
+  private PostgreSQLContainer<?> container;
+  private DataSource dataSource;
+  private DSLContext dslContext;
+  private DefaultJobPersistence jobPersistence;
+  private long jobId;
+  private int attemptNumber;
+  private long iteration;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    container = new PostgreSQLContainer<>("postgres:13-alpine")
+        .withDatabaseName("airbyte")
+        .withUsername("docker")
+        .withPassword("docker");
+    container.start();
+
+    dataSource = DatabaseConnectionHelper.createDataSource(container);
+    dslContext = DSLContextFactory.create(dataSource, SQLDialect.POSTGRES);
+    final Database jobDatabase = new TestDatabaseProviders(dataSource, dslContext).createNewJobsDatabase();
+    jobPersistence = new DefaultJobPersistence(jobDatabase);
+
+    final JobConfig syncJobConfig = new JobConfig().withConfigType(ConfigType.SYNC).withSync(new JobSyncConfig());
+    jobId = jobPersistence.enqueueJob(UUID.randomUUID().toString(), syncJobConfig).orElseThrow();
+    attemptNumber = jobPersistence.createAttempt(jobId, Path.of("/tmp/logs"));
+    writeStats();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    dslContext.close();
+    DataSourceFactory.close(dataSource);
+    container.close();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  @Warmup(iterations = 2)
+  @Fork(1)
+  @Measurement(iterations = 5)
+  public void writeStats() throws Exception {
+    iteration++;
+    final List<StreamSyncStats> streamStats = new ArrayList<>(streamCount);
+    for (int i = 0; i < streamCount; i++) {
+      streamStats.add(new StreamSyncStats()
+          .withStreamName("stream_" + i)
+          .withStreamNamespace("public")
+          .withStats(new SyncStats()
+              .withRecordsEmitted(iteration)
+              .withBytesEmitted(iteration * 100)
+              .withEstimatedRecords(1_000_000L)
+              .withEstimatedBytes(100_000_000L)));
+    }
+    jobPersistence.writeStats(jobId, attemptNumber, 1_000_000L * streamCount, 100_000_000L * streamCount, iteration * streamCount,
+        iteration * 100 * streamCount, streamStats);
+  }
+
+  public static void main(final String[] args) throws Exception {
+    // Run this main class to start benchmarking.
+    org.openjdk.jmh.Main.main(args);
+  }
+
+}
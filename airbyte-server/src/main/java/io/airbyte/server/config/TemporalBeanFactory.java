@@ -8,6 +8,7 @@ import io.airbyte.analytics.Deployment;
 import io.airbyte.analytics.TrackingClient;
 import io.airbyte.analytics.TrackingClientSingleton;
 import io.airbyte.commons.server.scheduler.DefaultSynchronousSchedulerClient;
+import io.airbyte.commons.server.scheduler.SpecCachingSynchronousSchedulerClient;
 import io.airbyte.commons.server.scheduler.SynchronousSchedulerClient;
 import io.airbyte.commons.temporal.TemporalClient;
 import io.airbyte.commons.temporal.scheduling.DefaultTaskQueueMapper;
@@ -18,6 +19,7 @@ import io.airbyte.config.Configs.DeploymentMode;
 import io.airbyte.config.Configs.TrackingStrategy;
 import io.airbyte.config.Configs.WorkerEnvironment;
 import io.airbyte.config.persistence.ConfigRepository;
+import io.airbyte.metrics.lib.MetricClient;
 import io.airbyte.persistence.job.JobPersistence;
 import io.airbyte.persistence.job.errorreporter.JobErrorReporter;
 import io.airbyte.persistence.job.factory.OAuthConfigSupplier;
@@ -71,8 +73,13 @@ public class TemporalBeanFactory {
                                                                final JobTracker jobTracker,
                                                                final JobErrorReporter jobErrorReporter,
                                                                final OAuthConfigSupplier oAuthConfigSupplier,
-                                                               final RouterService routerService) {
-    return new DefaultSynchronousSchedulerClient(temporalClient, jobTracker, jobErrorReporter, oAuthConfigSupplier, routerService);
+                                                               final RouterService routerService,
+                                                               final ConfigRepository configRepository,
+                                                               final MetricClient metricClient) {
+    return new SpecCachingSynchronousSchedulerClient(
+        new DefaultSynchronousSchedulerClient(temporalClient, jobTracker, jobErrorReporter, oAuthConfigSupplier, routerService),
+        configRepository,
+        metricClient);
   }
 
 }
@@ -63,6 +63,7 @@ import io.airbyte.commons.json.Jsons;
 import io.airbyte.commons.resources.MoreResources;
 import io.airbyte.commons.temporal.TemporalUtils;
 import io.airbyte.commons.temporal.TemporalWorkflowUtils;
+import io.airbyte.commons.temporal.payload.CompressingPayloadCodec;
 import io.airbyte.commons.temporal.scheduling.ConnectionManagerWorkflow;
 import io.airbyte.commons.temporal.scheduling.state.WorkflowState;
 import io.airbyte.commons.util.MoreProperties;
@@ -327,7 +328,9 @@ public class AirbyteAcceptanceTestHarness {
     final WorkflowServiceStubs temporalService = temporalUtils.createTemporalService(
         TemporalWorkflowUtils.getAirbyteTemporalOptions("localhost:7233"),
         TemporalUtils.DEFAULT_NAMESPACE);
-    return WorkflowClient.newInstance(temporalService);
+    // the payloads written by the platform may be compressed, see TemporalBeanFactory
+    return TemporalWorkflowUtils.createWorkflowClient(temporalService, TemporalUtils.DEFAULT_NAMESPACE,
+        List.of(new CompressingPayloadCodec(Integer.MAX_VALUE)));
   }
 
   public WorkflowState getWorkflowState(final UUID connectionId) {
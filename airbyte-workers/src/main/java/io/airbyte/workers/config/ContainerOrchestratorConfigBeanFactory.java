@@ -79,7 +79,8 @@ public class ContainerOrchestratorConfigBeanFactory {
                                                                            @Value("${airbyte.data.plane.service-account.email}") final String dataPlaneServiceAccountEmail,
                                                                            @Value("${airbyte.data.plane.service-account.credentials-path}") final String dataPlaneServiceAccountCredentialsPath,
                                                                            @Value("${airbyte.container.orchestrator.data-plane-creds.secret-mount-path}") final String containerOrchestratorDataPlaneCredsSecretMountPath,
-                                                                           @Value("${airbyte.container.orchestrator.data-plane-creds.secret-name}") final String containerOrchestratorDataPlaneCredsSecretName) {
+                                                                           @Value("${airbyte.container.orchestrator.data-plane-creds.secret-name}") final String containerOrchestratorDataPlaneCredsSecretName,
+                                                                           @Value("${airbyte.container.orchestrator.watch-pod}") final boolean watchOrchestratorPod) {
     final var kubernetesClient = new DefaultKubernetesClient();
 
     final DocumentStoreClient documentStoreClient = StateClients.create(
@@ -100,6 +101,8 @@ public class ContainerOrchestratorConfigBeanFactory {
     environmentVariables.put(EnvVariableFeatureFlags.STRICT_COMPARISON_NORMALIZATION_WORKSPACES,
         featureFlags.strictComparisonNormalizationWorkspaces());
     environmentVariables.put(EnvVariableFeatureFlags.STRICT_COMPARISON_NORMALIZATION_TAG, featureFlags.strictComparisonNormalizationTag());
+    environmentVariables.put(EnvVariableFeatureFlags.BACKGROUND_VALIDATION_SAMPLE_RATE,
+        Integer.toString(featureFlags.backgroundValidationSampleRate()));
     environmentVariables.put(JAVA_OPTS_ENV_VAR, containerOrchestratorJavaOpts);
     environmentVariables.put(CONTROL_PLANE_AUTH_ENDPOINT_ENV_VAR, controlPlaneAuthEndpoint);
     environmentVariables.put(DATA_PLANE_SERVICE_ACCOUNT_CREDENTIALS_PATH_ENV_VAR, dataPlaneServiceAccountCredentialsPath);
@@ -143,7 +146,8 @@ public class ContainerOrchestratorConfigBeanFactory {
         StringUtils.isNotEmpty(containerOrchestratorImage) ? containerOrchestratorImage : "airbyte/container-orchestrator:" + airbyteVersion,
         containerOrchestratorImagePullPolicy,
         googleApplicationCredentials,
-        workerEnvironment);
+        workerEnvironment,
+        watchOrchestratorPod);
   }
 
 }
@@ -6,6 +6,7 @@ package io.airbyte.workers.config;
 
 import io.airbyte.commons.temporal.config.WorkerMode;
 import io.airbyte.config.persistence.split_secrets.AWSSecretManagerPersistence;
+import io.airbyte.config.persistence.split_secrets.CachingSecretPersistence;
 import io.airbyte.config.persistence.split_secrets.GoogleSecretManagerPersistence;
 import io.airbyte.config.persistence.split_secrets.LocalTestingSecretPersistence;
 import io.airbyte.config.persistence.split_secrets.NoOpSecretsHydrator;
@@ -14,11 +15,13 @@ import io.airbyte.config.persistence.split_secrets.SecretPersistence;
 import io.airbyte.config.persistence.split_secrets.SecretsHydrator;
 import io.airbyte.config.persistence.split_secrets.VaultSecretPersistence;
 import io.airbyte.db.Database;
+import io.airbyte.metrics.lib.MetricClient;
 import io.micronaut.context.annotation.Factory;
 import io.micronaut.context.annotation.Requires;
 import io.micronaut.context.annotation.Value;
 import jakarta.inject.Named;
 import jakarta.inject.Singleton;
+import java.time.Duration;
 
 /**
  * Micronaut bean factory for secret persistence-related singletons.
@@ -91,8 +94,11 @@ public class SecretPersistenceBeanFactory {
   @Singleton
   @Requires(property = "airbyte.acceptance.test.enabled",
             value = "false")
-  public SecretsHydrator secretsHydrator(@Named("secretPersistence") final SecretPersistence secretPersistence) {
-    return new RealSecretsHydrator(secretPersistence);
+  public SecretsHydrator secretsHydrator(@Named("secretPersistence") final SecretPersistence secretPersistence,
+                                         final MetricClient metricClient,
+                                         @Value("${airbyte.secret.cache.expire-after-write}") final Duration expireAfterWrite,
+                                         @Value("${airbyte.secret.cache.max-size}") final long maximumSize) {
+    return new RealSecretsHydrator(new CachingSecretPersistence(secretPersistence, metricClient, expireAfterWrite, maximumSize));
   }
 
 }
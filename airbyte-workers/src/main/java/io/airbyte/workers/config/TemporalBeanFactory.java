@@ -16,6 +16,7 @@ import io.airbyte.config.Configs.DeploymentMode;
 import io.airbyte.config.Configs.TrackingStrategy;
 import io.airbyte.config.Configs.WorkerEnvironment;
 import io.airbyte.config.persistence.ConfigRepository;
+import io.airbyte.config.storage.CloudStorageConfigs;
 import io.airbyte.persistence.job.DefaultJobCreator;
 import io.airbyte.persistence.job.JobPersistence;
 import io.airbyte.persistence.job.WorkspaceHelper;
@@ -23,13 +24,18 @@ import io.airbyte.persistence.job.factory.DefaultSyncJobFactory;
 import io.airbyte.persistence.job.factory.OAuthConfigSupplier;
 import io.airbyte.persistence.job.factory.SyncJobFactory;
 import io.airbyte.workers.run.TemporalWorkerRunFactory;
+import io.airbyte.workers.storage.DocumentStoreClient;
+import io.airbyte.workers.storage.OffloadingPayloadCodec;
+import io.airbyte.workers.storage.StateClients;
 import io.micronaut.context.annotation.Factory;
 import io.micronaut.context.annotation.Property;
 import io.micronaut.context.annotation.Requires;
 import io.micronaut.context.annotation.Value;
 import io.temporal.client.WorkflowClient;
+import io.temporal.payload.codec.PayloadCodec;
 import io.temporal.serviceclient.WorkflowServiceStubs;
 import io.temporal.worker.WorkerFactory;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 import java.io.IOException;
 import java.nio.file.Path;
@@ -40,6 +46,10 @@ import java.nio.file.Path;
 @Factory
 public class TemporalBeanFactory {
 
+  // IMPORTANT: Changing the storage location will break the workflows that reference payloads
+  // offloaded to the previous location!
+  private static final Path PAYLOAD_STORAGE_PREFIX = Path.of("/temporal-payloads");
+
   @SuppressWarnings("MissingJavadocMethod")
   @Singleton
   @Requires(env = WorkerMode.CONTROL_PLANE)
@@ -105,6 +115,31 @@ public class TemporalBeanFactory {
         featureFlags);
   }
 
+  /**
+   * Store of the offloaded Temporal payloads, in the state storage.
+   */
+  @Singleton
+  @Named("offloadedPayloadDocumentStore")
+  @Requires(property = "temporal.payload.offload.enabled",
+            value = "true")
+  public DocumentStoreClient offloadedPayloadDocumentStore(@Named("stateStorageConfigs") final CloudStorageConfigs stateStorageConfigs) {
+    return StateClients.create(stateStorageConfigs, PAYLOAD_STORAGE_PREFIX);
+  }
+
+  /**
+   * Moves the largest Temporal payloads, e.g. the inputs of syncs with large catalogs, to the state
+   * storage. Picked up by the {@link WorkflowClient} of the workers, and so by their workflows and
+   * activities.
+   */
+  @Singleton
+  @Named("offloadingPayloadCodec")
+  @Requires(property = "temporal.payload.offload.enabled",
+            value = "true")
+  public PayloadCodec offloadingPayloadCodec(@Named("offloadedPayloadDocumentStore") final DocumentStoreClient offloadedPayloadDocumentStore,
+                                             @Value("${temporal.payload.offload.threshold}") final int offloadThresholdBytes) {
+    return new OffloadingPayloadCodec(offloadedPayloadDocumentStore, offloadThresholdBytes);
+  }
+
   @Singleton
   public WorkerFactory workerFactory(final WorkflowClient workflowClient) {
     return WorkerFactory.newInstance(workflowClient);
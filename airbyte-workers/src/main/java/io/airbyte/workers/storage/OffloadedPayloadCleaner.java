@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.storage;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import java.time.Duration;
+import java.time.Instant;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deletes the Temporal payloads offloaded by {@link OffloadingPayloadCodec} that no workflow
+ * referenced for longer than the retention of the workflow histories. Every encoding rewrites the
+ * document of a payload, so a document older than the retention is only referenced by histories
+ * that Temporal already deleted, or by a workflow that has been running for longer than the
+ * retention without passing the payload again.
+ */
+@Singleton
+@Slf4j
+@Requires(property = "temporal.payload.offload.enabled",
+          value = "true")
+public class OffloadedPayloadCleaner {
+
+  private final DocumentStoreClient offloadedPayloadDocumentStore;
+  private final Duration retention;
+
+  public OffloadedPayloadCleaner(@Named("offloadedPayloadDocumentStore") final DocumentStoreClient offloadedPayloadDocumentStore,
+                                 @Value("${temporal.retention}") final int retentionInDays) {
+    this.offloadedPayloadDocumentStore = offloadedPayloadDocumentStore;
+    this.retention = Duration.ofDays(retentionInDays);
+  }
+
+  /**
+   * Delete the offloaded payloads that were last written before the retention. Every worker runs the
+   * cleanup, deleting a payload twice is harmless.
+   */
+  @Scheduled(fixedRate = "1d",
+             initialDelay = "1h")
+  public void deleteExpiredPayloads() {
+    final Instant cutoff = Instant.now().minus(retention);
+    log.info("Deleting Temporal payloads offloaded before {}", cutoff);
+    final int deletedCount = offloadedPayloadDocumentStore.deleteOlderThan(cutoff);
+    log.info("Deleted {} offloaded Temporal payloads", deletedCount);
+  }
+
+}
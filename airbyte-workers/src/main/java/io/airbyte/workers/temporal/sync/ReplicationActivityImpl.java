@@ -41,6 +41,10 @@ import io.airbyte.config.helpers.LogConfigs;
 import io.airbyte.config.persistence.split_secrets.SecretsHydrator;
 import io.airbyte.featureflag.FeatureFlagClient;
 import io.airbyte.featureflag.FieldSelectionEnabled;
+import io.airbyte.featureflag.PerfByteLevelMessageParsing;
+import io.airbyte.featureflag.PerfPipelinedReplication;
+import io.airbyte.featureflag.PerfPreAggregatedLineLengths;
+import io.airbyte.featureflag.PerfRawLinePassthrough;
 import io.airbyte.featureflag.Workspace;
 import io.airbyte.metrics.lib.ApmTraceUtils;
 import io.airbyte.metrics.lib.MetricAttribute;
@@ -313,19 +317,30 @@ public class ReplicationActivityImpl implements ReplicationActivity {
           destinationLauncherConfig.getIsCustomConnector(),
           featureFlags);
 
+      final UUID workspaceId = syncInput.getWorkspaceId();
+      final boolean byteLevelParsing = workspaceId != null
+          && featureFlagClient.enabled(PerfByteLevelMessageParsing.INSTANCE, new Workspace(workspaceId));
+      // lines are only kept when they are read as bytes
+      final boolean linePassthrough = byteLevelParsing
+          && featureFlagClient.enabled(PerfRawLinePassthrough.INSTANCE, new Workspace(workspaceId));
+      final boolean preAggregatedLineLengths = workspaceId != null
+          && featureFlagClient.enabled(PerfPreAggregatedLineLengths.INSTANCE, new Workspace(workspaceId));
+
       // reset jobs use an empty source to induce resetting all data in destination.
       final AirbyteSource airbyteSource = isResetJob(sourceLauncherConfig.getDockerImage())
           ? new EmptyAirbyteSource(featureFlags.useStreamCapableState())
           : new DefaultAirbyteSource(sourceLauncher,
               new VersionedAirbyteStreamFactory<>(serDeProvider, migratorFactory, sourceLauncherConfig.getProtocolVersion(),
-                  Optional.of(syncInput.getCatalog()), DefaultAirbyteSource.CONTAINER_LOG_MDC_BUILDER, Optional.of(SourceException.class)),
+                  Optional.of(syncInput.getCatalog()), DefaultAirbyteSource.CONTAINER_LOG_MDC_BUILDER, Optional.of(SourceException.class))
+                      .withByteLevelParsing(byteLevelParsing)
+                      .withLinePassthrough(linePassthrough)
+                      .withPreAggregatedLineLengths(preAggregatedLineLengths),
               migratorFactory.getProtocolSerializer(sourceLauncherConfig.getProtocolVersion()),
               featureFlags);
       MetricClientFactory.initialize(MetricEmittingApps.WORKER);
       final MetricClient metricClient = MetricClientFactory.getMetricClient();
       final WorkerMetricReporter metricReporter = new WorkerMetricReporter(metricClient, sourceLauncherConfig.getDockerImage());
 
-      final UUID workspaceId = syncInput.getWorkspaceId();
       // NOTE: we apply field selection if the feature flag client says so (recommended) or the old
       // environment-variable flags say so (deprecated).
       // The latter FeatureFlagHelper will be removed once the flag client is fully deployed.
@@ -333,6 +348,9 @@ public class ReplicationActivityImpl implements ReplicationActivity {
           && (featureFlagClient.enabled(FieldSelectionEnabled.INSTANCE, new Workspace(workspaceId))
               || FeatureFlagHelper.isFieldSelectionEnabledForWorkspace(featureFlags, workspaceId));
 
+      final boolean pipelinedReplicationEnabled = workspaceId != null
+          && featureFlagClient.enabled(PerfPipelinedReplication.INSTANCE, new Workspace(workspaceId));
+
       return new DefaultReplicationWorker(
           jobRunConfig.getJobId(),
           Math.toIntExact(jobRunConfig.getAttemptId()),
@@ -341,16 +359,20 @@ public class ReplicationActivityImpl implements ReplicationActivity {
           new DefaultAirbyteDestination(destinationLauncher,
               new VersionedAirbyteStreamFactory<>(serDeProvider, migratorFactory, destinationLauncherConfig.getProtocolVersion(),
                   Optional.of(syncInput.getCatalog()),
-                  DefaultAirbyteDestination.CONTAINER_LOG_MDC_BUILDER, Optional.of(DestinationException.class)),
+                  DefaultAirbyteDestination.CONTAINER_LOG_MDC_BUILDER, Optional.of(DestinationException.class))
+                      .withByteLevelParsing(byteLevelParsing)
+                      .withPreAggregatedLineLengths(preAggregatedLineLengths),
               new VersionedAirbyteMessageBufferedWriterFactory(serDeProvider, migratorFactory, destinationLauncherConfig.getProtocolVersion(),
                   Optional.of(syncInput.getCatalog())),
-              migratorFactory.getProtocolSerializer(destinationLauncherConfig.getProtocolVersion())),
+              migratorFactory.getProtocolSerializer(destinationLauncherConfig.getProtocolVersion())).withLinePassthrough(linePassthrough),
           new AirbyteMessageTracker(featureFlags),
           syncPersistenceFactory,
-          new RecordSchemaValidator(featureFlagClient, syncInput.getWorkspaceId(), WorkerUtils.mapStreamNamesToSchemas(syncInput)),
+          new RecordSchemaValidator(featureFlagClient, syncInput.getWorkspaceId(), WorkerUtils.mapStreamNamesToSchemas(syncInput),
+              featureFlags.backgroundValidationSampleRate()),
           metricReporter,
           new ConnectorConfigUpdater(airbyteApiClient.getSourceApi(), airbyteApiClient.getDestinationApi()),
-          fieldSelectionEnabled);
+          fieldSelectionEnabled,
+          pipelinedReplicationEnabled);
     };
   }
 
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.storage;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+class OffloadedPayloadCleanerTest {
+
+  private static final int RETENTION_IN_DAYS = 30;
+
+  @Test
+  void testOnlyPayloadsOlderThanTheRetentionAreDeleted() throws IOException {
+    final Path storageRoot = Files.createTempDirectory(Path.of("/tmp"), "offloaded_payloads");
+    final DocumentStoreClient documentStore = new DockerComposeDocumentStoreClient(storageRoot);
+    documentStore.write("expired", "expired");
+    documentStore.write("recent", "recent");
+    Files.setLastModifiedTime(storageRoot.resolve("document_store/expired.yaml"),
+        FileTime.from(Instant.now().minus(Duration.ofDays(RETENTION_IN_DAYS + 1))));
+    Files.setLastModifiedTime(storageRoot.resolve("document_store/recent.yaml"),
+        FileTime.from(Instant.now().minus(Duration.ofDays(RETENTION_IN_DAYS - 1))));
+
+    new OffloadedPayloadCleaner(documentStore, RETENTION_IN_DAYS).deleteExpiredPayloads();
+
+    assertFalse(documentStore.read("expired").isPresent());
+    assertTrue(documentStore.read("recent").isPresent());
+  }
+
+}